@@ -2,28 +2,55 @@ package com.helix.benchmark;
 
 import com.helix.benchmark.benchmark.BenchmarkResult;
 import com.helix.benchmark.benchmark.BenchmarkRunner;
+import com.helix.benchmark.benchmark.IndexBuildResult;
+import com.helix.benchmark.benchmark.IndexExperiment;
+import com.helix.benchmark.benchmark.IngestBenchmark;
+import com.helix.benchmark.benchmark.IngestResult;
 import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
 import com.helix.benchmark.config.BenchmarkConfig;
 import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.IndexCandidate;
 import com.helix.benchmark.config.SchemaModel;
 import com.helix.benchmark.connection.ConnectionManager;
+import com.helix.benchmark.datagen.AdaptiveBatchSizer;
 import com.helix.benchmark.datagen.DataLoader;
+import com.helix.benchmark.datagen.DatasetPlan;
+import com.helix.benchmark.datagen.DatasetSizer;
+import com.helix.benchmark.datagen.DatasetSnapshot;
+import com.helix.benchmark.datagen.DocumentBatch;
+import com.helix.benchmark.datagen.FanOut;
+import com.helix.benchmark.datagen.LoadManifest;
+import com.helix.benchmark.datagen.LoadPipeline;
+import com.helix.benchmark.datagen.LoadSinks;
+import com.helix.benchmark.datagen.MongoBulkLoader;
+import com.helix.benchmark.datagen.MongoRangeReader;
+import com.helix.benchmark.datagen.ParallelTargetLoader;
 import com.helix.benchmark.datagen.RelationalDataLoader;
 import com.helix.benchmark.datagen.ReferenceRegistry;
 import com.helix.benchmark.datagen.TestDataGenerator;
 import com.helix.benchmark.query.*;
 import com.helix.benchmark.report.HtmlReportGenerator;
+import com.helix.benchmark.schema.IndexBuildStage;
+import com.helix.benchmark.schema.MongoCandidateIndexes;
 import com.helix.benchmark.schema.MongoSchemaManager;
+import com.helix.benchmark.schema.OracleCandidateIndexes;
 import com.helix.benchmark.schema.OracleDualityViewSchemaManager;
 import com.helix.benchmark.schema.OracleRelationalSchemaManager;
 import com.helix.benchmark.schema.OracleSchemaManager;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.WriteConcern;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
-import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -31,13 +58,22 @@ import java.io.FileInputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class HelixBenchmarkMain {
     private static final Logger log = LoggerFactory.getLogger(HelixBenchmarkMain.class);
@@ -108,6 +144,8 @@ public class HelixBenchmarkMain {
     }
 
     private static final int CHUNK_SIZE = 50_000;
+    // First generator index of ingest benchmark documents, far beyond any loaded or appended data
+    private static final int INGEST_FIRST_INDEX = 1_500_000_000;
 
     public static void main(String[] args) {
         String configPath = args.length > 0 ? args[0] : null;
@@ -124,12 +162,21 @@ public class HelixBenchmarkMain {
         log.info("Configurations: {} ({} targets x embedded model)", activeTargets.size(), activeTargets.size());
 
         // Step 1 & 2: Generate + Load data (skip if already loaded)
-        ReferenceRegistry registry = new ReferenceRegistry(
-                config.advisoryContextPoolSize(),
-                config.partyRoleIdPoolSize(),
-                config.finInstIdPoolSize()
-        );
-        TestDataGenerator generator = new TestDataGenerator(registry);
+        // An interrupted load is resumed with the seed it was generated from
+        Path manifestPath = Paths.get(config.loadManifestFile());
+        LoadManifest.State previousLoad = config.resumeLoads() ? LoadManifest.read(manifestPath).orElse(null) : null;
+        // Data kept from an earlier run is described by the manifest published next to it
+        LoadManifest.State published = readPublishedManifest(connectionManager);
+        LoadManifest.State seedSource = previousLoad != null ? previousLoad : published;
+        long seed = config.seed().orElse(seedSource != null ? seedSource.seed() : ThreadLocalRandom.current().nextLong());
+        log.info("Data generation seed: {}{}", seed, config.seed().isEmpty() && seedSource != null
+                ? " (from load manifest " + (seedSource == previousLoad ? manifestPath : LoadManifest.COLLECTION) + ")" : "");
+        FanOut fanOut = FanOut.fromConfig(config);
+        log.info("Data fan-out: {}", fanOut);
+        DatasetPlan plan = planDataset(config, fanOut, seed);
+        ReferenceRegistry registry = plan.newRegistry();
+        TestDataGenerator generator = new TestDataGenerator(registry, seed, fanOut);
+        Path snapshotDir = config.snapshotDirectory().isBlank() ? null : Paths.get(config.snapshotDirectory());
         HikariDataSource jdbcDataSource = createJdbcDataSource(connectionManager);
 
         MongoSchemaManager mongoSchemaManager = new MongoSchemaManager();
@@ -142,9 +189,13 @@ public class HelixBenchmarkMain {
                 || activeTargets.contains(DatabaseTarget.ORACLE_DUALITY_VIEW)
                 || activeTargets.contains(DatabaseTarget.ORACLE_MONGO_API_DV);
 
-        boolean dataExists = checkDataExists(connectionManager, config.advisorCount());
+        boolean dataExists = checkDataExists(connectionManager, published, plan.advisorCount(),
+                loadedTargets(activeTargets, needsRelational));
+        // Describes the loaded data; null for data loaded before load manifests were recorded
+        LoadManifest manifest;
         if (dataExists) {
             log.info("--- Data already loaded, skipping data generation ---");
+            manifest = published != null ? LoadManifest.resume(manifestPath, published) : null;
             // Still need to populate the registry with advisor/investor IDs for query params
             populateRegistryFromDb(connectionManager, registry);
 
@@ -152,46 +203,75 @@ public class HelixBenchmarkMain {
             if (needsRelational && jdbcDataSource != null
                     && !checkRelationalDataExists(jdbcDataSource)) {
                 log.info("--- Backfilling Oracle Relational tables from MongoDB ---");
-                backfillRelationalFromMongo(connectionManager, jdbcDataSource, relSchemaManager, config.jdbcBatchSize());
+                backfillRelational(config, connectionManager, jdbcDataSource, relSchemaManager, snapshotDir);
             }
         } else {
-            log.info("--- Step 1/2: Generating and loading data in chunks ---");
-            DataLoader dataLoader = new DataLoader();
-            RelationalDataLoader relDataLoader = new RelationalDataLoader();
-            int mongoBatchSize = config.batchSize();
+            List<AdaptiveBatchSizer> batchSizers = new ArrayList<>();
+            DataLoader dataLoader = new DataLoader(config.oracleLoadSessions(), config.oracleDirectPath(),
+                    batchSizer(config, DatabaseTarget.ORACLE_JDBC, config.jdbcBatchSize(), batchSizers));
+            RelationalDataLoader relDataLoader = new RelationalDataLoader(config.oracleLoadSessions(), config.oracleDirectPath(),
+                    batchSizer(config, DatabaseTarget.ORACLE_RELATIONAL, config.jdbcBatchSize(), batchSizers));
+
+            // Checkpoint every batch; targets with loaded batches from an interrupted run keep their data
+            manifest = LoadManifest.open(manifestPath, previousLoad, seed, plan,
+                    config.pipelinedLoad() ? config.pipelineBatchSize() : CHUNK_SIZE);
+            Set<String> resumed = manifest.loadedTargets();
+            if (!resumed.isEmpty()) {
+                log.info("--- Resuming interrupted load: keeping data already loaded on {} ---", resumed);
+            }
 
             // Pre-create schemas (drop + create collections/tables)
-            prepareSchemas(connectionManager, mongoSchemaManager, oracleSchemaManager, relSchemaManager, jdbcDataSource, activeTargets, needsRelational);
-
-            // Generate advisors first (small, needed for referential integrity)
-            List<Document> advisors = generator.generateAdvisors(config.advisorCount());
-            log.info("Generated {} advisors", advisors.size());
-            loadChunkToAllTargets(connectionManager, dataLoader, relDataLoader, jdbcDataSource,
-                    "advisor", advisors, mongoBatchSize, config.jdbcBatchSize(), activeTargets, needsRelational);
-
-            // Generate + load BookRoleInvestors in chunks
-            log.info("Generating and loading {} BookRoleInvestors in chunks of {}...",
-                    config.bookRoleInvestorCount(), CHUNK_SIZE);
-            loadInChunks(generator, "bookRoleInvestor", config.bookRoleInvestorCount(),
-                    connectionManager, dataLoader, relDataLoader, jdbcDataSource, mongoBatchSize, config.jdbcBatchSize(), activeTargets, needsRelational);
-
-            // Generate + load BookRoleGroups in chunks
-            log.info("Generating and loading {} BookRoleGroups in chunks of {}...",
-                    config.bookRoleGroupCount(), CHUNK_SIZE);
-            loadInChunks(generator, "bookRoleGroup", config.bookRoleGroupCount(),
-                    connectionManager, dataLoader, relDataLoader, jdbcDataSource, mongoBatchSize, config.jdbcBatchSize(), activeTargets, needsRelational);
-
-            // Generate + load Accounts in chunks
-            log.info("Generating and loading {} Accounts in chunks of {}...",
-                    config.accountCount(), CHUNK_SIZE);
-            loadInChunks(generator, "account", config.accountCount(),
-                    connectionManager, dataLoader, relDataLoader, jdbcDataSource, mongoBatchSize, config.jdbcBatchSize(), activeTargets, needsRelational);
+            prepareSchemas(connectionManager, mongoSchemaManager, oracleSchemaManager, relSchemaManager, jdbcDataSource,
+                    activeTargets, needsRelational, resumed);
+
+            if (config.pipelinedLoad()) {
+                log.info("--- Step 1/2: Generating and loading data through streaming pipeline ---");
+                loadWithPipeline(config, plan, generator, registry, snapshotDir, manifest, connectionManager, dataLoader,
+                        relDataLoader, jdbcDataSource, activeTargets, needsRelational, batchSizers);
+            } else {
+                log.info("--- Step 1/2: Generating and loading data in chunks ---");
+                if (snapshotDir != null) {
+                    log.warn("Dataset snapshots require loading.pipelined=true; ignoring {}", snapshotDir);
+                }
 
+                // Every chunk goes to all targets concurrently, over connections opened once
+                List<MongoClient> clients = new ArrayList<>();
+                List<LoadPipeline.BatchSink> sinks = openSinks(config, connectionManager, dataLoader, relDataLoader,
+                        jdbcDataSource, activeTargets, needsRelational, clients, batchSizers);
+                sinks.replaceAll(manifest::checkpointed);
+                List<String> targetNames = sinks.stream().map(LoadPipeline.BatchSink::name).toList();
+                try (ParallelTargetLoader targetLoader = new ParallelTargetLoader(sinks)) {
+                    // Generate advisors first (small, needed for referential integrity)
+                    List<Document> advisors = generator.generateAdvisors(plan.advisorCount());
+                    log.info("Generated {} advisors", advisors.size());
+                    if (!manifest.isLoadedEverywhere(targetNames, "advisor", 0)) {
+                        targetLoader.load("advisor", DocumentBatch.of(advisors).startingAt(0));
+                    }
+                    publishManifest(connectionManager, activeTargets, manifest);
+
+                    // Then investors, groups and accounts in chunks
+                    for (String collectionType : List.of("bookRoleInvestor", "bookRoleGroup", "account")) {
+                        log.info("Generating and loading {} {} documents in chunks of {}...",
+                                plan.count(collectionType), collectionType, CHUNK_SIZE);
+                        loadInChunks(generator, collectionType, plan.count(collectionType), targetLoader,
+                                manifest, targetNames);
+                        publishManifest(connectionManager, activeTargets, manifest);
+                    }
+                    targetLoader.logSummary();
+                } finally {
+                    for (MongoClient client : clients) {
+                        client.close();
+                    }
+                }
+            }
+
+            batchSizers.forEach(AdaptiveBatchSizer::logSummary);
             log.info("All data loaded");
         }
 
         // Always ensure indexes exist (safe to re-run — duplicates are caught)
-        createAllIndexes(connectionManager, mongoSchemaManager, oracleSchemaManager, relSchemaManager, jdbcDataSource, activeTargets, needsRelational);
+        List<IndexBuildResult> indexBuilds = createAllIndexes(config, connectionManager, mongoSchemaManager,
+                oracleSchemaManager, relSchemaManager, jdbcDataSource, activeTargets, needsRelational);
 
         // Create duality views (after relational tables and indexes are ready)
         if ((activeTargets.contains(DatabaseTarget.ORACLE_DUALITY_VIEW)
@@ -216,108 +296,43 @@ public class HelixBenchmarkMain {
 
         // Step 3: Run benchmarks
         log.info("--- Step 3: Running benchmarks ---");
-        BenchmarkRunner runner = new BenchmarkRunner(
-                config.warmUpIterations(), config.measurementIterations());
-        MongoQueryExecutor mongoExecutor = new MongoQueryExecutor();
-        OracleJdbcQueryExecutor oracleExecutor = new OracleJdbcQueryExecutor();
-        OracleRelationalQueryExecutor relExecutor = new OracleRelationalQueryExecutor();
-        OracleDualityViewQueryExecutor dvExecutor = new OracleDualityViewQueryExecutor();
         List<BenchmarkResult> allResults = new ArrayList<>();
         List<QueryDetail> allDetails = new ArrayList<>();
-        String ordsBaseUrl = config.ordsBaseUrl();
+        List<Double> growthSteps = config.appendSteps();
+        // With growth steps each pass is tagged with its data scale, e.g. MONGO_NATIVE_EMBEDDED@1.5x
+        runBenchmarks(config, connectionManager, jdbcDataSource, activeTargets, paramGen,
+                growthSteps.isEmpty() ? "" : scaleSuffix(1.0), allResults, allDetails);
+
+        // Step 3b: Grow the dataset in place and re-run the same queries at each scale
+        if (!growthSteps.isEmpty()) {
+            growAndBenchmark(config, generator, registry, manifest, connectionManager, jdbcDataSource, relSchemaManager,
+                    activeTargets, needsRelational, paramGen, growthSteps, allResults, allDetails);
+        }
 
-        for (Configuration cfg : activeConfigurations(activeTargets)) {
-            if (cfg.target().usesMongoDriver()) {
-                String connStr = connectionManager.getMongoConnectionString(cfg.target());
-                String dbName = connectionManager.getDatabaseName(cfg.target());
-                try (MongoClient client = MongoClients.create(connStr)) {
-                    MongoDatabase db = client.getDatabase(dbName);
-                    DatabaseTarget target = cfg.target();
-
-                    for (QueryDefinition query : QueryDefinition.values()) {
-                        try {
-                            String collName = mongoExecutor.getCollectionName(query, cfg.model(), target);
-                            MongoCollection<Document> collection = db.getCollection(collName);
-
-                            BenchmarkResult result = runner.run(
-                                    query.queryName(), cfg.id(),
-                                    () -> {
-                                        Map<String, Object> params = paramGen.generate(query);
-                                        if (query.isAggregation()) {
-                                            mongoExecutor.executeAggregation(
-                                                    collection, query, cfg.model(), params, target);
-                                        } else {
-                                            mongoExecutor.executeFind(
-                                                    collection, query, cfg.model(), params, target);
-                                        }
-                                        return null;
-                                    }
-                            );
-                            allResults.add(result);
-
-                            // Capture query detail after benchmark timing
-                            try {
-                                Map<String, Object> sampleParams = paramGen.generate(query);
-                                QueryDetail detail = mongoExecutor.captureQueryDetail(
-                                        collection, query, cfg.model(), sampleParams, target, cfg.id());
-                                allDetails.add(detail);
-                            } catch (Exception ex) {
-                                log.warn("Failed to capture detail for {} on {}: {}", query.queryName(), cfg.id(), ex.getMessage());
-                            }
-                        } catch (Exception e) {
-                            log.warn("Benchmark failed for {} on {}: {}", query.queryName(), cfg.id(), e.getMessage());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to connect to {} for benchmarks: {}", cfg.target(), e.getMessage());
-                }
-            } else if (cfg.target().usesJdbc() && jdbcDataSource != null) {
-                OracleJdbcQueryExecutor jdbcExec = switch (cfg.target()) {
-                    case ORACLE_RELATIONAL -> relExecutor;
-                    case ORACLE_DUALITY_VIEW -> dvExecutor;
-                    default -> oracleExecutor;
-                };
+        // Step 3c: Benchmark sustained ingest throughput per target
+        List<IngestResult> ingestResults = new ArrayList<>();
+        if (config.ingestEnabled()) {
+            log.info("--- Step 3c: Running ingest benchmarks ---");
+            ingestResults = runIngestBenchmarks(config, generator, connectionManager, jdbcDataSource, activeTargets);
+        }
 
-                for (QueryDefinition query : QueryDefinition.values()) {
-                    try {
-                        BenchmarkResult result = runner.run(
-                                query.queryName(), cfg.id(),
-                                () -> {
-                                    Map<String, Object> params = paramGen.generate(query);
-                                    OracleJdbcQueryExecutor.SqlQuery sqlQuery =
-                                            jdbcExec.buildSql(query, cfg.model(), params);
-                                    try (Connection conn = jdbcDataSource.getConnection();
-                                         var ps = conn.prepareStatement(sqlQuery.sql())) {
-                                        for (int i = 0; i < sqlQuery.parameters().size(); i++) {
-                                            ps.setObject(i + 1, sqlQuery.parameters().get(i));
-                                        }
-                                        try (ResultSet rs = ps.executeQuery()) {
-                                            while (rs.next()) {
-                                                rs.getString(1);
-                                            }
-                                        }
-                                    } catch (Exception ex) {
-                                        throw new RuntimeException(ex);
-                                    }
-                                    return null;
-                                }
-                        );
-                        allResults.add(result);
-
-                        // Capture query detail after benchmark timing
-                        try (Connection conn = jdbcDataSource.getConnection()) {
-                            Map<String, Object> sampleParams = paramGen.generate(query);
-                            QueryDetail detail = jdbcExec.captureQueryDetail(
-                                    conn, query, cfg.model(), sampleParams, cfg.id(), ordsBaseUrl);
-                            allDetails.add(detail);
-                        } catch (Exception ex) {
-                            log.warn("Failed to capture detail for {} on {}: {}", query.queryName(), cfg.id(), ex.getMessage());
-                        }
-                    } catch (Exception e) {
-                        log.warn("Benchmark failed for {} on {}: {}", query.queryName(), cfg.id(), e.getMessage());
-                    }
-                }
-            }
+        // Step 3d: Batched multi-key Q1/Q7/Q8 against one round trip per key
+        if (config.batchQueriesEnabled()) {
+            log.info("--- Step 3d: Running batched query benchmarks ---");
+            runBatchQueryBenchmarks(config, connectionManager, jdbcDataSource, activeTargets, paramGen, allResults);
+        }
+
+        // Step 3e: Pipelined Oracle statements on one connection against a blocking loop
+        if (config.pipelinedEnabled() && jdbcDataSource != null) {
+            log.info("--- Step 3e: Running pipelined Oracle query benchmarks ---");
+            runPipelinedBenchmarks(config, jdbcDataSource, activeTargets, paramGen, allResults);
+        }
+
+        // Step 3f: Benchmark one query against each candidate index set from the config
+        if (config.indexExperimentsEnabled() && !config.indexCandidates().isEmpty()) {
+            log.info("--- Step 3f: Running index experiments ---");
+            runIndexExperiments(config, connectionManager, jdbcDataSource, activeTargets, paramGen,
+                    allResults, allDetails);
         }
 
         // Step 4: Generate report
@@ -326,7 +341,7 @@ public class HelixBenchmarkMain {
             try {
                 HtmlReportGenerator reportGen = new HtmlReportGenerator();
                 Path reportPath = Paths.get("benchmark-report.html");
-                reportGen.generateToFile(allResults, allDetails, reportPath);
+                reportGen.generateToFile(allResults, allDetails, indexBuilds, ingestResults, reportPath);
                 log.info("Report generated: {}", reportPath.toAbsolutePath());
             } catch (Exception e) {
                 log.error("Failed to generate report: {}", e.getMessage(), e);
@@ -343,78 +358,749 @@ public class HelixBenchmarkMain {
         log.info("=== Benchmark complete ===");
     }
 
-    private static void loadInChunks(TestDataGenerator generator, String collectionType,
-                                      int totalCount, ConnectionManager connectionManager,
-                                      DataLoader dataLoader, RelationalDataLoader relDataLoader,
-                                      HikariDataSource jdbcDataSource,
-                                      int mongoBatchSize, int jdbcBatchSize,
-                                      Set<DatabaseTarget> activeTargets, boolean needsRelational) {
-        int loaded = 0;
-        while (loaded < totalCount) {
-            int chunkSize = Math.min(CHUNK_SIZE, totalCount - loaded);
-            List<Document> chunk = switch (collectionType) {
-                case "bookRoleInvestor" -> generator.generateBookRoleInvestors(loaded, chunkSize);
-                case "bookRoleGroup" -> generator.generateBookRoleGroups(loaded, chunkSize);
-                case "account" -> generator.generateAccounts(loaded, chunkSize);
-                default -> throw new IllegalArgumentException("Unknown collection: " + collectionType);
-            };
-            log.info("Generated chunk [{}-{}) of {} for {}", loaded, loaded + chunkSize, totalCount, collectionType);
+    private static void runBenchmarks(BenchmarkConfig config, ConnectionManager connectionManager,
+                                      HikariDataSource jdbcDataSource, Set<DatabaseTarget> activeTargets,
+                                      QueryParameterGenerator paramGen, String idSuffix,
+                                      List<BenchmarkResult> allResults, List<QueryDetail> allDetails) {
+        BenchmarkRunner runner = new BenchmarkRunner(
+                config.warmUpIterations(), config.measurementIterations());
+        QueryTarget.Context context = new QueryTarget.Context(config, connectionManager, jdbcDataSource);
+        // One cache shared by every target; keys include the target, so results never cross
+        QueryResultCache cache = config.queryCacheEnabled()
+                ? new QueryResultCache(config.queryCacheMaxEntries(), config.queryCacheTtlSeconds())
+                : null;
 
-            loadChunkToAllTargets(connectionManager, dataLoader, relDataLoader, jdbcDataSource,
-                    collectionType, chunk, mongoBatchSize, jdbcBatchSize, activeTargets, needsRelational);
-            loaded += chunkSize;
+        // With the cache on, each target runs plain first and then cached, so both read side by side
+        List<QueryResultCache> passes = cache != null ? Arrays.asList(null, cache) : Collections.singletonList(null);
+
+        for (Configuration cfg : activeConfigurations(activeTargets)) {
+            try (QueryTarget target = QueryTargetProvider.openTarget(cfg.target(), context);
+                 QueryTarget.Session session = target.openSession()) {
+                for (QueryResultCache passCache : passes) {
+                    runQueries(runner, cfg, session, passCache, paramGen, idSuffix, allResults, allDetails);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to connect to {} for benchmarks: {}", cfg.target(), e.getMessage());
+            }
         }
-        log.info("Completed loading {} {} documents", totalCount, collectionType);
     }
 
-    private static void loadChunkToAllTargets(ConnectionManager connectionManager,
-                                               DataLoader dataLoader, RelationalDataLoader relDataLoader,
-                                               HikariDataSource jdbcDataSource,
-                                               String collectionType, List<Document> chunk,
-                                               int mongoBatchSize, int jdbcBatchSize,
-                                               Set<DatabaseTarget> activeTargets, boolean needsRelational) {
-        String embeddedCollectionName = collectionType;
-        String jdbcTableName = switch (collectionType) {
-            case "advisor" -> "jdbc_advisor";
-            case "bookRoleInvestor" -> "jdbc_book_role_investor";
-            case "bookRoleGroup" -> "jdbc_book_role_group";
-            case "account" -> "jdbc_account";
-            default -> throw new IllegalArgumentException("Unknown collection: " + collectionType);
-        };
+    private static void runQueries(BenchmarkRunner runner, Configuration cfg, QueryTarget.Session session,
+                                   QueryResultCache cache, QueryParameterGenerator paramGen, String idSuffix,
+                                   List<BenchmarkResult> allResults, List<QueryDetail> allDetails) {
+        String configId = cfg.id() + (cache != null ? "+cache" : "") + idSuffix;
+        QueryExecutor executor = cached(session, cfg.target(), cache);
 
-        // Load to MongoDB targets (Native + Oracle Mongo API)
-        for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
-            if (!activeTargets.contains(target)) continue;
+        for (QueryDefinition query : QueryDefinition.values()) {
             try {
-                String connStr = connectionManager.getMongoConnectionString(target);
-                String dbName = connectionManager.getDatabaseName(target);
-                try (MongoClient client = MongoClients.create(connStr)) {
-                    MongoDatabase db = client.getDatabase(dbName);
-                    MongoCollection<Document> col = db.getCollection(embeddedCollectionName);
-                    dataLoader.loadToMongo(col, chunk, mongoBatchSize);
+                Map<String, Object> warmParams = paramGen.generate(query);
+                session.warm(query, cfg.model(), warmParams);
+                QueryResultCache.Stats before = cache != null ? cache.stats() : null;
+                // Snapshot once warm-up is done, so per-op server averages cover measured runs only
+                ServerStats[] serverBefore = new ServerStats[1];
+                BenchmarkResult result = runner.run(
+                        query.queryName(), configId,
+                        () -> {
+                            executor.execute(query, cfg.model(), paramGen.generate(query));
+                            return null;
+                        },
+                        () -> serverBefore[0] = serverStats(session, query, cfg.model(), warmParams)
+                );
+                allResults.add(attachServerStats(result, serverBefore[0],
+                        serverStats(session, query, cfg.model(), warmParams)));
+                logCacheStats(cache, before, query, configId);
+
+                // Capture query detail after benchmark timing
+                try {
+                    Map<String, Object> sampleParams = paramGen.generate(query);
+                    allDetails.add(session.captureQueryDetail(query, cfg.model(), sampleParams, configId));
+                } catch (Exception ex) {
+                    log.warn("Failed to capture detail for {} on {}: {}", query.queryName(), configId, ex.getMessage());
                 }
             } catch (Exception e) {
-                log.warn("Failed to load {} to {}: {}", collectionType, target, e.getMessage());
+                log.warn("Benchmark failed for {} on {}: {}", query.queryName(), configId, e.getMessage());
             }
         }
+    }
 
-        // Load to Oracle JDBC (JSON collection tables)
-        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null) {
+    // A failed snapshot only drops the server-side figures for this run
+    private static ServerStats serverStats(QueryTarget.Session session, QueryDefinition query,
+                                           SchemaModel model, Map<String, Object> params) {
+        try {
+            return session.serverStats(query, model, params);
+        } catch (Exception e) {
+            log.warn("Failed to read server stats for {}: {}", query.queryName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Server work per operation during the run, next to the client-measured latency
+    private static BenchmarkResult attachServerStats(BenchmarkResult result, ServerStats before, ServerStats after) {
+        if (before == null || after == null) return result;
+        ServerStats perOp = after.minus(before).perOperation();
+        log.info("Server side for {} on {}: {} ms/op of {} ms client avg over {} executions",
+                result.queryName(), result.configurationId(), String.format("%.2f", perOp.elapsedMillis()),
+                String.format("%.2f", result.averageMillis()), perOp.executions());
+        return result.withServerStats(perOp);
+    }
+
+    private static QueryExecutor cached(QueryExecutor executor, DatabaseTarget target, QueryResultCache cache) {
+        return cache != null ? new CachingQueryExecutor(executor, target, cache) : executor;
+    }
+
+    // Hit rate is the share of requests the cache kept off the database during one query's run
+    private static void logCacheStats(QueryResultCache cache, QueryResultCache.Stats before,
+                                      QueryDefinition query, String configId) {
+        if (cache == null) return;
+        QueryResultCache.Stats stats = cache.stats().minus(before);
+        log.info("Result cache for {} on {}: {}% hit rate ({} hits, {} misses, {} evictions, {} expirations)",
+                query.queryName(), configId, String.format("%.1f", stats.hitRate() * 100),
+                stats.hits(), stats.misses(), stats.evictions(), stats.expirations());
+    }
+
+    /** One batched call: the shared parameters and the keys; returns the row count per key. */
+    @FunctionalInterface
+    private interface BatchCall {
+        Map<String, Long> execute(Map<String, Object> params, List<String> keys) throws Exception;
+    }
+
+    private static void runBatchQueryBenchmarks(BenchmarkConfig config, ConnectionManager connectionManager,
+                                                HikariDataSource jdbcDataSource, Set<DatabaseTarget> activeTargets,
+                                                QueryParameterGenerator paramGen, List<BenchmarkResult> allResults) {
+        BenchmarkRunner runner = new BenchmarkRunner(
+                config.batchQueryWarmUpIterations(), config.batchQueryMeasurementIterations());
+        QueryTarget.Context context = new QueryTarget.Context(config, connectionManager, jdbcDataSource);
+
+        for (Configuration cfg : activeConfigurations(activeTargets)) {
+            try (QueryTarget target = QueryTargetProvider.openTarget(cfg.target(), context);
+                 QueryTarget.Session session = target.openSession()) {
+                for (QueryDefinition query : QueryDefinition.values()) {
+                    if (!query.isBatchable()) continue;
+                    BatchCall batched = (params, keys) -> session.executeBatch(query, cfg.model(), params, keys);
+                    benchmarkBatchSizes(config, runner, cfg, query, paramGen, session, batched, allResults);
+                }
+            } catch (Exception e) {
+                log.warn("Failed to connect to {} for batched query benchmarks: {}", cfg.target(), e.getMessage());
+            }
+        }
+    }
+
+    // Times one batched call for N keys against N single-key calls sharing the other parameters
+    private static void benchmarkBatchSizes(BenchmarkConfig config, BenchmarkRunner runner, Configuration cfg,
+                                            QueryDefinition query, QueryParameterGenerator paramGen,
+                                            QueryExecutor single, BatchCall batched,
+                                            List<BenchmarkResult> allResults) {
+        int pool = paramGen.batchKeyPoolSize(query);
+        Set<Integer> measured = new HashSet<>();
+        for (int requested : config.batchQuerySizes()) {
+            // Keys are distinct, so a batch never holds more keys than the pool has values
+            int size = Math.min(requested, pool);
+            if (size < requested) {
+                log.warn("{} has only {} distinct {} values; batch size {} runs as {}",
+                        query.queryName(), pool, query.batchKey(), requested, size);
+            }
+            if (size == 0 || !measured.add(size)) continue;
             try {
-                dataLoader.loadToOracle(jdbcDataSource, jdbcTableName, chunk, jdbcBatchSize);
+                BenchmarkResult batchResult = runner.run(batchQueryName(query, size, true), cfg.id(), () -> {
+                    try {
+                        batched.execute(paramGen.generate(query), paramGen.generateBatchKeys(query, size));
+                    } catch (Exception e) {
+                        throw e instanceof RuntimeException re ? re : new RuntimeException(e);
+                    }
+                    return null;
+                });
+                BenchmarkResult loopResult = runner.run(batchQueryName(query, size, false), cfg.id(), () -> {
+                    Map<String, Object> shared = paramGen.generate(query);
+                    for (String key : paramGen.generateBatchKeys(query, size)) {
+                        Map<String, Object> params = new HashMap<>(shared);
+                        params.put(query.batchKey(), key);
+                        single.execute(query, cfg.model(), params);
+                    }
+                    return null;
+                });
+                allResults.add(batchResult);
+                allResults.add(loopResult);
+                log.info("{} x{} on {}: batched {} ms avg vs {} ms for one call per key ({}x)",
+                        query.queryName(), size, cfg.id(),
+                        String.format("%.2f", batchResult.averageNanos() / 1e6),
+                        String.format("%.2f", loopResult.averageNanos() / 1e6),
+                        String.format("%.1f", loopResult.averageNanos() / Math.max(1, batchResult.averageNanos())));
             } catch (Exception e) {
-                log.warn("Failed to load {} to JDBC: {}", collectionType, e.getMessage());
+                log.warn("Batched benchmark failed for {} x{} on {}: {}", query.queryName(), size, cfg.id(), e.getMessage());
             }
         }
+    }
 
-        // Load to Oracle Relational tables (also needed for duality views)
-        if (needsRelational && jdbcDataSource != null) {
+    // Report names for batch benchmarks, e.g. Q1x100-batched and Q1x100-calls
+    static String batchQueryName(QueryDefinition query, int size, boolean batched) {
+        return query.queryName() + "x" + size + (batched ? "-batched" : "-calls");
+    }
+
+    private static void runPipelinedBenchmarks(BenchmarkConfig config, HikariDataSource jdbcDataSource,
+                                               Set<DatabaseTarget> activeTargets, QueryParameterGenerator paramGen,
+                                               List<BenchmarkResult> allResults) {
+        BenchmarkRunner runner = new BenchmarkRunner(
+                config.pipelinedWarmUpIterations(), config.pipelinedMeasurementIterations());
+
+        for (Configuration cfg : activeConfigurations(activeTargets)) {
+            if (!cfg.target().usesJdbc()) continue;
+            OracleJdbcQueryExecutor jdbcExec = OracleJdbcQueryTargetProvider.executorFor(cfg.target());
+            // Both modes share one connection so only the round trips differ
+            try (Connection conn = jdbcDataSource.getConnection()) {
+                for (QueryDefinition query : QueryDefinition.values()) {
+                    for (int depth : config.pipelinedDepths()) {
+                        benchmarkPipelined(runner, cfg, jdbcExec, conn, query, depth, paramGen, allResults);
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Failed to connect to {} for pipelined query benchmarks: {}", cfg.target(), e.getMessage());
+            }
+        }
+    }
+
+    // Times one wave of depth statements submitted together against the same statements run one by one
+    private static void benchmarkPipelined(BenchmarkRunner runner, Configuration cfg, OracleJdbcQueryExecutor jdbcExec,
+                                           Connection conn, QueryDefinition query, int depth,
+                                           QueryParameterGenerator paramGen, List<BenchmarkResult> allResults) {
+        try {
+            long[] statementNanos = new long[2];
+            BenchmarkResult pipelined = runner.run(pipelinedQueryName(query, depth, true), cfg.id(), () -> {
+                try {
+                    for (OracleJdbcQueryExecutor.PipelinedResult result : jdbcExec.executePipelined(
+                            conn, pipelinedWave(jdbcExec, cfg, query, depth, paramGen),
+                            row -> row.getObject(1, String.class))) {
+                        statementNanos[0] += result.latencyNanos();
+                        statementNanos[1]++;
+                    }
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            }, () -> Arrays.fill(statementNanos, 0));
+            BenchmarkResult blocking = runner.run(pipelinedQueryName(query, depth, false), cfg.id(), () -> {
+                try {
+                    for (OracleJdbcQueryExecutor.SqlQuery sqlQuery : pipelinedWave(jdbcExec, cfg, query, depth, paramGen)) {
+                        jdbcExec.execute(conn, sqlQuery, rs -> rs.getString(1));
+                    }
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+                return null;
+            });
+            allResults.add(pipelined);
+            allResults.add(blocking);
+            log.info("{} x{} on {}: pipelined {} stmt/s vs {} stmt/s blocking, {} ms mean statement latency",
+                    query.queryName(), depth, cfg.id(),
+                    String.format("%.0f", depth * 1e9 / Math.max(1, pipelined.averageNanos())),
+                    String.format("%.0f", depth * 1e9 / Math.max(1, blocking.averageNanos())),
+                    String.format("%.2f", statementNanos[0] / 1e6 / Math.max(1, statementNanos[1])));
+        } catch (Exception e) {
+            log.warn("Pipelined benchmark failed for {} x{} on {}: {}", query.queryName(), depth, cfg.id(), e.getMessage());
+        }
+    }
+
+    private static List<OracleJdbcQueryExecutor.SqlQuery> pipelinedWave(OracleJdbcQueryExecutor jdbcExec,
+                                                                         Configuration cfg, QueryDefinition query,
+                                                                         int depth, QueryParameterGenerator paramGen) {
+        List<OracleJdbcQueryExecutor.SqlQuery> wave = new ArrayList<>(depth);
+        for (int i = 0; i < depth; i++) {
+            wave.add(jdbcExec.buildSql(query, cfg.model(), paramGen.generate(query)));
+        }
+        return wave;
+    }
+
+    // Report names for pipelined benchmarks, e.g. Q3x100-pipelined and Q3x100-blocking
+    static String pipelinedQueryName(QueryDefinition query, int depth, boolean pipelined) {
+        return query.queryName() + "x" + depth + (pipelined ? "-pipelined" : "-blocking");
+    }
+
+    private static void runIndexExperiments(BenchmarkConfig config, ConnectionManager connectionManager,
+                                            HikariDataSource jdbcDataSource, Set<DatabaseTarget> activeTargets,
+                                            QueryParameterGenerator paramGen, List<BenchmarkResult> allResults,
+                                            List<QueryDetail> allDetails) {
+        QueryDefinition query = QueryDefinition.valueOf(config.indexExperimentQuery());
+        BenchmarkRunner runner = new BenchmarkRunner(
+                config.indexExperimentWarmUpIterations(), config.indexExperimentMeasurementIterations());
+        // Hints would pin the planner to today's indexes and hide what a candidate changes
+        QueryTarget.Context context = new QueryTarget.Context(config, connectionManager, jdbcDataSource)
+                .withoutPlanHints();
+        // One tape for every target and candidate, long enough for warm-up and measurement
+        List<Map<String, Object>> tape = new ArrayList<>();
+        for (int i = 0; i < config.indexExperimentWarmUpIterations() + config.indexExperimentMeasurementIterations(); i++) {
+            tape.add(paramGen.generate(query));
+        }
+        IndexExperiment experiment = new IndexExperiment(runner, tape);
+
+        for (Configuration cfg : activeConfigurations(activeTargets)) {
+            if (cfg.target().usesJdbc() && jdbcDataSource == null) continue;
+            // Index changes go through a client of their own, native MongoDB and MongoDB API alike
+            boolean mongoIndexes = cfg.target().usesMongoDriver() && cfg.target() != DatabaseTarget.ORACLE_MONGO_API_DV;
+            try (MongoClient indexClient = mongoIndexes
+                         ? MongoClients.create(connectionManager.getMongoConnectionString(cfg.target())) : null;
+                 QueryTarget target = QueryTargetProvider.openTarget(cfg.target(), context);
+                 QueryTarget.Session session = target.openSession()) {
+                IndexExperiment.Indexes indexes = mongoIndexes
+                        ? new MongoCandidateIndexes(indexClient.getDatabase(connectionManager.getDatabaseName(cfg.target())))
+                        : new OracleCandidateIndexes(jdbcDataSource, cfg.target() == DatabaseTarget.ORACLE_JDBC
+                                ? IndexCandidate::oracle : IndexCandidate::relational);
+                session.warm(query, cfg.model(), tape.get(0));
+                List<IndexExperiment.Outcome> outcomes = experiment.run(query.queryName(), cfg.id(),
+                        config.indexCandidates(), indexes,
+                        params -> session.execute(query, cfg.model(), params),
+                        params -> session.captureQueryDetail(query, cfg.model(), params, cfg.id()));
+                for (IndexExperiment.Outcome outcome : outcomes) {
+                    if (outcome.result() != null) allResults.add(outcome.result());
+                    if (outcome.detail() != null) allDetails.add(outcome.detail());
+                }
+                logIndexRanking(query, cfg, IndexExperiment.rank(outcomes));
+            } catch (Exception e) {
+                log.warn("Failed to connect to {} for index experiments: {}", cfg.target(), e.getMessage());
+            }
+        }
+    }
+
+    private static void logIndexRanking(QueryDefinition query, Configuration cfg,
+                                        List<IndexExperiment.Outcome> ranked) {
+        log.info("Index candidates for {} on {}, best first:", query.queryName(), cfg.id());
+        int rank = 1;
+        for (IndexExperiment.Outcome outcome : ranked) {
+            if (outcome.failed()) {
+                log.info("  -  {}: failed: {}", outcome.candidate(), outcome.error());
+            } else {
+                log.info("  {}. {}: p99 {} ms, p50 {} ms, indexes {}", rank++, outcome.candidate(),
+                        String.format("%.2f", outcome.result().p99Millis()),
+                        String.format("%.2f", outcome.result().p50Millis()),
+                        outcome.indexBytes() < 0 ? "n/a" : String.format("%.1f MB", outcome.indexBytes() / 1048576.0));
+            }
+        }
+    }
+
+    // Uses the configured counts, or scales them to dataGeneration.targetSizeGb when enabled
+    private static DatasetPlan planDataset(BenchmarkConfig config, FanOut fanOut, long seed) {
+        DatasetPlan plan = DatasetPlan.fromConfig(config);
+        if (!config.scaleToTargetSize()) {
+            return plan;
+        }
+        DatasetSizer.Estimate estimate = DatasetSizer.sizeTo(plan, fanOut, config.targetSizeGb(), seed,
+                config.sizeSampleDocuments());
+        for (String collectionType : DatasetSizer.COLLECTIONS) {
+            log.info("Sized {}: {} documents x {} bytes avg = {} MB", collectionType,
+                    estimate.plan().count(collectionType),
+                    String.format("%.0f", estimate.avgDocumentBytes().get(collectionType)),
+                    estimate.collectionBytes(collectionType) / (1024 * 1024));
+        }
+        log.info("Dataset sized to {} GB (target {} GB): {} documents", String.format("%.2f", estimate.totalGb()),
+                config.targetSizeGb(), estimate.plan().totalDocuments());
+        return estimate.plan();
+    }
+
+    private static void loadWithPipeline(BenchmarkConfig config, DatasetPlan plan, TestDataGenerator generator,
+                                         ReferenceRegistry registry, Path snapshotDir, LoadManifest manifest,
+                                         ConnectionManager connectionManager,
+                                         DataLoader dataLoader, RelationalDataLoader relDataLoader,
+                                         HikariDataSource jdbcDataSource,
+                                         Set<DatabaseTarget> activeTargets, boolean needsRelational,
+                                         List<AdaptiveBatchSizer> batchSizers) {
+        List<MongoClient> clients = new ArrayList<>();
+        DatasetSnapshot.Writer snapshotWriter = null;
+        boolean snapshotComplete = false;
+        try {
+            List<LoadPipeline.BatchSink> sinks = openSinks(config, connectionManager, dataLoader, relDataLoader,
+                    jdbcDataSource, activeTargets, needsRelational, clients, batchSizers);
+            sinks.replaceAll(manifest::checkpointed);
+            List<String> targetNames = sinks.stream().map(LoadPipeline.BatchSink::name).toList();
+            boolean resuming = !manifest.loadedTargets().isEmpty();
+
+            // Reload from an existing snapshot (pure I/O), or record one while generating
+            DatasetSnapshot.Reader snapshotReader = null;
+            if (snapshotDir != null && DatasetSnapshot.exists(snapshotDir)) {
+                try {
+                    snapshotReader = new DatasetSnapshot.Reader(snapshotDir);
+                    log.info("Loading dataset from snapshot {} (seed {}, {} MB)", snapshotDir,
+                            snapshotReader.manifest().seed(), snapshotReader.manifest().totalBytes() / (1024 * 1024));
+                } catch (java.io.IOException e) {
+                    log.warn("Cannot read dataset snapshot {}, generating the data instead: {}", snapshotDir, e.getMessage());
+                }
+            }
+            if (snapshotReader == null && snapshotDir != null && resuming) {
+                log.warn("Not recording a snapshot to {}: a resumed load skips batches that are already loaded", snapshotDir);
+            } else if (snapshotReader == null && snapshotDir != null) {
+                try {
+                    snapshotWriter = new DatasetSnapshot.Writer(snapshotDir, generator.seed(),
+                            config.snapshotSegmentSizeMb() * 1024L * 1024L);
+                    sinks.add(snapshotWriter);
+                    log.info("Recording dataset snapshot to {}", snapshotDir);
+                } catch (java.io.IOException e) {
+                    log.warn("Not recording a snapshot to {}: {}", snapshotDir, e.getMessage());
+                }
+            }
+
+            LoadPipeline pipeline = newPipeline(config, sinks);
+
+            // Advisors first (needed for referential integrity), then investors before groups
+            for (String collectionType : DatasetSizer.COLLECTIONS) {
+                LoadPipeline.BatchGenerator source;
+                int count;
+                if (snapshotReader != null) {
+                    DatasetSnapshot.Reader reader = snapshotReader;
+                    count = reader.count(collectionType);
+                    source = (start, n) -> registerIds(registry, collectionType, reader.read(collectionType, start, n));
+                } else {
+                    count = plan.count(collectionType);
+                    source = generatedSource(config, generator, collectionType, activeTargets);
+                }
+                // Batches every target already holds are skipped, but their IDs are still registered
+                for (LoadManifest.Chunk chunk : manifest.loadedEverywhere(targetNames, collectionType)) {
+                    generator.registerIds(collectionType, chunk.start(), chunk.count());
+                }
+                List<LoadPipeline.StageStats> stats = pipeline.run(collectionType, count, source,
+                        start -> manifest.isLoadedEverywhere(targetNames, collectionType, start));
+                registry.sortRegisteredIds();
+                publishManifest(connectionManager, activeTargets, manifest);
+                // A failed sink is only drained, so a snapshot that missed batches must not get its manifest
+                String snapshotStage = snapshotWriter != null ? snapshotWriter.name() : null;
+                if (snapshotStage != null && stats.stream().anyMatch(s -> s.stage().equals(snapshotStage) && s.failed())) {
+                    log.warn("Dataset snapshot to {} failed; discarding it", snapshotDir);
+                    sinks.remove(snapshotWriter);
+                    pipeline = newPipeline(config, sinks);
+                    abandonSnapshot(snapshotWriter);
+                    snapshotWriter = null;
+                }
+            }
+            if (snapshotWriter != null) {
+                try {
+                    snapshotWriter.finish();
+                    snapshotComplete = true;
+                } catch (java.io.IOException e) {
+                    log.warn("Failed to complete dataset snapshot {}: {}", snapshotDir, e.getMessage());
+                }
+            }
+        } finally {
+            if (snapshotWriter != null && !snapshotComplete) {
+                abandonSnapshot(snapshotWriter);
+            }
+            for (MongoClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static void abandonSnapshot(DatasetSnapshot.Writer snapshotWriter) {
+        try {
+            snapshotWriter.abandon();
+        } catch (java.io.IOException e) {
+            log.warn("Failed to delete partial dataset snapshot: {}", e.getMessage());
+        }
+    }
+
+    private static List<LoadPipeline.BatchSink> openSinks(BenchmarkConfig config, ConnectionManager connectionManager,
+                                                          DataLoader dataLoader, RelationalDataLoader relDataLoader,
+                                                          HikariDataSource jdbcDataSource,
+                                                          Set<DatabaseTarget> activeTargets, boolean needsRelational,
+                                                          List<MongoClient> clients,
+                                                          List<AdaptiveBatchSizer> batchSizers) {
+        List<LoadPipeline.BatchSink> sinks = new ArrayList<>();
+        WriteConcern loadConcern = MongoBulkLoader.writeConcern(config.mongoLoadWriteConcern(), config.mongoLoadJournal());
+        List<MongoCompressor> compressors = MongoBulkLoader.compressors(config.mongoLoadCompressors());
+        log.info("Mongo load: {} writer thread(s) per target, write concern {}, compressors {}",
+                config.mongoWriterThreads(), loadConcern.asDocument().toJson(),
+                compressors.isEmpty() ? "none" : config.mongoLoadCompressors());
+        for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
+            if (!activeTargets.contains(target)) continue;
             try {
-                relDataLoader.loadToRelational(jdbcDataSource, collectionType, chunk, jdbcBatchSize);
+                MongoClient client = MongoClients.create(MongoClientSettings.builder()
+                        .applyConnectionString(new ConnectionString(connectionManager.getMongoConnectionString(target)))
+                        .compressorList(compressors)
+                        .build());
+                clients.add(client);
+                MongoDatabase db = client.getDatabase(connectionManager.getDatabaseName(target));
+                sinks.add(LoadSinks.mongo(target, db, new MongoBulkLoader(config.mongoWriterThreads(), config.batchSize(),
+                        loadConcern, batchSizer(config, target, config.batchSize(), batchSizers))));
             } catch (Exception e) {
-                log.warn("Failed to load {} to Relational: {}", collectionType, e.getMessage());
+                log.warn("Failed to connect to {} for loading: {}", target, e.getMessage());
             }
         }
+        int oracleSinks = (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) ? 1 : 0) + (needsRelational ? 1 : 0);
+        if (jdbcDataSource != null && oracleSinks * config.oracleLoadSessions() > jdbcDataSource.getMaximumPoolSize()) {
+            log.warn("{} Oracle load sessions per sink exceed the JDBC pool size of {}; partitions will queue for connections",
+                    config.oracleLoadSessions(), jdbcDataSource.getMaximumPoolSize());
+        }
+        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null) {
+            sinks.add(config.osonIngest()
+                    ? LoadSinks.oracleOson(jdbcDataSource, dataLoader, config.jdbcBatchSize())
+                    : LoadSinks.oracleJson(jdbcDataSource, dataLoader, config.jdbcBatchSize()));
+        }
+        if (needsRelational && jdbcDataSource != null) {
+            sinks.add(LoadSinks.relational(jdbcDataSource, relDataLoader, config.jdbcBatchSize()));
+        }
+        return sinks;
+    }
+
+    // Null unless adaptive batching is enabled; created sizers are collected so their sizes can be logged
+    private static AdaptiveBatchSizer batchSizer(BenchmarkConfig config, DatabaseTarget target, int initialSize,
+                                                 List<AdaptiveBatchSizer> batchSizers) {
+        if (!config.adaptiveBatching()) return null;
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(target.name(), initialSize,
+                config.adaptiveMinBatchSize(), config.adaptiveMaxBatchSize(), config.adaptiveTargetLatencyMs(),
+                config.adaptiveIncreaseStep(), config.adaptiveDecreaseFactor());
+        batchSizers.add(sizer);
+        return sizer;
+    }
+
+    private static LoadPipeline newPipeline(BenchmarkConfig config, List<LoadPipeline.BatchSink> sinks) {
+        log.info("Pipeline: {} generator thread(s), queue depth {}, batch size {}, sinks {}",
+                config.generatorThreads(), config.pipelineQueueDepth(), config.pipelineBatchSize(),
+                sinks.stream().map(LoadPipeline.BatchSink::name).toList());
+        return new LoadPipeline(sinks, config.generatorThreads(),
+                config.pipelineQueueDepth(), config.pipelineBatchSize());
+    }
+
+    // Generates the documents of a collection at the pipeline's batch indexes
+    private static LoadPipeline.BatchGenerator generatedSource(BenchmarkConfig config, TestDataGenerator generator,
+                                                               String collectionType,
+                                                               Set<DatabaseTarget> activeTargets) {
+        // Encoded batches skip Document maps; JSON text or OSON is only produced when JDBC needs it,
+        // and on the generator threads so the JDBC loader thread only binds and executes
+        boolean jdbc = activeTargets.contains(DatabaseTarget.ORACLE_JDBC);
+        boolean withOson = jdbc && config.osonIngest();
+        boolean withJson = jdbc && !withOson;
+        if (config.encodedGeneration()) {
+            return (start, n) -> {
+                DocumentBatch batch = generator.encode(collectionType, start, n, withJson);
+                if (withOson) batch.oson();
+                return batch;
+            };
+        }
+        return (start, n) -> {
+            DocumentBatch batch = DocumentBatch.of(generateChunk(generator, collectionType, start, n));
+            if (withOson) batch.oson();
+            return batch;
+        };
+    }
+
+    /**
+     * Inserts freshly generated documents into every active target at each configured batch
+     * size and writer count. Documents come from an index range far beyond the dataset, so
+     * their IDs never collide with loaded ones, and are not registered, so later passes never
+     * reference them; each run removes its documents again.
+     */
+    private static List<IngestResult> runIngestBenchmarks(BenchmarkConfig config, TestDataGenerator generator,
+                                                          ConnectionManager connectionManager,
+                                                          HikariDataSource jdbcDataSource,
+                                                          Set<DatabaseTarget> activeTargets) {
+        String collectionType = config.ingestCollection();
+        List<RawBsonDocument> docs = generator.encodeWithoutRegistering(collectionType, INGEST_FIRST_INDEX,
+                config.ingestDocuments(), false).bson();
+        int maxBatch = config.ingestBatchSizes().stream().mapToInt(Integer::intValue).max().orElse(1);
+        WriteConcern loadConcern = MongoBulkLoader.writeConcern(config.mongoLoadWriteConcern(), config.mongoLoadJournal());
+        IngestBenchmark benchmark = new IngestBenchmark(config.ingestBatchSizes(), config.ingestWriters());
+        log.info("Ingest: {} {} documents per run, batch sizes {}, writers {}", docs.size(), collectionType,
+                config.ingestBatchSizes(), config.ingestWriters());
+
+        // Single-threaded loaders: the benchmark's writer threads provide the concurrency
+        List<IngestBenchmark.Target> targets = new ArrayList<>();
+        List<MongoClient> clients = new ArrayList<>();
+        for (DatabaseTarget target : activeTargets) {
+            if (target.usesMongoDriver()) {
+                try {
+                    MongoClient client = MongoClients.create(connectionManager.getMongoConnectionString(target));
+                    clients.add(client);
+                    MongoDatabase db = client.getDatabase(connectionManager.getDatabaseName(target));
+                    String collection = target == DatabaseTarget.ORACLE_MONGO_API_DV
+                            ? OracleDualityViewSchemaManager.viewName(collectionType) : collectionType;
+                    targets.add(new IngestBenchmark.Target(target.name(), collection,
+                            LoadSinks.mongo(target, db, new MongoBulkLoader(1, maxBatch, loadConcern)),
+                            DocumentBatch::bson));
+                } catch (Exception e) {
+                    log.warn("Failed to connect to {} for ingest: {}", target, e.getMessage());
+                }
+            } else if (jdbcDataSource != null) {
+                DataLoader loader = new DataLoader(1, false);
+                switch (target) {
+                    case ORACLE_JDBC -> targets.add(config.osonIngest()
+                            ? new IngestBenchmark.Target(target.name(), collectionType,
+                                    LoadSinks.oracleOson(jdbcDataSource, loader, maxBatch), DocumentBatch::oson)
+                            : new IngestBenchmark.Target(target.name(), collectionType,
+                                    LoadSinks.oracleJson(jdbcDataSource, loader, maxBatch), DocumentBatch::json));
+                    case ORACLE_RELATIONAL -> targets.add(new IngestBenchmark.Target(target.name(), collectionType,
+                            LoadSinks.relational(jdbcDataSource, new RelationalDataLoader(1, false), maxBatch),
+                            DocumentBatch::documents));
+                    case ORACLE_DUALITY_VIEW -> targets.add(new IngestBenchmark.Target(target.name(),
+                            OracleDualityViewSchemaManager.viewName(collectionType),
+                            LoadSinks.dualityView(jdbcDataSource, loader, maxBatch), DocumentBatch::oson));
+                    default -> { }
+                }
+            }
+        }
+
+        List<IngestResult> results = new ArrayList<>();
+        try {
+            for (IngestBenchmark.Target target : targets) {
+                log.info("Ingesting into {} ({})", target.name(), target.collection());
+                results.addAll(benchmark.run(target, docs));
+            }
+        } finally {
+            for (MongoClient client : clients) {
+                client.close();
+            }
+        }
+        return results;
+    }
+
+    private static void growAndBenchmark(BenchmarkConfig config, TestDataGenerator generator,
+                                         ReferenceRegistry registry, LoadManifest manifest,
+                                         ConnectionManager connectionManager,
+                                         HikariDataSource jdbcDataSource,
+                                         OracleRelationalSchemaManager relSchemaManager,
+                                         Set<DatabaseTarget> activeTargets, boolean needsRelational,
+                                         QueryParameterGenerator paramGen, List<Double> growthSteps,
+                                         List<BenchmarkResult> allResults, List<QueryDetail> allDetails) {
+        if (manifest == null) {
+            log.warn("Cannot grow dataset: no load manifest records the loaded data; reload it to record one");
+            return;
+        }
+        Map<String, Integer> baseCounts = new LinkedHashMap<>();
+        for (String collectionType : DatasetSizer.COLLECTIONS) {
+            baseCounts.put(collectionType, manifest.planned(collectionType));
+        }
+        double scale = 1.0;
+        for (double step : growthSteps) {
+            scale += step;
+            log.info("--- Growing dataset by {} of the base size (now {}x) ---", step, scale);
+            appendData(config, generator, registry, manifest, connectionManager, jdbcDataSource,
+                    activeTargets, needsRelational, baseCounts, step);
+            if (config.appendRefreshStatistics()) {
+                refreshStatistics(config, connectionManager, jdbcDataSource, relSchemaManager, activeTargets, needsRelational);
+            }
+            // Same sampled parameters as the base pass, so scales are directly comparable
+            runBenchmarks(config, connectionManager, jdbcDataSource, activeTargets, paramGen,
+                    scaleSuffix(scale), allResults, allDetails);
+        }
+    }
+
+    /**
+     * Appends {@code step} x the base count of every collection to all active targets. New
+     * documents continue each collection's index sequence in the load manifest, so IDs never
+     * collide with existing ones, and new advisors/investors are registered for later
+     * references. Appended batches are checkpointed, and a collection's count grows in the
+     * manifest once every target holds them, so later runs keep the grown dataset.
+     */
+    private static void appendData(BenchmarkConfig config, TestDataGenerator generator, ReferenceRegistry registry,
+                                   LoadManifest manifest, ConnectionManager connectionManager,
+                                   HikariDataSource jdbcDataSource,
+                                   Set<DatabaseTarget> activeTargets, boolean needsRelational,
+                                   Map<String, Integer> baseCounts, double step) {
+        List<MongoClient> clients = new ArrayList<>();
+        List<AdaptiveBatchSizer> batchSizers = new ArrayList<>();
+        try {
+            List<LoadPipeline.BatchSink> sinks = openSinks(config, connectionManager,
+                    new DataLoader(config.oracleLoadSessions(), config.oracleDirectPath(),
+                            batchSizer(config, DatabaseTarget.ORACLE_JDBC, config.jdbcBatchSize(), batchSizers)),
+                    new RelationalDataLoader(config.oracleLoadSessions(), config.oracleDirectPath(),
+                            batchSizer(config, DatabaseTarget.ORACLE_RELATIONAL, config.jdbcBatchSize(), batchSizers)),
+                    jdbcDataSource, activeTargets, needsRelational, clients, batchSizers);
+            sinks.replaceAll(manifest::checkpointed);
+            List<String> targetNames = sinks.stream().map(LoadPipeline.BatchSink::name).toList();
+            LoadPipeline pipeline = newPipeline(config, sinks);
+            for (String collectionType : DatasetSizer.COLLECTIONS) {
+                int firstIndex = manifest.planned(collectionType);
+                int count = Math.toIntExact(Math.round(baseCounts.getOrDefault(collectionType, 0) * step));
+                log.info("Appending {} {} documents after index {}", count, collectionType, firstIndex);
+                List<LoadPipeline.StageStats> stats = pipeline.run(collectionType, firstIndex, count,
+                        generatedSource(config, generator, collectionType, activeTargets),
+                        start -> manifest.isLoadedEverywhere(targetNames, collectionType, start));
+                registry.sortRegisteredIds();
+                if (stats.stream().anyMatch(LoadPipeline.StageStats::failed)) {
+                    log.warn("Appending {} failed on some targets; the load manifest keeps {} documents",
+                            collectionType, firstIndex);
+                } else {
+                    manifest.grow(collectionType, count);
+                }
+                publishManifest(connectionManager, activeTargets, manifest);
+            }
+            batchSizers.forEach(AdaptiveBatchSizer::logSummary);
+        } finally {
+            for (MongoClient client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    /**
+     * Re-gathers optimizer statistics on the Oracle tables and clears MongoDB plan caches, so
+     * plans after growth reflect the new data volume instead of the previous one.
+     */
+    private static void refreshStatistics(BenchmarkConfig config, ConnectionManager connectionManager,
+                                          HikariDataSource jdbcDataSource,
+                                          OracleRelationalSchemaManager relSchemaManager,
+                                          Set<DatabaseTarget> activeTargets, boolean needsRelational) {
+        for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
+            if (!activeTargets.contains(target)) continue;
+            try (MongoClient client = MongoClients.create(connectionManager.getMongoConnectionString(target))) {
+                MongoDatabase db = client.getDatabase(connectionManager.getDatabaseName(target));
+                for (String collectionType : DatasetSizer.COLLECTIONS) {
+                    db.runCommand(new Document("planCacheClear", collectionType));
+                }
+                log.info("Cleared plan caches on {}", target);
+            } catch (Exception e) {
+                log.warn("Failed to clear plan caches on {}: {}", target, e.getMessage());
+            }
+        }
+
+        if (jdbcDataSource == null) return;
+        new IndexBuildStage(config.indexBuildParallelism()).run("Statistics refresh",
+                statisticsTasks(config, jdbcDataSource, relSchemaManager, activeTargets, needsRelational));
+    }
+
+    static String scaleSuffix(double scale) {
+        return "@" + BigDecimal.valueOf(scale).stripTrailingZeros().toPlainString() + "x";
+    }
+
+    // Snapshot reloads skip the generator, so the registry is filled from the documents themselves
+    private static DocumentBatch registerIds(ReferenceRegistry registry, String collectionType, DocumentBatch batch) {
+        if (collectionType.equals("advisor")) {
+            for (RawBsonDocument doc : batch.bson()) {
+                registry.registerAdvisorId(doc.getString("_id").getValue());
+            }
+        } else if (collectionType.equals("bookRoleInvestor")) {
+            for (RawBsonDocument doc : batch.bson()) {
+                registry.registerInvestorId(doc.getString("investorId").getValue());
+            }
+        }
+        return batch;
+    }
+
+    private static void loadInChunks(TestDataGenerator generator, String collectionType, int totalCount,
+                                     ParallelTargetLoader targetLoader, LoadManifest manifest,
+                                     List<String> targetNames) {
+        int loaded = 0;
+        while (loaded < totalCount) {
+            int chunkSize = Math.min(CHUNK_SIZE, totalCount - loaded);
+            if (manifest.isLoadedEverywhere(targetNames, collectionType, loaded)) {
+                generator.registerIds(collectionType, loaded, chunkSize);
+                log.info("Skipping chunk [{}-{}) of {} for {}: already loaded", loaded, loaded + chunkSize,
+                        totalCount, collectionType);
+                loaded += chunkSize;
+                continue;
+            }
+            List<Document> chunk = generateChunk(generator, collectionType, loaded, chunkSize);
+            log.info("Generated chunk [{}-{}) of {} for {}", loaded, loaded + chunkSize, totalCount, collectionType);
+
+            targetLoader.load(collectionType, DocumentBatch.of(chunk).startingAt(loaded));
+            loaded += chunkSize;
+        }
+        log.info("Completed loading {} {} documents", totalCount, collectionType);
+    }
+
+    private static List<Document> generateChunk(TestDataGenerator generator, String collectionType,
+                                                int startIndex, int count) {
+        return switch (collectionType) {
+            case "advisor" -> generator.generateAdvisors(startIndex, count);
+            case "bookRoleInvestor" -> generator.generateBookRoleInvestors(startIndex, count);
+            case "bookRoleGroup" -> generator.generateBookRoleGroups(startIndex, count);
+            case "account" -> generator.generateAccounts(startIndex, count);
+            default -> throw new IllegalArgumentException("Unknown collection: " + collectionType);
+        };
     }
 
     private static void prepareSchemas(ConnectionManager connectionManager,
@@ -422,10 +1108,11 @@ public class HelixBenchmarkMain {
                                         OracleSchemaManager oracleSchemaManager,
                                         OracleRelationalSchemaManager relSchemaManager,
                                         HikariDataSource jdbcDataSource,
-                                        Set<DatabaseTarget> activeTargets, boolean needsRelational) {
+                                        Set<DatabaseTarget> activeTargets, boolean needsRelational,
+                                        Set<String> resumedTargets) {
         // Prepare MongoDB schemas (drop collections)
         for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
-            if (!activeTargets.contains(target)) continue;
+            if (!activeTargets.contains(target) || resumedTargets.contains(target.name())) continue;
             try {
                 String connStr = connectionManager.getMongoConnectionString(target);
                 String dbName = connectionManager.getDatabaseName(target);
@@ -435,6 +1122,7 @@ public class HelixBenchmarkMain {
                         db.getCollection(name).drop();
                         log.info("Dropped collection {} on {}", name, target);
                     }
+                    db.getCollection(LoadManifest.COLLECTION).drop();
                 }
             } catch (Exception e) {
                 log.warn("Failed to prepare {} schema: {}", target, e.getMessage());
@@ -442,7 +1130,8 @@ public class HelixBenchmarkMain {
         }
 
         // Prepare Oracle JDBC schemas (drop + create tables)
-        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null) {
+        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null
+                && !resumedTargets.contains(DatabaseTarget.ORACLE_JDBC.name())) {
             try (Connection conn = jdbcDataSource.getConnection(); Statement stmt = conn.createStatement()) {
                 for (String table : oracleSchemaManager.getTableNames(SchemaModel.EMBEDDED)) {
                     try {
@@ -461,7 +1150,8 @@ public class HelixBenchmarkMain {
 
         // Prepare Oracle Relational schemas (drop children first, then parents, then create)
         // Also needed when duality views are active since they depend on relational tables
-        if (needsRelational && jdbcDataSource != null) {
+        if (needsRelational && jdbcDataSource != null
+                && !resumedTargets.contains(DatabaseTarget.ORACLE_RELATIONAL.name())) {
             try (Connection conn = jdbcDataSource.getConnection(); Statement stmt = conn.createStatement()) {
                 for (String table : relSchemaManager.getDropOrder()) {
                     try {
@@ -479,68 +1169,121 @@ public class HelixBenchmarkMain {
         }
     }
 
-    private static void createAllIndexes(ConnectionManager connectionManager,
-                                          MongoSchemaManager mongoSchemaManager,
-                                          OracleSchemaManager oracleSchemaManager,
-                                          OracleRelationalSchemaManager relSchemaManager,
-                                          HikariDataSource jdbcDataSource,
-                                          Set<DatabaseTarget> activeTargets, boolean needsRelational) {
-        // MongoDB indexes
-        for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
-            if (!activeTargets.contains(target)) continue;
-            try {
-                String connStr = connectionManager.getMongoConnectionString(target);
-                String dbName = connectionManager.getDatabaseName(target);
-                try (MongoClient client = MongoClients.create(connStr)) {
-                    MongoDatabase db = client.getDatabase(dbName);
+    /**
+     * Builds every index through {@link IndexBuildStage}: different collections/tables and
+     * different targets concurrently, with optional PARALLEL/NOLOGGING on Oracle, then gathers
+     * optimizer statistics on all Oracle tables. Returns per-index (and per-table statistics)
+     * timings for the report.
+     */
+    private static List<IndexBuildResult> createAllIndexes(BenchmarkConfig config, ConnectionManager connectionManager,
+                                                           MongoSchemaManager mongoSchemaManager,
+                                                           OracleSchemaManager oracleSchemaManager,
+                                                           OracleRelationalSchemaManager relSchemaManager,
+                                                           HikariDataSource jdbcDataSource,
+                                                           Set<DatabaseTarget> activeTargets, boolean needsRelational) {
+        List<IndexBuildStage.IndexTask> tasks = new ArrayList<>();
+        List<MongoClient> clients = new ArrayList<>();
+        try {
+            // MongoDB indexes
+            for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API}) {
+                if (!activeTargets.contains(target)) continue;
+                try {
+                    MongoClient client = MongoClients.create(connectionManager.getMongoConnectionString(target));
+                    clients.add(client);
+                    MongoDatabase db = client.getDatabase(connectionManager.getDatabaseName(target));
                     for (var idx : mongoSchemaManager.getIndexDefinitions(SchemaModel.EMBEDDED)) {
                         Document keys = new Document();
                         for (var e : idx.keys().entrySet()) {
                             keys.append(e.getKey(), e.getValue());
                         }
-                        db.getCollection(idx.collection()).createIndex(keys);
+                        tasks.add(new IndexBuildStage.IndexTask(target.name(), idx.collection(),
+                                String.join("_", keys.keySet()), () -> db.getCollection(idx.collection()).createIndex(keys)));
                     }
-                    log.info("Indexes created for {}", target);
+                } catch (Exception e) {
+                    log.warn("Failed to connect to {} for index builds: {}", target, e.getMessage());
                 }
-            } catch (Exception e) {
-                log.warn("Failed to create indexes on {}: {}", target, e.getMessage());
             }
-        }
 
-        // Oracle JDBC indexes
-        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null) {
-            try (Connection conn = jdbcDataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            // Oracle JDBC indexes
+            if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC) && jdbcDataSource != null) {
                 for (String indexSql : oracleSchemaManager.getIndexStatements(SchemaModel.EMBEDDED)) {
-                    try {
-                        stmt.execute(indexSql);
-                    } catch (Exception e) {
-                        log.warn("Index creation failed (may already exist): {}", e.getMessage());
-                    }
+                    tasks.add(oracleIndexTask(config, jdbcDataSource, DatabaseTarget.ORACLE_JDBC, indexSql));
                 }
-                log.info("Oracle JDBC indexes created");
-                conn.commit();
-            } catch (Exception e) {
-                log.warn("Failed to create Oracle JDBC indexes: {}", e.getMessage());
             }
 
+            // Oracle Relational indexes (also needed for duality views)
+            if (needsRelational && jdbcDataSource != null) {
+                for (String indexSql : relSchemaManager.getIndexStatements()) {
+                    tasks.add(oracleIndexTask(config, jdbcDataSource, DatabaseTarget.ORACLE_RELATIONAL, indexSql));
+                }
+            }
+
+            IndexBuildStage stage = new IndexBuildStage(config.indexBuildParallelism());
+            List<IndexBuildResult> results = new ArrayList<>(stage.run("Index build", tasks));
+            if (config.gatherStatistics() && jdbcDataSource != null) {
+                results.addAll(stage.run("Statistics gather",
+                        statisticsTasks(config, jdbcDataSource, relSchemaManager, activeTargets, needsRelational)));
+            }
+            return results;
+        } finally {
+            for (MongoClient client : clients) {
+                client.close();
+            }
         }
+    }
 
-        // Oracle Relational indexes (also needed for duality views)
-        if (needsRelational && jdbcDataSource != null) {
+    private static IndexBuildStage.IndexTask oracleIndexTask(BenchmarkConfig config, HikariDataSource jdbcDataSource,
+                                                             DatabaseTarget target, String indexSql) {
+        IndexBuildStage.IndexStatement index = IndexBuildStage.parse(indexSql);
+        int degree = config.indexParallelDegree();
+        boolean nologging = config.indexNologging();
+        String buildSql = IndexBuildStage.withBuildOptions(indexSql, degree, nologging);
+        return new IndexBuildStage.IndexTask(target.name(), index.table(), index.name(), () -> {
             try (Connection conn = jdbcDataSource.getConnection(); Statement stmt = conn.createStatement()) {
-                for (String indexSql : relSchemaManager.getIndexStatements()) {
-                    try {
-                        stmt.execute(indexSql);
-                    } catch (Exception e) {
-                        log.warn("Relational index creation failed (may already exist): {}", e.getMessage());
+                try {
+                    stmt.execute(buildSql);
+                } catch (SQLException e) {
+                    // ORA-00955 / ORA-01408: index (or one on the same columns) already exists
+                    if (e.getErrorCode() == 955 || e.getErrorCode() == 1408) {
+                        log.info("Index {} already exists on {}", index.name(), target);
+                        return;
                     }
+                    throw e;
                 }
-                log.info("Oracle Relational indexes created");
-                conn.commit();
-            } catch (Exception e) {
-                log.warn("Failed to create Oracle Relational indexes: {}", e.getMessage());
+                for (String reset : IndexBuildStage.resetBuildOptions(indexSql, degree, nologging)) {
+                    stmt.execute(reset);
+                }
+            }
+        });
+    }
+
+    // DBMS_STATS on every jdbc_* table (embedded target) and rel_* table (relational and duality views)
+    private static List<IndexBuildStage.IndexTask> statisticsTasks(BenchmarkConfig config, HikariDataSource jdbcDataSource,
+                                                                   OracleRelationalSchemaManager relSchemaManager,
+                                                                   Set<DatabaseTarget> activeTargets, boolean needsRelational) {
+        int degree = config.statisticsDegree();
+        String sql = "BEGIN DBMS_STATS.GATHER_TABLE_STATS(ownname => USER, tabname => ?, cascade => TRUE, degree => "
+                + (degree > 0 ? String.valueOf(degree) : "DBMS_STATS.AUTO_DEGREE") + "); END;";
+        List<IndexBuildStage.IndexTask> tasks = new ArrayList<>();
+        Map<String, DatabaseTarget> tables = new LinkedHashMap<>();
+        if (activeTargets.contains(DatabaseTarget.ORACLE_JDBC)) {
+            for (String collectionType : DatasetSizer.COLLECTIONS) {
+                tables.put(DataLoader.jdbcTableName(collectionType), DatabaseTarget.ORACLE_JDBC);
+            }
+        }
+        if (needsRelational) {
+            for (String table : relSchemaManager.getDropOrder()) {
+                tables.put(table, DatabaseTarget.ORACLE_RELATIONAL);
             }
         }
+        tables.forEach((table, target) -> tasks.add(new IndexBuildStage.IndexTask(target.name(), table,
+                IndexBuildResult.STATISTICS, () -> {
+            try (Connection conn = jdbcDataSource.getConnection(); CallableStatement cs = conn.prepareCall(sql)) {
+                cs.setString(1, table.toUpperCase());
+                cs.execute();
+            }
+        })));
+        return tasks;
     }
 
     private static void createDualityViews(HikariDataSource jdbcDataSource,
@@ -603,14 +1346,48 @@ public class HelixBenchmarkMain {
         return null;
     }
 
-    private static boolean checkDataExists(ConnectionManager connectionManager, int expectedAdvisorCount) {
+    // Targets the load writes to, named as their sinks record them in the load manifest;
+    // duality views read the relational tables and have no load of their own
+    private static List<String> loadedTargets(Set<DatabaseTarget> activeTargets, boolean needsRelational) {
+        List<String> targets = new ArrayList<>();
+        for (DatabaseTarget target : new DatabaseTarget[]{DatabaseTarget.MONGO_NATIVE, DatabaseTarget.ORACLE_MONGO_API,
+                DatabaseTarget.ORACLE_JDBC}) {
+            if (activeTargets.contains(target)) targets.add(target.name());
+        }
+        if (needsRelational) targets.add(DatabaseTarget.ORACLE_RELATIONAL.name());
+        return targets;
+    }
+
+    // The load manifest publishManifest keeps next to the data; null if there is none
+    private static LoadManifest.State readPublishedManifest(ConnectionManager connectionManager) {
+        String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
+        String dbName = connectionManager.getDatabaseName(DatabaseTarget.MONGO_NATIVE);
+        try (MongoClient client = MongoClients.create(connStr)) {
+            Document recorded = client.getDatabase(dbName).getCollection(LoadManifest.COLLECTION)
+                    .find(Filters.eq("_id", LoadManifest.DOCUMENT_ID)).first();
+            return recorded != null ? LoadManifest.parse(recorded.get("manifest", Document.class).toJson()) : null;
+        } catch (Exception e) {
+            log.warn("Could not read the published load manifest: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static boolean checkDataExists(ConnectionManager connectionManager, LoadManifest.State published,
+                                           int expectedAdvisorCount, List<String> targets) {
+        if (published != null) {
+            List<String> incomplete = targets.stream().filter(t -> !published.complete(t)).toList();
+            log.info("Existing data check (load manifest): seed {}, {}{}", published.seed(), published.plan(),
+                    incomplete.isEmpty() ? "" : ", incomplete on " + incomplete);
+            return incomplete.isEmpty() && published.plan().getOrDefault("advisor", 0) >= expectedAdvisorCount;
+        }
         try {
             String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
             String dbName = connectionManager.getDatabaseName(DatabaseTarget.MONGO_NATIVE);
             try (MongoClient client = MongoClients.create(connStr)) {
                 MongoDatabase db = client.getDatabase(dbName);
-                long advisorCount = db.getCollection("advisor").countDocuments();
-                long investorCount = db.getCollection("bookRoleInvestor").countDocuments();
+                // Loaded before load manifests were recorded: use collection metadata counts, not scans
+                long advisorCount = db.getCollection("advisor").estimatedDocumentCount();
+                long investorCount = db.getCollection("bookRoleInvestor").estimatedDocumentCount();
                 log.info("Existing data check: advisor={}, bookRoleInvestor={}", advisorCount, investorCount);
                 return advisorCount >= expectedAdvisorCount && investorCount > 0;
             }
@@ -620,6 +1397,22 @@ public class HelixBenchmarkMain {
         }
     }
 
+    // Keeps a copy of the load manifest next to the data, where checkDataExists reads it
+    private static void publishManifest(ConnectionManager connectionManager, Set<DatabaseTarget> activeTargets,
+                                        LoadManifest manifest) {
+        if (!activeTargets.contains(DatabaseTarget.MONGO_NATIVE)) return;
+        String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
+        String dbName = connectionManager.getDatabaseName(DatabaseTarget.MONGO_NATIVE);
+        try (MongoClient client = MongoClients.create(connStr)) {
+            client.getDatabase(dbName).getCollection(LoadManifest.COLLECTION).replaceOne(
+                    Filters.eq("_id", LoadManifest.DOCUMENT_ID),
+                    new Document("_id", LoadManifest.DOCUMENT_ID).append("manifest", Document.parse(manifest.toJson())),
+                    new ReplaceOptions().upsert(true));
+        } catch (Exception e) {
+            log.warn("Failed to record load manifest in MongoDB: {}", e.getMessage());
+        }
+    }
+
     private static boolean checkRelationalDataExists(HikariDataSource jdbcDataSource) {
         String[] tables = {"rel_advisor", "rel_book_role_investor", "rel_book_role_group", "rel_account"};
         try (Connection conn = jdbcDataSource.getConnection();
@@ -640,10 +1433,10 @@ public class HelixBenchmarkMain {
         return false;
     }
 
-    private static void backfillRelationalFromMongo(ConnectionManager connectionManager,
-                                                     HikariDataSource jdbcDataSource,
-                                                     OracleRelationalSchemaManager relSchemaManager,
-                                                     int jdbcBatchSize) {
+    private static void backfillRelational(BenchmarkConfig config, ConnectionManager connectionManager,
+                                           HikariDataSource jdbcDataSource,
+                                           OracleRelationalSchemaManager relSchemaManager,
+                                           Path snapshotDir) {
         // Create tables
         try (Connection conn = jdbcDataSource.getConnection(); Statement stmt = conn.createStatement()) {
             for (String table : relSchemaManager.getDropOrder()) {
@@ -659,36 +1452,11 @@ public class HelixBenchmarkMain {
             return;
         }
 
-        // Read from Mongo and load to relational
-        RelationalDataLoader relDataLoader = new RelationalDataLoader();
-        try {
-            String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
-            String dbName = connectionManager.getDatabaseName(DatabaseTarget.MONGO_NATIVE);
-            try (MongoClient client = MongoClients.create(connStr)) {
-                MongoDatabase db = client.getDatabase(dbName);
-
-                for (String collectionType : new String[]{"advisor", "bookRoleInvestor", "bookRoleGroup", "account"}) {
-                    log.info("Backfilling {} to relational tables...", collectionType);
-                    List<Document> chunk = new ArrayList<>();
-                    int loaded = 0;
-                    for (Document doc : db.getCollection(collectionType).find()) {
-                        chunk.add(doc);
-                        if (chunk.size() >= CHUNK_SIZE) {
-                            relDataLoader.loadToRelational(jdbcDataSource, collectionType, chunk, jdbcBatchSize);
-                            loaded += chunk.size();
-                            log.info("Backfilled {} {} documents", loaded, collectionType);
-                            chunk = new ArrayList<>();
-                        }
-                    }
-                    if (!chunk.isEmpty()) {
-                        relDataLoader.loadToRelational(jdbcDataSource, collectionType, chunk, jdbcBatchSize);
-                        loaded += chunk.size();
-                    }
-                    log.info("Backfill complete: {} {} documents", loaded, collectionType);
-                }
-            }
-        } catch (Exception e) {
-            log.warn("Failed to backfill relational data: {}", e.getMessage());
+        if (snapshotDir != null && DatasetSnapshot.exists(snapshotDir)) {
+            RelationalDataLoader relDataLoader = new RelationalDataLoader(config.oracleLoadSessions(), config.oracleDirectPath());
+            backfillRelationalFromSnapshot(config, jdbcDataSource, relDataLoader, snapshotDir);
+        } else {
+            backfillRelationalFromMongo(config, connectionManager, jdbcDataSource);
         }
 
         // Create indexes
@@ -705,6 +1473,54 @@ public class HelixBenchmarkMain {
         }
     }
 
+    private static void backfillRelationalFromSnapshot(BenchmarkConfig config, HikariDataSource jdbcDataSource,
+                                                       RelationalDataLoader relDataLoader, Path snapshotDir) {
+        // Read from the on-disk snapshot instead of scanning Mongo
+        try {
+            DatasetSnapshot.Reader reader = new DatasetSnapshot.Reader(snapshotDir);
+            log.info("Backfilling relational tables from snapshot {}", snapshotDir);
+            LoadPipeline pipeline = new LoadPipeline(
+                    List.of(LoadSinks.relational(jdbcDataSource, relDataLoader, config.jdbcBatchSize())),
+                    config.generatorThreads(), config.pipelineQueueDepth(), config.pipelineBatchSize());
+            for (String collectionType : new String[]{"advisor", "bookRoleInvestor", "bookRoleGroup", "account"}) {
+                pipeline.run(collectionType, reader.count(collectionType),
+                        (start, n) -> reader.read(collectionType, start, n));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill relational data from snapshot: {}", e.getMessage());
+        }
+    }
+
+    private static void backfillRelationalFromMongo(BenchmarkConfig config, ConnectionManager connectionManager,
+                                                    HikariDataSource jdbcDataSource) {
+        // Read _id ranges in parallel; split the Oracle sessions between the range readers
+        int readers = config.backfillReaders();
+        RelationalDataLoader relDataLoader = new RelationalDataLoader(
+                Math.max(1, config.oracleLoadSessions() / readers), config.oracleDirectPath());
+        MongoRangeReader rangeReader = new MongoRangeReader(readers,
+                config.backfillCursorBatchSize(), config.backfillChunkSize());
+        try {
+            String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
+            String dbName = connectionManager.getDatabaseName(DatabaseTarget.MONGO_NATIVE);
+            try (MongoClient client = MongoClients.create(connStr)) {
+                MongoDatabase db = client.getDatabase(dbName);
+
+                for (String collectionType : new String[]{"advisor", "bookRoleInvestor", "bookRoleGroup", "account"}) {
+                    log.info("Backfilling {} to relational tables...", collectionType);
+                    long start = System.nanoTime();
+                    long loaded = rangeReader.read(db.getCollection(collectionType, RawBsonDocument.class),
+                            chunk -> relDataLoader.loadToRelational(jdbcDataSource, collectionType,
+                                    chunk.documents(), config.jdbcBatchSize()));
+                    double secs = (System.nanoTime() - start) / 1_000_000_000.0;
+                    log.info("Backfill complete: {} {} documents in {} s ({} docs/s)", loaded, collectionType,
+                            String.format("%.1f", secs), String.format("%.0f", secs > 0 ? loaded / secs : 0));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to backfill relational data: {}", e.getMessage());
+        }
+    }
+
     private static void populateRegistryFromDb(ConnectionManager connectionManager, ReferenceRegistry registry) {
         try {
             String connStr = connectionManager.getMongoConnectionString(DatabaseTarget.MONGO_NATIVE);
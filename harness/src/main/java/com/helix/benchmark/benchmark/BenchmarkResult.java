@@ -8,8 +8,21 @@ public record BenchmarkResult(
         long p99Nanos,
         double averageNanos,
         double throughputOpsPerSec,
-        int iterationCount
+        int iterationCount,
+        ServerStats serverStats
 ) {
+    public BenchmarkResult(String queryName, String configurationId, long p50Nanos, long p95Nanos, long p99Nanos,
+                           double averageNanos, double throughputOpsPerSec, int iterationCount) {
+        this(queryName, configurationId, p50Nanos, p95Nanos, p99Nanos, averageNanos, throughputOpsPerSec,
+                iterationCount, null);
+    }
+
+    /** This result with per-operation server-side statistics for the same run attached. */
+    public BenchmarkResult withServerStats(ServerStats perOperation) {
+        return new BenchmarkResult(queryName, configurationId, p50Nanos, p95Nanos, p99Nanos, averageNanos,
+                throughputOpsPerSec, iterationCount, perOperation);
+    }
+
     public double p50Millis() {
         return p50Nanos / 1_000_000.0;
     }
@@ -17,6 +17,15 @@ public class BenchmarkRunner {
     }
 
     public BenchmarkResult run(String queryName, String configId, Supplier<Void> workload) {
+        return run(queryName, configId, workload, () -> { });
+    }
+
+    /**
+     * As {@link #run(String, String, Supplier)}, calling {@code beforeMeasurement} once warm-up
+     * is done, e.g. to reset statistics the workload gathers on its own.
+     */
+    public BenchmarkResult run(String queryName, String configId, Supplier<Void> workload,
+                               Runnable beforeMeasurement) {
         log.info("Starting benchmark: {} on {}", queryName, configId);
 
         // Probe first iteration to detect slow queries
@@ -40,6 +49,7 @@ public class BenchmarkRunner {
             workload.get();
         }
         log.debug("Completed {} warm-up iterations for {} on {}", effectiveWarmUp, queryName, configId);
+        beforeMeasurement.run();
 
         // Measurement phase
         LatencyTracker tracker = new LatencyTracker(effectiveMeasure);
@@ -0,0 +1,30 @@
+package com.helix.benchmark.benchmark;
+
+import java.util.List;
+
+/**
+ * One stage of an executed MongoDB plan with its own counters; {@code inputs} are the stages
+ * feeding it, so the root is the stage that returns results. Counters a stage does not report
+ * are -1, and {@code detail} names the index or operator argument where there is one.
+ */
+public record ExplainStage(
+        String stage,
+        String detail,
+        long nReturned,
+        long keysExamined,
+        long docsExamined,
+        long executionTimeMillis,
+        List<ExplainStage> inputs
+) {
+    public static final long NOT_REPORTED = -1;
+
+    /**
+     * Index keys plus documents examined per document returned, or -1 if the stage examined
+     * nothing itself. High ratios flag scans that read far more than they return.
+     */
+    public double examinedToReturned() {
+        long examined = Math.max(0, keysExamined) + Math.max(0, docsExamined);
+        if (examined == 0) return NOT_REPORTED;
+        return (double) examined / Math.max(1, nReturned);
+    }
+}
@@ -0,0 +1,20 @@
+package com.helix.benchmark.benchmark;
+
+/** Build time of one index (or one statistics gather, with index {@code "statistics"}). */
+public record IndexBuildResult(
+        String target,
+        String table,
+        String index,
+        long elapsedNanos,
+        String error
+) {
+    public static final String STATISTICS = "statistics";
+
+    public double elapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+}
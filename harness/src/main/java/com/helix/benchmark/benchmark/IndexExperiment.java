@@ -0,0 +1,160 @@
+package com.helix.benchmark.benchmark;
+
+import com.helix.benchmark.config.IndexCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures one query against each candidate index set of a target. A candidate's indexes are
+ * built, the query is benchmarked and explained, their size is read, and they are removed again
+ * before the next candidate. Every run replays the same parameter tape, so candidates differ
+ * only in their indexes. The target's indexes as they are form the reference run.
+ */
+public class IndexExperiment {
+    private static final Logger log = LoggerFactory.getLogger(IndexExperiment.class);
+
+    /** Name of the reference run on the target's existing indexes. */
+    public static final String REFERENCE = "current";
+
+    /** Candidates within this factor of the fastest p99 count as equally fast and rank by index size. */
+    static final double P99_TIE_RATIO = 1.05;
+
+    /** Builds and removes a candidate's indexes on one target. */
+    public interface Indexes {
+        /** Whether the candidate defines indexes for this target. */
+        boolean appliesTo(IndexCandidate candidate);
+
+        void apply(IndexCandidate candidate) throws Exception;
+
+        /** Bytes used by the applied candidate's indexes. */
+        long sizeBytes() throws Exception;
+
+        /** Removes what {@link #apply} built and restores the target's own indexes. */
+        void revert() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Query {
+        void execute(Map<String, Object> params) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Explain {
+        QueryDetail capture(Map<String, Object> params) throws Exception;
+    }
+
+    /** One candidate's run; {@code indexBytes} is -1 when unknown and {@code error} is null on success. */
+    public record Outcome(String candidate, BenchmarkResult result, long indexBytes, QueryDetail detail,
+                          String error) {
+        public boolean failed() {
+            return error != null;
+        }
+    }
+
+    private final BenchmarkRunner runner;
+    private final List<Map<String, Object>> tape;
+
+    public IndexExperiment(BenchmarkRunner runner, List<Map<String, Object>> tape) {
+        if (tape.isEmpty()) {
+            throw new IllegalArgumentException("Parameter tape must not be empty");
+        }
+        this.runner = runner;
+        this.tape = List.copyOf(tape);
+    }
+
+    /**
+     * Runs the reference and then every candidate that applies to the target. A failing
+     * candidate is recorded with its error; its indexes are removed either way.
+     */
+    public List<Outcome> run(String queryName, String configId, List<IndexCandidate> candidates,
+                             Indexes indexes, Query query, Explain explain) {
+        List<Outcome> outcomes = new ArrayList<>();
+        outcomes.add(measure(queryName, configId, REFERENCE, query, explain, -1));
+        for (IndexCandidate candidate : candidates) {
+            if (!indexes.appliesTo(candidate)) continue;
+            try {
+                indexes.apply(candidate);
+                outcomes.add(measure(queryName, configId, candidate.name(), query, explain, sizeOf(indexes)));
+            } catch (Exception e) {
+                outcomes.add(failure(candidate.name(), e));
+            } finally {
+                try {
+                    indexes.revert();
+                } catch (Exception e) {
+                    log.warn("Failed to remove index candidate {} on {}: {}", candidate.name(), configId, e.getMessage());
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    private Outcome measure(String queryName, String configId, String candidate, Query query, Explain explain,
+                            long indexBytes) {
+        String name = resultName(queryName, candidate);
+        int[] next = {0};
+        try {
+            BenchmarkResult result = runner.run(name, configId, () -> {
+                try {
+                    query.execute(tape.get(next[0]++ % tape.size()));
+                } catch (Exception e) {
+                    throw e instanceof RuntimeException re ? re : new RuntimeException(e);
+                }
+                return null;
+            });
+            QueryDetail detail = null;
+            try {
+                QueryDetail captured = explain.capture(tape.get(0));
+                detail = captured != null ? captured.withQueryName(name) : null;
+            } catch (Exception e) {
+                log.warn("Failed to capture plan for {} on {}: {}", name, configId, e.getMessage());
+            }
+            return new Outcome(candidate, result, indexBytes, detail, null);
+        } catch (RuntimeException e) {
+            return failure(candidate, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    private long sizeOf(Indexes indexes) {
+        try {
+            return indexes.sizeBytes();
+        } catch (Exception e) {
+            log.warn("Failed to read index size: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    private static Outcome failure(String candidate, Throwable e) {
+        String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return new Outcome(candidate, null, -1, null, error);
+    }
+
+    /**
+     * Orders outcomes best first: by p99, except that candidates within {@link #P99_TIE_RATIO}
+     * of the fastest are ordered by index size (unknown sizes last). Failures come last.
+     */
+    public static List<Outcome> rank(List<Outcome> outcomes) {
+        List<Outcome> succeeded = new ArrayList<>(outcomes.stream().filter(o -> !o.failed()).toList());
+        succeeded.sort(Comparator.comparingLong(o -> o.result().p99Nanos()));
+        List<Outcome> ranked = new ArrayList<>();
+        if (!succeeded.isEmpty()) {
+            double tieLimit = succeeded.get(0).result().p99Nanos() * P99_TIE_RATIO;
+            List<Outcome> fastest = new ArrayList<>(
+                    succeeded.stream().filter(o -> o.result().p99Nanos() <= tieLimit).toList());
+            fastest.sort(Comparator.comparingLong(o -> o.indexBytes() < 0 ? Long.MAX_VALUE : o.indexBytes()));
+            ranked.addAll(fastest);
+            ranked.addAll(succeeded.subList(fastest.size(), succeeded.size()));
+        }
+        outcomes.stream().filter(Outcome::failed).forEach(ranked::add);
+        return ranked;
+    }
+
+    // Report names for index experiments, e.g. Q1-idx-current and Q1-idx-advisor-compound
+    public static String resultName(String queryName, String candidate) {
+        return queryName + "-idx-" + candidate;
+    }
+}
@@ -0,0 +1,156 @@
+package com.helix.benchmark.benchmark;
+
+import com.helix.benchmark.datagen.DocumentBatch;
+import com.helix.benchmark.datagen.LoadPipeline;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Measures sustained insert throughput of a target for every combination of batch size and
+ * writer count. The same documents are inserted in each run: they are cut into batches and
+ * converted to the form the target loads (BSON, JSON text, OSON or document trees) before
+ * the clock starts, so a run times only the inserts, and they are discarded from the target
+ * again afterwards.
+ */
+public class IngestBenchmark {
+    private static final Logger log = LoggerFactory.getLogger(IngestBenchmark.class);
+
+    /**
+     * A target to ingest into. {@code collection} is the name passed to the sink, and
+     * {@code prepare} materialises the representation the sink reads.
+     */
+    public record Target(String name, String collection, LoadPipeline.BatchSink sink,
+                         Consumer<DocumentBatch> prepare) {}
+
+    private final List<Integer> batchSizes;
+    private final List<Integer> writerCounts;
+
+    public IngestBenchmark(List<Integer> batchSizes, List<Integer> writerCounts) {
+        if (batchSizes.isEmpty() || writerCounts.isEmpty()
+                || batchSizes.stream().anyMatch(s -> s < 1) || writerCounts.stream().anyMatch(w -> w < 1)) {
+            throw new IllegalArgumentException("Batch sizes and writer counts must be non-empty and positive");
+        }
+        this.batchSizes = List.copyOf(batchSizes);
+        this.writerCounts = List.copyOf(writerCounts);
+    }
+
+    /**
+     * Runs every batch size and writer count against {@code target}. A failing run is reported
+     * with its error and ends the target's runs, since the remaining ones would fail alike.
+     */
+    public List<IngestResult> run(Target target, List<RawBsonDocument> docs) {
+        List<IngestResult> results = new ArrayList<>();
+        for (int batchSize : batchSizes) {
+            List<DocumentBatch> batches = batches(docs, batchSize);
+            batches.forEach(target.prepare());
+            for (int writers : writerCounts) {
+                IngestResult result = runOnce(target, batches, batchSize, writers);
+                results.add(result);
+                discard(target, batches);
+                if (result.failed()) {
+                    log.warn("Ingest into {} failed: {}", target.name(), result.error());
+                    return results;
+                }
+                log.info("Ingest {} {} (batch {}, {} writer(s)): {} docs/s, {} MB/s, p99 {} ms",
+                        target.name(), target.collection(), batchSize, writers,
+                        String.format("%.0f", result.docsPerSec()), String.format("%.1f", result.mbPerSec()),
+                        String.format("%.1f", result.p99Millis()));
+            }
+        }
+        return results;
+    }
+
+    static List<DocumentBatch> batches(List<RawBsonDocument> docs, int batchSize) {
+        List<DocumentBatch> batches = new ArrayList<>();
+        for (int i = 0; i < docs.size(); i += batchSize) {
+            batches.add(DocumentBatch.encoded(docs.subList(i, Math.min(i + batchSize, docs.size())), null)
+                    .startingAt(i));
+        }
+        return batches;
+    }
+
+    private IngestResult runOnce(Target target, List<DocumentBatch> batches, int batchSize, int writers) {
+        long[] latencies = new long[batches.size()];
+        AtomicInteger nextBatch = new AtomicInteger();
+        Runnable writer = () -> {
+            int b;
+            while ((b = nextBatch.getAndIncrement()) < batches.size()) {
+                long start = System.nanoTime();
+                try {
+                    target.sink().load(target.collection(), batches.get(b));
+                } catch (Exception e) {
+                    throw e instanceof RuntimeException re ? re : new IllegalStateException(e.getMessage(), e);
+                }
+                latencies[b] = System.nanoTime() - start;
+            }
+        };
+
+        int threads = Math.min(writers, batches.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(writer));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while ingesting", e);
+                } catch (Exception e) {
+                    nextBatch.set(batches.size()); // stop the other writers after their current batch
+                    if (error == null) {
+                        error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        if (error != null) {
+            return IngestResult.failed(target.name(), target.collection(), batchSize, writers, error);
+        }
+
+        LatencyTracker tracker = new LatencyTracker(latencies.length);
+        long documents = 0;
+        long bytes = 0;
+        for (int b = 0; b < batches.size(); b++) {
+            tracker.record(latencies[b]);
+            documents += batches.get(b).size();
+            for (RawBsonDocument doc : batches.get(b).bson()) {
+                bytes += doc.getByteBuffer().remaining();
+            }
+        }
+        BenchmarkResult percentiles = tracker.computeResult("ingest", target.name(),
+                Math.max(1, elapsed / 1_000_000));
+        return new IngestResult(target.name(), target.collection(), batchSize, writers, documents, bytes, elapsed,
+                percentiles.p50Nanos(), percentiles.p95Nanos(), percentiles.p99Nanos(),
+                IngestResult.histogram(latencies), null);
+    }
+
+    // Removes what a run inserted, so every run starts from the same table and index sizes
+    private static void discard(Target target, List<DocumentBatch> batches) {
+        for (DocumentBatch batch : batches) {
+            try {
+                target.sink().discard(target.collection(), batch);
+            } catch (Exception e) {
+                log.warn("Failed to remove ingested {} documents from {}: {}",
+                        target.collection(), target.name(), e.getMessage());
+                return;
+            }
+        }
+    }
+}
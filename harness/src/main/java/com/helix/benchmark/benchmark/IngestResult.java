@@ -0,0 +1,69 @@
+package com.helix.benchmark.benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sustained insert throughput of one target at one batch size and writer count. Latencies
+ * are per batch; {@code histogram} counts batches per {@link #BUCKET_BOUNDS_MILLIS} bucket,
+ * with one extra trailing bucket for anything slower.
+ */
+public record IngestResult(
+        String target,
+        String collection,
+        int batchSize,
+        int writers,
+        long documents,
+        long bytes,
+        long elapsedNanos,
+        long p50Nanos,
+        long p95Nanos,
+        long p99Nanos,
+        List<Long> histogram,
+        String error
+) {
+    /** Upper bounds (inclusive, in milliseconds) of the batch latency histogram buckets. */
+    public static final List<Integer> BUCKET_BOUNDS_MILLIS =
+            List.of(1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000);
+
+    public static IngestResult failed(String target, String collection, int batchSize, int writers, String error) {
+        return new IngestResult(target, collection, batchSize, writers, 0, 0, 0, 0, 0, 0, List.of(), error);
+    }
+
+    /** Histogram of batch latencies over {@link #BUCKET_BOUNDS_MILLIS}. */
+    public static List<Long> histogram(long[] latencyNanos) {
+        long[] counts = new long[BUCKET_BOUNDS_MILLIS.size() + 1];
+        for (long nanos : latencyNanos) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MILLIS.size() && nanos > BUCKET_BOUNDS_MILLIS.get(bucket) * 1_000_000L) {
+                bucket++;
+            }
+            counts[bucket]++;
+        }
+        return Arrays.stream(counts).boxed().toList();
+    }
+
+    public double docsPerSec() {
+        return elapsedNanos > 0 ? documents / (elapsedNanos / 1_000_000_000.0) : 0;
+    }
+
+    public double mbPerSec() {
+        return elapsedNanos > 0 ? bytes / (1024.0 * 1024.0) / (elapsedNanos / 1_000_000_000.0) : 0;
+    }
+
+    public double p50Millis() {
+        return p50Nanos / 1_000_000.0;
+    }
+
+    public double p95Millis() {
+        return p95Nanos / 1_000_000.0;
+    }
+
+    public double p99Millis() {
+        return p99Nanos / 1_000_000.0;
+    }
+
+    public boolean failed() {
+        return error != null;
+    }
+}
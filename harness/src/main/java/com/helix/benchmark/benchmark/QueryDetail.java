@@ -6,8 +6,19 @@ public record QueryDetail(
         String queryText,
         String explainPlan,
         String sqlId,
-        String ordsBaseUrl
+        String ordsBaseUrl,
+        ExplainStage explainStages
 ) {
+    public QueryDetail(String queryName, String configurationId, String queryText, String explainPlan,
+                       String sqlId, String ordsBaseUrl) {
+        this(queryName, configurationId, queryText, explainPlan, sqlId, ordsBaseUrl, null);
+    }
+
+    /** This detail filed under another query name, e.g. the name of an index experiment run. */
+    public QueryDetail withQueryName(String name) {
+        return new QueryDetail(name, configurationId, queryText, explainPlan, sqlId, ordsBaseUrl, explainStages);
+    }
+
     public String activeSqlMonitorUrl() {
         if (sqlId == null || ordsBaseUrl == null) return null;
         return ordsBaseUrl + "/_/sql/" + sqlId;
@@ -0,0 +1,53 @@
+package com.helix.benchmark.benchmark;
+
+/**
+ * Server-side execution counters for one statement shape, as reported by the database: Oracle
+ * {@code V$SQLSTATS} for a sql_id, or MongoDB {@code serverStatus}. A snapshot holds cumulative
+ * totals; {@link #minus} turns two snapshots into the work done during a run and
+ * {@link #perOperation} into averages per execution. Metrics a source does not report are NaN.
+ */
+public record ServerStats(
+        long executions,
+        double elapsedMicros,
+        double cpuMicros,
+        double bufferGets,
+        double diskReads,
+        double rows,
+        double keysExamined,
+        double docsExamined
+) {
+    public static ServerStats oracle(long executions, double elapsedMicros, double cpuMicros,
+                                     double bufferGets, double diskReads, double rows) {
+        return new ServerStats(executions, elapsedMicros, cpuMicros, bufferGets, diskReads, rows,
+                Double.NaN, Double.NaN);
+    }
+
+    public static ServerStats mongo(long executions, double elapsedMicros, double rows,
+                                    double keysExamined, double docsExamined) {
+        return new ServerStats(executions, elapsedMicros, Double.NaN, Double.NaN, Double.NaN, rows,
+                keysExamined, docsExamined);
+    }
+
+    /** Counters accumulated since {@code before}. */
+    public ServerStats minus(ServerStats before) {
+        return new ServerStats(executions - before.executions,
+                elapsedMicros - before.elapsedMicros, cpuMicros - before.cpuMicros,
+                bufferGets - before.bufferGets, diskReads - before.diskReads, rows - before.rows,
+                keysExamined - before.keysExamined, docsExamined - before.docsExamined);
+    }
+
+    /** Divides every counter by the execution count; {@code executions} stays the count. */
+    public ServerStats perOperation() {
+        double n = Math.max(1, executions);
+        return new ServerStats(executions, elapsedMicros / n, cpuMicros / n, bufferGets / n,
+                diskReads / n, rows / n, keysExamined / n, docsExamined / n);
+    }
+
+    public double elapsedMillis() {
+        return elapsedMicros / 1000.0;
+    }
+
+    public double cpuMillis() {
+        return cpuMicros / 1000.0;
+    }
+}
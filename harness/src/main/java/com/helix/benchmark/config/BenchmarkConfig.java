@@ -7,7 +7,10 @@ import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.Set;
 
 public class BenchmarkConfig {
@@ -47,6 +50,18 @@ public class BenchmarkConfig {
         return root.path("benchmark").path("jdbcBatchSize").asInt(500);
     }
 
+    public boolean queryCacheEnabled() {
+        return root.path("benchmark").path("cache").path("enabled").asBoolean(false);
+    }
+
+    public int queryCacheMaxEntries() {
+        return root.path("benchmark").path("cache").path("maxEntries").asInt(10000);
+    }
+
+    public long queryCacheTtlSeconds() {
+        return root.path("benchmark").path("cache").path("ttlSeconds").asLong(60);
+    }
+
     // Data generation settings
     public int advisorCount() {
         return root.path("dataGeneration").path("advisorCount").asInt(1000);
@@ -80,6 +95,283 @@ public class BenchmarkConfig {
         return root.path("dataGeneration").path("targetSizeGb").asDouble(1.5);
     }
 
+    public boolean scaleToTargetSize() {
+        return root.path("dataGeneration").path("scaleToTargetSize").asBoolean(false);
+    }
+
+    public int sizeSampleDocuments() {
+        return root.path("dataGeneration").path("sizeSampleDocuments").asInt(1000);
+    }
+
+    public OptionalLong seed() {
+        JsonNode node = root.path("dataGeneration").path("seed");
+        return node.isMissingNode() || node.isNull() ? OptionalLong.empty() : OptionalLong.of(node.asLong());
+    }
+
+    // Fan-out distributions (dataGeneration.distributions)
+    public double advisorPopularity() {
+        return root.path("dataGeneration").path("distributions").path("advisorPopularity").asDouble(0);
+    }
+
+    public DistributionSpec distribution(String name, int defaultMin, int defaultMax) {
+        JsonNode node = root.path("dataGeneration").path("distributions").path(name);
+        return new DistributionSpec(
+                node.path("type").asText("uniform"),
+                node.path("min").asInt(defaultMin),
+                node.path("max").asInt(defaultMax),
+                node.path("exponent").asDouble(1.0));
+    }
+
+    // Loading settings
+    public boolean pipelinedLoad() {
+        return root.path("loading").path("pipelined").asBoolean(true);
+    }
+
+    public boolean encodedGeneration() {
+        return root.path("loading").path("encodedGeneration").asBoolean(true);
+    }
+
+    public int generatorThreads() {
+        return root.path("loading").path("generatorThreads").asInt(2);
+    }
+
+    public int pipelineQueueDepth() {
+        return root.path("loading").path("queueDepth").asInt(4);
+    }
+
+    public int pipelineBatchSize() {
+        return root.path("loading").path("pipelineBatchSize").asInt(10000);
+    }
+
+    /** Resumes an interrupted load from its load manifest instead of dropping and reloading. */
+    public boolean resumeLoads() {
+        return root.path("loading").path("resume").asBoolean(true);
+    }
+
+    public String loadManifestFile() {
+        return root.path("loading").path("manifestFile").asText("load-manifest.json");
+    }
+
+    /** Loads Oracle JSON collection tables from client-encoded OSON instead of JSON text. */
+    public boolean osonIngest() {
+        return "oson".equalsIgnoreCase(root.path("loading").path("oracleJsonFormat").asText("oson"));
+    }
+
+    public int oracleLoadSessions() {
+        return root.path("loading").path("oracle").path("sessions").asInt(4);
+    }
+
+    public boolean oracleDirectPath() {
+        return root.path("loading").path("oracle").path("appendValues").asBoolean(false);
+    }
+
+    public int mongoWriterThreads() {
+        return root.path("loading").path("mongo").path("writerThreads").asInt(4);
+    }
+
+    public String mongoLoadWriteConcern() {
+        return root.path("loading").path("mongo").path("writeConcern").asText("1");
+    }
+
+    public boolean mongoLoadJournal() {
+        return root.path("loading").path("mongo").path("journal").asBoolean(false);
+    }
+
+    public List<String> mongoLoadCompressors() {
+        List<String> compressors = new ArrayList<>();
+        for (String name : root.path("loading").path("mongo").path("compressors").asText("").split(",")) {
+            if (!name.isBlank()) compressors.add(name.trim());
+        }
+        return compressors;
+    }
+
+    /** Adapts load batch sizes per target and table (AIMD on batch latency) instead of using them as is. */
+    public boolean adaptiveBatching() {
+        return root.path("loading").path("adaptiveBatching").path("enabled").asBoolean(false);
+    }
+
+    public long adaptiveTargetLatencyMs() {
+        return root.path("loading").path("adaptiveBatching").path("targetLatencyMs").asLong(250);
+    }
+
+    public int adaptiveMinBatchSize() {
+        return root.path("loading").path("adaptiveBatching").path("minBatchSize").asInt(50);
+    }
+
+    public int adaptiveMaxBatchSize() {
+        return root.path("loading").path("adaptiveBatching").path("maxBatchSize").asInt(20000);
+    }
+
+    public int adaptiveIncreaseStep() {
+        return root.path("loading").path("adaptiveBatching").path("increaseStep").asInt(100);
+    }
+
+    public double adaptiveDecreaseFactor() {
+        return root.path("loading").path("adaptiveBatching").path("decreaseFactor").asDouble(0.5);
+    }
+
+    /** Parallel {@code _id} range readers used when backfilling relational tables from MongoDB. */
+    public int backfillReaders() {
+        return root.path("loading").path("backfill").path("readers").asInt(4);
+    }
+
+    public int backfillCursorBatchSize() {
+        return root.path("loading").path("backfill").path("cursorBatchSize").asInt(2000);
+    }
+
+    public int backfillChunkSize() {
+        return root.path("loading").path("backfill").path("chunkSize").asInt(10000);
+    }
+
+    // Index build settings
+    public int indexBuildParallelism() {
+        return root.path("indexBuild").path("parallelism").asInt(4);
+    }
+
+    public int indexParallelDegree() {
+        return root.path("indexBuild").path("parallelDegree").asInt(0);
+    }
+
+    public boolean indexNologging() {
+        return root.path("indexBuild").path("nologging").asBoolean(false);
+    }
+
+    public boolean gatherStatistics() {
+        return root.path("indexBuild").path("gatherStatistics").asBoolean(true);
+    }
+
+    public int statisticsDegree() {
+        return root.path("indexBuild").path("statisticsDegree").asInt(0);
+    }
+
+    // Ingest benchmark settings
+    public boolean ingestEnabled() {
+        return root.path("ingest").path("enabled").asBoolean(false);
+    }
+
+    public String ingestCollection() {
+        return root.path("ingest").path("collection").asText("account");
+    }
+
+    public int ingestDocuments() {
+        return root.path("ingest").path("documents").asInt(20000);
+    }
+
+    public List<Integer> ingestBatchSizes() {
+        return intList(root.path("ingest").path("batchSizes"), List.of(500, 5000));
+    }
+
+    public List<Integer> ingestWriters() {
+        return intList(root.path("ingest").path("writers"), List.of(1, 4));
+    }
+
+    // Batched multi-key query benchmark settings
+    public boolean batchQueriesEnabled() {
+        return root.path("batchQueries").path("enabled").asBoolean(false);
+    }
+
+    public List<Integer> batchQuerySizes() {
+        return intList(root.path("batchQueries").path("sizes"), List.of(1, 10, 100, 500));
+    }
+
+    public int batchQueryWarmUpIterations() {
+        return root.path("batchQueries").path("warmUpIterations").asInt(5);
+    }
+
+    public int batchQueryMeasurementIterations() {
+        return root.path("batchQueries").path("measurementIterations").asInt(20);
+    }
+
+    // Pipelined Oracle query benchmark settings
+    public boolean pipelinedEnabled() {
+        return root.path("pipelined").path("enabled").asBoolean(false);
+    }
+
+    public List<Integer> pipelinedDepths() {
+        return intList(root.path("pipelined").path("depths"), List.of(10, 100));
+    }
+
+    public int pipelinedWarmUpIterations() {
+        return root.path("pipelined").path("warmUpIterations").asInt(5);
+    }
+
+    public int pipelinedMeasurementIterations() {
+        return root.path("pipelined").path("measurementIterations").asInt(20);
+    }
+
+    // Index experiment settings
+    public boolean indexExperimentsEnabled() {
+        return root.path("indexExperiments").path("enabled").asBoolean(false);
+    }
+
+    /** Name of the query each candidate index set is measured with, e.g. {@code Q1}. */
+    public String indexExperimentQuery() {
+        return root.path("indexExperiments").path("query").asText("Q1");
+    }
+
+    public int indexExperimentWarmUpIterations() {
+        return root.path("indexExperiments").path("warmUpIterations").asInt(5);
+    }
+
+    public int indexExperimentMeasurementIterations() {
+        return root.path("indexExperiments").path("measurementIterations").asInt(50);
+    }
+
+    public List<IndexCandidate> indexCandidates() {
+        List<IndexCandidate> candidates = new ArrayList<>();
+        for (JsonNode node : root.path("indexExperiments").path("candidates")) {
+            List<IndexCandidate.MongoIndex> mongo = new ArrayList<>();
+            for (JsonNode index : node.path("mongo")) {
+                Map<String, Object> keys = new LinkedHashMap<>();
+                index.path("keys").fields().forEachRemaining(key -> keys.put(key.getKey(),
+                        key.getValue().isNumber() ? key.getValue().asInt() : key.getValue().asText()));
+                mongo.add(new IndexCandidate.MongoIndex(index.path("collection").asText(), keys));
+            }
+            candidates.add(new IndexCandidate(node.path("name").asText(), mongo,
+                    textList(node.path("oracle")), textList(node.path("relational"))));
+        }
+        return candidates;
+    }
+
+    private static List<String> textList(JsonNode node) {
+        List<String> values = new ArrayList<>();
+        for (JsonNode item : node) {
+            values.add(item.asText());
+        }
+        return values;
+    }
+
+    private static List<Integer> intList(JsonNode node, List<Integer> defaults) {
+        if (!node.isArray() || node.isEmpty()) return defaults;
+        List<Integer> values = new ArrayList<>();
+        for (JsonNode item : node) {
+            values.add(item.asInt());
+        }
+        return values;
+    }
+
+    // Snapshot settings
+    public String snapshotDirectory() {
+        return root.path("snapshot").path("directory").asText("");
+    }
+
+    public int snapshotSegmentSizeMb() {
+        return root.path("snapshot").path("segmentSizeMb").asInt(256);
+    }
+
+    // Append (incremental growth) settings
+    public List<Double> appendSteps() {
+        List<Double> steps = new ArrayList<>();
+        for (JsonNode step : root.path("append").path("steps")) {
+            steps.add(step.asDouble());
+        }
+        return steps;
+    }
+
+    public boolean appendRefreshStatistics() {
+        return root.path("append").path("refreshStatistics").asBoolean(true);
+    }
+
     // Connection settings
     public String mongoNativeUri() {
         return root.path("connections").path("mongoNative").path("uri").asText();
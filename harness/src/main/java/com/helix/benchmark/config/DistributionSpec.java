@@ -0,0 +1,12 @@
+package com.helix.benchmark.config;
+
+/**
+ * Configured shape of a generated count: {@code uniform} over [min, max], or a skewed
+ * {@code zipf}/{@code pareto} over the same range whose {@code exponent} controls the tail.
+ */
+public record DistributionSpec(String type, int min, int max, double exponent) {
+
+    public static DistributionSpec uniform(int min, int max) {
+        return new DistributionSpec("uniform", min, max, 0);
+    }
+}
@@ -0,0 +1,16 @@
+package com.helix.benchmark.config;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A named index set to try out in an index experiment. {@code mongo} applies to the targets
+ * reached through the MongoDB driver, {@code oracle} (CREATE INDEX statements) to the JSON
+ * collection tables, and {@code relational} to the relational tables behind the relational
+ * and duality view targets. A target whose list is empty does not run the candidate.
+ */
+public record IndexCandidate(String name, List<MongoIndex> mongo, List<String> oracle, List<String> relational) {
+
+    /** Keys in index order, each mapped to 1, -1 or an index type such as {@code "hashed"}. */
+    public record MongoIndex(String collection, Map<String, Object> keys) {}
+}
@@ -0,0 +1,104 @@
+package com.helix.benchmark.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AIMD batch sizing for one load target, tracked separately per table or collection. Larger
+ * batches amortise round trips, so every full batch that completes within the latency bound
+ * grows the size by a fixed step; a batch over the bound cuts it by a factor. Tables whose
+ * documents fan out into many rows (relational child tables) thereby settle on different
+ * sizes than flat ones, without hand tuning.
+ * <p>
+ * Several writers may share a key. Only batches cut at the current size move it: a batch
+ * still in flight from before a decrease is larger than the new size and does not shrink it
+ * again, and a short tail batch says nothing about the size.
+ */
+public final class AdaptiveBatchSizer {
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveBatchSizer.class);
+
+    private static final class State {
+        int size;
+        long batches;
+        long rows;
+        long nanos;
+        int increases;
+        int decreases;
+
+        State(int size) {
+            this.size = size;
+        }
+    }
+
+    private final String target;
+    private final int initialSize;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetLatencyNanos;
+    private final int increaseStep;
+    private final double decreaseFactor;
+    private final Map<String, State> states = new LinkedHashMap<>();
+
+    public AdaptiveBatchSizer(String target, int initialSize, int minSize, int maxSize,
+                              long targetLatencyMillis, int increaseStep, double decreaseFactor) {
+        if (minSize < 1 || maxSize < minSize || increaseStep < 1 || targetLatencyMillis < 1) {
+            throw new IllegalArgumentException("Batch size bounds, step and latency target must be positive");
+        }
+        if (decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("Decrease factor must be between 0 and 1");
+        }
+        this.target = target;
+        this.initialSize = Math.max(minSize, Math.min(maxSize, initialSize));
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetLatencyNanos = targetLatencyMillis * 1_000_000L;
+        this.increaseStep = increaseStep;
+        this.decreaseFactor = decreaseFactor;
+    }
+
+    /** The size to cut the next batch for {@code key} at. */
+    public synchronized int size(String key) {
+        return state(key).size;
+    }
+
+    /** Records a batch of {@code rows} for {@code key} that took {@code nanos} to write. */
+    public synchronized void record(String key, int rows, long nanos) {
+        State state = state(key);
+        state.batches++;
+        state.rows += rows;
+        state.nanos += nanos;
+        if (nanos > targetLatencyNanos) {
+            if (rows <= state.size && state.size > minSize) {
+                state.size = Math.max(minSize, (int) (state.size * decreaseFactor));
+                state.decreases++;
+            }
+        } else if (rows >= state.size && state.size < maxSize) {
+            state.size = Math.min(maxSize, state.size + increaseStep);
+            state.increases++;
+        }
+    }
+
+    /** Current size per key, in the order keys were first used. */
+    public synchronized Map<String, Integer> sizes() {
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        states.forEach((key, state) -> sizes.put(key, state.size));
+        return sizes;
+    }
+
+    /** Logs the size every key converged to, with its average batch latency. */
+    public synchronized void logSummary() {
+        states.forEach((key, state) -> log.info(
+                "Adaptive batch size for {} {}: {} (started at {}, {} increase(s), {} decrease(s), "
+                        + "{} batches averaging {} rows in {} ms)",
+                target, key, state.size, initialSize, state.increases, state.decreases, state.batches,
+                state.batches > 0 ? state.rows / state.batches : 0,
+                String.format("%.1f", state.batches > 0 ? state.nanos / 1_000_000.0 / state.batches : 0)));
+    }
+
+    private State state(String key) {
+        return states.computeIfAbsent(key, k -> new State(initialSize));
+    }
+}
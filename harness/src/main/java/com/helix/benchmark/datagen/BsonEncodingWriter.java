@@ -0,0 +1,135 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.BsonBinaryWriter;
+import org.bson.RawBsonDocument;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriter;
+import org.bson.json.JsonWriterSettings;
+
+import java.io.StringWriter;
+
+/**
+ * {@link DocumentWriter} that encodes straight into a reusable BSON buffer, yielding
+ * {@link RawBsonDocument}s without building intermediate maps. When JSON output is enabled
+ * the same calls also produce relaxed extended JSON, identical to {@code Document.toJson()}.
+ * Not thread-safe; use one instance per generating thread.
+ */
+public class BsonEncodingWriter implements DocumentWriter {
+    private static final JsonWriterSettings JSON_SETTINGS =
+            JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final boolean emitJson;
+    private final BasicOutputBuffer buffer = new BasicOutputBuffer(4096);
+    private BsonBinaryWriter bson;
+    private StringWriter jsonText;
+    private JsonWriter json;
+    private int depth;
+
+    private RawBsonDocument completedBson;
+    private String completedJson;
+
+    public BsonEncodingWriter(boolean emitJson) {
+        this.emitJson = emitJson;
+    }
+
+    @Override
+    public void startDocument() {
+        if (depth == 0) {
+            buffer.truncateToPosition(0);
+            bson = new BsonBinaryWriter(buffer);
+            if (emitJson) {
+                jsonText = new StringWriter(2048);
+                json = new JsonWriter(jsonText, JSON_SETTINGS);
+            }
+        }
+        depth++;
+        bson.writeStartDocument();
+        if (json != null) json.writeStartDocument();
+    }
+
+    @Override
+    public void endDocument() {
+        bson.writeEndDocument();
+        if (json != null) json.writeEndDocument();
+        if (--depth == 0) {
+            bson.flush();
+            completedBson = new RawBsonDocument(buffer.toByteArray());
+            completedJson = emitJson ? jsonText.toString() : null;
+            bson = null;
+            json = null;
+            jsonText = null;
+        }
+    }
+
+    @Override
+    public void startArray() {
+        bson.writeStartArray();
+        if (json != null) json.writeStartArray();
+    }
+
+    @Override
+    public void endArray() {
+        bson.writeEndArray();
+        if (json != null) json.writeEndArray();
+    }
+
+    @Override
+    public void name(String name) {
+        bson.writeName(name);
+        if (json != null) json.writeName(name);
+    }
+
+    @Override
+    public void string(String value) {
+        bson.writeString(value);
+        if (json != null) json.writeString(value);
+    }
+
+    @Override
+    public void int32(int value) {
+        bson.writeInt32(value);
+        if (json != null) json.writeInt32(value);
+    }
+
+    @Override
+    public void int64(long value) {
+        bson.writeInt64(value);
+        if (json != null) json.writeInt64(value);
+    }
+
+    @Override
+    public void float64(double value) {
+        bson.writeDouble(value);
+        if (json != null) json.writeDouble(value);
+    }
+
+    @Override
+    public void bool(boolean value) {
+        bson.writeBoolean(value);
+        if (json != null) json.writeBoolean(value);
+    }
+
+    @Override
+    public void dateTime(long epochMillis) {
+        bson.writeDateTime(epochMillis);
+        if (json != null) json.writeDateTime(epochMillis);
+    }
+
+    /** Returns the last completed document's BSON encoding. */
+    public RawBsonDocument takeBson() {
+        if (completedBson == null) {
+            throw new IllegalStateException("No completed document");
+        }
+        RawBsonDocument doc = completedBson;
+        completedBson = null;
+        return doc;
+    }
+
+    /** Returns the last completed document's JSON text, or null when JSON output is disabled. */
+    public String takeJson() {
+        String text = completedJson;
+        completedJson = null;
+        return text;
+    }
+}
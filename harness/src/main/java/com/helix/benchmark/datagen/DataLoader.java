@@ -1,15 +1,56 @@
 package com.helix.benchmark.datagen;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.helix.benchmark.config.DatabaseTarget;
+import oracle.jdbc.OracleType;
 import org.bson.Document;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DataLoader {
     private static final Logger log = LoggerFactory.getLogger(DataLoader.class);
+    private static final ObjectMapper KEY_MAPPER = new ObjectMapper();
+
+    private final int sessions;
+    private final boolean directPath;
+    private final AdaptiveBatchSizer sizer;
+
+    public DataLoader() {
+        this(1, false);
+    }
+
+    public DataLoader(int sessions, boolean directPath) {
+        this(sessions, directPath, null);
+    }
+
+    /**
+     * @param sessions   pooled sessions each chunk is range-partitioned across for Oracle JSON loads;
+     *                   one with {@code directPath}, since direct-path inserts lock the whole table
+     *                   and concurrent sessions would only queue on that lock
+     * @param directPath use {@code APPEND_VALUES} direct-path array inserts, committing every batch
+     * @param sizer      adapts the JDBC batch size per table from observed batch latency; null
+     *                   keeps the batch size passed to each load
+     */
+    public DataLoader(int sessions, boolean directPath, AdaptiveBatchSizer sizer) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Sessions must be positive");
+        }
+        if (directPath && sessions > 1) {
+            log.info("Direct-path JSON loads lock the table; using 1 session instead of {}", sessions);
+        }
+        this.sessions = directPath ? 1 : sessions;
+        this.directPath = directPath;
+        this.sizer = sizer;
+    }
 
     public static List<List<Document>> partition(List<Document> docs, int batchSize) {
         if (docs.isEmpty()) return List.of();
@@ -24,11 +65,21 @@ public class DataLoader {
         return target.usesJdbc() ? jdbcBatchSize : mongoBatchSize;
     }
 
-    public void loadToMongo(com.mongodb.client.MongoCollection<Document> collection,
-                            List<Document> docs, int batchSize) {
-        List<List<Document>> batches = partition(docs, batchSize);
+    public static String jdbcTableName(String collectionType) {
+        return switch (collectionType) {
+            case "advisor" -> "jdbc_advisor";
+            case "bookRoleInvestor" -> "jdbc_book_role_investor";
+            case "bookRoleGroup" -> "jdbc_book_role_group";
+            case "account" -> "jdbc_account";
+            default -> throw new IllegalArgumentException("Unknown collection: " + collectionType);
+        };
+    }
+
+    public <T> void loadToMongo(com.mongodb.client.MongoCollection<T> collection,
+                                List<T> docs, int batchSize) {
         int loaded = 0;
-        for (List<Document> batch : batches) {
+        for (int i = 0; i < docs.size(); i += batchSize) {
+            List<T> batch = docs.subList(i, Math.min(i + batchSize, docs.size()));
             collection.insertMany(batch);
             loaded += batch.size();
             if (loaded % 10000 == 0) {
@@ -42,24 +93,146 @@ public class DataLoader {
 
     public void loadToOracle(javax.sql.DataSource dataSource, String tableName,
                              List<Document> docs, int batchSize) throws Exception {
-        List<List<Document>> batches = partition(docs, batchSize);
-        String sql = "INSERT INTO " + tableName + " (data) VALUES (?)";
-        int loaded = 0;
-        try (var conn = dataSource.getConnection();
-             var ps = conn.prepareStatement(sql)) {
-            for (List<Document> batch : batches) {
-                for (Document doc : batch) {
-                    ps.setString(1, doc.toJson());
-                    ps.addBatch();
-                }
-                ps.executeBatch();
-                loaded += batch.size();
-                if (loaded % 10000 == 0) {
-                    log.info("Loaded {} / {} documents to {}", loaded, docs.size(), tableName);
+        List<String> json = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
+            json.add(doc.toJson());
+        }
+        loadJsonToOracle(dataSource, tableName, json, batchSize);
+    }
+
+    public void loadJsonToOracle(javax.sql.DataSource dataSource, String tableName,
+                                 List<String> json, int batchSize) throws Exception {
+        long bytes = 0;
+        for (String text : json) {
+            bytes += utf8Length(text);
+        }
+        insertJson(dataSource, tableName, "text", json, bytes, batchSize, (ps, text) -> ps.setString(1, text));
+    }
+
+    /** Binds client-encoded OSON directly, so the server stores it without parsing JSON text. */
+    public void loadOsonToOracle(javax.sql.DataSource dataSource, String tableName,
+                                 List<byte[]> oson, int batchSize) throws Exception {
+        long bytes = 0;
+        for (byte[] image : oson) {
+            bytes += image.length;
+        }
+        insertJson(dataSource, tableName, "OSON", oson, bytes, batchSize,
+                (ps, image) -> ps.setObject(1, image, OracleType.JSON));
+    }
+
+    /** Bytes of {@code text} encoded as UTF-8, without encoding it. */
+    static long utf8Length(String text) {
+        long bytes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < text.length()
+                    && Character.isLowSurrogate(text.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    @FunctionalInterface
+    private interface Binder<T> {
+        void bind(PreparedStatement ps, T item) throws SQLException;
+    }
+
+    private <T> void insertJson(javax.sql.DataSource dataSource, String tableName, String format,
+                                List<T> items, long bytes, int batchSize, Binder<T> binder) throws Exception {
+        String insert = "INSERT INTO " + tableName + " (data) VALUES (?)";
+        String sql = directPath ? SessionPartitioner.directPath(insert) : insert;
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicLong serverCpuMillis = new AtomicLong();
+        SessionPartitioner.run(dataSource, items, sessions, batchSize, (conn, partition) -> {
+            long cpuBefore = sessionCpuMillis(conn);
+            try (var ps = conn.prepareStatement(sql)) {
+                for (int i = 0; i < partition.size(); ) {
+                    int size = sizer != null ? sizer.size(tableName) : batchSize;
+                    List<T> batch = partition.subList(i, Math.min(i + size, partition.size()));
+                    i += batch.size();
+                    long batchStart = System.nanoTime();
+                    for (T item : batch) {
+                        binder.bind(ps, item);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    if (directPath) {
+                        // Direct-path rows must be committed before the session inserts into the table again
+                        conn.commit();
+                    }
+                    if (sizer != null) {
+                        sizer.record(tableName, batch.size(), System.nanoTime() - batchStart);
+                    }
+                    int done = loaded.addAndGet(batch.size());
+                    if (done % 10000 < batch.size()) {
+                        log.info("Loaded {} / {} documents to {}", done, items.size(), tableName);
+                    }
                 }
             }
             conn.commit();
+            long cpuAfter = sessionCpuMillis(conn);
+            serverCpuMillis.accumulateAndGet(cpuBefore >= 0 && cpuAfter >= 0 ? cpuAfter - cpuBefore : -1,
+                    (total, delta) -> total < 0 || delta < 0 ? -1 : total + delta);
+        });
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("Completed loading {} documents to {} as {} over {} session(s){}: {} MB/s, server CPU {}",
+                items.size(), tableName, format, SessionPartitioner.partitions(items.size(), sessions, batchSize),
+                directPath ? " (direct path)" : "",
+                String.format("%.1f", seconds > 0 ? bytes / (1024.0 * 1024.0) / seconds : 0),
+                serverCpuMillis.get() >= 0 ? serverCpuMillis.get() + " ms" : "n/a");
+    }
+
+    /**
+     * Deletes the documents with the given {@code _id}s from a JSON collection table and
+     * returns how many were there.
+     */
+    public long discardFromOracle(javax.sql.DataSource dataSource, String tableName, List<String> ids) throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            long deleted = deleteWhereIn(conn, tableName, "json_value(data, '$._id')", ids);
+            conn.commit();
+            return deleted;
+        }
+    }
+
+    /**
+     * Deletes the rows whose {@code keyExpression} is one of {@code keys} in a single
+     * statement: the keys are bound as one JSON array and unnested with JSON_TABLE, so the
+     * table is scanned (or its index probed) once rather than once per key.
+     */
+    static long deleteWhereIn(Connection conn, String tableName, String keyExpression,
+                              List<String> keys) throws Exception {
+        if (keys.isEmpty()) return 0;
+        String sql = "DELETE FROM " + tableName + " WHERE " + keyExpression
+                + " IN (SELECT k.id FROM JSON_TABLE(?, '$[*]' COLUMNS (id VARCHAR2(400) PATH '$')) k)";
+        Clob array = conn.createClob();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            array.setString(1, KEY_MAPPER.writeValueAsString(keys));
+            ps.setClob(1, array);
+            return ps.executeUpdate();
+        } finally {
+            array.free();
+        }
+    }
+
+    // 'CPU used by this session' is in centiseconds; -1 when V$MYSTAT is not readable
+    private static long sessionCpuMillis(Connection conn) {
+        String sql = """
+                SELECT m.value FROM v$mystat m JOIN v$statname n ON m.statistic# = n.statistic#
+                WHERE n.name = 'CPU used by this session'""";
+        try (var ps = conn.prepareStatement(sql);
+             var rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) * 10 : -1;
+        } catch (SQLException e) {
+            return -1;
         }
-        log.info("Completed loading {} documents to {}", docs.size(), tableName);
     }
 }
@@ -0,0 +1,67 @@
+package com.helix.benchmark.datagen;
+
+import com.helix.benchmark.config.BenchmarkConfig;
+
+/**
+ * Document counts and reference-pool sizes for one dataset. Built from the configured counts,
+ * or scaled to a target size by {@link DatasetSizer}.
+ */
+public record DatasetPlan(int advisorCount, int bookRoleInvestorCount, int bookRoleGroupCount, int accountCount,
+                          int advisoryContextPoolSize, int partyRoleIdPoolSize, int finInstIdPoolSize) {
+
+    public static DatasetPlan fromConfig(BenchmarkConfig config) {
+        return new DatasetPlan(
+                config.advisorCount(),
+                config.bookRoleInvestorCount(),
+                config.bookRoleGroupCount(),
+                config.accountCount(),
+                config.advisoryContextPoolSize(),
+                config.partyRoleIdPoolSize(),
+                config.finInstIdPoolSize());
+    }
+
+    public int count(String collectionType) {
+        return switch (collectionType) {
+            case "advisor" -> advisorCount;
+            case "bookRoleInvestor" -> bookRoleInvestorCount;
+            case "bookRoleGroup" -> bookRoleGroupCount;
+            case "account" -> accountCount;
+            default -> throw new IllegalArgumentException("Unknown collection type: " + collectionType);
+        };
+    }
+
+    public long totalDocuments() {
+        return (long) advisorCount + bookRoleInvestorCount + bookRoleGroupCount + accountCount;
+    }
+
+    /**
+     * Multiplies every collection count by {@code factor}, keeping each at least 1. Reference
+     * pool sizes are kept, so a larger dataset shares the same advisory contexts, party roles
+     * and financial institutions among more documents.
+     */
+    public DatasetPlan scaled(double factor) {
+        if (!(factor > 0)) {
+            throw new IllegalArgumentException("Scale factor must be positive: " + factor);
+        }
+        return new DatasetPlan(
+                scale(advisorCount, factor),
+                scale(bookRoleInvestorCount, factor),
+                scale(bookRoleGroupCount, factor),
+                scale(accountCount, factor),
+                advisoryContextPoolSize,
+                partyRoleIdPoolSize,
+                finInstIdPoolSize);
+    }
+
+    public ReferenceRegistry newRegistry() {
+        return new ReferenceRegistry(advisoryContextPoolSize, partyRoleIdPoolSize, finInstIdPoolSize);
+    }
+
+    private static int scale(int value, double factor) {
+        long scaled = Math.max(1, Math.round(value * factor));
+        if (scaled > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Scaled count " + scaled + " exceeds the supported maximum");
+        }
+        return (int) scaled;
+    }
+}
@@ -0,0 +1,68 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.RawBsonDocument;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Derives document counts from a target dataset size. A sample of each collection is encoded
+ * to BSON with a scratch registry to measure the average document size, and the configured
+ * counts and reference pools are scaled by one common factor so their ratios are unchanged.
+ */
+public final class DatasetSizer {
+
+    public static final List<String> COLLECTIONS = List.of("advisor", "bookRoleInvestor", "bookRoleGroup", "account");
+
+    private static final double BYTES_PER_GB = 1024.0 * 1024 * 1024;
+
+    public record Estimate(DatasetPlan plan, Map<String, Double> avgDocumentBytes) {
+        public long collectionBytes(String collectionType) {
+            return Math.round(plan.count(collectionType) * avgDocumentBytes.get(collectionType));
+        }
+
+        public long totalBytes() {
+            return COLLECTIONS.stream().mapToLong(this::collectionBytes).sum();
+        }
+
+        public double totalGb() {
+            return totalBytes() / BYTES_PER_GB;
+        }
+    }
+
+    private DatasetSizer() {}
+
+    /** Average encoded BSON size per collection, measured over up to {@code sampleSize} documents each. */
+    public static Map<String, Double> sampleAverageSizes(DatasetPlan plan, FanOut fanOut, long seed, int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("Sample size must be positive");
+        }
+        // Collections are sampled in load order so later ones reference real advisor/investor IDs
+        TestDataGenerator generator = new TestDataGenerator(plan.newRegistry(), seed, fanOut);
+        Map<String, Double> averages = new LinkedHashMap<>();
+        for (String collectionType : COLLECTIONS) {
+            int count = Math.max(1, Math.min(sampleSize, plan.count(collectionType)));
+            long bytes = 0;
+            for (RawBsonDocument doc : generator.encode(collectionType, 0, count, false).bson()) {
+                bytes += doc.getByteBuffer().remaining();
+            }
+            averages.put(collectionType, (double) bytes / count);
+        }
+        return averages;
+    }
+
+    public static Estimate estimate(DatasetPlan plan, FanOut fanOut, long seed, int sampleSize) {
+        return new Estimate(plan, sampleAverageSizes(plan, fanOut, seed, sampleSize));
+    }
+
+    /** Scales {@code base} so the encoded dataset is approximately {@code targetGb}. */
+    public static Estimate sizeTo(DatasetPlan base, FanOut fanOut, double targetGb, long seed, int sampleSize) {
+        if (!(targetGb > 0)) {
+            throw new IllegalArgumentException("Target size must be positive: " + targetGb);
+        }
+        Estimate current = estimate(base, fanOut, seed, sampleSize);
+        double factor = targetGb * BYTES_PER_GB / current.totalBytes();
+        return new Estimate(base.scaled(factor), current.avgDocumentBytes());
+    }
+}
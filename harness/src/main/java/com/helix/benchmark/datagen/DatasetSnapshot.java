@@ -0,0 +1,310 @@
+package com.helix.benchmark.datagen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * On-disk dataset snapshot. Each collection is stored as one or more segment files of
+ * back-to-back BSON documents; every BSON document starts with its own little-endian int32
+ * length, so segments are self-delimiting (the same layout mongodump uses). A
+ * {@code manifest.json} with document counts, byte sizes and the generator seed is written
+ * last, so a directory without a manifest is never mistaken for a complete snapshot.
+ * <p>
+ * Segments are read back through read-only memory mappings; documents are sliced out of the
+ * mapping by offset with a single copy into the {@link RawBsonDocument} handed to the loaders.
+ */
+public final class DatasetSnapshot {
+    private static final Logger log = LoggerFactory.getLogger(DatasetSnapshot.class);
+
+    public static final String MANIFEST_FILE = "manifest.json";
+    static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record Segment(String file, long documents, long bytes) {}
+
+    public record CollectionInfo(long documents, long bytes, List<Segment> segments) {}
+
+    public record Manifest(int formatVersion, long seed, String createdAt,
+                           Map<String, CollectionInfo> collections) {
+        public long totalBytes() {
+            return collections.values().stream().mapToLong(CollectionInfo::bytes).sum();
+        }
+
+        public long documentCount(String collectionType) {
+            CollectionInfo info = collections.get(collectionType);
+            return info == null ? 0 : info.documents();
+        }
+    }
+
+    private DatasetSnapshot() {}
+
+    public static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(MANIFEST_FILE));
+    }
+
+    public static Manifest readManifest(Path directory) throws IOException {
+        Manifest manifest = MAPPER.readValue(directory.resolve(MANIFEST_FILE).toFile(), Manifest.class);
+        if (manifest.formatVersion() != FORMAT_VERSION) {
+            throw new IOException("Unsupported snapshot format version " + manifest.formatVersion());
+        }
+        return manifest;
+    }
+
+    /**
+     * Pipeline sink that appends every batch to the current collection's segment file,
+     * rolling to a new segment when the size limit would be exceeded. Batches tagged with a
+     * first index are written in index order, however the generator threads deliver them, so
+     * a document's snapshot position is its generator index.
+     */
+    public static class Writer implements LoadPipeline.BatchSink, Closeable {
+        private final Path directory;
+        private final long seed;
+        private final long segmentSizeBytes;
+        private final Map<String, List<Segment>> segments = new LinkedHashMap<>();
+        private final TreeMap<Integer, DocumentBatch> pending = new TreeMap<>();
+
+        private String currentCollection;
+        private FileChannel currentChannel;
+        private String currentFile;
+        private long currentDocs;
+        private long currentBytes;
+        private int nextIndex;
+
+        public Writer(Path directory, long seed, long segmentSizeBytes) throws IOException {
+            if (segmentSizeBytes <= 0 || segmentSizeBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Segment size must be between 1 byte and 2 GiB");
+            }
+            this.directory = directory;
+            this.seed = seed;
+            this.segmentSizeBytes = segmentSizeBytes;
+            Files.createDirectories(directory);
+            // Invalidate any previous snapshot until this one is complete
+            Files.deleteIfExists(directory.resolve(MANIFEST_FILE));
+        }
+
+        @Override
+        public String name() {
+            return "SNAPSHOT";
+        }
+
+        /**
+         * Nothing to remove: every writer starts a new snapshot and only records one when the
+         * whole load has streamed through it, so no batch from an interrupted load is in it.
+         */
+        @Override
+        public long discard(String collectionType, DocumentBatch batch) {
+            return 0;
+        }
+
+        @Override
+        public synchronized void load(String collectionType, DocumentBatch batch) throws IOException {
+            if (!collectionType.equals(currentCollection)) {
+                checkNoGap();
+                closeSegment();
+                currentCollection = collectionType;
+                nextIndex = 0;
+            }
+            if (batch.firstIndex() < 0) {
+                write(batch);
+                return;
+            }
+            // Hold batches that arrive ahead of a slower generator thread until the gap is filled
+            pending.put(batch.firstIndex(), batch);
+            while (!pending.isEmpty() && pending.firstKey() <= nextIndex) {
+                DocumentBatch next = pending.pollFirstEntry().getValue();
+                write(next);
+                nextIndex = next.firstIndex() + next.size();
+            }
+        }
+
+        private void checkNoGap() throws IOException {
+            if (!pending.isEmpty()) {
+                throw new IOException("Snapshot of " + currentCollection + " is missing documents from index "
+                        + nextIndex + " to " + pending.firstKey());
+            }
+        }
+
+        private void write(DocumentBatch batch) throws IOException {
+            for (RawBsonDocument doc : batch.bson()) {
+                ByteBuffer bytes = doc.getByteBuffer().asNIO();
+                int length = bytes.remaining();
+                if (currentChannel == null || (currentDocs > 0 && currentBytes + length > segmentSizeBytes)) {
+                    openSegment();
+                }
+                while (bytes.hasRemaining()) {
+                    currentChannel.write(bytes);
+                }
+                currentDocs++;
+                currentBytes += length;
+            }
+        }
+
+        /** Closes the open segment and writes the manifest, marking the snapshot complete. */
+        public synchronized Manifest finish() throws IOException {
+            checkNoGap();
+            closeSegment();
+            Map<String, CollectionInfo> collections = new LinkedHashMap<>();
+            for (var e : segments.entrySet()) {
+                long docs = e.getValue().stream().mapToLong(Segment::documents).sum();
+                long bytes = e.getValue().stream().mapToLong(Segment::bytes).sum();
+                collections.put(e.getKey(), new CollectionInfo(docs, bytes, List.copyOf(e.getValue())));
+            }
+            Manifest manifest = new Manifest(FORMAT_VERSION, seed, Instant.now().toString(), collections);
+            MAPPER.writeValue(directory.resolve(MANIFEST_FILE).toFile(), manifest);
+            log.info("Snapshot written to {}: {} collections, {} MB", directory, collections.size(),
+                    manifest.totalBytes() / (1024 * 1024));
+            return manifest;
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            closeSegment();
+        }
+
+        /** Closes the writer and deletes its segments, and the directory if that leaves it empty. */
+        public synchronized void abandon() throws IOException {
+            try {
+                closeSegment();
+            } finally {
+                pending.clear();
+                for (List<Segment> list : segments.values()) {
+                    for (Segment segment : list) {
+                        Files.deleteIfExists(directory.resolve(segment.file()));
+                    }
+                }
+                segments.clear();
+                if (currentFile != null) Files.deleteIfExists(directory.resolve(currentFile));
+                try (var remaining = Files.list(directory)) {
+                    if (remaining.findAny().isEmpty()) Files.delete(directory);
+                }
+            }
+        }
+
+        private void openSegment() throws IOException {
+            closeSegment();
+            List<Segment> list = segments.computeIfAbsent(currentCollection, k -> new ArrayList<>());
+            currentFile = String.format("%s-%05d.bson", currentCollection, list.size());
+            currentChannel = FileChannel.open(directory.resolve(currentFile),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            currentDocs = 0;
+            currentBytes = 0;
+        }
+
+        private void closeSegment() throws IOException {
+            if (currentChannel == null) return;
+            currentChannel.force(false);
+            currentChannel.close();
+            segments.get(currentCollection).add(new Segment(currentFile, currentDocs, currentBytes));
+            currentChannel = null;
+        }
+    }
+
+    /**
+     * Memory-maps a snapshot's segments and serves index ranges of documents, so the load
+     * pipeline can read a snapshot with several threads exactly like it generates data.
+     */
+    public static class Reader {
+        private final Path directory;
+        private final Manifest manifest;
+        private final Map<String, MappedCollection> mapped = new LinkedHashMap<>();
+
+        private record MappedSegment(MappedByteBuffer buffer, int[] offsets) {}
+
+        private record MappedCollection(List<MappedSegment> segments, long[] firstIndex) {}
+
+        public Reader(Path directory) throws IOException {
+            this.directory = directory;
+            this.manifest = readManifest(directory);
+        }
+
+        public Manifest manifest() {
+            return manifest;
+        }
+
+        public int count(String collectionType) {
+            return Math.toIntExact(manifest.documentCount(collectionType));
+        }
+
+        public DocumentBatch read(String collectionType, int startIndex, int count) {
+            MappedCollection collection = mapped(collectionType);
+            List<RawBsonDocument> docs = new ArrayList<>(count);
+            int seg = Arrays.binarySearch(collection.firstIndex(), startIndex);
+            if (seg < 0) seg = -seg - 2;
+            int local = (int) (startIndex - collection.firstIndex()[seg]);
+            while (docs.size() < count) {
+                MappedSegment segment = collection.segments().get(seg);
+                if (local >= segment.offsets().length) {
+                    seg++;
+                    local = 0;
+                    continue;
+                }
+                int offset = segment.offsets()[local++];
+                int length = segment.buffer().getInt(offset);
+                byte[] bytes = new byte[length];
+                segment.buffer().get(offset, bytes);
+                docs.add(new RawBsonDocument(bytes));
+            }
+            return DocumentBatch.encoded(docs, null);
+        }
+
+        private synchronized MappedCollection mapped(String collectionType) {
+            MappedCollection collection = mapped.get(collectionType);
+            if (collection != null) return collection;
+
+            CollectionInfo info = manifest.collections().get(collectionType);
+            if (info == null) {
+                throw new IllegalArgumentException("Snapshot has no collection " + collectionType);
+            }
+            List<MappedSegment> segments = new ArrayList<>();
+            long[] firstIndex = new long[info.segments().size()];
+            long index = 0;
+            for (int i = 0; i < info.segments().size(); i++) {
+                Segment segment = info.segments().get(i);
+                MappedByteBuffer buffer;
+                try (FileChannel channel = FileChannel.open(directory.resolve(segment.file()), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.bytes());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot map snapshot segment " + segment.file(), e);
+                }
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+                int[] offsets = new int[Math.toIntExact(segment.documents())];
+                int pos = 0;
+                for (int d = 0; d < offsets.length; d++) {
+                    offsets[d] = pos;
+                    pos += buffer.getInt(pos);
+                }
+                if (pos != segment.bytes()) {
+                    throw new IllegalStateException("Snapshot segment " + segment.file() + " is corrupt");
+                }
+                segments.add(new MappedSegment(buffer, offsets));
+                firstIndex[i] = index;
+                index += offsets.length;
+            }
+            collection = new MappedCollection(segments, firstIndex);
+            mapped.put(collectionType, collection);
+            return collection;
+        }
+    }
+}
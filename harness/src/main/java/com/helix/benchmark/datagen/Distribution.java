@@ -0,0 +1,169 @@
+package com.helix.benchmark.datagen;
+
+import com.helix.benchmark.config.DistributionSpec;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Integer distribution over [min, max] used for array lengths and popularity ranks. Uniform
+ * reproduces the original generator; Zipf and bounded Pareto give the heavy tails seen in
+ * production (a few advisors with enormous books).
+ */
+public interface Distribution {
+
+    int sample(RandomGenerator rnd);
+
+    int min();
+
+    int max();
+
+    static Distribution uniform(int min, int max) {
+        return new Uniform(min, max);
+    }
+
+    /** P(min + k - 1) proportional to 1 / k^exponent, so {@code min} is the most likely value. */
+    static Distribution zipf(int min, int max, double exponent) {
+        return new Zipf(min, max, exponent);
+    }
+
+    /** Pareto with shape {@code alpha}, truncated to [min, max]; smaller alpha means a heavier tail. */
+    static Distribution pareto(int min, int max, double alpha) {
+        return new Pareto(min, max, alpha);
+    }
+
+    static Distribution of(DistributionSpec spec) {
+        return switch (spec.type().toLowerCase()) {
+            case "uniform" -> uniform(spec.min(), spec.max());
+            case "zipf" -> zipf(spec.min(), spec.max(), spec.exponent());
+            case "pareto" -> pareto(spec.min(), spec.max(), spec.exponent());
+            default -> throw new IllegalArgumentException("Unknown distribution type: " + spec.type());
+        };
+    }
+
+    private static void checkRange(int min, int max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid distribution range [" + min + ", " + max + "]");
+        }
+    }
+
+    record Uniform(int min, int max) implements Distribution {
+        public Uniform {
+            checkRange(min, max);
+        }
+
+        @Override
+        public int sample(RandomGenerator rnd) {
+            return min == max ? min : rnd.nextInt(min, max + 1);
+        }
+    }
+
+    record Pareto(int min, int max, double alpha) implements Distribution {
+        public Pareto {
+            checkRange(min, max);
+            if (min < 1 || !(alpha > 0)) {
+                throw new IllegalArgumentException("Pareto needs min >= 1 and alpha > 0");
+            }
+        }
+
+        @Override
+        public int sample(RandomGenerator rnd) {
+            // Inverse CDF of the Pareto distribution truncated to [min, max + 1)
+            double low = Math.pow(min, alpha);
+            double high = Math.pow(max + 1.0, alpha);
+            double u = rnd.nextDouble();
+            double x = Math.pow((high - u * (high - low)) / (high * low), -1.0 / alpha);
+            return Math.min(max, Math.max(min, (int) x));
+        }
+    }
+
+    /**
+     * Zipf by rejection-inversion (Hörmann and Derflinger, 1996): constant time and memory per
+     * sample regardless of range, so it works for millions of ranks without a CDF table.
+     */
+    final class Zipf implements Distribution {
+        private final int min;
+        private final int max;
+        private final int n;
+        private final double exponent;
+        private final double hIntegralX1;
+        private final double hIntegralN;
+        private final double s;
+
+        Zipf(int min, int max, double exponent) {
+            checkRange(min, max);
+            if (!(exponent > 0)) {
+                throw new IllegalArgumentException("Zipf exponent must be positive");
+            }
+            this.min = min;
+            this.max = max;
+            this.n = max - min + 1;
+            this.exponent = exponent;
+            this.hIntegralX1 = hIntegral(1.5) - 1.0;
+            this.hIntegralN = hIntegral(n + 0.5);
+            this.s = 2.0 - hIntegralInverse(hIntegral(2.5) - h(2.0));
+        }
+
+        @Override
+        public int min() {
+            return min;
+        }
+
+        @Override
+        public int max() {
+            return max;
+        }
+
+        public double exponent() {
+            return exponent;
+        }
+
+        @Override
+        public int sample(RandomGenerator rnd) {
+            while (true) {
+                double u = hIntegralN + rnd.nextDouble() * (hIntegralX1 - hIntegralN);
+                double x = hIntegralInverse(u);
+                int k = (int) (x + 0.5);
+                if (k < 1) {
+                    k = 1;
+                } else if (k > n) {
+                    k = n;
+                }
+                if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                    return min + k - 1;
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "Zipf[min=" + min + ", max=" + max + ", exponent=" + exponent + "]";
+        }
+
+        private double hIntegral(double x) {
+            double logX = Math.log(x);
+            return helper2((1.0 - exponent) * logX) * logX;
+        }
+
+        private double h(double x) {
+            return Math.exp(-exponent * Math.log(x));
+        }
+
+        private double hIntegralInverse(double x) {
+            double t = x * (1.0 - exponent);
+            if (t < -1.0) {
+                t = -1.0;
+            }
+            return Math.exp(helper1(t) * x);
+        }
+
+        // log1p(x) / x, accurate near zero
+        private static double helper1(double x) {
+            return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1.0 - x * (0.5 - x * (1.0 / 3.0 - 0.25 * x));
+        }
+
+        // expm1(x) / x, accurate near zero
+        private static double helper2(double x) {
+            return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1.0 + x * 0.5 * (1.0 + x * (1.0 / 3.0) * (1.0 + 0.25 * x));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of generated documents shared by every load target. Holds whichever representation
+ * the generator produced ({@link Document} trees, or encoded BSON plus optional JSON text or
+ * OSON) and derives the others on first request, so each target reads the form it loads
+ * fastest and a conversion is done at most once per batch.
+ */
+public final class DocumentBatch {
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final int size;
+    private List<Document> documents;
+    private List<RawBsonDocument> bson;
+    private List<String> json;
+    private List<byte[]> oson;
+    private volatile int firstIndex = -1;
+
+    private DocumentBatch(int size, List<Document> documents, List<RawBsonDocument> bson, List<String> json) {
+        this.size = size;
+        this.documents = documents;
+        this.bson = bson;
+        this.json = json;
+    }
+
+    public static DocumentBatch of(List<Document> documents) {
+        return new DocumentBatch(documents.size(), documents, null, null);
+    }
+
+    public static DocumentBatch encoded(List<RawBsonDocument> bson, List<String> json) {
+        if (json != null && json.size() != bson.size()) {
+            throw new IllegalArgumentException("BSON and JSON lists must be the same size");
+        }
+        return new DocumentBatch(bson.size(), null, bson, json);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Index of the batch's first document within its collection, or -1 if not known. */
+    public int firstIndex() {
+        return firstIndex;
+    }
+
+    /** Tags the batch with the index of its first document, so loads can be checkpointed. */
+    public DocumentBatch startingAt(int index) {
+        this.firstIndex = index;
+        return this;
+    }
+
+    public synchronized List<Document> documents() {
+        if (documents == null) {
+            List<Document> decoded = new ArrayList<>(size);
+            for (RawBsonDocument raw : bson) {
+                decoded.add(CODEC.decode(raw.asBsonReader(), DecoderContext.builder().build()));
+            }
+            documents = decoded;
+        }
+        return documents;
+    }
+
+    public synchronized List<RawBsonDocument> bson() {
+        if (bson == null) {
+            List<RawBsonDocument> encoded = new ArrayList<>(size);
+            for (Document doc : documents) {
+                encoded.add(new RawBsonDocument(doc, CODEC));
+            }
+            bson = encoded;
+        }
+        return bson;
+    }
+
+    public synchronized List<String> json() {
+        if (json == null) {
+            List<String> text = new ArrayList<>(size);
+            if (documents != null) {
+                for (Document doc : documents) {
+                    text.add(doc.toJson());
+                }
+            } else {
+                for (RawBsonDocument raw : bson) {
+                    text.add(raw.toJson());
+                }
+            }
+            json = text;
+        }
+        return json;
+    }
+
+    /** Oracle binary JSON, transcoded from the BSON form. */
+    public synchronized List<byte[]> oson() {
+        if (oson == null) {
+            List<byte[]> encoded = new ArrayList<>(size);
+            for (RawBsonDocument raw : bson()) {
+                encoded.add(OsonEncoder.encode(raw));
+            }
+            oson = encoded;
+        }
+        return oson;
+    }
+}
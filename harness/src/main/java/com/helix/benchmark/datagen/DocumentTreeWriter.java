@@ -0,0 +1,108 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * {@link DocumentWriter} that builds {@link Document} trees, with arrays as {@link List}s.
+ */
+public class DocumentTreeWriter implements DocumentWriter {
+    private final Deque<Object> stack = new ArrayDeque<>();
+    private String pendingName;
+    private Document completed;
+
+    @Override
+    public void startDocument() {
+        Document doc = new Document();
+        if (!stack.isEmpty()) {
+            value(doc);
+        }
+        stack.push(doc);
+    }
+
+    @Override
+    public void endDocument() {
+        Document doc = (Document) stack.pop();
+        if (stack.isEmpty()) {
+            completed = doc;
+        }
+    }
+
+    @Override
+    public void startArray() {
+        List<Object> list = new ArrayList<>();
+        value(list);
+        stack.push(list);
+    }
+
+    @Override
+    public void endArray() {
+        stack.pop();
+    }
+
+    @Override
+    public void name(String name) {
+        pendingName = name;
+    }
+
+    @Override
+    public void string(String value) {
+        value(value);
+    }
+
+    @Override
+    public void int32(int value) {
+        value(value);
+    }
+
+    @Override
+    public void int64(long value) {
+        value(value);
+    }
+
+    @Override
+    public void float64(double value) {
+        value(value);
+    }
+
+    @Override
+    public void bool(boolean value) {
+        value(value);
+    }
+
+    @Override
+    public void dateTime(long epochMillis) {
+        value(new Date(epochMillis));
+    }
+
+    /** Returns the last completed top-level document and resets the writer for the next one. */
+    public Document takeDocument() {
+        if (completed == null) {
+            throw new IllegalStateException("No completed document");
+        }
+        Document doc = completed;
+        completed = null;
+        return doc;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void value(Object value) {
+        Object parent = stack.peek();
+        if (parent instanceof Document doc) {
+            if (pendingName == null) {
+                throw new IllegalStateException("Field name required inside a document");
+            }
+            doc.append(pendingName, value);
+            pendingName = null;
+        } else if (parent instanceof List) {
+            ((List<Object>) parent).add(value);
+        } else {
+            throw new IllegalStateException("Value written outside of a document");
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.helix.benchmark.datagen;
+
+/**
+ * Streaming sink for generated documents. {@link TestDataGenerator} describes each document
+ * once through this interface; implementations decide whether it becomes an
+ * {@link org.bson.Document} tree or is encoded straight to BSON (and JSON text).
+ */
+public interface DocumentWriter {
+
+    void startDocument();
+
+    void endDocument();
+
+    void startArray();
+
+    void endArray();
+
+    void name(String name);
+
+    void string(String value);
+
+    void int32(int value);
+
+    void int64(long value);
+
+    void float64(double value);
+
+    void bool(boolean value);
+
+    void dateTime(long epochMillis);
+
+    default void startDocument(String name) {
+        name(name);
+        startDocument();
+    }
+
+    default void startArray(String name) {
+        name(name);
+        startArray();
+    }
+
+    default void string(String name, String value) {
+        name(name);
+        string(value);
+    }
+
+    default void int32(String name, int value) {
+        name(name);
+        int32(value);
+    }
+
+    default void int64(String name, long value) {
+        name(name);
+        int64(value);
+    }
+
+    default void float64(String name, double value) {
+        name(name);
+        float64(value);
+    }
+
+    default void bool(String name, boolean value) {
+        name(name);
+        bool(value);
+    }
+
+    default void dateTime(String name, long epochMillis) {
+        name(name);
+        dateTime(epochMillis);
+    }
+}
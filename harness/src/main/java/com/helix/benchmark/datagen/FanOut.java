@@ -0,0 +1,38 @@
+package com.helix.benchmark.datagen;
+
+import com.helix.benchmark.config.BenchmarkConfig;
+
+/**
+ * Shape of the generated relationships: how skewed advisor popularity is, and how many
+ * elements each embedded array gets. {@link #DEFAULT} reproduces the original uniform model.
+ *
+ * @param advisorPopularity Zipf exponent for choosing which advisor a document references;
+ *                          0 picks advisors uniformly, around 1 or above creates whale advisors
+ */
+public record FanOut(double advisorPopularity,
+                     Distribution advisorsPerInvestor,
+                     Distribution advisorsPerGroup,
+                     Distribution investorsPerGroupAdvisor,
+                     Distribution advisorsPerAccount) {
+
+    public static final FanOut DEFAULT = new FanOut(0,
+            Distribution.uniform(1, 4),
+            Distribution.uniform(1, 3),
+            Distribution.uniform(1, 5),
+            Distribution.uniform(1, 2));
+
+    public FanOut {
+        if (advisorPopularity < 0) {
+            throw new IllegalArgumentException("advisorPopularity must not be negative");
+        }
+    }
+
+    public static FanOut fromConfig(BenchmarkConfig config) {
+        return new FanOut(
+                config.advisorPopularity(),
+                Distribution.of(config.distribution("advisorsPerInvestor", 1, 4)),
+                Distribution.of(config.distribution("advisorsPerGroup", 1, 3)),
+                Distribution.of(config.distribution("investorsPerGroupAdvisor", 1, 5)),
+                Distribution.of(config.distribution("advisorsPerAccount", 1, 2)));
+    }
+}
@@ -0,0 +1,273 @@
+package com.helix.benchmark.datagen;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * Append-only ID store backed by chunked {@code long} arrays. Canonical non-negative decimal
+ * IDs (every generated advisor and investor ID) are stored as their numeric value; any other
+ * string goes to a small symbol table and is stored as {@code Long.MIN_VALUE + symbolIndex}.
+ * <p>
+ * Appends are lock-free: a writer reserves a slot with an atomic increment and fills it, and
+ * every writer then advances the visible size past any contiguous filled slots. Slots hold
+ * {@code value + 1} so zero means "not yet written". Readers only see the visible prefix, so
+ * sampling never copies or locks the store.
+ */
+final class IdStore {
+    private static final int CHUNK_BITS = 16;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+    private static final int MAX_CHUNKS = (Integer.MAX_VALUE >>> CHUNK_BITS) + 1;
+
+    private final AtomicReferenceArray<AtomicLongArray> chunks = new AtomicReferenceArray<>(MAX_CHUNKS);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+    private final List<String> symbols = new ArrayList<>();
+    private final Map<String, Integer> symbolIndex = new HashMap<>();
+
+    void add(String id) {
+        long numeric = parseCanonical(id);
+        append(numeric >= 0 ? numeric : symbolCode(id));
+    }
+
+    void add(long id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Numeric IDs must be non-negative: " + id);
+        }
+        append(id);
+    }
+
+    int size() {
+        return published.get();
+    }
+
+    String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size());
+        }
+        return decode(raw(index));
+    }
+
+    String random(RandomGenerator rnd) {
+        return get(rnd.nextInt(size()));
+    }
+
+    /**
+     * Picks {@code count} distinct IDs (or all of them, if fewer are registered). Indices are
+     * drawn with Floyd's algorithm, so no boxing and no work proportional to the store size;
+     * larger subsets track their picks in an open-addressed table sized to {@code count}.
+     */
+    List<String> randomSubset(RandomGenerator rnd, int count) {
+        int n = size();
+        int k = Math.min(count, n);
+        if (k <= 0) return List.of();
+        int[] picked = new int[k];
+        int[] seen = k > 64 ? new int[Integer.highestOneBit(k) << 2] : null;
+        int filled = 0;
+        for (int j = n - k; j < n; j++) {
+            int candidate = rnd.nextInt(j + 1);
+            if (contains(picked, filled, seen, candidate)) {
+                candidate = j;
+            }
+            picked[filled++] = candidate;
+            if (seen != null) add(seen, candidate);
+        }
+        // Floyd's picks come out roughly ascending; shuffle so the order is random too
+        for (int i = k - 1; i > 0; i--) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = picked[i];
+            picked[i] = picked[j];
+            picked[j] = tmp;
+        }
+        List<String> result = new ArrayList<>(k);
+        for (int index : picked) {
+            result.add(get(index));
+        }
+        return result;
+    }
+
+    /** A read-only view of the IDs published when this method is called. */
+    List<String> view() {
+        return new View(size());
+    }
+
+    /**
+     * Sorts the stored IDs: symbols first in string order, then numeric IDs ascending. Must
+     * not run concurrently with appends.
+     */
+    synchronized void sort() {
+        int n = size();
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = raw(i);
+        }
+        if (!symbols.isEmpty()) {
+            // Re-number symbols in string order so their codes sort the same way
+            String[] sorted = symbols.toArray(new String[0]);
+            Arrays.sort(sorted);
+            for (int i = 0; i < n; i++) {
+                if (values[i] < 0) {
+                    String symbol = symbols.get((int) (values[i] - Long.MIN_VALUE));
+                    values[i] = Long.MIN_VALUE + Arrays.binarySearch(sorted, symbol);
+                }
+            }
+            symbols.clear();
+            symbolIndex.clear();
+            for (String symbol : sorted) {
+                symbolIndex.put(symbol, symbols.size());
+                symbols.add(symbol);
+            }
+        }
+        Arrays.sort(values);
+        for (int i = 0; i < n; i++) {
+            chunks.get(i >>> CHUNK_BITS).set(i & CHUNK_MASK, values[i] + 1);
+        }
+    }
+
+    private void append(long value) {
+        int index = reserved.getAndIncrement();
+        if (index < 0) {
+            throw new IllegalStateException("ID store is full");
+        }
+        chunk(index >>> CHUNK_BITS).set(index & CHUNK_MASK, value + 1);
+        advance();
+    }
+
+    // Moves the visible size past filled slots; whichever writer fills the gap finishes the job
+    private void advance() {
+        while (true) {
+            int p = published.get();
+            if (p >= reserved.get()) return;
+            AtomicLongArray chunk = chunks.get(p >>> CHUNK_BITS);
+            if (chunk == null || chunk.get(p & CHUNK_MASK) == 0) return;
+            published.compareAndSet(p, p + 1);
+        }
+    }
+
+    private AtomicLongArray chunk(int c) {
+        AtomicLongArray chunk = chunks.get(c);
+        if (chunk == null) {
+            chunks.compareAndSet(c, null, new AtomicLongArray(CHUNK_SIZE));
+            chunk = chunks.get(c);
+        }
+        return chunk;
+    }
+
+    private long raw(int index) {
+        return chunks.get(index >>> CHUNK_BITS).get(index & CHUNK_MASK) - 1;
+    }
+
+    private String decode(long value) {
+        if (value >= 0) {
+            return Long.toString(value);
+        }
+        synchronized (this) {
+            return symbols.get((int) (value - Long.MIN_VALUE));
+        }
+    }
+
+    private synchronized long symbolCode(String id) {
+        Integer index = symbolIndex.get(id);
+        if (index == null) {
+            index = symbols.size();
+            symbolIndex.put(id, index);
+            symbols.add(id);
+        }
+        return Long.MIN_VALUE + index;
+    }
+
+    private long encodeIfKnown(String id) {
+        long numeric = parseCanonical(id);
+        if (numeric >= 0) return numeric;
+        synchronized (this) {
+            Integer index = symbolIndex.get(id);
+            return index == null ? -1 : Long.MIN_VALUE + index;
+        }
+    }
+
+    private static boolean contains(int[] picked, int filled, int[] seen, int candidate) {
+        if (seen != null) {
+            // Slots hold index + 1, so 0 marks an empty slot
+            for (int slot = slot(seen, candidate); seen[slot] != 0; slot = (slot + 1) & (seen.length - 1)) {
+                if (seen[slot] == candidate + 1) return true;
+            }
+            return false;
+        }
+        for (int i = 0; i < filled; i++) {
+            if (picked[i] == candidate) return true;
+        }
+        return false;
+    }
+
+    private static void add(int[] seen, int index) {
+        int slot = slot(seen, index);
+        while (seen[slot] != 0) {
+            slot = (slot + 1) & (seen.length - 1);
+        }
+        seen[slot] = index + 1;
+    }
+
+    // Fibonacci hashing spreads consecutive indices over the power-of-two table
+    private static int slot(int[] seen, int index) {
+        return (index * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(seen.length));
+    }
+
+    /** Returns the value of a canonical non-negative decimal (no sign, no leading zeros), else -1. */
+    static long parseCanonical(String s) {
+        int len = s.length();
+        if (len == 0 || len > 18 || (len > 1 && s.charAt(0) == '0')) return -1;
+        long value = 0;
+        for (int i = 0; i < len; i++) {
+            char ch = s.charAt(i);
+            if (ch < '0' || ch > '9') return -1;
+            value = value * 10 + (ch - '0');
+        }
+        return value;
+    }
+
+    private final class View extends AbstractList<String> implements RandomAccess {
+        private final int size;
+
+        View(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return decode(raw(index));
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            if (!(o instanceof String id)) return -1;
+            long code = encodeIfKnown(id);
+            if (code == -1) return -1;
+            for (int i = 0; i < size; i++) {
+                if (raw(i) == code) return i;
+            }
+            return -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.helix.benchmark.datagen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.zip.CRC32C;
+
+/**
+ * Checkpoint of a data load: for every target, which batches of which collection are loaded
+ * (with document count and a CRC32C of the batch's BSON) and which were in flight. The state
+ * is rewritten atomically after every change (concurrent changes share one write), so after a
+ * crash a resumed load knows exactly which batches to skip and which partially loaded batches
+ * to discard and reload. Together with seed-deterministic generation this makes a resumed
+ * load cost only the missing batches.
+ * <p>
+ * A manifest only resumes a load with the same seed, batch size and document counts; anything
+ * else starts a fresh manifest. Documents appended after the load grow the recorded counts.
+ */
+public final class LoadManifest {
+    private static final Logger log = LoggerFactory.getLogger(LoadManifest.class);
+
+    /** MongoDB collection holding a copy of the manifest next to the data it describes. */
+    public static final String COLLECTION = "loadManifest";
+    public static final String DOCUMENT_ID = "dataset";
+    static final int FORMAT_VERSION = 1;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record Chunk(int index, int start, int count, long checksum) {}
+
+    public record TargetState(Map<String, List<Chunk>> loaded, Map<String, List<Integer>> inFlight) {}
+
+    public record State(int formatVersion, long seed, int batchSize, Map<String, Integer> plan,
+                        String updatedAt, Map<String, TargetState> targets) {
+        /** Whether every collection of the plan is fully loaded on {@code target}. */
+        public boolean complete(String target) {
+            TargetState state = targets.get(target);
+            if (state == null) return false;
+            for (var e : plan.entrySet()) {
+                long docs = state.loaded().getOrDefault(e.getKey(), List.of()).stream()
+                        .mapToLong(Chunk::count).sum();
+                if (docs != e.getValue()) return false;
+            }
+            return true;
+        }
+    }
+
+    // Per target: collection -> loaded chunks by start index, and in-flight start indices
+    private static final class Progress {
+        final Map<String, TreeMap<Integer, Chunk>> loaded = new LinkedHashMap<>();
+        final Map<String, TreeSet<Integer>> inFlight = new LinkedHashMap<>();
+    }
+
+    private final Path file;
+    private final long seed;
+    private final int batchSize;
+    private final Map<String, Integer> plan;
+    private final Map<String, Progress> targets = new TreeMap<>();
+    // Batches in flight when the previous load stopped; they may be partially loaded
+    private final Map<String, Progress> interrupted = new TreeMap<>();
+    // Bumped on every change; the file is written under its own lock, outside this object's
+    private long version;
+    private final Object writeLock = new Object();
+    private long savedVersion;
+
+    private LoadManifest(Path file, long seed, int batchSize, Map<String, Integer> plan) {
+        this.file = file;
+        this.seed = seed;
+        this.batchSize = batchSize;
+        this.plan = new LinkedHashMap<>(plan);
+    }
+
+    /** Reads a manifest file; empty if it does not exist or cannot be read. */
+    public static Optional<State> read(Path file) {
+        if (!Files.isRegularFile(file)) return Optional.empty();
+        try {
+            return Optional.of(parse(Files.readString(file)));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable load manifest {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static State parse(String json) throws IOException {
+        State state = MAPPER.readValue(json, State.class);
+        if (state.formatVersion() != FORMAT_VERSION) {
+            throw new IOException("Unsupported load manifest format version " + state.formatVersion());
+        }
+        return state;
+    }
+
+    /**
+     * Continues {@code previous} if it describes the same dataset (seed, batch size and
+     * document counts), otherwise starts an empty manifest.
+     */
+    public static LoadManifest open(Path file, State previous, long seed, DatasetPlan plan, int batchSize) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (String collectionType : DatasetSizer.COLLECTIONS) {
+            counts.put(collectionType, plan.count(collectionType));
+        }
+        LoadManifest manifest = new LoadManifest(file, seed, batchSize, counts);
+        if (previous == null) return manifest;
+        if (previous.seed() != seed || previous.batchSize() != batchSize || !previous.plan().equals(counts)) {
+            log.warn("Load manifest {} is for a different dataset (seed {}, batch size {}, counts {}); starting over",
+                    file, previous.seed(), previous.batchSize(), previous.plan());
+            return manifest;
+        }
+        manifest.restore(previous);
+        return manifest;
+    }
+
+    /** Continues {@code state} as recorded, e.g. the manifest published next to data that is kept. */
+    public static LoadManifest resume(Path file, State state) {
+        LoadManifest manifest = new LoadManifest(file, state.seed(), state.batchSize(), state.plan());
+        manifest.restore(state);
+        return manifest;
+    }
+
+    private void restore(State previous) {
+        previous.targets().forEach((target, state) -> {
+            Progress progress = progress(target);
+            state.loaded().forEach((collectionType, chunks) -> {
+                TreeMap<Integer, Chunk> byStart = progress.loaded.computeIfAbsent(collectionType, k -> new TreeMap<>());
+                chunks.forEach(c -> byStart.put(c.start(), c));
+            });
+            Progress pending = interrupted.computeIfAbsent(target, k -> new Progress());
+            state.inFlight().forEach((collectionType, starts) ->
+                    pending.inFlight.computeIfAbsent(collectionType, k -> new TreeSet<>()).addAll(starts));
+        });
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /** Documents of a collection in the dataset, including any appended after the initial load. */
+    public synchronized int planned(String collectionType) {
+        return plan.getOrDefault(collectionType, 0);
+    }
+
+    /** Records {@code count} documents appended to a collection, once every target has loaded them. */
+    public void grow(String collectionType, int count) {
+        long changed;
+        synchronized (this) {
+            plan.merge(collectionType, count, Integer::sum);
+            changed = ++version;
+        }
+        save(changed);
+    }
+
+    /** Targets with at least one loaded batch, whose data a resumed load keeps. */
+    public synchronized Set<String> loadedTargets() {
+        Set<String> result = new TreeSet<>();
+        targets.forEach((target, progress) -> {
+            if (progress.loaded.values().stream().anyMatch(chunks -> !chunks.isEmpty())) {
+                result.add(target);
+            }
+        });
+        return result;
+    }
+
+    public synchronized boolean isLoaded(String target, String collectionType, int start) {
+        Progress progress = targets.get(target);
+        if (progress == null) return false;
+        TreeMap<Integer, Chunk> chunks = progress.loaded.get(collectionType);
+        return chunks != null && chunks.containsKey(start);
+    }
+
+    /** Whether the batch starting at {@code start} is loaded on every one of {@code targets}. */
+    public synchronized boolean isLoadedEverywhere(Collection<String> targets, String collectionType, int start) {
+        if (targets.isEmpty()) return false;
+        for (String target : targets) {
+            if (!isLoaded(target, collectionType, start)) return false;
+        }
+        return true;
+    }
+
+    /** The batches of a collection loaded on every one of {@code targets}, in index order. */
+    public synchronized List<Chunk> loadedEverywhere(Collection<String> targets, String collectionType) {
+        List<Chunk> result = new ArrayList<>();
+        if (targets.isEmpty()) return result;
+        Progress first = this.targets.get(targets.iterator().next());
+        if (first == null || !first.loaded.containsKey(collectionType)) return result;
+        for (Chunk chunk : first.loaded.get(collectionType).values()) {
+            if (isLoadedEverywhere(targets, collectionType, chunk.start())) {
+                result.add(chunk);
+            }
+        }
+        return result;
+    }
+
+    public synchronized long documents(String target, String collectionType) {
+        Progress progress = targets.get(target);
+        if (progress == null || !progress.loaded.containsKey(collectionType)) return 0;
+        return progress.loaded.get(collectionType).values().stream().mapToLong(Chunk::count).sum();
+    }
+
+    public synchronized State state() {
+        Map<String, TargetState> states = new LinkedHashMap<>();
+        targets.forEach((target, progress) -> {
+            Map<String, List<Chunk>> loaded = new LinkedHashMap<>();
+            progress.loaded.forEach((collectionType, chunks) -> loaded.put(collectionType, List.copyOf(chunks.values())));
+            Map<String, List<Integer>> inFlight = new LinkedHashMap<>();
+            progress.inFlight.forEach((collectionType, starts) -> {
+                if (!starts.isEmpty()) inFlight.put(collectionType, List.copyOf(starts));
+            });
+            states.put(target, new TargetState(loaded, inFlight));
+        });
+        return new State(FORMAT_VERSION, seed, batchSize, new LinkedHashMap<>(plan), Instant.now().toString(), states);
+    }
+
+    public String toJson() {
+        try {
+            return MAPPER.writeValueAsString(state());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Wraps a sink so every batch it loads is checkpointed: batches already loaded on this
+     * target are skipped, a batch that was in flight when the previous load stopped is
+     * discarded from the target first, and a loaded batch whose checksum differs from the same
+     * batch on another target fails, since the generator is then not reproducing the data.
+     */
+    public LoadPipeline.BatchSink checkpointed(LoadPipeline.BatchSink sink) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return sink.name();
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                int start = batch.firstIndex();
+                if (start < 0) {
+                    throw new IllegalStateException("Checkpointed loads need batches tagged with their first index");
+                }
+                if (isLoaded(sink.name(), collectionType, start)) return;
+                if (started(sink.name(), collectionType, start)) {
+                    long removed = sink.discard(collectionType, batch);
+                    log.info("Resuming {} batch at {} on {}: removed {} partially loaded document(s)",
+                            collectionType, start, sink.name(), removed);
+                }
+                sink.load(collectionType, batch);
+                loaded(sink.name(), collectionType, start, batch.size(), checksum(batch));
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) throws Exception {
+                return sink.discard(collectionType, batch);
+            }
+        };
+    }
+
+    /** CRC32C over the batch's BSON encoding. */
+    static long checksum(DocumentBatch batch) {
+        CRC32C crc = new CRC32C();
+        for (RawBsonDocument doc : batch.bson()) {
+            ByteBuffer bytes = doc.getByteBuffer().asNIO();
+            crc.update(bytes);
+        }
+        return crc.getValue();
+    }
+
+    // Marks a batch in flight; returns whether it was in flight when the previous load stopped
+    private boolean started(String target, String collectionType, int start) {
+        boolean wasInFlight;
+        long changed;
+        synchronized (this) {
+            progress(target).inFlight.computeIfAbsent(collectionType, k -> new TreeSet<>()).add(start);
+            changed = ++version;
+            Progress pending = interrupted.get(target);
+            wasInFlight = pending != null
+                    && pending.inFlight.getOrDefault(collectionType, new TreeSet<>()).remove(start);
+        }
+        save(changed);
+        return wasInFlight;
+    }
+
+    private void loaded(String target, String collectionType, int start, int count, long checksum) {
+        long changed;
+        synchronized (this) {
+            targets.forEach((other, progress) -> {
+                Chunk recorded = progress.loaded.getOrDefault(collectionType, new TreeMap<>()).get(start);
+                if (recorded != null && recorded.checksum() != checksum) {
+                    throw new IllegalStateException(String.format(
+                            "%s batch at %d on %s differs from the copy loaded on %s (checksum %x, expected %x)",
+                            collectionType, start, target, other, checksum, recorded.checksum()));
+                }
+            });
+            Progress progress = progress(target);
+            progress.loaded.computeIfAbsent(collectionType, k -> new TreeMap<>())
+                    .put(start, new Chunk(start / batchSize, start, count, checksum));
+            progress.inFlight.getOrDefault(collectionType, new TreeSet<>()).remove(start);
+            changed = ++version;
+        }
+        save(changed);
+    }
+
+    private Progress progress(String target) {
+        return targets.computeIfAbsent(target, k -> new Progress());
+    }
+
+    /**
+     * Returns once the file holds change {@code changed} or a later one. Only the state copy
+     * is taken under this object's lock, so sinks keep checkpointing while the file is written;
+     * one write covers every change made before it, so callers waiting on it return without
+     * writing again. Written to a temporary file and moved into place, so a crash never
+     * leaves half a manifest.
+     */
+    private void save(long changed) {
+        if (file == null) return;
+        synchronized (writeLock) {
+            if (savedVersion >= changed) return;
+            State state;
+            long snapshot;
+            synchronized (this) {
+                state = state();
+                snapshot = version;
+            }
+            try {
+                Path parent = file.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+                MAPPER.writeValue(tmp.toFile(), state);
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot write load manifest " + file, e);
+            }
+            savedVersion = snapshot;
+        }
+    }
+}
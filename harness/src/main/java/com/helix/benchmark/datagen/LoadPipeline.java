@@ -0,0 +1,240 @@
+package com.helix.benchmark.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntPredicate;
+
+/**
+ * Streams generated documents to every load target without materializing whole chunks.
+ * Generator threads claim index ranges and push each batch onto one bounded queue per
+ * target; a dedicated loader thread drains each queue. A full queue blocks the generators,
+ * so memory is bounded by queue depth x batch size and generation overlaps loading.
+ */
+public class LoadPipeline {
+    private static final Logger log = LoggerFactory.getLogger(LoadPipeline.class);
+
+    private static final DocumentBatch END_OF_STREAM = DocumentBatch.of(Collections.emptyList());
+
+    @FunctionalInterface
+    public interface BatchGenerator {
+        DocumentBatch generate(int startIndex, int count);
+    }
+
+    public interface BatchSink {
+        String name();
+
+        void load(String collectionType, DocumentBatch batch) throws Exception;
+
+        /**
+         * Removes whatever part of the batch the target already holds and returns how many
+         * documents were removed. Used to clean up a batch that was in flight when an earlier
+         * load was interrupted, before it is loaded again.
+         */
+        long discard(String collectionType, DocumentBatch batch) throws Exception;
+    }
+
+    public record StageStats(String stage, long documents, long busyNanos, long waitNanos,
+                             long elapsedNanos, boolean failed) {
+        public double docsPerSec() {
+            return busyNanos > 0 ? documents / (busyNanos / 1_000_000_000.0) : 0;
+        }
+
+        public double utilization() {
+            return elapsedNanos > 0 ? Math.min(1.0, (double) busyNanos / elapsedNanos) : 0;
+        }
+    }
+
+    private final List<BatchSink> sinks;
+    private final int generatorThreads;
+    private final int queueDepth;
+    private final int batchSize;
+
+    public LoadPipeline(List<BatchSink> sinks, int generatorThreads, int queueDepth, int batchSize) {
+        if (generatorThreads < 1 || queueDepth < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Pipeline threads, queue depth and batch size must be positive");
+        }
+        this.sinks = List.copyOf(sinks);
+        this.generatorThreads = generatorThreads;
+        this.queueDepth = queueDepth;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Generates {@code totalCount} documents and loads them into every sink. Returns one
+     * stats entry for the generate stage followed by one per sink. A failing sink is
+     * logged and drained so the remaining targets keep loading; a failing generator aborts
+     * the run.
+     */
+    public List<StageStats> run(String collectionType, int totalCount, BatchGenerator generator) {
+        return run(collectionType, totalCount, generator, start -> false);
+    }
+
+    /**
+     * Like {@link #run(String, int, BatchGenerator)}, but batches whose start index matches
+     * {@code skip} are neither generated nor loaded; a resumed load skips the batches every
+     * target already holds.
+     */
+    public List<StageStats> run(String collectionType, int totalCount, BatchGenerator generator,
+                                IntPredicate skip) {
+        return run(collectionType, 0, totalCount, generator, skip);
+    }
+
+    /**
+     * Like {@link #run(String, int, BatchGenerator, IntPredicate)} over the documents
+     * [firstIndex, firstIndex + totalCount); batches carry their absolute start index, as when
+     * appending to a collection that already holds {@code firstIndex} documents.
+     */
+    public List<StageStats> run(String collectionType, int firstIndex, int totalCount, BatchGenerator generator,
+                                IntPredicate skip) {
+        int endIndex = firstIndex + totalCount;
+        List<BlockingQueue<DocumentBatch>> queues = new ArrayList<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            queues.add(new ArrayBlockingQueue<>(queueDepth));
+        }
+
+        ExecutorService loaders = Executors.newFixedThreadPool(Math.max(1, sinks.size()));
+        ExecutorService generators = Executors.newFixedThreadPool(generatorThreads);
+        long start = System.nanoTime();
+        try {
+            List<Future<StageStats>> loaderFutures = new ArrayList<>();
+            for (int i = 0; i < sinks.size(); i++) {
+                BatchSink sink = sinks.get(i);
+                BlockingQueue<DocumentBatch> queue = queues.get(i);
+                loaderFutures.add(loaders.submit(() -> drain(sink, queue, collectionType, start)));
+            }
+
+            AtomicInteger nextIndex = new AtomicInteger(firstIndex);
+            AtomicLong generated = new AtomicLong();
+            AtomicLong generateNanos = new AtomicLong();
+            AtomicLong blockedNanos = new AtomicLong();
+            List<Future<?>> generatorFutures = new ArrayList<>();
+            for (int t = 0; t < generatorThreads; t++) {
+                generatorFutures.add(generators.submit(() -> {
+                    int from;
+                    while ((from = nextIndex.getAndAdd(batchSize)) < endIndex) {
+                        if (skip.test(from)) continue;
+                        int count = Math.min(batchSize, endIndex - from);
+                        long t0 = System.nanoTime();
+                        DocumentBatch batch = generator.generate(from, count).startingAt(from);
+                        long t1 = System.nanoTime();
+                        for (BlockingQueue<DocumentBatch> queue : queues) {
+                            queue.put(batch);
+                        }
+                        generateNanos.addAndGet(t1 - t0);
+                        blockedNanos.addAndGet(System.nanoTime() - t1);
+                        long done = generated.addAndGet(count);
+                        if (done % 50_000 < count) {
+                            log.info("Generated {} / {} {} documents", done, totalCount, collectionType);
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            RuntimeException generatorFailure = null;
+            for (Future<?> f : generatorFutures) {
+                try {
+                    f.get();
+                } catch (Exception e) {
+                    if (generatorFailure == null) {
+                        generatorFailure = new RuntimeException(
+                                "Generator failed for " + collectionType + ": " + rootMessage(e), e);
+                    }
+                    generators.shutdownNow();
+                }
+            }
+            for (BlockingQueue<DocumentBatch> queue : queues) {
+                putUninterruptibly(queue, END_OF_STREAM);
+            }
+
+            List<StageStats> stats = new ArrayList<>();
+            long elapsed = System.nanoTime() - start;
+            stats.add(new StageStats("generate", generated.get(), generateNanos.get(),
+                    blockedNanos.get(), elapsed, generatorFailure != null));
+            for (Future<StageStats> f : loaderFutures) {
+                try {
+                    stats.add(f.get());
+                } catch (Exception e) {
+                    throw new RuntimeException("Loader thread failed: " + rootMessage(e), e);
+                }
+            }
+            logStats(collectionType, stats);
+            if (generatorFailure != null) {
+                throw generatorFailure;
+            }
+            return stats;
+        } finally {
+            generators.shutdownNow();
+            loaders.shutdownNow();
+        }
+    }
+
+    private StageStats drain(BatchSink sink, BlockingQueue<DocumentBatch> queue,
+                             String collectionType, long start) throws InterruptedException {
+        long loaded = 0;
+        long busyNanos = 0;
+        long waitNanos = 0;
+        boolean failed = false;
+        while (true) {
+            long t0 = System.nanoTime();
+            DocumentBatch batch = queue.take();
+            long t1 = System.nanoTime();
+            waitNanos += t1 - t0;
+            if (batch == END_OF_STREAM) break;
+            if (failed) continue; // keep draining so generators are never blocked by a dead target
+            try {
+                sink.load(collectionType, batch);
+                loaded += batch.size();
+            } catch (Exception e) {
+                failed = true;
+                log.warn("Failed to load {} to {}: {}", collectionType, sink.name(), e.getMessage());
+            }
+            busyNanos += System.nanoTime() - t1;
+        }
+        return new StageStats(sink.name(), loaded, busyNanos, waitNanos,
+                System.nanoTime() - start, failed);
+    }
+
+    private static void logStats(String collectionType, List<StageStats> stats) {
+        for (StageStats s : stats) {
+            log.info("Pipeline {} [{}]: {} docs, {} docs/s while busy, utilization {}%, waited {} ms{}",
+                    collectionType, s.stage(), s.documents(), String.format("%.0f", s.docsPerSec()),
+                    String.format("%.0f", s.utilization() * 100), s.waitNanos() / 1_000_000,
+                    s.failed() ? " (FAILED)" : "");
+        }
+    }
+
+    private static void putUninterruptibly(BlockingQueue<DocumentBatch> queue, DocumentBatch item) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String rootMessage(Throwable t) {
+        Throwable cause = t;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+}
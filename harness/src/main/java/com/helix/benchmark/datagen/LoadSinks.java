@@ -0,0 +1,136 @@
+package com.helix.benchmark.datagen;
+
+import com.helix.benchmark.config.DatabaseTarget;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link LoadPipeline.BatchSink} adapters over the existing per-target loaders.
+ */
+public final class LoadSinks {
+
+    private LoadSinks() {}
+
+    public static LoadPipeline.BatchSink mongo(DatabaseTarget target, MongoDatabase db, MongoBulkLoader loader) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return target.name();
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) {
+                // Raw BSON is encoded once per batch and shared by every Mongo target
+                loader.load(db.getCollection(collectionType, RawBsonDocument.class), batch.bson());
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) {
+                List<BsonValue> ids = new ArrayList<>(batch.size());
+                for (RawBsonDocument doc : batch.bson()) {
+                    ids.add(doc.get("_id"));
+                }
+                return db.getCollection(collectionType, RawBsonDocument.class)
+                        .deleteMany(Filters.in("_id", ids)).getDeletedCount();
+            }
+        };
+    }
+
+    public static LoadPipeline.BatchSink oracleJson(DataSource dataSource, DataLoader loader, int batchSize) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return DatabaseTarget.ORACLE_JDBC.name();
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                loader.loadJsonToOracle(dataSource, DataLoader.jdbcTableName(collectionType),
+                        batch.json(), batchSize);
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) throws Exception {
+                return loader.discardFromOracle(dataSource, DataLoader.jdbcTableName(collectionType), ids(batch));
+            }
+        };
+    }
+
+    public static LoadPipeline.BatchSink oracleOson(DataSource dataSource, DataLoader loader, int batchSize) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return DatabaseTarget.ORACLE_JDBC.name();
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                loader.loadOsonToOracle(dataSource, DataLoader.jdbcTableName(collectionType),
+                        batch.oson(), batchSize);
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) throws Exception {
+                return loader.discardFromOracle(dataSource, DataLoader.jdbcTableName(collectionType), ids(batch));
+            }
+        };
+    }
+
+    public static LoadPipeline.BatchSink relational(DataSource dataSource, RelationalDataLoader loader,
+                                                    int batchSize) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return DatabaseTarget.ORACLE_RELATIONAL.name();
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                loader.loadToRelational(dataSource, collectionType, batch.documents(), batchSize);
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) throws Exception {
+                return loader.discardFromRelational(dataSource, collectionType, batch.documents());
+            }
+        };
+    }
+
+    /**
+     * Inserts OSON through a JSON-relational duality view, so Oracle shreds each document into
+     * the view's tables. {@code collectionType} is the view name, e.g. {@code dv_account}.
+     */
+    public static LoadPipeline.BatchSink dualityView(DataSource dataSource, DataLoader loader, int batchSize) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return DatabaseTarget.ORACLE_DUALITY_VIEW.name();
+            }
+
+            @Override
+            public void load(String view, DocumentBatch batch) throws Exception {
+                loader.loadOsonToOracle(dataSource, view, batch.oson(), batchSize);
+            }
+
+            @Override
+            public long discard(String view, DocumentBatch batch) throws Exception {
+                return loader.discardFromOracle(dataSource, view, ids(batch));
+            }
+        };
+    }
+
+    // Generated _id values are strings
+    private static List<String> ids(DocumentBatch batch) {
+        List<String> ids = new ArrayList<>(batch.size());
+        for (RawBsonDocument doc : batch.bson()) {
+            ids.add(doc.getString("_id").getValue());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,164 @@
+package com.helix.benchmark.datagen;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.RawBsonDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads documents with unordered {@code bulkWrite} calls spread over several writer threads.
+ * Writer threads claim batches from a shared counter, so a slow batch never holds up the
+ * rest, and the load-phase write concern (typically {@code w:1, j:false}) is applied per
+ * collection without touching the client used for queries.
+ */
+public class MongoBulkLoader {
+    private static final Logger log = LoggerFactory.getLogger(MongoBulkLoader.class);
+
+    private static final BulkWriteOptions UNORDERED = new BulkWriteOptions().ordered(false);
+
+    public record LoadStats(long documents, long bytes, long nanos) {
+        public double docsPerSec() {
+            return nanos > 0 ? documents / (nanos / 1_000_000_000.0) : 0;
+        }
+
+        public double mbPerSec() {
+            return nanos > 0 ? bytes / (1024.0 * 1024.0) / (nanos / 1_000_000_000.0) : 0;
+        }
+    }
+
+    private final int writerThreads;
+    private final int batchSize;
+    private final WriteConcern writeConcern;
+    private final AdaptiveBatchSizer sizer;
+
+    public MongoBulkLoader(int writerThreads, int batchSize, WriteConcern writeConcern) {
+        this(writerThreads, batchSize, writeConcern, null);
+    }
+
+    /**
+     * @param sizer adapts the batch size per collection from observed batch latency; null
+     *              keeps every batch at {@code batchSize}
+     */
+    public MongoBulkLoader(int writerThreads, int batchSize, WriteConcern writeConcern, AdaptiveBatchSizer sizer) {
+        if (writerThreads < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Writer threads and batch size must be positive");
+        }
+        this.writerThreads = writerThreads;
+        this.batchSize = batchSize;
+        this.writeConcern = writeConcern;
+        this.sizer = sizer;
+    }
+
+    /**
+     * Inserts {@code docs} and returns once every batch is acknowledged. Bytes are counted for
+     * raw BSON documents only; the first failing batch is rethrown after all writers stop.
+     */
+    public <T> LoadStats load(MongoCollection<T> collection, List<T> docs) {
+        MongoCollection<T> target = writeConcern != null ? collection.withWriteConcern(writeConcern) : collection;
+        String name = sizer != null ? collection.getNamespace().getCollectionName() : null;
+        int size = sizer != null ? sizer.size(name) : batchSize;
+        int threads = Math.min(writerThreads, (docs.size() + size - 1) / size);
+        // Writers claim document ranges, so the batch size may change between claims
+        AtomicInteger nextDoc = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        Runnable writer = () -> {
+            while (true) {
+                int claim = sizer != null ? sizer.size(name) : batchSize;
+                int from = nextDoc.getAndAdd(claim);
+                if (from >= docs.size()) return;
+                List<T> batch = docs.subList(from, (int) Math.min((long) from + claim, docs.size()));
+                List<WriteModel<T>> models = new ArrayList<>(batch.size());
+                long batchBytes = 0;
+                for (T doc : batch) {
+                    models.add(new InsertOneModel<>(doc));
+                    if (doc instanceof RawBsonDocument raw) {
+                        batchBytes += raw.getByteBuffer().remaining();
+                    }
+                }
+                long batchStart = System.nanoTime();
+                target.bulkWrite(models, UNORDERED);
+                if (sizer != null) {
+                    sizer.record(name, batch.size(), System.nanoTime() - batchStart);
+                }
+                bytes.addAndGet(batchBytes);
+            }
+        };
+
+        long start = System.nanoTime();
+        if (threads <= 1) {
+            writer.run();
+        } else {
+            ExecutorService executor = Executors.newFixedThreadPool(threads - 1);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 1; t < threads; t++) {
+                    futures.add(executor.submit(writer));
+                }
+                RuntimeException failure = null;
+                try {
+                    writer.run();
+                } catch (RuntimeException e) {
+                    failure = e;
+                    nextDoc.set(docs.size()); // stop the other writers after their current batch
+                }
+                for (Future<?> f : futures) {
+                    try {
+                        f.get();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Interrupted while loading", e);
+                    } catch (Exception e) {
+                        nextDoc.set(docs.size());
+                        if (failure == null) {
+                            failure = e.getCause() instanceof RuntimeException re ? re : new RuntimeException(e);
+                        }
+                    }
+                }
+                if (failure != null) throw failure;
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        LoadStats stats = new LoadStats(docs.size(), bytes.get(), System.nanoTime() - start);
+        log.info("Bulk loaded {} documents to {} with {} writer(s): {} docs/s, {} MB/s",
+                docs.size(), collection.getNamespace().getCollectionName(), Math.max(1, threads),
+                String.format("%.0f", stats.docsPerSec()), String.format("%.1f", stats.mbPerSec()));
+        return stats;
+    }
+
+    /** Builds a write concern from a {@code w} value (a number or a tag such as "majority"). */
+    public static WriteConcern writeConcern(String w, boolean journal) {
+        WriteConcern concern = w.chars().allMatch(Character::isDigit) && !w.isEmpty()
+                ? new WriteConcern(Integer.parseInt(w))
+                : new WriteConcern(w);
+        return concern.withJournal(journal);
+    }
+
+    /** Maps compressor names to driver compressors; zstd and snappy need their codec jars at runtime. */
+    public static List<MongoCompressor> compressors(List<String> names) {
+        List<MongoCompressor> compressors = new ArrayList<>();
+        for (String name : names) {
+            compressors.add(switch (name.trim().toLowerCase()) {
+                case "zstd" -> MongoCompressor.createZstdCompressor();
+                case "snappy" -> MongoCompressor.createSnappyCompressor();
+                case "zlib" -> MongoCompressor.createZlibCompressor();
+                default -> throw new IllegalArgumentException("Unknown compressor: " + name);
+            });
+        }
+        return compressors;
+    }
+}
@@ -0,0 +1,174 @@
+package com.helix.benchmark.datagen;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reads a collection as parallel {@code _id} ranges. Split points are the quantiles of a
+ * {@code $sample} of IDs sorted by the server, so ranges hold roughly equal document counts.
+ * Each range is scanned by its own thread as {@link RawBsonDocument}s (no driver-side
+ * decoding) and handed to the consumer in chunks, so reading and loading overlap across
+ * ranges.
+ * <p>
+ * Range filters in MongoDB only match values of the bound's BSON type, so a collection whose
+ * sampled IDs have mixed types is read as a single unbounded range.
+ */
+public class MongoRangeReader {
+    private static final Logger log = LoggerFactory.getLogger(MongoRangeReader.class);
+
+    static final int SAMPLES_PER_RANGE = 32;
+
+    @FunctionalInterface
+    public interface ChunkConsumer {
+        void accept(DocumentBatch chunk) throws Exception;
+    }
+
+    /** An {@code _id} range; a null bound is open. Lower bounds are inclusive, upper exclusive. */
+    public record Range(BsonValue lower, BsonValue upper) {
+        public Bson filter() {
+            if (lower == null && upper == null) return new BsonDocument();
+            if (lower == null) return Filters.lt("_id", upper);
+            if (upper == null) return Filters.gte("_id", lower);
+            return Filters.and(Filters.gte("_id", lower), Filters.lt("_id", upper));
+        }
+    }
+
+    private final int readers;
+    private final int cursorBatchSize;
+    private final int chunkSize;
+
+    public MongoRangeReader(int readers, int cursorBatchSize, int chunkSize) {
+        if (readers < 1 || cursorBatchSize < 1 || chunkSize < 1) {
+            throw new IllegalArgumentException("Readers, cursor batch size and chunk size must be positive");
+        }
+        this.readers = readers;
+        this.cursorBatchSize = cursorBatchSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads every document of the collection and passes it to the consumer, which must be
+     * thread-safe. Returns the number of documents read. A failing range does not stop the
+     * others; the first failure is rethrown once every range has finished.
+     */
+    public long read(MongoCollection<RawBsonDocument> collection, ChunkConsumer consumer) throws Exception {
+        List<Range> ranges = splitRanges(collection);
+        log.info("Reading {} as {} _id range(s) with {} reader(s)", collection.getNamespace().getCollectionName(),
+                ranges.size(), Math.min(readers, ranges.size()));
+        AtomicLong read = new AtomicLong();
+        if (ranges.size() == 1) {
+            readRange(collection, ranges.get(0), consumer, read);
+            return read.get();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(readers, ranges.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Range range : ranges) {
+                futures.add(executor.submit(() -> {
+                    readRange(collection, range, consumer, read);
+                    return null;
+                }));
+            }
+            Exception failure = null;
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+            if (failure != null) throw failure;
+            return read.get();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    List<Range> splitRanges(MongoCollection<RawBsonDocument> collection) {
+        if (readers == 1) return List.of(new Range(null, null));
+        long count = collection.estimatedDocumentCount();
+        // Ranges smaller than a chunk are not worth a thread each
+        int wanted = (int) Math.min(readers, Math.max(1, count / chunkSize));
+        if (wanted == 1) return List.of(new Range(null, null));
+
+        List<BsonValue> sample = new ArrayList<>();
+        collection.aggregate(List.of(
+                        Aggregates.sample(wanted * SAMPLES_PER_RANGE),
+                        Aggregates.project(Projections.include("_id")),
+                        Aggregates.sort(Sorts.ascending("_id"))))
+                .forEach(doc -> sample.add(doc.get("_id")));
+        return ranges(sample, wanted);
+    }
+
+    /** Cuts a server-sorted sample of IDs into {@code count} ranges at its quantiles. */
+    static List<Range> ranges(List<BsonValue> sortedSample, int count) {
+        if (sortedSample.isEmpty() || count == 1
+                || sortedSample.stream().map(BsonValue::getBsonType).distinct().count() > 1) {
+            return List.of(new Range(null, null));
+        }
+        List<BsonValue> bounds = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            BsonValue bound = sortedSample.get((int) ((long) i * sortedSample.size() / count));
+            if (bounds.isEmpty() || !bounds.get(bounds.size() - 1).equals(bound)) {
+                bounds.add(bound);
+            }
+        }
+        List<Range> ranges = new ArrayList<>();
+        BsonValue lower = null;
+        for (BsonValue bound : bounds) {
+            ranges.add(new Range(lower, bound));
+            lower = bound;
+        }
+        ranges.add(new Range(lower, null));
+        return ranges;
+    }
+
+    private void readRange(MongoCollection<RawBsonDocument> collection, Range range,
+                           ChunkConsumer consumer, AtomicLong read) throws Exception {
+        List<RawBsonDocument> chunk = new ArrayList<>(chunkSize);
+        try (MongoCursor<RawBsonDocument> cursor = collection.find(range.filter())
+                .batchSize(cursorBatchSize).iterator()) {
+            while (cursor.hasNext()) {
+                chunk.add(cursor.next());
+                if (chunk.size() >= chunkSize) {
+                    consume(collection, chunk, consumer, read);
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            consume(collection, chunk, consumer, read);
+        }
+    }
+
+    private static void consume(MongoCollection<RawBsonDocument> collection, List<RawBsonDocument> chunk,
+                                ChunkConsumer consumer, AtomicLong read) throws Exception {
+        consumer.accept(DocumentBatch.encoded(chunk, null));
+        long done = read.addAndGet(chunk.size());
+        if (done % 50_000 < chunk.size()) {
+            log.info("Read {} {} documents", done, collection.getNamespace().getCollectionName());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.helix.benchmark.datagen;
+
+import oracle.sql.json.OracleJsonFactory;
+import oracle.sql.json.OracleJsonGenerator;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonType;
+import org.bson.RawBsonDocument;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Transcodes BSON straight to Oracle's binary JSON (OSON) with ojdbc's
+ * {@link OracleJsonGenerator}, so JSON collection tables can be loaded without generating
+ * JSON text on the client or parsing it on the server. BSON dates become native OSON
+ * timestamps (UTC) rather than the {@code {"$date": ...}} wrappers of extended JSON text.
+ */
+final class OsonEncoder {
+    private static final OracleJsonFactory FACTORY = new OracleJsonFactory();
+
+    private OsonEncoder() {}
+
+    static byte[] encode(RawBsonDocument doc) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(doc.getByteBuffer().remaining());
+        try (BsonBinaryReader reader = new BsonBinaryReader(doc.getByteBuffer().asNIO());
+             OracleJsonGenerator gen = FACTORY.createJsonBinaryGenerator(out)) {
+            reader.readStartDocument();
+            gen.writeStartObject();
+            copyMembers(reader, gen);
+            reader.readEndDocument();
+            gen.writeEnd();
+        }
+        return out.toByteArray();
+    }
+
+    private static void copyMembers(BsonBinaryReader reader, OracleJsonGenerator gen) {
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            gen.writeKey(reader.readName());
+            copyValue(reader, gen);
+        }
+    }
+
+    private static void copyValue(BsonBinaryReader reader, OracleJsonGenerator gen) {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT -> {
+                reader.readStartDocument();
+                gen.writeStartObject();
+                copyMembers(reader, gen);
+                reader.readEndDocument();
+                gen.writeEnd();
+            }
+            case ARRAY -> {
+                reader.readStartArray();
+                gen.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    copyValue(reader, gen);
+                }
+                reader.readEndArray();
+                gen.writeEnd();
+            }
+            case STRING -> gen.write(reader.readString());
+            case INT32 -> gen.write(reader.readInt32());
+            case INT64 -> gen.write(reader.readInt64());
+            case DOUBLE -> gen.write(reader.readDouble());
+            case BOOLEAN -> gen.write(reader.readBoolean());
+            case DECIMAL128 -> gen.write(reader.readDecimal128().bigDecimalValue());
+            case DATE_TIME -> gen.write(LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(reader.readDateTime()), ZoneOffset.UTC));
+            case OBJECT_ID -> gen.writeId(reader.readObjectId().toByteArray());
+            case NULL -> {
+                reader.readNull();
+                gen.writeNull();
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unsupported BSON type for OSON: " + reader.getCurrentBsonType());
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.helix.benchmark.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads each chunk into every target at once, one thread per target, and waits for all of
+ * them before the next chunk. A chunk therefore costs as long as the slowest target rather
+ * than the sum of all targets; a failing target is logged and the others keep loading.
+ */
+public class ParallelTargetLoader implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(ParallelTargetLoader.class);
+
+    public record TargetProgress(String target, long documents, long busyNanos, int failedChunks) {
+        public double docsPerSec() {
+            return busyNanos > 0 ? documents / (busyNanos / 1_000_000_000.0) : 0;
+        }
+    }
+
+    private record ChunkResult(long nanos, String error) {}
+
+    private final List<LoadPipeline.BatchSink> sinks;
+    private final long[] documents;
+    private final long[] busyNanos;
+    private final int[] failedChunks;
+    private final ExecutorService executor;
+    private long wallNanos;
+
+    public ParallelTargetLoader(List<LoadPipeline.BatchSink> sinks) {
+        this.sinks = List.copyOf(sinks);
+        this.documents = new long[sinks.size()];
+        this.busyNanos = new long[sinks.size()];
+        this.failedChunks = new int[sinks.size()];
+        this.executor = Executors.newFixedThreadPool(Math.max(1, sinks.size()));
+    }
+
+    /** Loads one chunk into all targets concurrently; returns once every target has finished. */
+    public synchronized void load(String collectionType, DocumentBatch chunk) {
+        long start = System.nanoTime();
+        List<Future<ChunkResult>> futures = new ArrayList<>();
+        for (LoadPipeline.BatchSink sink : sinks) {
+            futures.add(executor.submit(() -> {
+                long t0 = System.nanoTime();
+                try {
+                    sink.load(collectionType, chunk);
+                    return new ChunkResult(System.nanoTime() - t0, null);
+                } catch (Exception e) {
+                    return new ChunkResult(System.nanoTime() - t0, e.getMessage());
+                }
+            }));
+        }
+
+        List<String> timings = new ArrayList<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            ChunkResult result;
+            try {
+                result = futures.get(i).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while loading " + collectionType, e);
+            } catch (Exception e) {
+                result = new ChunkResult(0, e.getMessage());
+            }
+            busyNanos[i] += result.nanos();
+            if (result.error() == null) {
+                documents[i] += chunk.size();
+                timings.add(sinks.get(i).name() + " " + result.nanos() / 1_000_000 + " ms");
+            } else {
+                failedChunks[i]++;
+                timings.add(sinks.get(i).name() + " FAILED");
+                log.warn("Failed to load {} to {}: {}", collectionType, sinks.get(i).name(), result.error());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        wallNanos += elapsed;
+        log.info("Loaded {} {} documents to {} target(s) in {} ms: {}", chunk.size(), collectionType,
+                sinks.size(), elapsed / 1_000_000, String.join(", ", timings));
+    }
+
+    public synchronized List<TargetProgress> progress() {
+        List<TargetProgress> progress = new ArrayList<>();
+        for (int i = 0; i < sinks.size(); i++) {
+            progress.add(new TargetProgress(sinks.get(i).name(), documents[i], busyNanos[i], failedChunks[i]));
+        }
+        return progress;
+    }
+
+    /** Wall-clock time spent in {@link #load}; approaches the slowest target's busy time. */
+    public synchronized long wallNanos() {
+        return wallNanos;
+    }
+
+    public void logSummary() {
+        for (TargetProgress p : progress()) {
+            log.info("Target {}: {} docs, {} docs/s, busy {} s{}", p.target(), p.documents(),
+                    String.format("%.0f", p.docsPerSec()), p.busyNanos() / 1_000_000_000,
+                    p.failedChunks() > 0 ? ", " + p.failedChunks() + " failed chunk(s)" : "");
+        }
+        log.info("Parallel load wall time: {} s", wallNanos() / 1_000_000_000);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,13 @@
 package com.helix.benchmark.datagen;
 
 import java.util.*;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class ReferenceRegistry {
-    private final List<String> advisorIds = new CopyOnWriteArrayList<>();
-    private final List<String> investorIds = new CopyOnWriteArrayList<>();
+    // Registered IDs live in primitive stores: millions of investors without per-insert copies
+    private final IdStore advisorIds = new IdStore();
+    private final IdStore investorIds = new IdStore();
     private final List<String> advisoryContextIds;
     private final List<Long> partyRoleIds;
     private final List<Long> finInstIds;
@@ -47,6 +48,8 @@ public class ReferenceRegistry {
 
     private List<String> generateFundTickers(int count) {
         List<String> tickers = new ArrayList<>(count);
+        // Fixed seed keeps the ticker pool identical across runs and machines
+        SplittableRandom tickerRandom = new SplittableRandom(count);
         String[] bases = {"VTI", "SPY", "QQQ", "IWM", "EFA", "AGG", "BND", "GLD", "TLT", "LQD",
                 "VXUS", "VEA", "VWO", "IEMG", "HYG", "MUB", "VCIT", "VCSH", "VTIP", "BSV"};
         for (String base : bases) {
@@ -54,9 +57,9 @@ public class ReferenceRegistry {
         }
         for (int i = tickers.size(); i < count; i++) {
             StringBuilder sb = new StringBuilder();
-            int len = ThreadLocalRandom.current().nextInt(2, 6);
+            int len = tickerRandom.nextInt(2, 6);
             for (int j = 0; j < len; j++) {
-                sb.append((char) ('A' + ThreadLocalRandom.current().nextInt(26)));
+                sb.append((char) ('A' + tickerRandom.nextInt(26)));
             }
             tickers.add(sb.toString());
         }
@@ -85,12 +88,33 @@ public class ReferenceRegistry {
         investorIds.add(investorId);
     }
 
+    public void registerAdvisorId(long advisorId) {
+        advisorIds.add(advisorId);
+    }
+
+    public void registerInvestorId(long investorId) {
+        investorIds.add(investorId);
+    }
+
+    public int advisorIdCount() {
+        return advisorIds.size();
+    }
+
+    public int investorIdCount() {
+        return investorIds.size();
+    }
+
+    /** Advisor at a position in registration (or, after sorting, ID) order. */
+    public String advisorIdAt(int index) {
+        return advisorIds.get(index);
+    }
+
     public List<String> getAdvisorIds() {
-        return Collections.unmodifiableList(advisorIds);
+        return advisorIds.view();
     }
 
     public List<String> getInvestorIds() {
-        return Collections.unmodifiableList(investorIds);
+        return investorIds.view();
     }
 
     public List<String> getAdvisoryContextIds() {
@@ -105,58 +129,98 @@ public class ReferenceRegistry {
         return finInstIds;
     }
 
+    public List<String> getFundTickers() {
+        return fundTickers;
+    }
+
+    public List<String> getHierarchyPathValues() {
+        return hierarchyPathValues;
+    }
+
     public String randomAdvisorId() {
-        return randomFrom(advisorIds);
+        return randomAdvisorId(ThreadLocalRandom.current());
     }
 
     public String randomInvestorId() {
-        return randomFrom(investorIds);
+        return randomInvestorId(ThreadLocalRandom.current());
     }
 
     public String randomAdvisoryContextId() {
-        return randomFrom(advisoryContextIds);
+        return randomAdvisoryContextId(ThreadLocalRandom.current());
     }
 
     public Long randomPartyRoleId() {
-        return randomFrom(partyRoleIds);
+        return randomPartyRoleId(ThreadLocalRandom.current());
     }
 
     public Long randomFinInstId() {
-        return randomFrom(finInstIds);
+        return randomFinInstId(ThreadLocalRandom.current());
     }
 
     public String randomFundTicker() {
-        return randomFrom(fundTickers);
+        return randomFundTicker(ThreadLocalRandom.current());
     }
 
     public String randomHierarchyPathValue() {
-        return randomFrom(hierarchyPathValues);
+        return randomHierarchyPathValue(ThreadLocalRandom.current());
     }
 
     public List<String> randomAdvisorIds(int count) {
-        return randomSubset(advisorIds, count);
+        return randomAdvisorIds(ThreadLocalRandom.current(), count);
     }
 
     public List<String> randomInvestorIds(int count) {
-        return randomSubset(investorIds, count);
+        return randomInvestorIds(ThreadLocalRandom.current(), count);
     }
 
-    private <T> T randomFrom(List<T> list) {
-        return list.get(ThreadLocalRandom.current().nextInt(list.size()));
+    // Variants drawing from a caller-supplied generator, used for seeded data generation
+
+    public String randomAdvisorId(RandomGenerator rnd) {
+        return advisorIds.random(rnd);
     }
 
-    private <T> List<T> randomSubset(List<T> list, int count) {
-        int actualCount = Math.min(count, list.size());
-        if (actualCount == 0) return List.of();
-        // Use index sampling instead of shuffling the entire list
-        Set<Integer> indices = new HashSet<>();
-        while (indices.size() < actualCount) {
-            indices.add(ThreadLocalRandom.current().nextInt(list.size()));
-        }
-        List<T> result = new ArrayList<>(actualCount);
-        for (int idx : indices) {
-            result.add(list.get(idx));
-        }
-        return result;
+    public String randomInvestorId(RandomGenerator rnd) {
+        return investorIds.random(rnd);
+    }
+
+    public String randomAdvisoryContextId(RandomGenerator rnd) {
+        return randomFrom(rnd, advisoryContextIds);
+    }
+
+    public Long randomPartyRoleId(RandomGenerator rnd) {
+        return randomFrom(rnd, partyRoleIds);
+    }
+
+    public Long randomFinInstId(RandomGenerator rnd) {
+        return randomFrom(rnd, finInstIds);
+    }
+
+    public String randomFundTicker(RandomGenerator rnd) {
+        return randomFrom(rnd, fundTickers);
+    }
+
+    public String randomHierarchyPathValue(RandomGenerator rnd) {
+        return randomFrom(rnd, hierarchyPathValues);
+    }
+
+    public List<String> randomAdvisorIds(RandomGenerator rnd, int count) {
+        return advisorIds.randomSubset(rnd, count);
+    }
+
+    public List<String> randomInvestorIds(RandomGenerator rnd, int count) {
+        return investorIds.randomSubset(rnd, count);
+    }
+
+    /**
+     * Sorts the registered advisor and investor IDs so that index-based sampling no longer
+     * depends on the order in which concurrent generator threads registered them.
+     */
+    public void sortRegisteredIds() {
+        advisorIds.sort();
+        investorIds.sort();
+    }
+
+    private <T> T randomFrom(RandomGenerator rnd, List<T> list) {
+        return list.get(rnd.nextInt(list.size()));
     }
 }
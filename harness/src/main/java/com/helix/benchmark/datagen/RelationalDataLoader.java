@@ -7,24 +7,267 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class RelationalDataLoader {
     private static final Logger log = LoggerFactory.getLogger(RelationalDataLoader.class);
 
+    private final int sessions;
+    private final boolean directPath;
+    private final AdaptiveBatchSizer sizer;
+
+    public RelationalDataLoader() {
+        this(1, false);
+    }
+
+    public RelationalDataLoader(int sessions, boolean directPath) {
+        this(sessions, directPath, null);
+    }
+
+    /**
+     * @param sessions   pooled sessions the parent rows are range-partitioned across, and the
+     *                   number of concurrent child-table writers; parent rows use one session
+     *                   with {@code directPath}, since direct-path inserts lock the whole table
+     * @param directPath use {@code APPEND_VALUES} direct-path array inserts; Oracle falls back
+     *                   to conventional inserts on tables with enabled foreign keys
+     * @param sizer      adapts the batch size per table from observed batch latency, so child
+     *                   tables with many rows per document settle on their own size; null keeps
+     *                   the batch size passed to each load
+     */
+    public RelationalDataLoader(int sessions, boolean directPath, AdaptiveBatchSizer sizer) {
+        if (sessions < 1) {
+            throw new IllegalArgumentException("Sessions must be positive");
+        }
+        this.sessions = sessions;
+        this.directPath = directPath;
+        this.sizer = sizer;
+    }
+
+    /**
+     * Shreds the documents into per-table row buffers, then writes them: parent rows first,
+     * range-partitioned across sessions and committed, then every child table concurrently on
+     * its own session. Child tables only reference the parent through foreign keys, so that is
+     * the only ordering the writers have to respect.
+     */
     public void loadToRelational(DataSource ds, String collectionType,
                                   List<Document> docs, int batchSize) throws Exception {
+        writeRows(ds, collectionType, docs.size(), shred(collectionType, docs), batchSize);
+    }
+
+    /**
+     * Deletes whatever rows these documents produced from an earlier, interrupted load: child
+     * tables first, then the parent. Generation is deterministic, so shredding the same
+     * documents again names exactly the tables that can hold their rows. Every insert
+     * statement binds the parent key first. Returns the number of parent rows deleted.
+     */
+    public long discardFromRelational(DataSource ds, String collectionType, List<Document> docs) throws Exception {
+        RowSet rows = shred(collectionType, docs);
+        try (Connection conn = ds.getConnection()) {
+            List<RowBuffer> children = new ArrayList<>(rows.children());
+            Collections.reverse(children);
+            for (RowBuffer child : children) {
+                DataLoader.deleteWhereIn(conn, child.table(), child.keyColumn(), child.keys());
+            }
+            RowBuffer parent = rows.parent();
+            long deleted = DataLoader.deleteWhereIn(conn, parent.table(), parent.keyColumn(), parent.keys());
+            conn.commit();
+            return deleted;
+        }
+    }
+
+    private static RowSet shred(String collectionType, List<Document> docs) {
+        RowSet rows = new RowSet();
         switch (collectionType) {
-            case "bookRoleInvestor" -> loadBookRoleInvestors(ds, docs, batchSize);
-            case "bookRoleGroup" -> loadBookRoleGroups(ds, docs, batchSize);
-            case "account" -> loadAccounts(ds, docs, batchSize);
-            case "advisor" -> loadAdvisors(ds, docs, batchSize);
+            case "bookRoleInvestor" -> shredBookRoleInvestors(docs, rows);
+            case "bookRoleGroup" -> shredBookRoleGroups(docs, rows);
+            case "account" -> shredAccounts(docs, rows);
+            case "advisor" -> shredAdvisors(docs, rows);
             default -> throw new IllegalArgumentException("Unknown collection type: " + collectionType);
         }
+        return rows;
+    }
+
+    private void writeRows(DataSource ds, String collectionType, int docCount, RowSet rows,
+                           int batchSize) throws Exception {
+        long start = System.nanoTime();
+        RowBuffer parent = rows.parent();
+        SessionPartitioner.run(ds, parent.rows(), directPath ? 1 : sessions, batchSize,
+                (conn, part) -> insert(conn, parent, part, batchSize));
+        long parentMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<RowBuffer> children = rows.children();
+        int writers = Math.max(1, Math.min(sessions, children.size()));
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (RowBuffer child : children) {
+                futures.add(executor.submit(() -> {
+                    SessionPartitioner.run(ds, child.rows(), 1, batchSize,
+                            (conn, part) -> insert(conn, child, part, batchSize));
+                    return null;
+                }));
+            }
+            Exception failure = null;
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+            if (failure != null) throw failure;
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Loaded {} {} documents to relational tables: {} parent rows in {} ms, "
+                        + "{} child rows across {} tables on {} writer(s) in {} ms",
+                docCount, collectionType, parent.rows().size(), parentMillis,
+                children.stream().mapToInt(c -> c.rows().size()).sum(), children.size(), writers,
+                (System.nanoTime() - start) / 1_000_000 - parentMillis);
+    }
+
+    private void insert(Connection conn, RowBuffer table, List<Object[]> rows, int batchSize) throws SQLException {
+        String insertSql = table.sql();
+        String name = sizer != null ? table.table() : null;
+        try (PreparedStatement ps = conn.prepareStatement(
+                directPath ? SessionPartitioner.directPath(insertSql) : insertSql)) {
+            int pending = 0;
+            int size = sizer != null ? sizer.size(name) : batchSize;
+            long batchStart = System.nanoTime();
+            for (Object[] row : rows) {
+                for (int c = 0; c < row.length; c++) {
+                    if (row[c] instanceof String text) {
+                        ps.setString(c + 1, text);
+                    } else {
+                        ps.setObject(c + 1, row[c]);
+                    }
+                }
+                ps.addBatch();
+                if (++pending == size) {
+                    ps.executeBatch();
+                    if (directPath) {
+                        // Direct-path rows must be committed before the session inserts into the table again
+                        conn.commit();
+                    }
+                    if (sizer != null) {
+                        sizer.record(name, pending, System.nanoTime() - batchStart);
+                        size = sizer.size(name);
+                    }
+                    pending = 0;
+                    batchStart = System.nanoTime();
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+                if (sizer != null) {
+                    sizer.record(name, pending, System.nanoTime() - batchStart);
+                }
+            }
+        }
+    }
+
+    /** Rows shredded from one chunk, one buffer per table in insert order; the first is the parent. */
+    static final class RowSet {
+        private final Map<String, RowBuffer> tables = new LinkedHashMap<>();
+
+        RowBuffer table(String insertSql) {
+            return tables.computeIfAbsent(insertSql, RowBuffer::new);
+        }
+
+        RowBuffer parent() {
+            return tables.values().iterator().next();
+        }
+
+        List<RowBuffer> children() {
+            List<RowBuffer> all = new ArrayList<>(tables.values());
+            return all.subList(1, all.size());
+        }
+    }
+
+    /**
+     * Row buffer with the {@link PreparedStatement} binding calls the shredders use, so each
+     * row is described exactly as it is bound later.
+     */
+    static final class RowBuffer {
+        private static final Pattern INSERT_TARGET = Pattern.compile("\\s*INSERT INTO (\\w+) \\((\\w+)");
+
+        private final String sql;
+        private final int columns;
+        private final List<Object[]> rows = new ArrayList<>();
+        private Object[] current;
+
+        RowBuffer(String sql) {
+            this.sql = sql;
+            this.columns = (int) sql.chars().filter(ch -> ch == '?').count();
+            this.current = new Object[columns];
+        }
+
+        String sql() {
+            return sql;
+        }
+
+        List<Object[]> rows() {
+            return rows;
+        }
+
+        String table() {
+            return insertTarget().group(1);
+        }
+
+        String keyColumn() {
+            return insertTarget().group(2);
+        }
+
+        /** Distinct values of the first bound column, the parent key of every table. */
+        List<String> keys() {
+            Set<String> keys = new LinkedHashSet<>();
+            for (Object[] row : rows) {
+                keys.add(String.valueOf(row[0]));
+            }
+            return new ArrayList<>(keys);
+        }
+
+        private Matcher insertTarget() {
+            Matcher m = INSERT_TARGET.matcher(sql);
+            if (!m.lookingAt()) {
+                throw new IllegalStateException("Not an INSERT INTO statement: " + sql);
+            }
+            return m;
+        }
+
+        void setString(int index, String value) {
+            current[index - 1] = value;
+        }
+
+        void setObject(int index, Object value) {
+            current[index - 1] = value;
+        }
+
+        void addBatch() {
+            rows.add(current);
+            current = new Object[columns];
+        }
     }
 
-    private void loadBookRoleInvestors(DataSource ds, List<Document> docs, int batchSize) throws Exception {
+    private static void shredBookRoleInvestors(List<Document> docs, RowSet rows) {
         String parentSql = """
                 INSERT INTO rel_book_role_investor (id, party_role_id, investor_type, investor_full_name,
                     viewable_flag, viewable_source, ent_data_owner_party_role_id,
@@ -47,173 +290,146 @@ public class RelationalDataLoader {
         String personaSql = "INSERT INTO rel_bri_persona_nm (investor_id, persona_nm) VALUES (?, ?)";
         String synSql = "INSERT INTO rel_bri_synonyms (investor_id, synonym_type_cd, synonym_str) VALUES (?, ?, ?)";
 
-        try (Connection conn = ds.getConnection();
-             PreparedStatement parentPs = conn.prepareStatement(parentSql);
-             PreparedStatement advisorPs = conn.prepareStatement(advisorSql);
-             PreparedStatement ctxPs = conn.prepareStatement(ctxSql);
-             PreparedStatement bookRolePs = conn.prepareStatement(bookRoleSql);
-             PreparedStatement hierPs = conn.prepareStatement(hierSql);
-             PreparedStatement personaPs = conn.prepareStatement(personaSql);
-             PreparedStatement synPs = conn.prepareStatement(synSql)) {
-
-            int loaded = 0;
-            for (Document doc : docs) {
-                String id = doc.getString("_id");
-                Number entOwner = extractEntDataOwnerPartyRoleId(doc);
-                Document pxClient = extractPxClient(doc);
-
-                int col = 1;
-                parentPs.setString(col++, id);
-                parentPs.setObject(col++, doc.get("partyRoleId"));
-                parentPs.setString(col++, doc.getString("investorType"));
-                parentPs.setString(col++, doc.getString("investorFullName"));
-                parentPs.setString(col++, doc.getString("viewableFlag"));
-                parentPs.setString(col++, doc.getString("viewableSource"));
-                parentPs.setObject(col++, entOwner);
-                parentPs.setObject(col++, doc.get("partyId"));
-                parentPs.setString(col++, boolToString(doc.get("conversionInProgress")));
-                parentPs.setObject(col++, doc.get("dataOwnerPartyRoleId"));
-                parentPs.setString(col++, doc.getString("investorId"));
-                parentPs.setString(col++, doc.getString("entity"));
-                parentPs.setObject(col++, doc.get("totalMarketValue"));
-                parentPs.setObject(col++, doc.get("totalAccounts"));
-                parentPs.setObject(col++, doc.get("totalViewableAccountsMarketValue"));
-                parentPs.setObject(col++, doc.get("totalViewableAccountCount"));
-                parentPs.setString(col++, doc.getString("ssnTin"));
-                parentPs.setObject(col++, doc.get("finInstId"));
-                parentPs.setString(col++, doc.getString("investorLastName"));
-                parentPs.setString(col++, doc.getString("investorFirstName"));
-                parentPs.setString(col++, doc.getString("investorMiddleName"));
-                parentPs.setObject(col++, doc.get("investorpartyRoleId"));
-                parentPs.setString(col++, doc.getString("investorCity"));
-                parentPs.setString(col++, doc.getString("investorState"));
-                parentPs.setString(col++, doc.getString("investorZipCode"));
-                parentPs.setObject(col++, toSqlDate(doc.get("investorBirthdate")));
-                parentPs.setString(col++, doc.getString("clientAccess"));
-                parentPs.setString(col++, doc.getString("trustFlag"));
-                parentPs.setObject(col++, toSqlDate(doc.get("updateTmst")));
-                parentPs.setObject(col++, toSqlDate(doc.get("setupTmst")));
-                parentPs.setString(col++, doc.getString("ETLUpdateTS"));
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
-                parentPs.addBatch();
-
-                // Child: advisors + book roles
-                List<Document> advisors = doc.getList("advisors", Document.class);
-                if (advisors != null) {
-                    for (Document adv : advisors) {
-                        String advId = adv.getString("advisorId");
-                        int ac = 1;
-                        advisorPs.setString(ac++, id);
-                        advisorPs.setString(ac++, advId);
-                        advisorPs.setObject(ac++, adv.get("viewableMarketValue"));
-                        advisorPs.setObject(ac++, adv.get("noOfViewableAccts"));
-                        advisorPs.setString(ac++, adv.getString("advisorName"));
-                        advisorPs.setString(ac++, adv.getString("advisorTaxId"));
-                        advisorPs.setObject(ac++, adv.get("finInstId"));
-                        advisorPs.setString(ac++, adv.getString("lastName"));
-                        advisorPs.setString(ac++, adv.getString("firstName"));
-                        advisorPs.setString(ac++, adv.getString("middleName"));
-                        advisorPs.setString(ac++, adv.getString("state"));
-                        advisorPs.setString(ac++, adv.getString("city"));
-                        advisorPs.setString(ac++, adv.getString("zipCode"));
-                        advisorPs.setString(ac++, adv.getString("country"));
-                        advisorPs.setString(ac++, adv.getString("businessPhone"));
-                        advisorPs.setString(ac++, adv.getString("bookType"));
-                        advisorPs.setObject(ac++, adv.get("marketValue"));
-                        advisorPs.setObject(ac++, adv.get("noOfAccts"));
-                        advisorPs.setString(ac++, adv.getString("status"));
-                        advisorPs.setString(ac++, boolToString(adv.get("isPrimary")));
-                        advisorPs.setString(ac++, adv.getString("email"));
-                        advisorPs.addBatch();
-
-                        // Nested: bookRoles[]
-                        List<String> bookRoles = adv.getList("bookRoles", String.class);
-                        if (bookRoles != null) {
-                            for (String role : bookRoles) {
-                                bookRolePs.setString(1, id);
-                                bookRolePs.setString(2, advId);
-                                bookRolePs.setString(3, role);
-                                bookRolePs.addBatch();
-                            }
-                        }
-                    }
-                }
-
-                // Child: advisory contexts
-                Document entitlements = doc.get("entitlements", Document.class);
-                if (entitlements != null) {
-                    List<String> contexts = entitlements.getList("advisoryContext", String.class);
-                    if (contexts != null) {
-                        for (String ctx : contexts) {
-                            ctxPs.setString(1, id);
-                            ctxPs.setString(2, ctx);
-                            ctxPs.addBatch();
+        RowBuffer parentRows = rows.table(parentSql);
+        RowBuffer advisorRows = rows.table(advisorSql);
+        RowBuffer ctxRows = rows.table(ctxSql);
+        RowBuffer bookRoleRows = rows.table(bookRoleSql);
+        RowBuffer hierRows = rows.table(hierSql);
+        RowBuffer personaRows = rows.table(personaSql);
+        RowBuffer synRows = rows.table(synSql);
+
+        for (Document doc : docs) {
+            String id = doc.getString("_id");
+            Number entOwner = extractEntDataOwnerPartyRoleId(doc);
+            Document pxClient = extractPxClient(doc);
+
+            int col = 1;
+            parentRows.setString(col++, id);
+            parentRows.setObject(col++, doc.get("partyRoleId"));
+            parentRows.setString(col++, doc.getString("investorType"));
+            parentRows.setString(col++, doc.getString("investorFullName"));
+            parentRows.setString(col++, doc.getString("viewableFlag"));
+            parentRows.setString(col++, doc.getString("viewableSource"));
+            parentRows.setObject(col++, entOwner);
+            parentRows.setObject(col++, doc.get("partyId"));
+            parentRows.setString(col++, boolToString(doc.get("conversionInProgress")));
+            parentRows.setObject(col++, doc.get("dataOwnerPartyRoleId"));
+            parentRows.setString(col++, doc.getString("investorId"));
+            parentRows.setString(col++, doc.getString("entity"));
+            parentRows.setObject(col++, doc.get("totalMarketValue"));
+            parentRows.setObject(col++, doc.get("totalAccounts"));
+            parentRows.setObject(col++, doc.get("totalViewableAccountsMarketValue"));
+            parentRows.setObject(col++, doc.get("totalViewableAccountCount"));
+            parentRows.setString(col++, doc.getString("ssnTin"));
+            parentRows.setObject(col++, doc.get("finInstId"));
+            parentRows.setString(col++, doc.getString("investorLastName"));
+            parentRows.setString(col++, doc.getString("investorFirstName"));
+            parentRows.setString(col++, doc.getString("investorMiddleName"));
+            parentRows.setObject(col++, doc.get("investorpartyRoleId"));
+            parentRows.setString(col++, doc.getString("investorCity"));
+            parentRows.setString(col++, doc.getString("investorState"));
+            parentRows.setString(col++, doc.getString("investorZipCode"));
+            parentRows.setObject(col++, toSqlDate(doc.get("investorBirthdate")));
+            parentRows.setString(col++, doc.getString("clientAccess"));
+            parentRows.setString(col++, doc.getString("trustFlag"));
+            parentRows.setObject(col++, toSqlDate(doc.get("updateTmst")));
+            parentRows.setObject(col++, toSqlDate(doc.get("setupTmst")));
+            parentRows.setString(col++, doc.getString("ETLUpdateTS"));
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
+            parentRows.addBatch();
+
+            // Child: advisors + book roles
+            List<Document> advisors = doc.getList("advisors", Document.class);
+            if (advisors != null) {
+                for (Document adv : advisors) {
+                    String advId = adv.getString("advisorId");
+                    int ac = 1;
+                    advisorRows.setString(ac++, id);
+                    advisorRows.setString(ac++, advId);
+                    advisorRows.setObject(ac++, adv.get("viewableMarketValue"));
+                    advisorRows.setObject(ac++, adv.get("noOfViewableAccts"));
+                    advisorRows.setString(ac++, adv.getString("advisorName"));
+                    advisorRows.setString(ac++, adv.getString("advisorTaxId"));
+                    advisorRows.setObject(ac++, adv.get("finInstId"));
+                    advisorRows.setString(ac++, adv.getString("lastName"));
+                    advisorRows.setString(ac++, adv.getString("firstName"));
+                    advisorRows.setString(ac++, adv.getString("middleName"));
+                    advisorRows.setString(ac++, adv.getString("state"));
+                    advisorRows.setString(ac++, adv.getString("city"));
+                    advisorRows.setString(ac++, adv.getString("zipCode"));
+                    advisorRows.setString(ac++, adv.getString("country"));
+                    advisorRows.setString(ac++, adv.getString("businessPhone"));
+                    advisorRows.setString(ac++, adv.getString("bookType"));
+                    advisorRows.setObject(ac++, adv.get("marketValue"));
+                    advisorRows.setObject(ac++, adv.get("noOfAccts"));
+                    advisorRows.setString(ac++, adv.getString("status"));
+                    advisorRows.setString(ac++, boolToString(adv.get("isPrimary")));
+                    advisorRows.setString(ac++, adv.getString("email"));
+                    advisorRows.addBatch();
+
+                    // Nested: bookRoles[]
+                    List<String> bookRoles = adv.getList("bookRoles", String.class);
+                    if (bookRoles != null) {
+                        for (String role : bookRoles) {
+                            bookRoleRows.setString(1, id);
+                            bookRoleRows.setString(2, advId);
+                            bookRoleRows.setString(3, role);
+                            bookRoleRows.addBatch();
                         }
                     }
                 }
+            }
 
-                // Child: advisor hierarchy
-                List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
-                if (hierarchy != null) {
-                    for (Document h : hierarchy) {
-                        hierPs.setString(1, id);
-                        hierPs.setString(2, h.getString("partyNodePathNm"));
-                        hierPs.setString(3, h.getString("partyNodePathValue"));
-                        hierPs.addBatch();
+            // Child: advisory contexts
+            Document entitlements = doc.get("entitlements", Document.class);
+            if (entitlements != null) {
+                List<String> contexts = entitlements.getList("advisoryContext", String.class);
+                if (contexts != null) {
+                    for (String ctx : contexts) {
+                        ctxRows.setString(1, id);
+                        ctxRows.setString(2, ctx);
+                        ctxRows.addBatch();
                     }
                 }
+            }
 
-                // Child: persona names
-                List<String> personas = doc.getList("personaNm", String.class);
-                if (personas != null) {
-                    for (String persona : personas) {
-                        personaPs.setString(1, id);
-                        personaPs.setString(2, persona);
-                        personaPs.addBatch();
-                    }
+            // Child: advisor hierarchy
+            List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
+            if (hierarchy != null) {
+                for (Document h : hierarchy) {
+                    hierRows.setString(1, id);
+                    hierRows.setString(2, h.getString("partyNodePathNm"));
+                    hierRows.setString(3, h.getString("partyNodePathValue"));
+                    hierRows.addBatch();
                 }
+            }
 
-                // Child: synonyms
-                List<Document> synonyms = doc.getList("synonyms", Document.class);
-                if (synonyms != null) {
-                    for (Document s : synonyms) {
-                        synPs.setString(1, id);
-                        synPs.setString(2, s.getString("partySynonymTypeCd"));
-                        synPs.setString(3, s.getString("partySynonymStr"));
-                        synPs.addBatch();
-                    }
+            // Child: persona names
+            List<String> personas = doc.getList("personaNm", String.class);
+            if (personas != null) {
+                for (String persona : personas) {
+                    personaRows.setString(1, id);
+                    personaRows.setString(2, persona);
+                    personaRows.addBatch();
                 }
+            }
 
-                loaded++;
-                if (loaded % batchSize == 0) {
-                    parentPs.executeBatch();
-                    advisorPs.executeBatch();
-                    ctxPs.executeBatch();
-                    bookRolePs.executeBatch();
-                    hierPs.executeBatch();
-                    personaPs.executeBatch();
-                    synPs.executeBatch();
-                    conn.commit();
-                    if (loaded % 10000 == 0) {
-                        log.info("Loaded {} / {} bookRoleInvestors to relational tables", loaded, docs.size());
-                    }
+            // Child: synonyms
+            List<Document> synonyms = doc.getList("synonyms", Document.class);
+            if (synonyms != null) {
+                for (Document s : synonyms) {
+                    synRows.setString(1, id);
+                    synRows.setString(2, s.getString("partySynonymTypeCd"));
+                    synRows.setString(3, s.getString("partySynonymStr"));
+                    synRows.addBatch();
                 }
             }
-            parentPs.executeBatch();
-            advisorPs.executeBatch();
-            ctxPs.executeBatch();
-            bookRolePs.executeBatch();
-            hierPs.executeBatch();
-            personaPs.executeBatch();
-            synPs.executeBatch();
-            conn.commit();
         }
-        log.info("Completed loading {} bookRoleInvestors to relational tables", docs.size());
     }
 
-    private void loadBookRoleGroups(DataSource ds, List<Document> docs, int batchSize) throws Exception {
+    private static void shredBookRoleGroups(List<Document> docs, RowSet rows) {
         String parentSql = """
                 INSERT INTO rel_book_role_group (id, data_owner_party_role_id, visible_flag,
                     total_viewable_accts_market_value, investor_wri_id, etl_source_group, fin_inst_id,
@@ -234,158 +450,129 @@ public class RelationalDataLoader {
         String investorSql = "INSERT INTO rel_brg_adv_investors (group_id, advisor_id, investor_id) VALUES (?, ?, ?)";
         String hierSql = "INSERT INTO rel_brg_hierarchy (group_id, party_node_path_value) VALUES (?, ?)";
 
-        try (Connection conn = ds.getConnection();
-             PreparedStatement parentPs = conn.prepareStatement(parentSql);
-             PreparedStatement ctxPs = conn.prepareStatement(ctxSql);
-             PreparedStatement personaPs = conn.prepareStatement(personaSql);
-             PreparedStatement partyPs = conn.prepareStatement(partySql);
-             PreparedStatement advPs = conn.prepareStatement(advSql);
-             PreparedStatement bookRolePs = conn.prepareStatement(bookRoleSql);
-             PreparedStatement investorPs = conn.prepareStatement(investorSql);
-             PreparedStatement hierPs = conn.prepareStatement(hierSql)) {
-
-            int loaded = 0;
-            for (Document doc : docs) {
-                String id = doc.getString("_id");
-                Document pxClient = extractPxClient(doc);
-
-                int col = 1;
-                parentPs.setString(col++, id);
-                parentPs.setObject(col++, doc.get("dataOwnerPartyRoleId"));
-                parentPs.setString(col++, doc.getString("visibleFlag"));
-                parentPs.setObject(col++, doc.get("totalViewableAccountsMarketValue"));
-                parentPs.setString(col++, doc.getString("investorWriId"));
-                parentPs.setString(col++, doc.getString("etlSourceGroup"));
-                parentPs.setObject(col++, doc.get("finInstId"));
-                parentPs.setString(col++, doc.getString("entity"));
-                parentPs.setObject(col++, doc.get("accountCount"));
-                parentPs.setObject(col++, doc.get("totalMarketValue"));
-                parentPs.setObject(col++, doc.get("totalViewableAccountCount"));
-                parentPs.setString(col++, doc.getString("accountGroupName"));
-                parentPs.setString(col++, doc.getString("accountGroupId"));
-                parentPs.setString(col++, doc.getString("accountGroupType"));
-                parentPs.setString(col++, doc.getString("portfolioType"));
-                parentPs.setString(col++, doc.getString("ETLUpdateTS"));
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
-                parentPs.addBatch();
-
-                // Child: advisory contexts + party role IDs
-                Document entitlements = doc.get("entitlements", Document.class);
-                if (entitlements != null) {
-                    List<String> contexts = entitlements.getList("advisoryContext", String.class);
-                    if (contexts != null) {
-                        for (String ctx : contexts) {
-                            ctxPs.setString(1, id);
-                            ctxPs.setString(2, ctx);
-                            ctxPs.addBatch();
-                        }
-                    }
-                    List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
-                    if (partyRoleIds != null) {
-                        for (Number prId : partyRoleIds) {
-                            partyPs.setString(1, id);
-                            partyPs.setObject(2, prId);
-                            partyPs.addBatch();
-                        }
+        RowBuffer parentRows = rows.table(parentSql);
+        RowBuffer ctxRows = rows.table(ctxSql);
+        RowBuffer personaRows = rows.table(personaSql);
+        RowBuffer partyRows = rows.table(partySql);
+        RowBuffer advRows = rows.table(advSql);
+        RowBuffer bookRoleRows = rows.table(bookRoleSql);
+        RowBuffer investorRows = rows.table(investorSql);
+        RowBuffer hierRows = rows.table(hierSql);
+
+        for (Document doc : docs) {
+            String id = doc.getString("_id");
+            Document pxClient = extractPxClient(doc);
+
+            int col = 1;
+            parentRows.setString(col++, id);
+            parentRows.setObject(col++, doc.get("dataOwnerPartyRoleId"));
+            parentRows.setString(col++, doc.getString("visibleFlag"));
+            parentRows.setObject(col++, doc.get("totalViewableAccountsMarketValue"));
+            parentRows.setString(col++, doc.getString("investorWriId"));
+            parentRows.setString(col++, doc.getString("etlSourceGroup"));
+            parentRows.setObject(col++, doc.get("finInstId"));
+            parentRows.setString(col++, doc.getString("entity"));
+            parentRows.setObject(col++, doc.get("accountCount"));
+            parentRows.setObject(col++, doc.get("totalMarketValue"));
+            parentRows.setObject(col++, doc.get("totalViewableAccountCount"));
+            parentRows.setString(col++, doc.getString("accountGroupName"));
+            parentRows.setString(col++, doc.getString("accountGroupId"));
+            parentRows.setString(col++, doc.getString("accountGroupType"));
+            parentRows.setString(col++, doc.getString("portfolioType"));
+            parentRows.setString(col++, doc.getString("ETLUpdateTS"));
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
+            parentRows.addBatch();
+
+            // Child: advisory contexts + party role IDs
+            Document entitlements = doc.get("entitlements", Document.class);
+            if (entitlements != null) {
+                List<String> contexts = entitlements.getList("advisoryContext", String.class);
+                if (contexts != null) {
+                    for (String ctx : contexts) {
+                        ctxRows.setString(1, id);
+                        ctxRows.setString(2, ctx);
+                        ctxRows.addBatch();
                     }
                 }
-
-                // Child: persona names
-                List<String> personas = doc.getList("personaNm", String.class);
-                if (personas != null) {
-                    for (String persona : personas) {
-                        personaPs.setString(1, id);
-                        personaPs.setString(2, persona);
-                        personaPs.addBatch();
+                List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
+                if (partyRoleIds != null) {
+                    for (Number prId : partyRoleIds) {
+                        partyRows.setString(1, id);
+                        partyRows.setObject(2, prId);
+                        partyRows.addBatch();
                     }
                 }
+            }
 
-                // Child: advisors + their book roles + their investors
-                List<Document> advisors = doc.getList("advisors", Document.class);
-                if (advisors != null) {
-                    for (Document adv : advisors) {
-                        String advId = adv.getString("advisorId");
-                        int ac = 1;
-                        advPs.setString(ac++, id);
-                        advPs.setString(ac++, advId);
-                        advPs.setString(ac++, adv.getString("advisorTaxId"));
-                        advPs.setObject(ac++, adv.get("finInstId"));
-                        advPs.setString(ac++, adv.getString("firstName"));
-                        advPs.setString(ac++, adv.getString("middleName"));
-                        advPs.setString(ac++, adv.getString("lastName"));
-                        advPs.setString(ac++, adv.getString("advisorName"));
-                        advPs.setString(ac++, adv.getString("bookType"));
-                        advPs.setObject(ac++, adv.get("totalViewableAccountsMarketValue"));
-                        advPs.setObject(ac++, adv.get("totalViewableAccountCount"));
-                        advPs.setObject(ac++, adv.get("noOfViewableAccts"));
-                        advPs.setObject(ac++, adv.get("viewableMarketValue"));
-                        advPs.setString(ac++, adv.getString("status"));
-                        advPs.addBatch();
-
-                        List<String> bookRoles = adv.getList("bookRoles", String.class);
-                        if (bookRoles != null) {
-                            for (String role : bookRoles) {
-                                bookRolePs.setString(1, id);
-                                bookRolePs.setString(2, advId);
-                                bookRolePs.setString(3, role);
-                                bookRolePs.addBatch();
-                            }
-                        }
+            // Child: persona names
+            List<String> personas = doc.getList("personaNm", String.class);
+            if (personas != null) {
+                for (String persona : personas) {
+                    personaRows.setString(1, id);
+                    personaRows.setString(2, persona);
+                    personaRows.addBatch();
+                }
+            }
 
-                        List<Document> investors = adv.getList("investors", Document.class);
-                        if (investors != null) {
-                            for (Document inv : investors) {
-                                investorPs.setString(1, id);
-                                investorPs.setString(2, advId);
-                                investorPs.setString(3, inv.getString("investorId"));
-                                investorPs.addBatch();
-                            }
+            // Child: advisors + their book roles + their investors
+            List<Document> advisors = doc.getList("advisors", Document.class);
+            if (advisors != null) {
+                for (Document adv : advisors) {
+                    String advId = adv.getString("advisorId");
+                    int ac = 1;
+                    advRows.setString(ac++, id);
+                    advRows.setString(ac++, advId);
+                    advRows.setString(ac++, adv.getString("advisorTaxId"));
+                    advRows.setObject(ac++, adv.get("finInstId"));
+                    advRows.setString(ac++, adv.getString("firstName"));
+                    advRows.setString(ac++, adv.getString("middleName"));
+                    advRows.setString(ac++, adv.getString("lastName"));
+                    advRows.setString(ac++, adv.getString("advisorName"));
+                    advRows.setString(ac++, adv.getString("bookType"));
+                    advRows.setObject(ac++, adv.get("totalViewableAccountsMarketValue"));
+                    advRows.setObject(ac++, adv.get("totalViewableAccountCount"));
+                    advRows.setObject(ac++, adv.get("noOfViewableAccts"));
+                    advRows.setObject(ac++, adv.get("viewableMarketValue"));
+                    advRows.setString(ac++, adv.getString("status"));
+                    advRows.addBatch();
+
+                    List<String> bookRoles = adv.getList("bookRoles", String.class);
+                    if (bookRoles != null) {
+                        for (String role : bookRoles) {
+                            bookRoleRows.setString(1, id);
+                            bookRoleRows.setString(2, advId);
+                            bookRoleRows.setString(3, role);
+                            bookRoleRows.addBatch();
                         }
                     }
-                }
 
-                // Child: advisor hierarchy (short form - no partyNodePathNm)
-                List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
-                if (hierarchy != null) {
-                    for (Document h : hierarchy) {
-                        hierPs.setString(1, id);
-                        hierPs.setString(2, h.getString("partyNodePathValue"));
-                        hierPs.addBatch();
+                    List<Document> investors = adv.getList("investors", Document.class);
+                    if (investors != null) {
+                        for (Document inv : investors) {
+                            investorRows.setString(1, id);
+                            investorRows.setString(2, advId);
+                            investorRows.setString(3, inv.getString("investorId"));
+                            investorRows.addBatch();
+                        }
                     }
                 }
+            }
 
-                loaded++;
-                if (loaded % batchSize == 0) {
-                    parentPs.executeBatch();
-                    ctxPs.executeBatch();
-                    personaPs.executeBatch();
-                    partyPs.executeBatch();
-                    advPs.executeBatch();
-                    bookRolePs.executeBatch();
-                    investorPs.executeBatch();
-                    hierPs.executeBatch();
-                    conn.commit();
-                    if (loaded % 10000 == 0) {
-                        log.info("Loaded {} / {} bookRoleGroups to relational tables", loaded, docs.size());
-                    }
+            // Child: advisor hierarchy (short form - no partyNodePathNm)
+            List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
+            if (hierarchy != null) {
+                for (Document h : hierarchy) {
+                    hierRows.setString(1, id);
+                    hierRows.setString(2, h.getString("partyNodePathValue"));
+                    hierRows.addBatch();
                 }
             }
-            parentPs.executeBatch();
-            ctxPs.executeBatch();
-            personaPs.executeBatch();
-            partyPs.executeBatch();
-            advPs.executeBatch();
-            bookRolePs.executeBatch();
-            investorPs.executeBatch();
-            hierPs.executeBatch();
-            conn.commit();
         }
-        log.info("Completed loading {} bookRoleGroups to relational tables", docs.size());
     }
 
-    private void loadAccounts(DataSource ds, List<Document> docs, int batchSize) throws Exception {
+    private static void shredAccounts(List<Document> docs, RowSet rows) {
         String parentSql = """
                 INSERT INTO rel_account (id, viewable_source, account_id_field, ssn_tin, fin_inst_id,
                     client_name, client_id, fin_inst_name, account_type, acct_name, viewable,
@@ -411,188 +598,157 @@ public class RelationalDataLoader {
                 VALUES (?, ?, ?, ?, ?, ?, ?)""";
         String ctxSql = "INSERT INTO rel_acct_advisory_ctx (account_id, advisory_context) VALUES (?, ?)";
 
-        try (Connection conn = ds.getConnection();
-             PreparedStatement parentPs = conn.prepareStatement(parentSql);
-             PreparedStatement partyPs = conn.prepareStatement(partySql);
-             PreparedStatement holdingPs = conn.prepareStatement(holdingSql);
-             PreparedStatement advisorPs = conn.prepareStatement(advisorSql);
-             PreparedStatement bookRolePs = conn.prepareStatement(bookRoleSql);
-             PreparedStatement repCodePs = conn.prepareStatement(repCodeSql);
-             PreparedStatement hierPs = conn.prepareStatement(hierSql);
-             PreparedStatement invEntPs = conn.prepareStatement(invEntSql);
-             PreparedStatement ctxPs = conn.prepareStatement(ctxSql)) {
-
-            int loaded = 0;
-            for (Document doc : docs) {
-                String id = doc.getString("_id");
-                Document pxClient = extractPxClient(doc);
-
-                int col = 1;
-                parentPs.setString(col++, id);
-                parentPs.setString(col++, doc.getString("viewableSource"));
-                parentPs.setString(col++, doc.getString("accountid"));
-                parentPs.setString(col++, doc.getString("ssnTin"));
-                parentPs.setObject(col++, doc.get("finInstId"));
-                parentPs.setString(col++, doc.getString("clientName"));
-                parentPs.setString(col++, doc.getString("clientId"));
-                parentPs.setString(col++, doc.getString("finInstName"));
-                parentPs.setString(col++, doc.getString("accountType"));
-                parentPs.setString(col++, doc.getString("acctName"));
-                parentPs.setString(col++, boolToString(doc.get("viewable")));
-                parentPs.setObject(col++, toSqlDate(doc.get("setupTmst")));
-                parentPs.setObject(col++, toSqlDate(doc.get("updateTmst")));
-                parentPs.setString(col++, doc.getString("acctTitle"));
-                parentPs.setString(col++, doc.getString("category"));
-                parentPs.setString(col++, doc.getString("ETLUpdateTS"));
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
-                parentPs.addBatch();
-
-                // Child: entitlements
-                Document entitlements = doc.get("entitlements", Document.class);
-                if (entitlements != null) {
-                    List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
-                    if (partyRoleIds != null) {
-                        for (Number prId : partyRoleIds) {
-                            partyPs.setString(1, id);
-                            partyPs.setObject(2, prId);
-                            partyPs.addBatch();
-                        }
-                    }
-                    List<String> contexts = entitlements.getList("advisoryContext", String.class);
-                    if (contexts != null) {
-                        for (String ctx : contexts) {
-                            ctxPs.setString(1, id);
-                            ctxPs.setString(2, ctx);
-                            ctxPs.addBatch();
-                        }
+        RowBuffer parentRows = rows.table(parentSql);
+        RowBuffer partyRows = rows.table(partySql);
+        RowBuffer holdingRows = rows.table(holdingSql);
+        RowBuffer advisorRows = rows.table(advisorSql);
+        RowBuffer bookRoleRows = rows.table(bookRoleSql);
+        RowBuffer repCodeRows = rows.table(repCodeSql);
+        RowBuffer hierRows = rows.table(hierSql);
+        RowBuffer invEntRows = rows.table(invEntSql);
+        RowBuffer ctxRows = rows.table(ctxSql);
+
+        for (Document doc : docs) {
+            String id = doc.getString("_id");
+            Document pxClient = extractPxClient(doc);
+
+            int col = 1;
+            parentRows.setString(col++, id);
+            parentRows.setString(col++, doc.getString("viewableSource"));
+            parentRows.setString(col++, doc.getString("accountid"));
+            parentRows.setString(col++, doc.getString("ssnTin"));
+            parentRows.setObject(col++, doc.get("finInstId"));
+            parentRows.setString(col++, doc.getString("clientName"));
+            parentRows.setString(col++, doc.getString("clientId"));
+            parentRows.setString(col++, doc.getString("finInstName"));
+            parentRows.setString(col++, doc.getString("accountType"));
+            parentRows.setString(col++, doc.getString("acctName"));
+            parentRows.setString(col++, boolToString(doc.get("viewable")));
+            parentRows.setObject(col++, toSqlDate(doc.get("setupTmst")));
+            parentRows.setObject(col++, toSqlDate(doc.get("updateTmst")));
+            parentRows.setString(col++, doc.getString("acctTitle"));
+            parentRows.setString(col++, doc.getString("category"));
+            parentRows.setString(col++, doc.getString("ETLUpdateTS"));
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
+            parentRows.addBatch();
+
+            // Child: entitlements
+            Document entitlements = doc.get("entitlements", Document.class);
+            if (entitlements != null) {
+                List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
+                if (partyRoleIds != null) {
+                    for (Number prId : partyRoleIds) {
+                        partyRows.setString(1, id);
+                        partyRows.setObject(2, prId);
+                        partyRows.addBatch();
                     }
-                    List<Document> invEnts = entitlements.getList("pxInvestorEntitlements", Document.class);
-                    if (invEnts != null) {
-                        for (Document ie : invEnts) {
-                            invEntPs.setString(1, id);
-                            invEntPs.setObject(2, ie.get("partyRoleId"));
-                            invEntPs.setString(3, ie.getString("accountRole"));
-                            invEntPs.setString(4, ie.getString("accountSource"));
-                            invEntPs.setString(5, ie.getString("accountAccessStatus"));
-                            invEntPs.setString(6, ie.getString("investorId"));
-                            invEntPs.setString(7, ie.getString("accountRoleCode"));
-                            invEntPs.addBatch();
-                        }
+                }
+                List<String> contexts = entitlements.getList("advisoryContext", String.class);
+                if (contexts != null) {
+                    for (String ctx : contexts) {
+                        ctxRows.setString(1, id);
+                        ctxRows.setString(2, ctx);
+                        ctxRows.addBatch();
                     }
                 }
-
-                // Child: holdings
-                List<Document> holdings = doc.getList("holdings", Document.class);
-                if (holdings != null) {
-                    for (Document h : holdings) {
-                        holdingPs.setString(1, id);
-                        holdingPs.setString(2, h.getString("fundTicker"));
-                        holdingPs.setString(3, h.getString("fundName"));
-                        holdingPs.setString(4, h.getString("fundId"));
-                        holdingPs.setString(5, h.getString("mgtName"));
-                        holdingPs.setObject(6, h.get("dividendRate"));
-                        holdingPs.addBatch();
+                List<Document> invEnts = entitlements.getList("pxInvestorEntitlements", Document.class);
+                if (invEnts != null) {
+                    for (Document ie : invEnts) {
+                        invEntRows.setString(1, id);
+                        invEntRows.setObject(2, ie.get("partyRoleId"));
+                        invEntRows.setString(3, ie.getString("accountRole"));
+                        invEntRows.setString(4, ie.getString("accountSource"));
+                        invEntRows.setString(5, ie.getString("accountAccessStatus"));
+                        invEntRows.setString(6, ie.getString("investorId"));
+                        invEntRows.setString(7, ie.getString("accountRoleCode"));
+                        invEntRows.addBatch();
                     }
                 }
+            }
 
-                // Child: advisors + book roles
-                List<Document> advisors = doc.getList("advisors", Document.class);
-                if (advisors != null) {
-                    for (Document adv : advisors) {
-                        String advId = adv.getString("advisorId");
-                        int ac = 1;
-                        advisorPs.setString(ac++, id);
-                        advisorPs.setString(ac++, advId);
-                        advisorPs.setObject(ac++, adv.get("viewableMarketValue"));
-                        advisorPs.setObject(ac++, adv.get("noOfViewableAccts"));
-                        advisorPs.setString(ac++, adv.getString("advisorName"));
-                        advisorPs.setString(ac++, adv.getString("advisorTaxId"));
-                        advisorPs.setObject(ac++, adv.get("finInstId"));
-                        advisorPs.setString(ac++, adv.getString("lastName"));
-                        advisorPs.setString(ac++, adv.getString("firstName"));
-                        advisorPs.setString(ac++, adv.getString("middleName"));
-                        advisorPs.setString(ac++, adv.getString("state"));
-                        advisorPs.setString(ac++, adv.getString("city"));
-                        advisorPs.setString(ac++, adv.getString("zipCode"));
-                        advisorPs.setString(ac++, adv.getString("country"));
-                        advisorPs.setString(ac++, adv.getString("businessPhone"));
-                        advisorPs.setString(ac++, adv.getString("bookType"));
-                        advisorPs.setObject(ac++, adv.get("marketValue"));
-                        advisorPs.setObject(ac++, adv.get("noOfAccts"));
-                        advisorPs.setString(ac++, adv.getString("status"));
-                        advisorPs.setString(ac++, boolToString(adv.get("isPrimary")));
-                        advisorPs.setString(ac++, adv.getString("email"));
-                        advisorPs.addBatch();
-
-                        List<String> bookRoles = adv.getList("bookRoles", String.class);
-                        if (bookRoles != null) {
-                            for (String role : bookRoles) {
-                                bookRolePs.setString(1, id);
-                                bookRolePs.setString(2, advId);
-                                bookRolePs.setString(3, role);
-                                bookRolePs.addBatch();
-                            }
-                        }
-                    }
+            // Child: holdings
+            List<Document> holdings = doc.getList("holdings", Document.class);
+            if (holdings != null) {
+                for (Document h : holdings) {
+                    holdingRows.setString(1, id);
+                    holdingRows.setString(2, h.getString("fundTicker"));
+                    holdingRows.setString(3, h.getString("fundName"));
+                    holdingRows.setString(4, h.getString("fundId"));
+                    holdingRows.setString(5, h.getString("mgtName"));
+                    holdingRows.setObject(6, h.get("dividendRate"));
+                    holdingRows.addBatch();
                 }
+            }
 
-                // Child: rep codes
-                List<Document> repCodes = doc.getList("repCodes", Document.class);
-                if (repCodes != null) {
-                    for (Document rc : repCodes) {
-                        repCodePs.setString(1, id);
-                        repCodePs.setString(2, rc.getString("advisorRepNumber"));
-                        repCodePs.setObject(3, rc.get("intType"));
-                        repCodePs.setString(4, rc.getString("repcodeSource"));
-                        repCodePs.addBatch();
+            // Child: advisors + book roles
+            List<Document> advisors = doc.getList("advisors", Document.class);
+            if (advisors != null) {
+                for (Document adv : advisors) {
+                    String advId = adv.getString("advisorId");
+                    int ac = 1;
+                    advisorRows.setString(ac++, id);
+                    advisorRows.setString(ac++, advId);
+                    advisorRows.setObject(ac++, adv.get("viewableMarketValue"));
+                    advisorRows.setObject(ac++, adv.get("noOfViewableAccts"));
+                    advisorRows.setString(ac++, adv.getString("advisorName"));
+                    advisorRows.setString(ac++, adv.getString("advisorTaxId"));
+                    advisorRows.setObject(ac++, adv.get("finInstId"));
+                    advisorRows.setString(ac++, adv.getString("lastName"));
+                    advisorRows.setString(ac++, adv.getString("firstName"));
+                    advisorRows.setString(ac++, adv.getString("middleName"));
+                    advisorRows.setString(ac++, adv.getString("state"));
+                    advisorRows.setString(ac++, adv.getString("city"));
+                    advisorRows.setString(ac++, adv.getString("zipCode"));
+                    advisorRows.setString(ac++, adv.getString("country"));
+                    advisorRows.setString(ac++, adv.getString("businessPhone"));
+                    advisorRows.setString(ac++, adv.getString("bookType"));
+                    advisorRows.setObject(ac++, adv.get("marketValue"));
+                    advisorRows.setObject(ac++, adv.get("noOfAccts"));
+                    advisorRows.setString(ac++, adv.getString("status"));
+                    advisorRows.setString(ac++, boolToString(adv.get("isPrimary")));
+                    advisorRows.setString(ac++, adv.getString("email"));
+                    advisorRows.addBatch();
+
+                    List<String> bookRoles = adv.getList("bookRoles", String.class);
+                    if (bookRoles != null) {
+                        for (String role : bookRoles) {
+                            bookRoleRows.setString(1, id);
+                            bookRoleRows.setString(2, advId);
+                            bookRoleRows.setString(3, role);
+                            bookRoleRows.addBatch();
+                        }
                     }
                 }
+            }
 
-                // Child: advisor hierarchy
-                List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
-                if (hierarchy != null) {
-                    for (Document h : hierarchy) {
-                        hierPs.setString(1, id);
-                        hierPs.setString(2, h.getString("partyNodePathNm"));
-                        hierPs.setString(3, h.getString("partyNodePathValue"));
-                        hierPs.addBatch();
-                    }
+            // Child: rep codes
+            List<Document> repCodes = doc.getList("repCodes", Document.class);
+            if (repCodes != null) {
+                for (Document rc : repCodes) {
+                    repCodeRows.setString(1, id);
+                    repCodeRows.setString(2, rc.getString("advisorRepNumber"));
+                    repCodeRows.setObject(3, rc.get("intType"));
+                    repCodeRows.setString(4, rc.getString("repcodeSource"));
+                    repCodeRows.addBatch();
                 }
+            }
 
-                loaded++;
-                if (loaded % batchSize == 0) {
-                    parentPs.executeBatch();
-                    partyPs.executeBatch();
-                    holdingPs.executeBatch();
-                    advisorPs.executeBatch();
-                    bookRolePs.executeBatch();
-                    repCodePs.executeBatch();
-                    hierPs.executeBatch();
-                    invEntPs.executeBatch();
-                    ctxPs.executeBatch();
-                    conn.commit();
-                    if (loaded % 10000 == 0) {
-                        log.info("Loaded {} / {} accounts to relational tables", loaded, docs.size());
-                    }
+            // Child: advisor hierarchy
+            List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
+            if (hierarchy != null) {
+                for (Document h : hierarchy) {
+                    hierRows.setString(1, id);
+                    hierRows.setString(2, h.getString("partyNodePathNm"));
+                    hierRows.setString(3, h.getString("partyNodePathValue"));
+                    hierRows.addBatch();
                 }
             }
-            parentPs.executeBatch();
-            partyPs.executeBatch();
-            holdingPs.executeBatch();
-            advisorPs.executeBatch();
-            bookRolePs.executeBatch();
-            repCodePs.executeBatch();
-            hierPs.executeBatch();
-            invEntPs.executeBatch();
-            ctxPs.executeBatch();
-            conn.commit();
         }
-        log.info("Completed loading {} accounts to relational tables", docs.size());
     }
 
-    private void loadAdvisors(DataSource ds, List<Document> docs, int batchSize) throws Exception {
+    private static void shredAdvisors(List<Document> docs, RowSet rows) {
         String parentSql = """
                 INSERT INTO rel_advisor (id, account_viewable_market_value, ent_data_owner_party_role_id,
                     advisor_name, px_id, party_node_label_id, advisor_tax_id, user_type, fin_inst_id,
@@ -611,137 +767,112 @@ public class RelationalDataLoader {
         String repCodeSql = "INSERT INTO rel_adv_rep_codes (advisor_id, advisor_rep_number, int_type, repcode_source) VALUES (?, ?, ?, ?)";
         String ctxSql = "INSERT INTO rel_adv_advisory_ctx (advisor_id, advisory_context) VALUES (?, ?)";
 
-        try (Connection conn = ds.getConnection();
-             PreparedStatement parentPs = conn.prepareStatement(parentSql);
-             PreparedStatement hierPs = conn.prepareStatement(hierSql);
-             PreparedStatement partyPs = conn.prepareStatement(partySql);
-             PreparedStatement holdingPs = conn.prepareStatement(holdingSql);
-             PreparedStatement repCodePs = conn.prepareStatement(repCodeSql);
-             PreparedStatement ctxPs = conn.prepareStatement(ctxSql)) {
-
-            int loaded = 0;
-            for (Document doc : docs) {
-                String id = doc.getString("_id");
-                Number entOwner = extractEntDataOwnerPartyRoleId(doc);
-                Document pxClient = extractPxClient(doc);
-
-                int col = 1;
-                parentPs.setString(col++, id);
-                parentPs.setObject(col++, doc.get("accountViewableMarketValue"));
-                parentPs.setObject(col++, entOwner);
-                parentPs.setString(col++, doc.getString("advisorName"));
-                parentPs.setString(col++, doc.getString("pxId"));
-                parentPs.setString(col++, doc.getString("partyNodeLabelId"));
-                parentPs.setString(col++, doc.getString("advisorTaxId"));
-                parentPs.setString(col++, doc.getString("userType"));
-                parentPs.setObject(col++, doc.get("finInstId"));
-                parentPs.setString(col++, doc.getString("advState"));
-                parentPs.setString(col++, doc.getString("advisorFullName"));
-                parentPs.setObject(col++, toSqlDate(doc.get("advSetupTmst")));
-                parentPs.setObject(col++, toSqlDate(doc.get("advUpdateTmst")));
-                parentPs.setString(col++, doc.getString("advAcctMethod"));
-                parentPs.setString(col++, doc.getString("advMethodFlag"));
-                parentPs.setString(col++, doc.getString("riaIarQuestion"));
-                parentPs.setString(col++, doc.getString("dbaQuestion"));
-                parentPs.setString(col++, doc.getString("noOfSegments"));
-                parentPs.setString(col++, doc.getString("finInstName"));
-                parentPs.setString(col++, doc.getString("finLastName"));
-                parentPs.setString(col++, doc.getString("finFirstName"));
-                parentPs.setObject(col++, doc.get("viewableInvestorCount"));
-                parentPs.setObject(col++, doc.get("accountViewableCount"));
-                parentPs.setString(col++, doc.getString("state"));
-                parentPs.setString(col++, doc.getString("city"));
-                parentPs.setString(col++, doc.getString("zip"));
-                parentPs.setString(col++, doc.getString("country"));
-                parentPs.setString(col++, doc.getString("status"));
-                parentPs.setString(col++, doc.getString("viewableSource"));
-                parentPs.setString(col++, doc.getString("ETLUpdateTS"));
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
-                parentPs.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
-                parentPs.addBatch();
-
-                // Child: advisor hierarchy
-                List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
-                if (hierarchy != null) {
-                    for (Document h : hierarchy) {
-                        hierPs.setString(1, id);
-                        hierPs.setString(2, h.getString("partyNodePathNm"));
-                        hierPs.setString(3, h.getString("partyNodePathValue"));
-                        hierPs.addBatch();
-                    }
+        RowBuffer parentRows = rows.table(parentSql);
+        RowBuffer hierRows = rows.table(hierSql);
+        RowBuffer partyRows = rows.table(partySql);
+        RowBuffer holdingRows = rows.table(holdingSql);
+        RowBuffer repCodeRows = rows.table(repCodeSql);
+        RowBuffer ctxRows = rows.table(ctxSql);
+
+        for (Document doc : docs) {
+            String id = doc.getString("_id");
+            Number entOwner = extractEntDataOwnerPartyRoleId(doc);
+            Document pxClient = extractPxClient(doc);
+
+            int col = 1;
+            parentRows.setString(col++, id);
+            parentRows.setObject(col++, doc.get("accountViewableMarketValue"));
+            parentRows.setObject(col++, entOwner);
+            parentRows.setString(col++, doc.getString("advisorName"));
+            parentRows.setString(col++, doc.getString("pxId"));
+            parentRows.setString(col++, doc.getString("partyNodeLabelId"));
+            parentRows.setString(col++, doc.getString("advisorTaxId"));
+            parentRows.setString(col++, doc.getString("userType"));
+            parentRows.setObject(col++, doc.get("finInstId"));
+            parentRows.setString(col++, doc.getString("advState"));
+            parentRows.setString(col++, doc.getString("advisorFullName"));
+            parentRows.setObject(col++, toSqlDate(doc.get("advSetupTmst")));
+            parentRows.setObject(col++, toSqlDate(doc.get("advUpdateTmst")));
+            parentRows.setString(col++, doc.getString("advAcctMethod"));
+            parentRows.setString(col++, doc.getString("advMethodFlag"));
+            parentRows.setString(col++, doc.getString("riaIarQuestion"));
+            parentRows.setString(col++, doc.getString("dbaQuestion"));
+            parentRows.setString(col++, doc.getString("noOfSegments"));
+            parentRows.setString(col++, doc.getString("finInstName"));
+            parentRows.setString(col++, doc.getString("finLastName"));
+            parentRows.setString(col++, doc.getString("finFirstName"));
+            parentRows.setObject(col++, doc.get("viewableInvestorCount"));
+            parentRows.setObject(col++, doc.get("accountViewableCount"));
+            parentRows.setString(col++, doc.getString("state"));
+            parentRows.setString(col++, doc.getString("city"));
+            parentRows.setString(col++, doc.getString("zip"));
+            parentRows.setString(col++, doc.getString("country"));
+            parentRows.setString(col++, doc.getString("status"));
+            parentRows.setString(col++, doc.getString("viewableSource"));
+            parentRows.setString(col++, doc.getString("ETLUpdateTS"));
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientId") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("pxClientName") : null);
+            parentRows.setString(col++, pxClient != null ? pxClient.getString("Id") : null);
+            parentRows.addBatch();
+
+            // Child: advisor hierarchy
+            List<Document> hierarchy = doc.getList("advisorHierarchy", Document.class);
+            if (hierarchy != null) {
+                for (Document h : hierarchy) {
+                    hierRows.setString(1, id);
+                    hierRows.setString(2, h.getString("partyNodePathNm"));
+                    hierRows.setString(3, h.getString("partyNodePathValue"));
+                    hierRows.addBatch();
                 }
+            }
 
-                // Child: party role IDs + advisory contexts
-                Document entitlements = doc.get("entitlements", Document.class);
-                if (entitlements != null) {
-                    List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
-                    if (partyRoleIds != null) {
-                        for (Number prId : partyRoleIds) {
-                            partyPs.setString(1, id);
-                            partyPs.setObject(2, prId);
-                            partyPs.addBatch();
-                        }
-                    }
-                    List<String> contexts = entitlements.getList("advisoryContext", String.class);
-                    if (contexts != null) {
-                        for (String ctx : contexts) {
-                            ctxPs.setString(1, id);
-                            ctxPs.setString(2, ctx);
-                            ctxPs.addBatch();
-                        }
+            // Child: party role IDs + advisory contexts
+            Document entitlements = doc.get("entitlements", Document.class);
+            if (entitlements != null) {
+                List<Number> partyRoleIds = entitlements.getList("pxPartyRoleIdList", Number.class);
+                if (partyRoleIds != null) {
+                    for (Number prId : partyRoleIds) {
+                        partyRows.setString(1, id);
+                        partyRows.setObject(2, prId);
+                        partyRows.addBatch();
                     }
                 }
-
-                // Child: holdings
-                List<Document> holdings = doc.getList("holdings", Document.class);
-                if (holdings != null) {
-                    for (Document h : holdings) {
-                        holdingPs.setString(1, id);
-                        holdingPs.setString(2, h.getString("fundId"));
-                        holdingPs.setString(3, h.getString("fundName"));
-                        holdingPs.setString(4, h.getString("fundTicker"));
-                        holdingPs.setString(5, h.getString("mgtName"));
-                        holdingPs.setObject(6, h.get("dividendRate"));
-                        holdingPs.addBatch();
+                List<String> contexts = entitlements.getList("advisoryContext", String.class);
+                if (contexts != null) {
+                    for (String ctx : contexts) {
+                        ctxRows.setString(1, id);
+                        ctxRows.setString(2, ctx);
+                        ctxRows.addBatch();
                     }
                 }
+            }
 
-                // Child: rep codes
-                List<Document> repCodes = doc.getList("repCodes", Document.class);
-                if (repCodes != null) {
-                    for (Document rc : repCodes) {
-                        repCodePs.setString(1, id);
-                        repCodePs.setString(2, rc.getString("advisorRepNumber"));
-                        repCodePs.setObject(3, rc.get("intType"));
-                        repCodePs.setString(4, rc.getString("repcodeSource"));
-                        repCodePs.addBatch();
-                    }
+            // Child: holdings
+            List<Document> holdings = doc.getList("holdings", Document.class);
+            if (holdings != null) {
+                for (Document h : holdings) {
+                    holdingRows.setString(1, id);
+                    holdingRows.setString(2, h.getString("fundId"));
+                    holdingRows.setString(3, h.getString("fundName"));
+                    holdingRows.setString(4, h.getString("fundTicker"));
+                    holdingRows.setString(5, h.getString("mgtName"));
+                    holdingRows.setObject(6, h.get("dividendRate"));
+                    holdingRows.addBatch();
                 }
+            }
 
-                loaded++;
-                if (loaded % batchSize == 0) {
-                    parentPs.executeBatch();
-                    hierPs.executeBatch();
-                    partyPs.executeBatch();
-                    holdingPs.executeBatch();
-                    repCodePs.executeBatch();
-                    ctxPs.executeBatch();
-                    conn.commit();
-                    if (loaded % 10000 == 0) {
-                        log.info("Loaded {} / {} advisors to relational tables", loaded, docs.size());
-                    }
+            // Child: rep codes
+            List<Document> repCodes = doc.getList("repCodes", Document.class);
+            if (repCodes != null) {
+                for (Document rc : repCodes) {
+                    repCodeRows.setString(1, id);
+                    repCodeRows.setString(2, rc.getString("advisorRepNumber"));
+                    repCodeRows.setObject(3, rc.get("intType"));
+                    repCodeRows.setString(4, rc.getString("repcodeSource"));
+                    repCodeRows.addBatch();
                 }
             }
-            parentPs.executeBatch();
-            hierPs.executeBatch();
-            partyPs.executeBatch();
-            holdingPs.executeBatch();
-            repCodePs.executeBatch();
-            ctxPs.executeBatch();
-            conn.commit();
         }
-        log.info("Completed loading {} advisors to relational tables", docs.size());
     }
 
     static Number extractEntDataOwnerPartyRoleId(Document doc) {
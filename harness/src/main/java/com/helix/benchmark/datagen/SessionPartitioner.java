@@ -0,0 +1,96 @@
+package com.helix.benchmark.datagen;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a chunk into contiguous ranges (generated chunks are in ID order, so these are ID
+ * ranges) and loads each range on its own pooled session. Every partition commits on its
+ * own connection; a failed partition rolls back without affecting the others and its
+ * exception is rethrown once all partitions have finished.
+ */
+final class SessionPartitioner {
+
+    @FunctionalInterface
+    interface PartitionTask<T> {
+        void load(Connection conn, List<T> partition) throws Exception;
+    }
+
+    private SessionPartitioner() {}
+
+    /** Number of partitions to use: at most {@code sessions}, and at least one batch each. */
+    static int partitions(int size, int sessions, int batchSize) {
+        int byBatches = (size + batchSize - 1) / batchSize;
+        return Math.max(1, Math.min(sessions, byBatches));
+    }
+
+    static <T> void run(DataSource dataSource, List<T> items, int sessions, int batchSize,
+                        PartitionTask<T> task) throws Exception {
+        int partitions = partitions(items.size(), sessions, batchSize);
+        if (partitions == 1) {
+            runPartition(dataSource, items, task);
+            return;
+        }
+        int per = (items.size() + partitions - 1) / partitions;
+        ExecutorService executor = Executors.newFixedThreadPool(partitions - 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 1; p < partitions; p++) {
+                List<T> partition = items.subList(Math.min(p * per, items.size()),
+                        Math.min((p + 1) * per, items.size()));
+                futures.add(executor.submit(() -> {
+                    runPartition(dataSource, partition, task);
+                    return null;
+                }));
+            }
+            Exception failure = null;
+            try {
+                runPartition(dataSource, items.subList(0, Math.min(per, items.size())), task);
+            } catch (Exception e) {
+                failure = e;
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                } catch (Exception e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof Exception cause ? cause : e;
+                    }
+                }
+            }
+            if (failure != null) throw failure;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> void runPartition(DataSource dataSource, List<T> partition,
+                                         PartitionTask<T> task) throws Exception {
+        if (partition.isEmpty()) return;
+        try (Connection conn = dataSource.getConnection()) {
+            try {
+                task.load(conn, partition);
+                conn.commit();
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /** Adds the {@code APPEND_VALUES} direct-path hint to an {@code INSERT INTO} statement. */
+    static String directPath(String insertSql) {
+        if (!insertSql.startsWith("INSERT INTO ")) {
+            throw new IllegalArgumentException("Not an INSERT INTO statement: " + insertSql);
+        }
+        return "INSERT /*+ APPEND_VALUES */ INTO " + insertSql.substring("INSERT INTO ".length());
+    }
+}
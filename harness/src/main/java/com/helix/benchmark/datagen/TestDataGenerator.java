@@ -1,13 +1,25 @@
 package com.helix.benchmark.datagen;
 
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 public class TestDataGenerator {
     private final ReferenceRegistry registry;
+    private final long seed;
+    private final FanOut fanOut;
+    private final String etlUpdateTs;
+    private volatile AdvisorRanks advisorRanks;
+
+    private static final long ADVISOR_ID_BASE = 1_000_000_000_000L;
+    private static final long INVESTOR_ID_BASE = 100_000_000_000L;
+    // ETL timestamps fall within the year starting here, at a second picked by the seed
+    private static final Instant ETL_EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    private static final long SECONDS_PER_YEAR = 365L * 24 * 60 * 60;
 
     private static final String[] PERSONAS = {"Home Office", "Wove Administrator", "Advisor", "Investor"};
     private static final String[] BOOK_ROLES = {"Home Office", "Primary", "Secondary", "Service Team"};
@@ -55,8 +67,36 @@ public class TestDataGenerator {
             "EMERGING", "SUSTAINABLE", "TECHNOLOGY", "HEALTHCARE", "ENERGY", "REAL ESTATE"
     };
 
+
+    @FunctionalInterface
+    private interface DocumentSource {
+        void write(DocumentWriter w, RandomGenerator rnd, int index);
+    }
+
+    // Zipf sampler over the advisors registered so far; rebuilt if the advisor count changes
+    private record AdvisorRanks(int count, Distribution ranks) {}
+
     public TestDataGenerator(ReferenceRegistry registry) {
+        this(registry, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Every document draws from its own random stream derived from (seed, collection, index),
+     * so a given seed reproduces the same documents regardless of batch size or thread count.
+     */
+    public TestDataGenerator(ReferenceRegistry registry, long seed) {
+        this(registry, seed, FanOut.DEFAULT);
+    }
+
+    public TestDataGenerator(ReferenceRegistry registry, long seed, FanOut fanOut) {
         this.registry = registry;
+        this.seed = seed;
+        this.fanOut = fanOut;
+        this.etlUpdateTs = etlUpdateTs(seed);
+    }
+
+    public long seed() {
+        return seed;
     }
 
     public List<Document> generateAdvisors(int count) {
@@ -64,50 +104,7 @@ public class TestDataGenerator {
     }
 
     public List<Document> generateAdvisors(int startIndex, int count) {
-        List<Document> result = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            String id = String.valueOf(1_000_000_000_000L + startIndex + i);
-            String firstName = randomChoice(FIRST_NAMES);
-            String lastName = randomChoice(LAST_NAMES);
-            Document doc = new Document()
-                    .append("_id", id)
-                    .append("advisorName", firstName + " " + lastName)
-                    .append("pxId", "F" + ThreadLocalRandom.current().nextInt(10, 999))
-                    .append("partyNodeLabelId", String.valueOf(300000 + startIndex + i))
-                    .append("advisorTaxId", String.valueOf(ThreadLocalRandom.current().nextInt(10000000, 99999999)))
-                    .append("userType", randomChoice("bcd", "abc", "xyz"))
-                    .append("finInstId", registry.randomFinInstId())
-                    .append("advState", randomChoice(STATES))
-                    .append("advisorFullName", firstName + " " + lastName)
-                    .append("advSetupTmst", randomDate(2010, 2018))
-                    .append("advUpdateTmst", randomDate(2018, 2025))
-                    .append("advAcctMethod", randomChoice("avd", "avg", "ffo"))
-                    .append("advMethodFlag", randomChoice("Y", "N"))
-                    .append("riaIarQuestion", randomChoice("Y", "N"))
-                    .append("dbaQuestion", randomChoice("Y", "N"))
-                    .append("noOfSegments", String.valueOf(ThreadLocalRandom.current().nextInt(1, 50)))
-                    .append("finInstName", randomChoice(COMPANY_NAMES))
-                    .append("finLastName", randomChoice(LAST_NAMES))
-                    .append("finFirstName", randomChoice(FIRST_NAMES))
-                    .append("accountViewableMarketValue", randomMarketValue())
-                    .append("viewableInvestorCount", ThreadLocalRandom.current().nextLong(1, 50))
-                    .append("accountViewableCount", ThreadLocalRandom.current().nextLong(1, 50))
-                    .append("repCodes", List.of(buildRepCode()))
-                    .append("holdings", buildHoldings(ThreadLocalRandom.current().nextInt(1, 10)))
-                    .append("advisorHierarchy", buildAdvisorHierarchy())
-                    .append("entitlements", buildEntitlements())
-                    .append("state", randomChoice(STATES))
-                    .append("city", randomChoice(CITIES))
-                    .append("zip", randomZip())
-                    .append("country", "USA")
-                    .append("status", randomChoice("VIEWABLE", "Active"))
-                    .append("viewableSource", weightedChoice("Y", 0.8, "N"))
-                    .append("ETLUpdateTS", Instant.now().toString());
-
-            result.add(doc);
-            registry.registerAdvisorId(id);
-        }
-        return result;
+        return toDocuments("advisor", startIndex, count);
     }
 
     public List<Document> generateBookRoleInvestors(int count) {
@@ -115,59 +112,7 @@ public class TestDataGenerator {
     }
 
     public List<Document> generateBookRoleInvestors(int startIndex, int count) {
-        List<Document> result = new ArrayList<>(count);
-        for (int i = 0; i < count; i++) {
-            long finInstId = registry.randomFinInstId();
-            String investorId = String.valueOf(100_000_000_000L + startIndex + i);
-            String id = finInstId + "_" + investorId;
-            String firstName = randomChoice(FIRST_NAMES);
-            String lastName = randomChoice(LAST_NAMES);
-
-            int advisorCount = ThreadLocalRandom.current().nextInt(1, 5);
-            List<Document> advisors = buildEmbeddedAdvisors(advisorCount);
-
-            Document doc = new Document()
-                    .append("_id", id)
-                    .append("partyRoleId", ThreadLocalRandom.current().nextLong(1, 100_000_000))
-                    .append("partyId", ThreadLocalRandom.current().nextLong(1, 100_000_000))
-                    .append("conversionInProgress", false)
-                    .append("dataOwnerPartyRoleId", finInstId)
-                    .append("entitlements", buildEntitlements())
-                    .append("advisorHierarchy", buildAdvisorHierarchy())
-                    .append("investorId", investorId)
-                    .append("personaNm", randomSubList(PERSONAS, 1, 3))
-                    .append("entity", "Client")
-                    .append("totalMarketValue", randomMarketValue())
-                    .append("totalAccounts", ThreadLocalRandom.current().nextLong(1, 20))
-                    .append("totalViewableAccountsMarketValue", randomMarketValue())
-                    .append("totalViewableAccountCount", ThreadLocalRandom.current().nextLong(1, 20))
-                    .append("advisors", advisors)
-                    .append("ssnTin", String.valueOf(ThreadLocalRandom.current().nextInt(10000, 99999)))
-                    .append("finInstId", finInstId)
-                    .append("investorType", weightedChoice("Client", 0.9, "Prospect"))
-                    .append("investorLastName", lastName)
-                    .append("investorFirstName", firstName)
-                    .append("investorMiddleName", "")
-                    .append("investorFullName", firstName + " " + lastName)
-                    .append("investorpartyRoleId", ThreadLocalRandom.current().nextLong(1, 100_000_000))
-                    .append("investorCity", randomChoice(CITIES))
-                    .append("investorState", randomChoice(STATES))
-                    .append("investorZipCode", randomZip())
-                    .append("investorBirthdate", randomDate(1940, 2000))
-                    .append("viewableFlag", weightedChoice("Y", 0.85, "N"))
-                    .append("viewableSource", weightedChoice("Y", 0.8, "N"))
-                    .append("clientAccess", randomChoice("Invite", "Full", "View Only"))
-                    .append("trustFlag", randomChoice("Y", "N"))
-                    .append("riskProfile", new Document())
-                    .append("synonyms", buildSynonyms())
-                    .append("updateTmst", randomDate(2020, 2025))
-                    .append("setupTmst", randomDate(2015, 2020))
-                    .append("ETLUpdateTS", Instant.now().toString());
-
-            result.add(doc);
-            registry.registerInvestorId(investorId);
-        }
-        return result;
+        return toDocuments("bookRoleInvestor", startIndex, count);
     }
 
     public List<Document> generateBookRoleGroups(int count) {
@@ -175,260 +120,504 @@ public class TestDataGenerator {
     }
 
     public List<Document> generateBookRoleGroups(int startIndex, int count) {
-        List<Document> result = new ArrayList<>(count);
+        return toDocuments("bookRoleGroup", startIndex, count);
+    }
+
+    public List<Document> generateAccounts(int count) {
+        return generateAccounts(0, count);
+    }
+
+    public List<Document> generateAccounts(int startIndex, int count) {
+        return toDocuments("account", startIndex, count);
+    }
+
+    /**
+     * Generates a batch straight into BSON buffers (plus JSON text when {@code withJson} is set)
+     * without building {@link Document} maps.
+     */
+    public DocumentBatch encode(String collectionType, int startIndex, int count, boolean withJson) {
+        DocumentBatch batch = encodeWithoutRegistering(collectionType, startIndex, count, withJson);
+        registerIds(collectionType, startIndex, count);
+        return batch;
+    }
+
+    /**
+     * Like {@link #encode} but leaves the registry untouched, for throwaway documents whose IDs
+     * must not be drawn as query parameters or references once they are deleted again.
+     */
+    public DocumentBatch encodeWithoutRegistering(String collectionType, int startIndex, int count, boolean withJson) {
+        DocumentSource source = sourceFor(collectionType);
+        long salt = mix(seed ^ collectionType.hashCode());
+        BsonEncodingWriter w = new BsonEncodingWriter(withJson);
+        List<RawBsonDocument> bson = new ArrayList<>(count);
+        List<String> json = withJson ? new ArrayList<>(count) : null;
         for (int i = 0; i < count; i++) {
-            long finInstId = registry.randomFinInstId();
-            String id = finInstId + "_" + (1_000_000 + startIndex + i);
-            int advisorCount = ThreadLocalRandom.current().nextInt(1, 4);
-            double marketValue = randomMarketValue();
-
-            List<Document> advisors = new ArrayList<>();
-            for (int a = 0; a < advisorCount; a++) {
-                Document advisor = buildEmbeddedAdvisorForGroup();
-                advisors.add(advisor);
+            int index = startIndex + i;
+            source.write(w, new SplittableRandom(mix(salt + index)), index);
+            bson.add(w.takeBson());
+            if (withJson) {
+                json.add(w.takeJson());
             }
+        }
+        return DocumentBatch.encoded(bson, json);
+    }
 
-            Document doc = new Document()
-                    .append("_id", id)
-                    .append("investorWriId", "")
-                    .append("etlSourceGroup", randomChoice(ETL_SOURCES))
-                    .append("finInstId", finInstId)
-                    .append("personaNm", randomSubList(PERSONAS, 1, 3))
-                    .append("entity", "Group")
-                    .append("dataOwnerPartyRoleId", finInstId)
-                    .append("advisorHierarchy", buildAdvisorHierarchyShort())
-                    .append("entitlements", buildEntitlements())
-                    .append("accountCount", ThreadLocalRandom.current().nextLong(1, 50))
-                    .append("totalMarketValue", marketValue)
-                    .append("totalViewableAccountCount", ThreadLocalRandom.current().nextLong(1, 50))
-                    .append("totalViewableAccountsMarketValue", marketValue * 0.95)
-                    .append("advisors", advisors)
-                    .append("accountGroupName", randomChoice(COMPANY_NAMES) + " GROUP")
-                    .append("accountGroupId", String.valueOf(10000 + startIndex + i))
-                    .append("accountGroupType", randomChoice("Performance", "Standard", "Custom"))
-                    .append("visibleFlag", weightedChoice("Y", 0.85, "N"))
-                    .append("portfolioType", randomChoice("A", "B", "C"))
-                    .append("ETLUpdateTS", Instant.now().toString());
-
-            result.add(doc);
+    /**
+     * Registers the IDs documents [startIndex, startIndex + count) would register, without
+     * generating them. Advisor and investor IDs depend only on the index, so a resumed load can
+     * skip batches that are already loaded and still reference the same IDs.
+     */
+    public void registerIds(String collectionType, int startIndex, int count) {
+        if (collectionType.equals("advisor")) {
+            for (int index = startIndex; index < startIndex + count; index++) {
+                registry.registerAdvisorId(ADVISOR_ID_BASE + index);
+            }
+        } else if (collectionType.equals("bookRoleInvestor")) {
+            for (int index = startIndex; index < startIndex + count; index++) {
+                registry.registerInvestorId(INVESTOR_ID_BASE + index);
+            }
         }
-        return result;
     }
 
-    public List<Document> generateAccounts(int count) {
-        return generateAccounts(0, count);
+    private DocumentSource sourceFor(String collectionType) {
+        return switch (collectionType) {
+            case "advisor" -> this::writeAdvisor;
+            case "bookRoleInvestor" -> this::writeBookRoleInvestor;
+            case "bookRoleGroup" -> this::writeBookRoleGroup;
+            case "account" -> this::writeAccount;
+            default -> throw new IllegalArgumentException("Unknown collection type: " + collectionType);
+        };
     }
 
-    public List<Document> generateAccounts(int startIndex, int count) {
+    private List<Document> toDocuments(String collectionType, int startIndex, int count) {
+        DocumentSource source = sourceFor(collectionType);
+        long salt = mix(seed ^ collectionType.hashCode());
+        DocumentTreeWriter w = new DocumentTreeWriter();
         List<Document> result = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            String id = String.valueOf(1_000_001_000_000L + startIndex + i);
-            int advisorCount = ThreadLocalRandom.current().nextInt(1, 3);
-
-            Document doc = new Document()
-                    .append("_id", id)
-                    .append("accountid", "A" + String.format("%06d", startIndex + i))
-                    .append("ssnTin", String.valueOf(ThreadLocalRandom.current().nextInt(1000000, 9999999)))
-                    .append("finInstId", registry.randomFinInstId())
-                    .append("clientName", randomChoice(FIRST_NAMES) + " " + randomChoice(LAST_NAMES))
-                    .append("clientId", String.valueOf(100000 + startIndex + i))
-                    .append("finInstName", randomChoice(COMPANY_NAMES))
-                    .append("accountType", randomChoice(ACCOUNT_TYPES))
-                    .append("acctName", randomChoice(COMPANY_NAMES))
-                    .append("viewable", true)
-                    .append("viewableSource", weightedChoice("Y", 0.8, "N"))
-                    .append("setupTmst", randomDate(2010, 2020))
-                    .append("updateTmst", randomDate(2020, 2025))
-                    .append("entitlements", buildAccountEntitlements())
-                    .append("repCodes", List.of(buildRepCode()))
-                    .append("advisors", buildEmbeddedAdvisors(advisorCount))
-                    .append("advisorHierarchy", buildAdvisorHierarchy())
-                    .append("holdings", buildHoldings(ThreadLocalRandom.current().nextInt(1, 8)))
-                    .append("acctTitle", randomChoice(COMPANY_NAMES))
-                    .append("category", randomChoice("ins", "inv", "ret"))
-                    .append("ETLUpdateTS", Instant.now().toString());
-
-            result.add(doc);
+            int index = startIndex + i;
+            source.write(w, new SplittableRandom(mix(salt + index)), index);
+            result.add(w.takeDocument());
         }
+        registerIds(collectionType, startIndex, count);
         return result;
     }
 
+    // --- Document writers ---
+
+    private void writeAdvisor(DocumentWriter w, RandomGenerator rnd, int index) {
+        long advisorNumber = ADVISOR_ID_BASE + index;
+        String id = String.valueOf(advisorNumber);
+        String firstName = randomChoice(rnd, FIRST_NAMES);
+        String lastName = randomChoice(rnd, LAST_NAMES);
+        w.startDocument();
+        w.string("_id", id);
+        w.string("advisorName", firstName + " " + lastName);
+        w.string("pxId", "F" + rnd.nextInt(10, 999));
+        w.string("partyNodeLabelId", String.valueOf(300000 + index));
+        w.string("advisorTaxId", String.valueOf(rnd.nextInt(10000000, 99999999)));
+        w.string("userType", randomChoice(rnd, "bcd", "abc", "xyz"));
+        w.int64("finInstId", registry.randomFinInstId(rnd));
+        w.string("advState", randomChoice(rnd, STATES));
+        w.string("advisorFullName", firstName + " " + lastName);
+        w.dateTime("advSetupTmst", randomDate(rnd, 2010, 2018));
+        w.dateTime("advUpdateTmst", randomDate(rnd, 2018, 2025));
+        w.string("advAcctMethod", randomChoice(rnd, "avd", "avg", "ffo"));
+        w.string("advMethodFlag", randomChoice(rnd, "Y", "N"));
+        w.string("riaIarQuestion", randomChoice(rnd, "Y", "N"));
+        w.string("dbaQuestion", randomChoice(rnd, "Y", "N"));
+        w.string("noOfSegments", String.valueOf(rnd.nextInt(1, 50)));
+        w.string("finInstName", randomChoice(rnd, COMPANY_NAMES));
+        w.string("finLastName", randomChoice(rnd, LAST_NAMES));
+        w.string("finFirstName", randomChoice(rnd, FIRST_NAMES));
+        w.float64("accountViewableMarketValue", randomMarketValue(rnd));
+        w.int64("viewableInvestorCount", rnd.nextLong(1, 50));
+        w.int64("accountViewableCount", rnd.nextLong(1, 50));
+        w.startArray("repCodes");
+        writeRepCode(w, rnd);
+        w.endArray();
+        w.name("holdings");
+        writeHoldings(w, rnd, rnd.nextInt(1, 10));
+        w.name("advisorHierarchy");
+        writeAdvisorHierarchy(w, rnd);
+        w.name("entitlements");
+        writeEntitlements(w, rnd, false);
+        w.string("state", randomChoice(rnd, STATES));
+        w.string("city", randomChoice(rnd, CITIES));
+        w.string("zip", randomZip(rnd));
+        w.string("country", "USA");
+        w.string("status", randomChoice(rnd, "VIEWABLE", "Active"));
+        w.string("viewableSource", weightedChoice(rnd, "Y", 0.8, "N"));
+        w.string("ETLUpdateTS", etlUpdateTs);
+        w.endDocument();
+    }
+
+    private void writeBookRoleInvestor(DocumentWriter w, RandomGenerator rnd, int index) {
+        long finInstId = registry.randomFinInstId(rnd);
+        long investorNumber = INVESTOR_ID_BASE + index;
+        String investorId = String.valueOf(investorNumber);
+        String id = finInstId + "_" + investorId;
+        String firstName = randomChoice(rnd, FIRST_NAMES);
+        String lastName = randomChoice(rnd, LAST_NAMES);
+        int advisorCount = fanOut.advisorsPerInvestor().sample(rnd);
+
+        w.startDocument();
+        w.string("_id", id);
+        w.int64("partyRoleId", rnd.nextLong(1, 100_000_000));
+        w.int64("partyId", rnd.nextLong(1, 100_000_000));
+        w.bool("conversionInProgress", false);
+        w.int64("dataOwnerPartyRoleId", finInstId);
+        w.name("entitlements");
+        writeEntitlements(w, rnd, false);
+        w.name("advisorHierarchy");
+        writeAdvisorHierarchy(w, rnd);
+        w.string("investorId", investorId);
+        w.name("personaNm");
+        writeRandomSubList(w, rnd, PERSONAS, 1, 3);
+        w.string("entity", "Client");
+        w.float64("totalMarketValue", randomMarketValue(rnd));
+        w.int64("totalAccounts", rnd.nextLong(1, 20));
+        w.float64("totalViewableAccountsMarketValue", randomMarketValue(rnd));
+        w.int64("totalViewableAccountCount", rnd.nextLong(1, 20));
+        w.name("advisors");
+        writeEmbeddedAdvisors(w, rnd, advisorCount);
+        w.string("ssnTin", String.valueOf(rnd.nextInt(10000, 99999)));
+        w.int64("finInstId", finInstId);
+        w.string("investorType", weightedChoice(rnd, "Client", 0.9, "Prospect"));
+        w.string("investorLastName", lastName);
+        w.string("investorFirstName", firstName);
+        w.string("investorMiddleName", "");
+        w.string("investorFullName", firstName + " " + lastName);
+        w.int64("investorpartyRoleId", rnd.nextLong(1, 100_000_000));
+        w.string("investorCity", randomChoice(rnd, CITIES));
+        w.string("investorState", randomChoice(rnd, STATES));
+        w.string("investorZipCode", randomZip(rnd));
+        w.dateTime("investorBirthdate", randomDate(rnd, 1940, 2000));
+        w.string("viewableFlag", weightedChoice(rnd, "Y", 0.85, "N"));
+        w.string("viewableSource", weightedChoice(rnd, "Y", 0.8, "N"));
+        w.string("clientAccess", randomChoice(rnd, "Invite", "Full", "View Only"));
+        w.string("trustFlag", randomChoice(rnd, "Y", "N"));
+        w.startDocument("riskProfile");
+        w.endDocument();
+        w.name("synonyms");
+        writeSynonyms(w, rnd);
+        w.dateTime("updateTmst", randomDate(rnd, 2020, 2025));
+        w.dateTime("setupTmst", randomDate(rnd, 2015, 2020));
+        w.string("ETLUpdateTS", etlUpdateTs);
+        w.endDocument();
+    }
+
+    private void writeBookRoleGroup(DocumentWriter w, RandomGenerator rnd, int index) {
+        long finInstId = registry.randomFinInstId(rnd);
+        String id = finInstId + "_" + (1_000_000 + index);
+        int advisorCount = fanOut.advisorsPerGroup().sample(rnd);
+        double marketValue = randomMarketValue(rnd);
+
+        w.startDocument();
+        w.string("_id", id);
+        w.string("investorWriId", "");
+        w.string("etlSourceGroup", randomChoice(rnd, ETL_SOURCES));
+        w.int64("finInstId", finInstId);
+        w.name("personaNm");
+        writeRandomSubList(w, rnd, PERSONAS, 1, 3);
+        w.string("entity", "Group");
+        w.int64("dataOwnerPartyRoleId", finInstId);
+        w.name("advisorHierarchy");
+        writeAdvisorHierarchyShort(w, rnd);
+        w.name("entitlements");
+        writeEntitlements(w, rnd, false);
+        w.int64("accountCount", rnd.nextLong(1, 50));
+        w.float64("totalMarketValue", marketValue);
+        w.int64("totalViewableAccountCount", rnd.nextLong(1, 50));
+        w.float64("totalViewableAccountsMarketValue", marketValue * 0.95);
+        w.startArray("advisors");
+        for (int a = 0; a < advisorCount; a++) {
+            writeEmbeddedAdvisorForGroup(w, rnd);
+        }
+        w.endArray();
+        w.string("accountGroupName", randomChoice(rnd, COMPANY_NAMES) + " GROUP");
+        w.string("accountGroupId", String.valueOf(10000 + index));
+        w.string("accountGroupType", randomChoice(rnd, "Performance", "Standard", "Custom"));
+        w.string("visibleFlag", weightedChoice(rnd, "Y", 0.85, "N"));
+        w.string("portfolioType", randomChoice(rnd, "A", "B", "C"));
+        w.string("ETLUpdateTS", etlUpdateTs);
+        w.endDocument();
+    }
+
+    private void writeAccount(DocumentWriter w, RandomGenerator rnd, int index) {
+        String id = String.valueOf(1_000_001_000_000L + index);
+        int advisorCount = fanOut.advisorsPerAccount().sample(rnd);
+
+        w.startDocument();
+        w.string("_id", id);
+        w.string("accountid", "A" + String.format("%06d", index));
+        w.string("ssnTin", String.valueOf(rnd.nextInt(1000000, 9999999)));
+        w.int64("finInstId", registry.randomFinInstId(rnd));
+        w.string("clientName", randomChoice(rnd, FIRST_NAMES) + " " + randomChoice(rnd, LAST_NAMES));
+        w.string("clientId", String.valueOf(100000 + index));
+        w.string("finInstName", randomChoice(rnd, COMPANY_NAMES));
+        w.string("accountType", randomChoice(rnd, ACCOUNT_TYPES));
+        w.string("acctName", randomChoice(rnd, COMPANY_NAMES));
+        w.bool("viewable", true);
+        w.string("viewableSource", weightedChoice(rnd, "Y", 0.8, "N"));
+        w.dateTime("setupTmst", randomDate(rnd, 2010, 2020));
+        w.dateTime("updateTmst", randomDate(rnd, 2020, 2025));
+        w.name("entitlements");
+        writeEntitlements(w, rnd, true);
+        w.startArray("repCodes");
+        writeRepCode(w, rnd);
+        w.endArray();
+        w.name("advisors");
+        writeEmbeddedAdvisors(w, rnd, advisorCount);
+        w.name("advisorHierarchy");
+        writeAdvisorHierarchy(w, rnd);
+        w.name("holdings");
+        writeHoldings(w, rnd, rnd.nextInt(1, 8));
+        w.string("acctTitle", randomChoice(rnd, COMPANY_NAMES));
+        w.string("category", randomChoice(rnd, "ins", "inv", "ret"));
+        w.string("ETLUpdateTS", etlUpdateTs);
+        w.endDocument();
+    }
+
+    // --- Advisor selection ---
+
+    private String pickAdvisorId(RandomGenerator rnd) {
+        if (fanOut.advisorPopularity() == 0) {
+            return registry.randomAdvisorId(rnd);
+        }
+        return registry.advisorIdAt(advisorRank(rnd, registry.advisorIdCount()));
+    }
+
+    private List<String> pickAdvisorIds(RandomGenerator rnd, int count) {
+        if (fanOut.advisorPopularity() == 0) {
+            return registry.randomAdvisorIds(rnd, count);
+        }
+        int n = registry.advisorIdCount();
+        int k = Math.min(count, n);
+        int[] picked = new int[k];
+        int filled = 0;
+        // Popular advisors repeat often under heavy skew, so fall back to uniform picks eventually
+        for (int attempt = 0; filled < k; attempt++) {
+            int index = attempt < 32 * k ? advisorRank(rnd, n) : rnd.nextInt(n);
+            boolean seen = false;
+            for (int i = 0; i < filled && !seen; i++) {
+                seen = picked[i] == index;
+            }
+            if (!seen) {
+                picked[filled++] = index;
+            }
+        }
+        List<String> ids = new ArrayList<>(k);
+        for (int index : picked) {
+            ids.add(registry.advisorIdAt(index));
+        }
+        return ids;
+    }
+
+    private int advisorRank(RandomGenerator rnd, int advisorCount) {
+        AdvisorRanks ranks = advisorRanks;
+        if (ranks == null || ranks.count() != advisorCount) {
+            ranks = new AdvisorRanks(advisorCount, Distribution.zipf(0, advisorCount - 1, fanOut.advisorPopularity()));
+            advisorRanks = ranks;
+        }
+        return ranks.ranks().sample(rnd);
+    }
+
     // --- Builder helpers ---
 
-    private List<Document> buildEmbeddedAdvisors(int count) {
-        List<Document> advisors = new ArrayList<>();
-        List<String> ids = registry.randomAdvisorIds(count);
-        for (String advisorId : ids) {
-            String firstName = randomChoice(FIRST_NAMES);
-            String lastName = randomChoice(LAST_NAMES);
-            advisors.add(new Document()
-                    .append("advisorId", advisorId)
-                    .append("advisorName", firstName + " " + lastName)
-                    .append("advisorTaxId", String.valueOf(ThreadLocalRandom.current().nextInt(10000000, 99999999)))
-                    .append("finInstId", registry.randomFinInstId())
-                    .append("lastName", lastName)
-                    .append("firstName", firstName)
-                    .append("middleName", "")
-                    .append("state", randomChoice(STATES))
-                    .append("city", randomChoice(CITIES))
-                    .append("zipCode", randomZip())
-                    .append("country", "USA")
-                    .append("businessPhone", randomPhone())
-                    .append("bookRoles", randomSubList(BOOK_ROLES, 1, 2))
-                    .append("bookType", randomChoice("WRI", "ADV", "HO"))
-                    .append("marketValue", randomMarketValue())
-                    .append("noOfAccts", ThreadLocalRandom.current().nextLong(1, 20))
-                    .append("noOfViewableAccts", ThreadLocalRandom.current().nextLong(1, 20))
-                    .append("viewableMarketValue", randomMarketValue())
-                    .append("status", weightedChoice("Active", 0.9, "Inactive"))
-                    .append("isPrimary", ThreadLocalRandom.current().nextBoolean())
-                    .append("email", randomEmail(firstName, lastName)));
+    private void writeEmbeddedAdvisors(DocumentWriter w, RandomGenerator rnd, int count) {
+        w.startArray();
+        for (String advisorId : pickAdvisorIds(rnd, count)) {
+            String firstName = randomChoice(rnd, FIRST_NAMES);
+            String lastName = randomChoice(rnd, LAST_NAMES);
+            w.startDocument();
+            w.string("advisorId", advisorId);
+            w.string("advisorName", firstName + " " + lastName);
+            w.string("advisorTaxId", String.valueOf(rnd.nextInt(10000000, 99999999)));
+            w.int64("finInstId", registry.randomFinInstId(rnd));
+            w.string("lastName", lastName);
+            w.string("firstName", firstName);
+            w.string("middleName", "");
+            w.string("state", randomChoice(rnd, STATES));
+            w.string("city", randomChoice(rnd, CITIES));
+            w.string("zipCode", randomZip(rnd));
+            w.string("country", "USA");
+            w.string("businessPhone", randomPhone(rnd));
+            w.name("bookRoles");
+            writeRandomSubList(w, rnd, BOOK_ROLES, 1, 2);
+            w.string("bookType", randomChoice(rnd, "WRI", "ADV", "HO"));
+            w.float64("marketValue", randomMarketValue(rnd));
+            w.int64("noOfAccts", rnd.nextLong(1, 20));
+            w.int64("noOfViewableAccts", rnd.nextLong(1, 20));
+            w.float64("viewableMarketValue", randomMarketValue(rnd));
+            w.string("status", weightedChoice(rnd, "Active", 0.9, "Inactive"));
+            w.bool("isPrimary", rnd.nextBoolean());
+            w.string("email", randomEmail(firstName, lastName));
+            w.endDocument();
         }
-        return advisors;
+        w.endArray();
     }
 
-    private Document buildEmbeddedAdvisorForGroup() {
-        String advisorId = registry.randomAdvisorId();
-        int investorCount = ThreadLocalRandom.current().nextInt(1, 6);
-        List<Document> investors = new ArrayList<>();
-        List<String> investorIdList = registry.getInvestorIds().isEmpty() ?
-                List.of("placeholder") : registry.randomInvestorIds(Math.min(investorCount, registry.getInvestorIds().size()));
+    private void writeEmbeddedAdvisorForGroup(DocumentWriter w, RandomGenerator rnd) {
+        String advisorId = pickAdvisorId(rnd);
+        int investorCount = fanOut.investorsPerGroupAdvisor().sample(rnd);
+        List<String> investorIdList = registry.investorIdCount() == 0 ?
+                List.of("placeholder") : registry.randomInvestorIds(rnd, investorCount);
+
+        String firstName = randomChoice(rnd, FIRST_NAMES);
+        String lastName = randomChoice(rnd, LAST_NAMES);
+        w.startDocument();
+        w.string("advisorId", advisorId);
+        w.string("advisorTaxId", String.valueOf(rnd.nextInt(10000000, 99999999)));
+        w.int64("finInstId", registry.randomFinInstId(rnd));
+        w.string("firstName", firstName);
+        w.string("middleName", "");
+        w.string("lastName", lastName);
+        w.string("advisorName", firstName + " " + lastName);
+        w.name("bookRoles");
+        writeRandomSubList(w, rnd, BOOK_ROLES, 1, 2);
+        w.string("bookType", randomChoice(rnd, "WRI", "ADV"));
+        w.float64("totalViewableAccountsMarketValue", randomMarketValue(rnd));
+        w.int32("totalViewableAccountCount", rnd.nextInt(1, 20));
+        w.startArray("investors");
         for (String invId : investorIdList) {
-            investors.add(new Document("investorId", invId));
+            w.startDocument();
+            w.string("investorId", invId);
+            w.endDocument();
         }
+        w.endArray();
+        w.int64("noOfViewableAccts", rnd.nextLong(1, 20));
+        w.float64("viewableMarketValue", randomMarketValue(rnd));
+        w.string("status", weightedChoice(rnd, "Active", 0.9, "Inactive"));
+        w.endDocument();
+    }
 
-        String firstName = randomChoice(FIRST_NAMES);
-        String lastName = randomChoice(LAST_NAMES);
-        return new Document()
-                .append("advisorId", advisorId)
-                .append("advisorTaxId", String.valueOf(ThreadLocalRandom.current().nextInt(10000000, 99999999)))
-                .append("finInstId", registry.randomFinInstId())
-                .append("firstName", firstName)
-                .append("middleName", "")
-                .append("lastName", lastName)
-                .append("advisorName", firstName + " " + lastName)
-                .append("bookRoles", randomSubList(BOOK_ROLES, 1, 2))
-                .append("bookType", randomChoice("WRI", "ADV"))
-                .append("totalViewableAccountsMarketValue", randomMarketValue())
-                .append("totalViewableAccountCount", ThreadLocalRandom.current().nextInt(1, 20))
-                .append("investors", investors)
-                .append("noOfViewableAccts", ThreadLocalRandom.current().nextLong(1, 20))
-                .append("viewableMarketValue", randomMarketValue())
-                .append("status", weightedChoice("Active", 0.9, "Inactive"));
-    }
-
-    private Document buildEntitlements() {
-        int partyCount = ThreadLocalRandom.current().nextInt(1, 5);
-        List<Long> partyRoleIds = new ArrayList<>();
+    private void writeEntitlements(DocumentWriter w, RandomGenerator rnd, boolean withInvestorEntitlements) {
+        int partyCount = rnd.nextInt(1, 5);
+        int ctxCount = rnd.nextInt(1, 4);
+        w.startDocument();
+        w.startArray("pxPartyRoleIdList");
         for (int i = 0; i < partyCount; i++) {
-            partyRoleIds.add(registry.randomPartyRoleId());
+            w.int64(registry.randomPartyRoleId(rnd));
         }
-        int ctxCount = ThreadLocalRandom.current().nextInt(1, 4);
-        List<String> contexts = new ArrayList<>();
+        w.endArray();
+        w.startArray("advisoryContext");
         for (int i = 0; i < ctxCount; i++) {
-            contexts.add(registry.randomAdvisoryContextId());
+            w.string(registry.randomAdvisoryContextId(rnd));
         }
-        long finInstId = registry.randomFinInstId();
-        return new Document()
-                .append("pxPartyRoleIdList", partyRoleIds)
-                .append("advisoryContext", contexts)
-                .append("pxClient", new Document()
-                        .append("pxClientId", String.valueOf(finInstId))
-                        .append("pxClientName", randomChoice(COMPANY_NAMES))
-                        .append("Id", String.valueOf(finInstId))
-                        .append("dataOwnerPartyRoleId", finInstId));
-    }
-
-    private Document buildAccountEntitlements() {
-        Document base = buildEntitlements();
-        int invCount = ThreadLocalRandom.current().nextInt(1, 4);
-        List<Document> investorEntitlements = new ArrayList<>();
-        for (int i = 0; i < invCount; i++) {
-            investorEntitlements.add(new Document()
-                    .append("partyRoleId", ThreadLocalRandom.current().nextLong(1, 100_000_000))
-                    .append("accountRole", randomChoice("View Only", "Full Access"))
-                    .append("accountSource", randomChoice("ABC", "BCD", "XYZ"))
-                    .append("accountAccessStatus", "Approved")
-                    .append("investorId", registry.getInvestorIds().isEmpty() ?
-                            "placeholder" : registry.randomInvestorId())
-                    .append("accountRoleCode", randomChoice("XYZ", "ABCD")));
+        w.endArray();
+        long finInstId = registry.randomFinInstId(rnd);
+        w.startDocument("pxClient");
+        w.string("pxClientId", String.valueOf(finInstId));
+        w.string("pxClientName", randomChoice(rnd, COMPANY_NAMES));
+        w.string("Id", String.valueOf(finInstId));
+        w.int64("dataOwnerPartyRoleId", finInstId);
+        w.endDocument();
+        if (withInvestorEntitlements) {
+            int invCount = rnd.nextInt(1, 4);
+            w.startArray("pxInvestorEntitlements");
+            for (int i = 0; i < invCount; i++) {
+                w.startDocument();
+                w.int64("partyRoleId", rnd.nextLong(1, 100_000_000));
+                w.string("accountRole", randomChoice(rnd, "View Only", "Full Access"));
+                w.string("accountSource", randomChoice(rnd, "ABC", "BCD", "XYZ"));
+                w.string("accountAccessStatus", "Approved");
+                w.string("investorId", registry.investorIdCount() == 0 ?
+                        "placeholder" : registry.randomInvestorId(rnd));
+                w.string("accountRoleCode", randomChoice(rnd, "XYZ", "ABCD"));
+                w.endDocument();
+            }
+            w.endArray();
         }
-        base.append("pxInvestorEntitlements", investorEntitlements);
-        return base;
+        w.endDocument();
     }
 
-    private List<Document> buildAdvisorHierarchy() {
-        return List.of(
-                new Document("partyNodePathNm", "Firm")
-                        .append("partyNodePathValue", registry.randomHierarchyPathValue()),
-                new Document("partyNodePathNm", "Region")
-                        .append("partyNodePathValue", registry.randomHierarchyPathValue()),
-                new Document("partyNodePathNm", "IPPersonTeam")
-                        .append("partyNodePathValue", registry.randomHierarchyPathValue())
-        );
+    private void writeAdvisorHierarchy(DocumentWriter w, RandomGenerator rnd) {
+        w.startArray();
+        for (String level : new String[]{"Firm", "Region", "IPPersonTeam"}) {
+            w.startDocument();
+            w.string("partyNodePathNm", level);
+            w.string("partyNodePathValue", registry.randomHierarchyPathValue(rnd));
+            w.endDocument();
+        }
+        w.endArray();
     }
 
-    private List<Document> buildAdvisorHierarchyShort() {
-        return List.of(
-                new Document("partyNodePathValue", registry.randomHierarchyPathValue()),
-                new Document("partyNodePathValue", registry.randomHierarchyPathValue()),
-                new Document("partyNodePathValue", registry.randomHierarchyPathValue())
-        );
+    private void writeAdvisorHierarchyShort(DocumentWriter w, RandomGenerator rnd) {
+        w.startArray();
+        for (int i = 0; i < 3; i++) {
+            w.startDocument();
+            w.string("partyNodePathValue", registry.randomHierarchyPathValue(rnd));
+            w.endDocument();
+        }
+        w.endArray();
     }
 
-    private List<Document> buildHoldings(int count) {
-        List<Document> holdings = new ArrayList<>();
+    private void writeHoldings(DocumentWriter w, RandomGenerator rnd, int count) {
+        w.startArray();
         for (int i = 0; i < count; i++) {
-            holdings.add(new Document()
-                    .append("fundId", String.valueOf(1000 + i))
-                    .append("fundName", "CAPITAL " + randomChoice(BUZZWORDS))
-                    .append("fundTicker", registry.randomFundTicker())
-                    .append("mgtName", randomChoice(COMPANY_NAMES))
-                    .append("dividendRate", Math.round(ThreadLocalRandom.current().nextDouble(0, 5) * 10000.0) / 10000.0));
+            w.startDocument();
+            w.string("fundId", String.valueOf(1000 + i));
+            w.string("fundName", "CAPITAL " + randomChoice(rnd, BUZZWORDS));
+            w.string("fundTicker", registry.randomFundTicker(rnd));
+            w.string("mgtName", randomChoice(rnd, COMPANY_NAMES));
+            w.float64("dividendRate", Math.round(rnd.nextDouble(0, 5) * 10000.0) / 10000.0);
+            w.endDocument();
         }
-        return holdings;
+        w.endArray();
     }
 
-    private Document buildRepCode() {
-        return new Document()
-                .append("advisorRepNumber", String.valueOf(ThreadLocalRandom.current().nextInt(100000, 999999)))
-                .append("intType", ThreadLocalRandom.current().nextInt(1, 20))
-                .append("repcodeSource", randomChoice("xyz", "abc"));
+    private static void writeRepCode(DocumentWriter w, RandomGenerator rnd) {
+        w.startDocument();
+        w.string("advisorRepNumber", String.valueOf(rnd.nextInt(100000, 999999)));
+        w.int32("intType", rnd.nextInt(1, 20));
+        w.string("repcodeSource", randomChoice(rnd, "xyz", "abc"));
+        w.endDocument();
     }
 
-    private List<Document> buildSynonyms() {
-        return List.of(
-                new Document("partySynonymTypeCd", "TID").append("partySynonymStr",
-                        String.valueOf(ThreadLocalRandom.current().nextInt(100000, 999999))),
-                new Document("partySynonymTypeCd", "XID").append("partySynonymStr",
-                        UUID.randomUUID().toString()),
-                new Document("partySynonymTypeCd", "WID").append("partySynonymStr",
-                        String.valueOf(1_000_000_000_000L + ThreadLocalRandom.current().nextInt(0, 1_000_000))),
-                new Document("partySynonymTypeCd", "SID").append("partySynonymStr",
-                        String.valueOf(ThreadLocalRandom.current().nextInt(100000000, 999999999)))
-        );
+    private static void writeSynonyms(DocumentWriter w, RandomGenerator rnd) {
+        w.startArray();
+        writeSynonym(w, "TID", String.valueOf(rnd.nextInt(100000, 999999)));
+        writeSynonym(w, "XID", new UUID(rnd.nextLong(), rnd.nextLong()).toString());
+        writeSynonym(w, "WID", String.valueOf(1_000_000_000_000L + rnd.nextInt(0, 1_000_000)));
+        writeSynonym(w, "SID", String.valueOf(rnd.nextInt(100000000, 999999999)));
+        w.endArray();
     }
 
-    private static double randomMarketValue() {
-        return Math.round(ThreadLocalRandom.current().nextDouble(1000, 50_000_000) * 100.0) / 100.0;
+    private static void writeSynonym(DocumentWriter w, String typeCd, String value) {
+        w.startDocument();
+        w.string("partySynonymTypeCd", typeCd);
+        w.string("partySynonymStr", value);
+        w.endDocument();
     }
 
-    private static Date randomDate(int yearFrom, int yearTo) {
+    private static void writeRandomSubList(DocumentWriter w, RandomGenerator rnd, String[] options, int min, int max) {
+        w.startArray();
+        for (String value : randomSubList(rnd, options, min, max)) {
+            w.string(value);
+        }
+        w.endArray();
+    }
+
+    private static double randomMarketValue(RandomGenerator rnd) {
+        return Math.round(rnd.nextDouble(1000, 50_000_000) * 100.0) / 100.0;
+    }
+
+    private static long randomDate(RandomGenerator rnd, int yearFrom, int yearTo) {
         long minEpoch = Instant.parse(yearFrom + "-01-01T00:00:00Z").toEpochMilli();
         long maxEpoch = Instant.parse(yearTo + "-01-01T00:00:00Z").toEpochMilli();
-        long randomEpoch = ThreadLocalRandom.current().nextLong(minEpoch, maxEpoch);
-        return Date.from(Instant.ofEpochMilli(randomEpoch));
+        return rnd.nextLong(minEpoch, maxEpoch);
     }
 
-    private static String randomZip() {
-        return String.format("%05d", ThreadLocalRandom.current().nextInt(10000, 99999));
+    private static String randomZip(RandomGenerator rnd) {
+        return String.format("%05d", rnd.nextInt(10000, 99999));
     }
 
-    private static String randomPhone() {
+    private static String randomPhone(RandomGenerator rnd) {
         return String.format("(%03d) %03d-%04d",
-                ThreadLocalRandom.current().nextInt(200, 999),
-                ThreadLocalRandom.current().nextInt(200, 999),
-                ThreadLocalRandom.current().nextInt(1000, 9999));
+                rnd.nextInt(200, 999),
+                rnd.nextInt(200, 999),
+                rnd.nextInt(1000, 9999));
     }
 
     private static String randomEmail(String firstName, String lastName) {
@@ -436,18 +625,36 @@ public class TestDataGenerator {
     }
 
     @SafeVarargs
-    private static <T> T randomChoice(T... options) {
-        return options[ThreadLocalRandom.current().nextInt(options.length)];
+    private static <T> T randomChoice(RandomGenerator rnd, T... options) {
+        return options[rnd.nextInt(options.length)];
+    }
+
+    private static String weightedChoice(RandomGenerator rnd, String primary, double weight, String secondary) {
+        return rnd.nextDouble() < weight ? primary : secondary;
+    }
+
+    private static List<String> randomSubList(RandomGenerator rnd, String[] options, int min, int max) {
+        int count = Math.min(rnd.nextInt(min, max + 1), options.length);
+        String[] shuffled = options.clone();
+        // Partial Fisher-Yates: only the first count positions need to be drawn
+        for (int i = 0; i < count; i++) {
+            int j = rnd.nextInt(i, shuffled.length);
+            String tmp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tmp;
+        }
+        return Arrays.asList(shuffled).subList(0, count);
     }
 
-    private static String weightedChoice(String primary, double weight, String secondary) {
-        return ThreadLocalRandom.current().nextDouble() < weight ? primary : secondary;
+    // Derived from the seed rather than the clock, so a resumed load regenerates identical batches
+    static String etlUpdateTs(long seed) {
+        return ETL_EPOCH.plusSeconds(Math.floorMod(mix(seed), SECONDS_PER_YEAR)).toString();
     }
 
-    private static List<String> randomSubList(String[] options, int min, int max) {
-        int count = ThreadLocalRandom.current().nextInt(min, max + 1);
-        List<String> shuffled = new ArrayList<>(Arrays.asList(options));
-        Collections.shuffle(shuffled, ThreadLocalRandom.current());
-        return shuffled.subList(0, Math.min(count, shuffled.size()));
+    private static long mix(long z) {
+        // SplitMix64 finalizer
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
     }
 }
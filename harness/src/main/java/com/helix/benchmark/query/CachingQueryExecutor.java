@@ -0,0 +1,33 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+
+import java.util.Map;
+
+/**
+ * {@link QueryExecutor} decorator that serves repeated (query, parameters) pairs on one target
+ * from a {@link QueryResultCache}, so a benchmark measures the effective latency an
+ * application with a result cache sees. Several targets may share one cache.
+ */
+public class CachingQueryExecutor implements QueryExecutor {
+    private final QueryExecutor delegate;
+    private final DatabaseTarget target;
+    private final QueryResultCache cache;
+
+    public CachingQueryExecutor(QueryExecutor delegate, DatabaseTarget target, QueryResultCache cache) {
+        this.delegate = delegate;
+        this.target = target;
+        this.cache = cache;
+    }
+
+    @Override
+    public long execute(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
+        return cache.get(new QueryResultCache.Key(query, target, model, params),
+                () -> delegate.execute(query, model, params));
+    }
+
+    public QueryResultCache cache() {
+        return cache;
+    }
+}
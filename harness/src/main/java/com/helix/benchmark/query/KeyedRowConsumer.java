@@ -0,0 +1,12 @@
+package com.helix.benchmark.query;
+
+/**
+ * Consumes the rows of a batched multi-key query, each tagged with the requested key it
+ * belongs to. A row matching several keys is passed once per key, as it would be by one
+ * query per key. Like {@link RowConsumer}, rows are only valid during the call.
+ */
+@FunctionalInterface
+public interface KeyedRowConsumer<R> {
+
+    void accept(String key, R row) throws Exception;
+}
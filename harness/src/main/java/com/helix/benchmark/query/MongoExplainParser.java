@@ -0,0 +1,87 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.benchmark.ExplainStage;
+import org.bson.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns the output of {@code explain("executionStats")} into an {@link ExplainStage} tree. Finds
+ * and pushed-down pipelines report one {@code executionStats.executionStages} tree; other
+ * aggregations report a {@code stages} list in which each stage feeds the next and the first,
+ * {@code $cursor}, wraps the query's execution stages.
+ */
+public final class MongoExplainParser {
+
+    // Child links used by classic (inputStage/inputStages) and SBE (outerStage/innerStage) plans
+    private static final List<String> CHILD_FIELDS = List.of("inputStage", "outerStage", "innerStage",
+            "thenStage", "elseStage");
+
+    private MongoExplainParser() {
+    }
+
+    /** Returns the root stage, or null when the explain carries no execution statistics. */
+    public static ExplainStage parse(Document explain) {
+        if (explain.get("stages") instanceof List<?> stages && !stages.isEmpty()) {
+            return parsePipeline(stages);
+        }
+        if (explain.get("executionStats") instanceof Document executionStats
+                && executionStats.get("executionStages") instanceof Document root) {
+            return parseStage(root);
+        }
+        return null;
+    }
+
+    private static ExplainStage parsePipeline(List<?> stages) {
+        ExplainStage input = null;
+        for (Object item : stages) {
+            if (!(item instanceof Document stage)) continue;
+            String name = stage.keySet().stream().filter(k -> k.startsWith("$")).findFirst().orElse("?");
+            List<ExplainStage> inputs = new ArrayList<>();
+            if (input != null) {
+                inputs.add(input);
+            }
+            String detail = null;
+            if ("$cursor".equals(name) && stage.get(name) instanceof Document cursor) {
+                ExplainStage query = parse(cursor);
+                if (query != null) inputs.add(query);
+            } else if (stage.get(name) instanceof Document argument) {
+                detail = argument.toJson();
+            }
+            input = new ExplainStage(name, detail, counter(stage, "nReturned"),
+                    ExplainStage.NOT_REPORTED, ExplainStage.NOT_REPORTED, executionTime(stage), inputs);
+        }
+        return input;
+    }
+
+    private static ExplainStage parseStage(Document stage) {
+        List<ExplainStage> inputs = new ArrayList<>();
+        for (String field : CHILD_FIELDS) {
+            if (stage.get(field) instanceof Document child) {
+                inputs.add(parseStage(child));
+            }
+        }
+        if (stage.get("inputStages") instanceof List<?> children) {
+            for (Object child : children) {
+                if (child instanceof Document doc) inputs.add(parseStage(doc));
+            }
+        }
+        return new ExplainStage(text(stage, "stage"), text(stage, "indexName"),
+                counter(stage, "nReturned"), counter(stage, "keysExamined"), counter(stage, "docsExamined"),
+                executionTime(stage), inputs);
+    }
+
+    private static long executionTime(Document stage) {
+        long estimate = counter(stage, "executionTimeMillisEstimate");
+        return estimate != ExplainStage.NOT_REPORTED ? estimate : counter(stage, "executionTimeMillis");
+    }
+
+    private static String text(Document doc, String key) {
+        return doc.get(key) instanceof String s ? s : null;
+    }
+
+    private static long counter(Document doc, String key) {
+        return doc.get(key) instanceof Number n ? n.longValue() : ExplainStage.NOT_REPORTED;
+    }
+}
@@ -1,12 +1,19 @@
 package com.helix.benchmark.query;
 
+import com.helix.benchmark.benchmark.ExplainStage;
 import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
 import com.helix.benchmark.config.DatabaseTarget;
 import com.helix.benchmark.config.SchemaModel;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.MongoIterable;
 import com.mongodb.client.model.*;
 import org.bson.BsonDocument;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.bson.json.JsonWriterSettings;
@@ -14,8 +21,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public class MongoQueryExecutor {
@@ -25,6 +36,20 @@ public class MongoQueryExecutor {
     private static final JsonWriterSettings PRETTY_JSON = JsonWriterSettings.builder()
             .indent(true).build();
 
+    /** Investors returned per advisor by Q1, single or batched. */
+    public static final int ROWS_PER_KEY = 50;
+
+    private final boolean planHints;
+
+    public MongoQueryExecutor() {
+        this(true);
+    }
+
+    /** With {@code planHints} off the planner picks indexes unaided, as index experiments need. */
+    public MongoQueryExecutor(boolean planHints) {
+        this.planHints = planHints;
+    }
+
     public String getCollectionName(QueryDefinition query, SchemaModel model, DatabaseTarget target) {
         if (target == DatabaseTarget.ORACLE_MONGO_API_DV) {
             return switch (query.embeddedCollection()) {
@@ -68,30 +93,63 @@ public class MongoQueryExecutor {
         return buildFindFilter(query, model, params, DatabaseTarget.MONGO_NATIVE);
     }
 
+    /**
+     * Runs the pipeline and returns the number of result documents. Each document is decoded as
+     * the cursor reads it, matching the JDBC targets that read every row's JSON text, but none
+     * is kept, so the result list is never held.
+     */
     public long executeAggregation(MongoCollection<Document> collection, QueryDefinition query,
                                     SchemaModel model, Map<String, Object> params, DatabaseTarget target) {
+        return executeAggregation(collection, query, model, params, target, row -> { });
+    }
+
+    /** Runs the pipeline, passing each result document to {@code consumer} as the cursor reads it. */
+    public <T> long executeAggregation(MongoCollection<T> collection, QueryDefinition query, SchemaModel model,
+                                       Map<String, Object> params, DatabaseTarget target,
+                                       RowConsumer<? super T> consumer) {
         List<Bson> pipeline = buildAggregationPipeline(query, model, params, target);
         var agg = collection.aggregate(pipeline);
         Bson hint = getAggregationHint(query, target);
         if (hint != null) {
             agg = agg.hint(hint);
         }
-        List<Document> results = agg.into(new ArrayList<>());
-        return results.size();
+        return stream(agg, consumer);
+    }
+
+    /** Iterates a cursor, handing every document to {@code consumer}; returns the document count. */
+    public static <T> long stream(MongoIterable<T> results, RowConsumer<? super T> consumer) {
+        long count = 0;
+        try (MongoCursor<T> cursor = results.iterator()) {
+            while (cursor.hasNext()) {
+                consumer.accept(cursor.next());
+                count++;
+            }
+        } catch (Exception e) {
+            throw e instanceof RuntimeException re ? re
+                    : new IllegalStateException("Result consumer failed: " + e.getMessage(), e);
+        }
+        return count;
     }
 
     private Bson getAggregationHint(QueryDefinition query, DatabaseTarget target) {
-        if (target != DatabaseTarget.ORACLE_MONGO_API) return null;
+        if (!planHints || target != DatabaseTarget.ORACLE_MONGO_API) return null;
         // Oracle optimizer picks investorType+viewableSource index by default;
         // the advisorId compound index is far more selective for Q1-Q4
         return new Document("advisors.advisorId", 1).append("advisors.noOfViewableAccts", 1);
     }
 
+    /** Runs the find and returns the number of matches, each decoded as it is read but not kept. */
     public long executeFind(MongoCollection<Document> collection, QueryDefinition query,
                              SchemaModel model, Map<String, Object> params, DatabaseTarget target) {
+        return executeFind(collection, query, model, params, target, row -> { });
+    }
+
+    /** Runs the find, passing each matching document to {@code consumer} as the cursor reads it. */
+    public <T> long executeFind(MongoCollection<T> collection, QueryDefinition query, SchemaModel model,
+                                Map<String, Object> params, DatabaseTarget target,
+                                RowConsumer<? super T> consumer) {
         Bson filter = buildFindFilter(query, model, params, target);
-        List<Document> results = collection.find(filter).into(new ArrayList<>());
-        return results.size();
+        return stream(collection.find(filter), consumer);
     }
 
     /** @deprecated Use {@link #executeFind(MongoCollection, QueryDefinition, SchemaModel, Map, DatabaseTarget)} */
@@ -356,6 +414,147 @@ public class MongoQueryExecutor {
         );
     }
 
+    // =============================================
+    // Batched multi-key queries (Q1, Q7, Q8)
+    // One $in query for many values of QueryDefinition.batchKey(); the
+    // other parameters are shared, results are split by key client-side
+    // =============================================
+
+    public List<Bson> buildBatchAggregationPipeline(QueryDefinition query, Map<String, Object> params,
+                                                    List<String> keys, DatabaseTarget target) {
+        if (query != QueryDefinition.Q1) {
+            throw new IllegalArgumentException(query + " has no batched aggregation");
+        }
+        List<Bson> pipeline = new ArrayList<>();
+        pipeline.add(Aggregates.match(Filters.and(
+                Filters.elemMatch("advisors",
+                        Filters.and(Filters.in("advisorId", keys), Filters.gte("noOfViewableAccts", 1))),
+                Filters.eq("investorType", "Client"),
+                Filters.eq("viewableSource", "Y")
+        )));
+        pipeline.add(new Document("$addFields", new Document("advisors",
+                new Document("$filter", new Document("input", "$advisors")
+                        .append("as", "a")
+                        .append("cond", new Document("$and", List.of(
+                                new Document("$in", List.of("$$a.advisorId", keys)),
+                                new Document("$gte", List.of("$$a.noOfViewableAccts", 1))
+                        )))))));
+        pipeline.add(Aggregates.unwind("$advisors"));
+        pipeline.add(Aggregates.match(Filters.and(
+                Filters.in("advisors.advisorId", keys),
+                Filters.gte("advisors.noOfViewableAccts", 1)
+        )));
+        pipeline.add(Aggregates.project(buildEmbeddedInvestorProjection()));
+        if (target == DatabaseTarget.MONGO_NATIVE) {
+            // Count and rank within each advisor, so only every advisor's top rows leave the server
+            pipeline.add(new Document("$setWindowFields", new Document("partitionBy", "$advisorId")
+                    .append("sortBy", new Document("viewableMarketValue", -1))
+                    .append("output", new Document("totalCount", new Document("$count", new Document()))
+                            .append("batchRank", new Document("$documentNumber", new Document())))));
+            pipeline.add(Aggregates.match(Filters.lte("batchRank", ROWS_PER_KEY)));
+        }
+        pipeline.add(Aggregates.sort(Sorts.orderBy(
+                Sorts.ascending("advisorId"), Sorts.descending("viewableMarketValue"))));
+        return pipeline;
+    }
+
+    public Bson buildBatchFindFilter(QueryDefinition query, Map<String, Object> params,
+                                     List<String> keys, DatabaseTarget target) {
+        boolean isDvMongo = target == DatabaseTarget.ORACLE_MONGO_API_DV;
+        return switch (query) {
+            case Q7 -> buildQ7BatchFilter(params, keys, isDvMongo);
+            case Q8 -> buildQ8BatchFilter(params, keys, isDvMongo);
+            default -> throw new IllegalArgumentException(query + " has no batched find");
+        };
+    }
+
+    private Bson buildQ7BatchFilter(Map<String, Object> params, List<String> fundTickers, boolean isDv) {
+        Long pxPartyRoleId = ((Number) params.get("pxPartyRoleId")).longValue();
+
+        return Filters.and(
+                isDv ? Filters.elemMatch("partyRoleIds", Filters.eq("partyRoleId", pxPartyRoleId))
+                     : Filters.eq("entitlements.pxPartyRoleIdList", pxPartyRoleId),
+                Filters.eq("viewableSource", "Y"),
+                isDv ? Filters.elemMatch("holdings", Filters.in("fundTicker", fundTickers))
+                     : Filters.in("holdings.fundTicker", fundTickers)
+        );
+    }
+
+    private Bson buildQ8BatchFilter(Map<String, Object> params, List<String> pathValues, boolean isDv) {
+        Long dataOwnerPartyRoleId = ((Number) params.get("dataOwnerPartyRoleId")).longValue();
+
+        return Filters.and(
+                Filters.eq(isDv ? "entDataOwnerPartyRoleId" : "entitlements.pxClient.dataOwnerPartyRoleId",
+                        dataOwnerPartyRoleId),
+                isDv ? Filters.elemMatch("advisorHierarchy", Filters.in("partyNodePathValue", pathValues))
+                     : Filters.in("advisorHierarchy.partyNodePathValue", pathValues)
+        );
+    }
+
+    /** Runs a batched query and returns the row count of every key, in the order of {@code keys}. */
+    public Map<String, Long> executeBatch(MongoCollection<Document> collection, QueryDefinition query,
+                                          SchemaModel model, Map<String, Object> params, List<String> keys,
+                                          DatabaseTarget target) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        keys.forEach(key -> counts.put(key, 0L));
+        executeBatch(collection.withDocumentClass(RawBsonDocument.class), query, model, params, keys, target,
+                (key, row) -> counts.merge(key, 1L, Long::sum));
+        return counts;
+    }
+
+    /**
+     * Runs one query for all {@code keys} and splits the streamed results by key: Q1 rows by
+     * their advisor (at most {@link #ROWS_PER_KEY} each), Q7 and Q8 documents by every
+     * requested fund ticker or hierarchy value they hold. Returns the number of (key, row) pairs.
+     */
+    public long executeBatch(MongoCollection<RawBsonDocument> collection, QueryDefinition query, SchemaModel model,
+                             Map<String, Object> params, List<String> keys, DatabaseTarget target,
+                             KeyedRowConsumer<? super RawBsonDocument> consumer) {
+        MongoIterable<RawBsonDocument> results;
+        if (query.isAggregation()) {
+            var agg = collection.aggregate(buildBatchAggregationPipeline(query, params, keys, target));
+            Bson hint = getAggregationHint(query, target);
+            if (hint != null) {
+                agg = agg.hint(hint);
+            }
+            results = agg;
+        } else {
+            results = collection.find(buildBatchFindFilter(query, params, keys, target));
+        }
+        Set<String> wanted = new HashSet<>(keys);
+        Map<String, Integer> perKey = new HashMap<>();
+        long[] pairs = new long[1];
+        stream(results, doc -> {
+            for (String key : batchKeysOf(query, doc, wanted)) {
+                // Targets without window stages return every row; keep each advisor's top rows
+                if (query == QueryDefinition.Q1 && perKey.merge(key, 1, Integer::sum) > ROWS_PER_KEY) continue;
+                consumer.accept(key, doc);
+                pairs[0]++;
+            }
+        });
+        return pairs[0];
+    }
+
+    // The requested keys a batched result document belongs to
+    static List<String> batchKeysOf(QueryDefinition query, BsonDocument doc, Set<String> wanted) {
+        if (query == QueryDefinition.Q1) {
+            BsonValue advisorId = doc.get("advisorId");
+            return advisorId != null && advisorId.isString() && wanted.contains(advisorId.asString().getValue())
+                    ? List.of(advisorId.asString().getValue()) : List.of();
+        }
+        BsonValue array = doc.get(query == QueryDefinition.Q7 ? "holdings" : "advisorHierarchy");
+        if (array == null || !array.isArray()) return List.of();
+        List<String> keys = new ArrayList<>(1);
+        for (BsonValue element : array.asArray()) {
+            BsonValue value = element.isDocument() ? element.asDocument().get(query.batchKey()) : null;
+            if (value != null && value.isString() && wanted.contains(value.asString().getValue())
+                    && !keys.contains(value.asString().getValue())) {
+                keys.add(value.asString().getValue());
+            }
+        }
+        return keys;
+    }
+
     // Post-unwind match to ensure only the target advisor row survives
     private Bson matchUnwoundAdvisor(String advisorId) {
         return Aggregates.match(Filters.and(
@@ -403,6 +602,7 @@ public class MongoQueryExecutor {
                                            String configId) {
         String queryText;
         String explainPlan;
+        ExplainStage explainStages = null;
         CodecRegistry registry = collection.getCodecRegistry();
 
         try {
@@ -416,6 +616,7 @@ public class MongoQueryExecutor {
                     Document explainResult = agg
                             .explain(com.mongodb.ExplainVerbosity.EXECUTION_STATS);
                     explainPlan = explainResult.toJson(PRETTY_JSON);
+                    explainStages = MongoExplainParser.parse(explainResult);
                 } catch (Exception e) {
                     explainPlan = "Explain not supported: " + e.getMessage();
                 }
@@ -426,6 +627,7 @@ public class MongoQueryExecutor {
                     Document explainResult = collection.find(filter)
                             .explain(com.mongodb.ExplainVerbosity.EXECUTION_STATS);
                     explainPlan = explainResult.toJson(PRETTY_JSON);
+                    explainStages = MongoExplainParser.parse(explainResult);
                 } catch (Exception e) {
                     explainPlan = "Explain not supported: " + e.getMessage();
                 }
@@ -436,7 +638,35 @@ public class MongoQueryExecutor {
             explainPlan = "N/A";
         }
 
-        return new QueryDetail(query.queryName(), configId, queryText, explainPlan, null, null);
+        return new QueryDetail(query.queryName(), configId, queryText, explainPlan, null, null, explainStages);
+    }
+
+    /**
+     * Server-wide read counters from {@code serverStatus}: query executions (read operations
+     * minus getMores), read latency, documents returned and index keys and documents examined.
+     * Deltas are per query because the harness runs one query at a time. Returns null where the
+     * server lacks these sections, as the Oracle MongoDB API does.
+     */
+    public ServerStats captureServerStats(MongoDatabase database) {
+        try {
+            Document status = database.runCommand(new Document("serverStatus", 1));
+            Document reads = status.get("opLatencies", Document.class).get("reads", Document.class);
+            Document metrics = status.get("metrics", Document.class);
+            Document queryExecutor = metrics.get("queryExecutor", Document.class);
+            return ServerStats.mongo(
+                    counter(reads, "ops") - counter(status.get("opcounters", Document.class), "getmore"),
+                    counter(reads, "latency"),
+                    counter(metrics.get("document", Document.class), "returned"),
+                    counter(queryExecutor, "scanned"),
+                    counter(queryExecutor, "scannedObjects"));
+        } catch (Exception e) {
+            log.warn("Failed to read serverStatus counters: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static long counter(Document section, String key) {
+        return ((Number) section.get(key)).longValue();
     }
 
     public String serializePipeline(List<Bson> pipeline, CodecRegistry registry) {
@@ -0,0 +1,100 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+import com.helix.benchmark.connection.ConnectionManager;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Opens the targets reached through the MongoDB driver: native MongoDB and the Oracle MongoDB API. */
+public class MongoQueryTargetProvider implements QueryTargetProvider {
+
+    @Override
+    public boolean supports(DatabaseTarget target) {
+        return target.usesMongoDriver();
+    }
+
+    @Override
+    public QueryTarget open(DatabaseTarget target, QueryTarget.Context context) {
+        ConnectionManager connectionManager = context.connectionManager();
+        MongoClient client = MongoClients.create(connectionManager.getMongoConnectionString(target));
+        return new MongoTarget(target, client, client.getDatabase(connectionManager.getDatabaseName(target)),
+                context.planHints());
+    }
+
+    private record MongoTarget(DatabaseTarget target, MongoClient client, MongoDatabase database, boolean planHints)
+            implements QueryTarget {
+
+        @Override
+        public Session openSession() {
+            return new MongoSession(target, database, planHints);
+        }
+
+        @Override
+        public void close() {
+            client.close();
+        }
+    }
+
+    static final class MongoSession implements QueryTarget.Session {
+        private final MongoQueryExecutor executor;
+        private final DatabaseTarget target;
+        private final MongoDatabase database;
+        private final Map<String, MongoCollection<Document>> collections = new HashMap<>();
+
+        MongoSession(DatabaseTarget target, MongoDatabase database, boolean planHints) {
+            this.executor = new MongoQueryExecutor(planHints);
+            this.target = target;
+            this.database = database;
+        }
+
+        @Override
+        public void warm(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
+            collection(query, model);
+        }
+
+        @Override
+        public long execute(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
+            MongoCollection<Document> collection = collection(query, model);
+            return query.isAggregation()
+                    ? executor.executeAggregation(collection, query, model, params, target)
+                    : executor.executeFind(collection, query, model, params, target);
+        }
+
+        @Override
+        public Map<String, Long> executeBatch(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                              List<String> keys) {
+            return executor.executeBatch(collection(query, model), query, model, params, keys, target);
+        }
+
+        @Override
+        public QueryDetail captureQueryDetail(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                              String configId) {
+            return executor.captureQueryDetail(collection(query, model), query, model, params, target, configId);
+        }
+
+        @Override
+        public ServerStats serverStats(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
+            return executor.captureServerStats(database);
+        }
+
+        @Override
+        public void close() {
+            collections.clear();
+        }
+
+        private MongoCollection<Document> collection(QueryDefinition query, SchemaModel model) {
+            return collections.computeIfAbsent(executor.getCollectionName(query, model, target),
+                    database::getCollection);
+        }
+    }
+}
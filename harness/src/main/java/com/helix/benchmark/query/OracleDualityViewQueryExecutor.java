@@ -23,6 +23,17 @@ public class OracleDualityViewQueryExecutor extends OracleJdbcQueryExecutor {
         };
     }
 
+    @Override
+    public SqlQuery buildBatchSql(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                  List<String> keys) {
+        return switch (query) {
+            case Q1 -> buildDvQ1Batch(keys);
+            case Q7 -> buildDvQ7Batch(params, keys);
+            case Q8 -> buildDvQ8Batch(params, keys);
+            default -> throw new IllegalArgumentException(query + " has no batched form");
+        };
+    }
+
     private String tableName(QueryDefinition query) {
         return switch (query.embeddedCollection()) {
             case "bookRoleInvestor" -> "dv_book_role_investor";
@@ -35,6 +46,10 @@ public class OracleDualityViewQueryExecutor extends OracleJdbcQueryExecutor {
 
     // Common investor json_value columns for Q1-Q4
     private void appendInvestorColumns(StringBuilder sql) {
+        appendInvestorColumns(sql, false);
+    }
+
+    private void appendInvestorColumns(StringBuilder sql, boolean batched) {
         sql.append("  SELECT json_value(b.data, '$._id') AS \"_id\",\n");
         sql.append("         json_value(b.data, '$.partyRoleId' RETURNING NUMBER) AS \"partyRoleId\",\n");
         sql.append("         json_value(b.data, '$.partyId' RETURNING NUMBER) AS \"partyId\",\n");
@@ -53,12 +68,21 @@ public class OracleDualityViewQueryExecutor extends OracleJdbcQueryExecutor {
         sql.append("         jt.advisor_id AS \"advisorId\",\n");
         sql.append("         jt.viewable_mv AS \"viewableMarketValue\",\n");
         sql.append("         jt.viewable_accts AS \"noOfViewableAccts\",\n");
-        sql.append("         COUNT(*) OVER () AS \"totalCount\"\n");
+        appendCountColumns(sql, batched ? "jt.advisor_id" : null, "jt.viewable_mv");
     }
 
     // Common JSON_TABLE for advisors
     private void appendAdvisorJsonTable(StringBuilder sql, String table) {
-        sql.append("  FROM ").append(table).append(" b,\n");
+        appendAdvisorJsonTable(sql, table, false);
+    }
+
+    private void appendAdvisorJsonTable(StringBuilder sql, String table, boolean batched) {
+        sql.append("  FROM ");
+        if (batched) {
+            appendBatchKeys(sql);
+            sql.append(",\n       ");
+        }
+        sql.append(table).append(" b,\n");
         sql.append("       JSON_TABLE(b.data, '$.advisors[*]' COLUMNS (\n");
         sql.append("           advisor_id    VARCHAR2(30) PATH '$.advisorId',\n");
         sql.append("           viewable_mv   NUMBER       PATH '$.viewableMarketValue',\n");
@@ -288,4 +312,62 @@ public class OracleDualityViewQueryExecutor extends OracleJdbcQueryExecutor {
 
         return new SqlQuery(sql.toString(), p);
     }
+
+    // --- Batched multi-key queries (Q1, Q7, Q8) ---
+
+    private SqlQuery buildDvQ1Batch(List<String> advisorIds) {
+        String table = tableName(QueryDefinition.Q1);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        openBatchRanking(sql);
+        appendInvestorColumns(sql, true);
+        appendAdvisorJsonTable(sql, table, true);
+        p.add(batchKeysJson(advisorIds));
+        sql.append("  WHERE json_exists(b.data, '$.advisors[*]?(@.advisorId == $aid)' PASSING k.val AS \"aid\")\n");
+        sql.append("    AND json_value(b.data, '$.investorType') = 'Client'\n");
+        sql.append("    AND json_value(b.data, '$.viewableSource') = 'Y'\n");
+        sql.append("    AND jt.advisor_id = k.val\n");
+        sql.append("    AND jt.viewable_accts >= 1\n");
+        closeBatchRanking(sql);
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildDvQ7Batch(Map<String, Object> params, List<String> fundTickers) {
+        Long pxPartyRoleId = ((Number) params.get("pxPartyRoleId")).longValue();
+        String table = tableName(QueryDefinition.Q7);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT k.val AS \"batchKey\", json_serialize(a.data RETURNING CLOB PRETTY)\n");
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(fundTickers));
+        sql.append(",\n     ").append(table).append(" a\n");
+        sql.append("WHERE json_exists(a.data, '$.partyRoleIds[*]?(@.partyRoleId == $uid)' PASSING ? AS \"uid\")\n");
+        p.add(pxPartyRoleId);
+        sql.append("  AND json_value(a.data, '$.viewableSource') = 'Y'\n");
+        sql.append("  AND json_exists(a.data, '$.holdings[*]?(@.fundTicker == $ticker)' PASSING k.val AS \"ticker\")\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildDvQ8Batch(Map<String, Object> params, List<String> pathValues) {
+        Long dataOwnerPartyRoleId = ((Number) params.get("dataOwnerPartyRoleId")).longValue();
+        String table = tableName(QueryDefinition.Q8);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT k.val AS \"batchKey\", json_serialize(a.data RETURNING CLOB PRETTY)\n");
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(pathValues));
+        sql.append(",\n     ").append(table).append(" a\n");
+        sql.append("WHERE json_value(a.data, '$.entDataOwnerPartyRoleId' RETURNING NUMBER) = ?\n");
+        p.add(dataOwnerPartyRoleId);
+        sql.append("  AND json_exists(a.data, '$.advisorHierarchy[*]?(@.partyNodePathValue == $val)' PASSING k.val AS \"val\")\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
 }
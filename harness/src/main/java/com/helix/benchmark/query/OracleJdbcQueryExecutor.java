@@ -1,24 +1,39 @@
 package com.helix.benchmark.query;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
 import com.helix.benchmark.config.SchemaModel;
+import oracle.jdbc.OraclePreparedStatement;
+import oracle.jdbc.OracleRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
 
 public class OracleJdbcQueryExecutor {
 
     private static final Logger log = LoggerFactory.getLogger(OracleJdbcQueryExecutor.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     public record SqlQuery(String sql, List<Object> parameters) {}
 
+    /** One statement of a pipelined wave: rows read and nanoseconds from submit to the last row. */
+    public record PipelinedResult(long rows, long latencyNanos) {}
+
     public SqlQuery buildSql(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
         return switch (query) {
             case Q1 -> buildQ1Sql(params);
@@ -33,6 +48,23 @@ public class OracleJdbcQueryExecutor {
         };
     }
 
+    /**
+     * Builds one statement for many values of {@link QueryDefinition#batchKey()}; the other
+     * parameters are shared by every key. The keys are bound as a single JSON array expanded
+     * by JSON_TABLE, so the statement text, and its cursor, is the same for any batch size.
+     * The first column of every row is the key it belongs to, and Q1 keeps its top 50 rows
+     * per advisor.
+     */
+    public SqlQuery buildBatchSql(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                  List<String> keys) {
+        return switch (query) {
+            case Q1 -> buildQ1BatchSql(keys);
+            case Q7 -> buildQ7BatchSql(params, keys);
+            case Q8 -> buildQ8BatchSql(params, keys);
+            default -> throw new IllegalArgumentException(query + " has no batched form");
+        };
+    }
+
     private String tableName(QueryDefinition query) {
         return switch (query.embeddedCollection()) {
             case "bookRoleInvestor" -> "jdbc_book_role_investor";
@@ -45,6 +77,11 @@ public class OracleJdbcQueryExecutor {
 
     // Common investor columns for Q1-Q4 aggregation queries
     void appendJdbcInvestorColumns(StringBuilder sql) {
+        appendJdbcInvestorColumns(sql, false);
+    }
+
+    // Batched Q1 counts and ranks rows per advisor instead of over the whole result
+    void appendJdbcInvestorColumns(StringBuilder sql, boolean batched) {
         sql.append("  SELECT json_value(b.data, '$._id') AS \"_id\",\n");
         sql.append("         json_value(b.data, '$.partyRoleId' RETURNING NUMBER) AS \"partyRoleId\",\n");
         sql.append("         json_value(b.data, '$.partyId' RETURNING NUMBER) AS \"partyId\",\n");
@@ -63,11 +100,20 @@ public class OracleJdbcQueryExecutor {
         sql.append("         jt.advisor_id AS \"advisorId\",\n");
         sql.append("         jt.viewable_mv AS \"viewableMarketValue\",\n");
         sql.append("         jt.viewable_accts AS \"noOfViewableAccts\",\n");
-        sql.append("         COUNT(*) OVER () AS \"totalCount\"\n");
+        appendCountColumns(sql, batched ? "jt.advisor_id" : null, "jt.viewable_mv");
     }
 
     void appendJdbcAdvisorJsonTable(StringBuilder sql, String table) {
-        sql.append("  FROM ").append(table).append(" b,\n");
+        appendJdbcAdvisorJsonTable(sql, table, false);
+    }
+
+    void appendJdbcAdvisorJsonTable(StringBuilder sql, String table, boolean batched) {
+        sql.append("  FROM ");
+        if (batched) {
+            appendBatchKeys(sql);
+            sql.append(",\n       ");
+        }
+        sql.append(table).append(" b,\n");
         sql.append("       JSON_TABLE(b.data, '$.advisors[*]' COLUMNS (\n");
         sql.append("           advisor_id    VARCHAR2(30) PATH '$.advisorId',\n");
         sql.append("           viewable_mv   NUMBER       PATH '$.viewableMarketValue',\n");
@@ -298,6 +344,99 @@ public class OracleJdbcQueryExecutor {
         return new SqlQuery(sql.toString(), p);
     }
 
+    // --- Batched multi-key queries (Q1, Q7, Q8) ---
+
+    private SqlQuery buildQ1BatchSql(List<String> advisorIds) {
+        String table = tableName(QueryDefinition.Q1);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        openBatchRanking(sql);
+        appendJdbcInvestorColumns(sql, true);
+        appendJdbcAdvisorJsonTable(sql, table, true);
+        p.add(batchKeysJson(advisorIds));
+        sql.append("  WHERE json_exists(b.data, '$.advisors[*]?(@.advisorId == $aid)' PASSING k.val AS \"aid\")\n");
+        sql.append("    AND json_value(b.data, '$.investorType') = 'Client'\n");
+        sql.append("    AND json_value(b.data, '$.viewableSource') = 'Y'\n");
+        sql.append("    AND jt.advisor_id = k.val\n");
+        sql.append("    AND jt.viewable_accts >= 1\n");
+        closeBatchRanking(sql);
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildQ7BatchSql(Map<String, Object> params, List<String> fundTickers) {
+        Long pxPartyRoleId = ((Number) params.get("pxPartyRoleId")).longValue();
+        String table = tableName(QueryDefinition.Q7);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT k.val AS \"batchKey\", json_serialize(a.data RETURNING CLOB PRETTY)\n");
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(fundTickers));
+        sql.append(",\n     ").append(table).append(" a\n");
+        sql.append("WHERE json_exists(a.data, '$.entitlements.pxPartyRoleIdList[*]?(@ == $uid)' PASSING ? AS \"uid\")\n");
+        p.add(pxPartyRoleId);
+        sql.append("  AND json_value(a.data, '$.viewableSource') = 'Y'\n");
+        sql.append("  AND json_exists(a.data, '$.holdings[*]?(@.fundTicker == $ticker)' PASSING k.val AS \"ticker\")\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildQ8BatchSql(Map<String, Object> params, List<String> pathValues) {
+        Long dataOwnerPartyRoleId = ((Number) params.get("dataOwnerPartyRoleId")).longValue();
+        String table = tableName(QueryDefinition.Q8);
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT k.val AS \"batchKey\", json_serialize(a.data RETURNING CLOB PRETTY)\n");
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(pathValues));
+        sql.append(",\n     ").append(table).append(" a\n");
+        sql.append("WHERE json_value(a.data, '$.entitlements.pxClient.dataOwnerPartyRoleId' RETURNING NUMBER) = ?\n");
+        p.add(dataOwnerPartyRoleId);
+        sql.append("  AND json_exists(a.data, '$.advisorHierarchy[*]?(@.partyNodePathValue == $val)' PASSING k.val AS \"val\")\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    // The batch's keys as one bound JSON array, one row per key in column k.val
+    static void appendBatchKeys(StringBuilder sql) {
+        sql.append("JSON_TABLE(?, '$[*]' COLUMNS (val VARCHAR2(4000) PATH '$')) k");
+    }
+
+    static String batchKeysJson(List<String> keys) {
+        try {
+            return MAPPER.writeValueAsString(keys);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot encode batch keys: " + e.getMessage(), e);
+        }
+    }
+
+    // Total row count, or for a batch the row count and rank within each key
+    static void appendCountColumns(StringBuilder sql, String keyColumn, String orderColumn) {
+        if (keyColumn == null) {
+            sql.append("         COUNT(*) OVER () AS \"totalCount\"\n");
+            return;
+        }
+        sql.append("         COUNT(*) OVER (PARTITION BY ").append(keyColumn).append(") AS \"totalCount\",\n");
+        sql.append("         ROW_NUMBER() OVER (PARTITION BY ").append(keyColumn)
+                .append(" ORDER BY ").append(orderColumn).append(" DESC) AS \"batchRank\"\n");
+    }
+
+    // Batched Q1 keeps each advisor's top rows, keyed by advisorId
+    static void openBatchRanking(StringBuilder sql) {
+        sql.append("SELECT r.\"advisorId\" AS \"batchKey\", r.* FROM (\n");
+    }
+
+    static void closeBatchRanking(StringBuilder sql) {
+        sql.append(") r\n");
+        sql.append("WHERE r.\"batchRank\" <= ").append(MongoQueryExecutor.ROWS_PER_KEY).append("\n");
+        sql.append("ORDER BY r.\"advisorId\", r.\"viewableMarketValue\" DESC");
+    }
+
     // --- Explain plan and SQL_ID capture ---
 
     public QueryDetail captureQueryDetail(Connection conn, QueryDefinition query,
@@ -327,6 +466,178 @@ public class OracleJdbcQueryExecutor {
         return sb.toString();
     }
 
+    /**
+     * Executes the query and passes each row to {@code consumer} while the result set is
+     * positioned on it; returns the row count. Only the driver's fetch batch is held in memory.
+     */
+    public long execute(Connection conn, SqlQuery sqlQuery, RowConsumer<ResultSet> consumer) throws SQLException {
+        try (var ps = conn.prepareStatement(sqlQuery.sql())) {
+            return execute(ps, sqlQuery, consumer);
+        }
+    }
+
+    /** Binds and executes {@code sqlQuery} on an already prepared statement, which stays open for reuse. */
+    public long execute(PreparedStatement ps, SqlQuery sqlQuery, RowConsumer<ResultSet> consumer) throws SQLException {
+        for (int i = 0; i < sqlQuery.parameters().size(); i++) {
+            ps.setObject(i + 1, sqlQuery.parameters().get(i));
+        }
+        long count = 0;
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                consumer.accept(rs);
+                count++;
+            }
+        } catch (SQLException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Result consumer failed: " + e.getMessage(), e);
+        }
+        return count;
+    }
+
+    /**
+     * Executes a statement from {@link #buildBatchSql} and passes each row to {@code consumer}
+     * with its key (the first column); returns the row count of every key, in the order of
+     * {@code keys}.
+     */
+    public Map<String, Long> executeBatch(Connection conn, SqlQuery sqlQuery, List<String> keys,
+                                          KeyedRowConsumer<ResultSet> consumer) throws SQLException {
+        try (var ps = conn.prepareStatement(sqlQuery.sql())) {
+            return executeBatch(ps, sqlQuery, keys, consumer);
+        }
+    }
+
+    /** As {@link #executeBatch(Connection, SqlQuery, List, KeyedRowConsumer)} on an already prepared statement. */
+    public Map<String, Long> executeBatch(PreparedStatement ps, SqlQuery sqlQuery, List<String> keys,
+                                          KeyedRowConsumer<ResultSet> consumer) throws SQLException {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        keys.forEach(key -> counts.put(key, 0L));
+        execute(ps, sqlQuery, rs -> {
+            String key = rs.getString(1);
+            counts.merge(key, 1L, Long::sum);
+            consumer.accept(key, rs);
+        });
+        return counts;
+    }
+
+    /**
+     * Submits every statement on {@code conn} through the driver's reactive extensions before
+     * waiting for any of them, then waits for all; returns one result per statement in
+     * submission order. Against a 23ai database the driver pipelines the calls, sending each
+     * statement without waiting for the previous response. {@code consumer} runs on driver
+     * threads and may be called concurrently for different statements.
+     */
+    public List<PipelinedResult> executePipelined(Connection conn, List<SqlQuery> queries,
+                                                  RowConsumer<OracleRow> consumer) throws SQLException {
+        List<PreparedStatement> statements = new ArrayList<>(queries.size());
+        List<CompletableFuture<PipelinedResult>> pending = new ArrayList<>(queries.size());
+        try {
+            for (SqlQuery sqlQuery : queries) {
+                PreparedStatement ps = conn.prepareStatement(sqlQuery.sql());
+                statements.add(ps);
+                for (int i = 0; i < sqlQuery.parameters().size(); i++) {
+                    ps.setObject(i + 1, sqlQuery.parameters().get(i));
+                }
+                long submitted = System.nanoTime();
+                pending.add(first(ps.unwrap(OraclePreparedStatement.class).executeQueryAsyncOracle())
+                        .thenCompose(rs -> {
+                            try {
+                                return count(rs.publisherOracle(row -> {
+                                    try {
+                                        consumer.accept(row);
+                                    } catch (Exception e) {
+                                        throw new CompletionException(e);
+                                    }
+                                    return Boolean.TRUE;
+                                }));
+                            } catch (SQLException e) {
+                                throw new CompletionException(e);
+                            }
+                        })
+                        .thenApply(rows -> new PipelinedResult(rows, System.nanoTime() - submitted)));
+            }
+            List<PipelinedResult> results = new ArrayList<>(pending.size());
+            for (CompletableFuture<PipelinedResult> future : pending) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException e) {
+            Throwable cause = e;
+            while (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof SQLException se) throw se;
+            throw new IllegalStateException("Pipelined statement failed: " + cause.getMessage(), cause);
+        } finally {
+            // A failed statement must not close the others while they are still executing
+            CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+            for (PreparedStatement ps : statements) {
+                try {
+                    ps.close();
+                } catch (SQLException e) {
+                    log.warn("Failed to close pipelined statement: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Completes with the first item published, e.g. the result set of an asynchronous query
+    private static <T> CompletableFuture<T> first(Flow.Publisher<T> publisher) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<T>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(T item) {
+                result.complete(item);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                // No-op once an item has completed the future
+                result.completeExceptionally(new IllegalStateException("Publisher completed without an item"));
+            }
+        });
+        return result;
+    }
+
+    // Requests everything up front and completes with the number of items published
+    private static CompletableFuture<Long> count(Flow.Publisher<?> publisher) {
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        publisher.subscribe(new Flow.Subscriber<Object>() {
+            private long count;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(Object item) {
+                count++;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                result.completeExceptionally(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                result.complete(count);
+            }
+        });
+        return result;
+    }
+
     public String captureExplainPlan(Connection conn, SqlQuery sqlQuery) {
         // Try actual execution stats first (GATHER_PLAN_STATISTICS + DISPLAY_CURSOR)
         String actualPlan = captureActualPlan(conn, sqlQuery);
@@ -510,4 +821,34 @@ public class OracleJdbcQueryExecutor {
         }
         return null;
     }
+
+    /** Returns the sql_id of the statement {@code conn} executed last, from V$SESSION.PREV_SQL_ID. */
+    public String captureLastSqlId(Connection conn) {
+        try (var ps = conn.prepareStatement(
+                "SELECT prev_sql_id FROM V$SESSION WHERE sid = SYS_CONTEXT('USERENV', 'SID')");
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getString(1) : null;
+        } catch (SQLException e) {
+            log.warn("Failed to capture last SQL_ID (V$SESSION access may be denied): {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /** Cumulative V$SQLSTATS counters of {@code sqlId} across its plans; null if they cannot be read. */
+    public ServerStats captureServerStats(Connection conn, String sqlId) {
+        try (var ps = conn.prepareStatement(
+                "SELECT NVL(SUM(executions), 0), NVL(SUM(elapsed_time), 0), NVL(SUM(cpu_time), 0),\n"
+                        + "       NVL(SUM(buffer_gets), 0), NVL(SUM(disk_reads), 0), NVL(SUM(rows_processed), 0)\n"
+                        + "FROM V$SQLSTATS WHERE sql_id = ?")) {
+            ps.setString(1, sqlId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return ServerStats.oracle(rs.getLong(1), rs.getDouble(2), rs.getDouble(3),
+                        rs.getDouble(4), rs.getDouble(5), rs.getDouble(6));
+            }
+        } catch (SQLException e) {
+            log.warn("Failed to read V$SQLSTATS for {} (access may be denied): {}", sqlId, e.getMessage());
+            return null;
+        }
+    }
 }
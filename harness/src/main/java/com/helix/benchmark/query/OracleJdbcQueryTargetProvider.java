@@ -0,0 +1,144 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Opens the targets reached through Oracle JDBC: JSON collection tables, relational tables and
+ * duality views. The pool belongs to the caller; each session holds one pooled connection and
+ * keeps its statements prepared for the session's lifetime.
+ */
+public class OracleJdbcQueryTargetProvider implements QueryTargetProvider {
+    private static final Logger log = LoggerFactory.getLogger(OracleJdbcQueryTargetProvider.class);
+
+    @Override
+    public boolean supports(DatabaseTarget target) {
+        return target.usesJdbc();
+    }
+
+    @Override
+    public QueryTarget open(DatabaseTarget target, QueryTarget.Context context) {
+        if (context.jdbcDataSource() == null) {
+            throw new IllegalStateException("No JDBC data source for " + target);
+        }
+        return new JdbcTarget(target, executorFor(target), context.jdbcDataSource(), context.config().ordsBaseUrl());
+    }
+
+    public static OracleJdbcQueryExecutor executorFor(DatabaseTarget target) {
+        return switch (target) {
+            case ORACLE_RELATIONAL -> new OracleRelationalQueryExecutor();
+            case ORACLE_DUALITY_VIEW -> new OracleDualityViewQueryExecutor();
+            default -> new OracleJdbcQueryExecutor();
+        };
+    }
+
+    private record JdbcTarget(DatabaseTarget target, OracleJdbcQueryExecutor executor, DataSource dataSource,
+                              String ordsBaseUrl) implements QueryTarget {
+
+        @Override
+        public Session openSession() throws SQLException {
+            return new JdbcSession(executor, dataSource.getConnection(), ordsBaseUrl);
+        }
+
+        @Override
+        public void close() {
+            // The data source is shared with the rest of the run and closed by its owner
+        }
+    }
+
+    static final class JdbcSession implements QueryTarget.Session {
+        private final OracleJdbcQueryExecutor executor;
+        private final Connection conn;
+        private final String ordsBaseUrl;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+        private final Map<String, String> sqlIds = new HashMap<>();
+
+        JdbcSession(OracleJdbcQueryExecutor executor, Connection conn, String ordsBaseUrl) {
+            this.executor = executor;
+            this.conn = conn;
+            this.ordsBaseUrl = ordsBaseUrl;
+        }
+
+        @Override
+        public void warm(QueryDefinition query, SchemaModel model, Map<String, Object> params) throws SQLException {
+            statement(executor.buildSql(query, model, params).sql());
+        }
+
+        @Override
+        public long execute(QueryDefinition query, SchemaModel model, Map<String, Object> params) {
+            OracleJdbcQueryExecutor.SqlQuery sqlQuery = executor.buildSql(query, model, params);
+            try {
+                return executor.execute(statement(sqlQuery.sql()), sqlQuery, rs -> rs.getString(1));
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public Map<String, Long> executeBatch(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                              List<String> keys) throws SQLException {
+            OracleJdbcQueryExecutor.SqlQuery sqlQuery = executor.buildBatchSql(query, model, params, keys);
+            return executor.executeBatch(statement(sqlQuery.sql()), sqlQuery, keys, (key, rs) -> rs.getString(2));
+        }
+
+        @Override
+        public QueryDetail captureQueryDetail(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                              String configId) {
+            return executor.captureQueryDetail(conn, query, model, params, configId, ordsBaseUrl);
+        }
+
+        @Override
+        public ServerStats serverStats(QueryDefinition query, SchemaModel model, Map<String, Object> params)
+                throws SQLException {
+            OracleJdbcQueryExecutor.SqlQuery sqlQuery = executor.buildSql(query, model, params);
+            String sqlId = sqlIds.get(sqlQuery.sql());
+            if (sqlId == null) {
+                // One untimed execution makes this statement the session's V$SESSION.PREV_SQL_ID
+                executor.execute(statement(sqlQuery.sql()), sqlQuery, rs -> { });
+                sqlId = executor.captureLastSqlId(conn);
+                if (sqlId == null) return null;
+                sqlIds.put(sqlQuery.sql(), sqlId);
+            }
+            return executor.captureServerStats(conn, sqlId);
+        }
+
+        @Override
+        public void close() {
+            for (PreparedStatement ps : statements.values()) {
+                try {
+                    ps.close();
+                } catch (SQLException e) {
+                    log.warn("Failed to close prepared statement: {}", e.getMessage());
+                }
+            }
+            statements.clear();
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.warn("Failed to close JDBC session connection: {}", e.getMessage());
+            }
+        }
+
+        // Statement text depends only on the query shape, so one statement serves every parameter set
+        private PreparedStatement statement(String sql) throws SQLException {
+            PreparedStatement ps = statements.get(sql);
+            if (ps == null) {
+                ps = conn.prepareStatement(sql);
+                statements.put(sql, ps);
+            }
+            return ps;
+        }
+    }
+}
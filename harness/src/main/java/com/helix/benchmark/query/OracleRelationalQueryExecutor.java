@@ -23,8 +23,23 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
         };
     }
 
+    @Override
+    public SqlQuery buildBatchSql(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                  List<String> keys) {
+        return switch (query) {
+            case Q1 -> buildRelQ1Batch(keys);
+            case Q7 -> buildRelQ7Batch(params, keys);
+            case Q8 -> buildRelQ8Batch(params, keys);
+            default -> throw new IllegalArgumentException(query + " has no batched form");
+        };
+    }
+
     // Common relational investor columns for Q1-Q4
     private void appendRelInvestorColumns(StringBuilder sql) {
+        appendRelInvestorColumns(sql, false);
+    }
+
+    private void appendRelInvestorColumns(StringBuilder sql, boolean batched) {
         sql.append("  SELECT b.id AS \"_id\",\n");
         sql.append("         b.party_role_id AS \"partyRoleId\",\n");
         sql.append("         b.party_id AS \"partyId\",\n");
@@ -43,7 +58,7 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
         sql.append("         a.advisor_id AS \"advisorId\",\n");
         sql.append("         a.viewable_mv AS \"viewableMarketValue\",\n");
         sql.append("         a.no_of_viewable_accts AS \"noOfViewableAccts\",\n");
-        sql.append("         COUNT(*) OVER () AS \"totalCount\"\n");
+        appendCountColumns(sql, batched ? "a.advisor_id" : null, "a.viewable_mv");
     }
 
     // --- Q1: BookRoleInvestor - Investor list by advisor ---
@@ -280,60 +295,8 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
 
         List<Object> p = new ArrayList<>();
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT JSON_OBJECT(\n");
-        sql.append("    '_id' VALUE a.id,\n");
-        sql.append("    'accountid' VALUE a.account_id_field,\n");
-        sql.append("    'ssnTin' VALUE a.ssn_tin,\n");
-        sql.append("    'finInstId' VALUE a.fin_inst_id,\n");
-        sql.append("    'clientName' VALUE a.client_name,\n");
-        sql.append("    'clientId' VALUE a.client_id,\n");
-        sql.append("    'finInstName' VALUE a.fin_inst_name,\n");
-        sql.append("    'accountType' VALUE a.account_type,\n");
-        sql.append("    'acctName' VALUE a.acct_name,\n");
-        sql.append("    'viewable' VALUE a.viewable,\n");
-        sql.append("    'viewableSource' VALUE a.viewable_source,\n");
-        sql.append("    'setupTmst' VALUE a.setup_tmst,\n");
-        sql.append("    'updateTmst' VALUE a.update_tmst,\n");
-        sql.append("    'acctTitle' VALUE a.acct_title,\n");
-        sql.append("    'category' VALUE a.category,\n");
-        sql.append("    'ETLUpdateTS' VALUE a.etl_update_ts,\n");
-        sql.append("    'holdings' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
-        sql.append("        'fundId' VALUE h.fund_id, 'fundName' VALUE h.fund_name,\n");
-        sql.append("        'fundTicker' VALUE h.fund_ticker, 'mgtName' VALUE h.mgt_name,\n");
-        sql.append("        'dividendRate' VALUE h.dividend_rate\n");
-        sql.append("    ) RETURNING CLOB) FROM rel_acct_holdings h WHERE h.account_id = a.id),\n");
-        sql.append("    'advisors' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
-        sql.append("        'advisorId' VALUE ad.advisor_id, 'advisorName' VALUE ad.advisor_name,\n");
-        sql.append("        'advisorTaxId' VALUE ad.advisor_tax_id, 'finInstId' VALUE ad.advisor_fin_inst_id,\n");
-        sql.append("        'lastName' VALUE ad.last_name, 'firstName' VALUE ad.first_name,\n");
-        sql.append("        'middleName' VALUE ad.middle_name, 'state' VALUE ad.state,\n");
-        sql.append("        'city' VALUE ad.city, 'zipCode' VALUE ad.zip_code,\n");
-        sql.append("        'country' VALUE ad.country, 'businessPhone' VALUE ad.business_phone,\n");
-        sql.append("        'bookType' VALUE ad.book_type, 'marketValue' VALUE ad.market_value,\n");
-        sql.append("        'noOfAccts' VALUE ad.no_of_accts, 'noOfViewableAccts' VALUE ad.no_of_viewable_accts,\n");
-        sql.append("        'viewableMarketValue' VALUE ad.viewable_mv, 'status' VALUE ad.status,\n");
-        sql.append("        'isPrimary' VALUE ad.is_primary, 'email' VALUE ad.email\n");
-        sql.append("    ) RETURNING CLOB) FROM rel_acct_advisors ad WHERE ad.account_id = a.id),\n");
-        sql.append("    'repCodes' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
-        sql.append("        'advisorRepNumber' VALUE rc.advisor_rep_number, 'intType' VALUE rc.int_type,\n");
-        sql.append("        'repcodeSource' VALUE rc.repcode_source\n");
-        sql.append("    ) RETURNING CLOB) FROM rel_acct_rep_codes rc WHERE rc.account_id = a.id),\n");
-        sql.append("    'advisorHierarchy' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
-        sql.append("        'partyNodePathNm' VALUE ah.party_node_path_nm,\n");
-        sql.append("        'partyNodePathValue' VALUE ah.party_node_path_value\n");
-        sql.append("    ) RETURNING CLOB) FROM rel_acct_hierarchy ah WHERE ah.account_id = a.id),\n");
-        sql.append("    'entitlements' VALUE JSON_OBJECT(\n");
-        sql.append("        'pxPartyRoleIdList' VALUE (SELECT JSON_ARRAYAGG(pr.party_role_id) FROM rel_acct_party_role_ids pr WHERE pr.account_id = a.id),\n");
-        sql.append("        'advisoryContext' VALUE (SELECT JSON_ARRAYAGG(c.advisory_context) FROM rel_acct_advisory_ctx c WHERE c.account_id = a.id),\n");
-        sql.append("        'pxClient' VALUE JSON_OBJECT('pxClientId' VALUE a.px_client_id, 'pxClientName' VALUE a.px_client_name, 'Id' VALUE a.px_client_ref_id, 'dataOwnerPartyRoleId' VALUE a.fin_inst_id),\n");
-        sql.append("        'pxInvestorEntitlements' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
-        sql.append("            'partyRoleId' VALUE ie.party_role_id, 'accountRole' VALUE ie.account_role,\n");
-        sql.append("            'accountSource' VALUE ie.account_source, 'accountAccessStatus' VALUE ie.account_access_status,\n");
-        sql.append("            'investorId' VALUE ie.investor_id, 'accountRoleCode' VALUE ie.account_role_code\n");
-        sql.append("        ) RETURNING CLOB) FROM rel_acct_ent_inv_entitlements ie WHERE ie.account_id = a.id)\n");
-        sql.append("    )\n");
-        sql.append("    RETURNING CLOB\n");
-        sql.append(") AS doc\n");
+        sql.append("SELECT ");
+        appendAccountDocument(sql);
         sql.append("FROM rel_account a\n");
         sql.append("WHERE EXISTS (SELECT 1 FROM rel_acct_party_role_ids pr WHERE pr.account_id = a.id AND pr.party_role_id = ?)\n");
         p.add(pxPartyRoleId);
@@ -349,6 +312,25 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
         Long dataOwnerPartyRoleId = ((Number) params.get("dataOwnerPartyRoleId")).longValue();
         String partyNodePathValue = (String) params.get("partyNodePathValue");
 
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT ");
+        appendAdvisorDocument(sql);
+        sql.append("FROM rel_advisor a\n");
+        sql.append("WHERE a.ent_data_owner_party_role_id = ?\n");
+        p.add(dataOwnerPartyRoleId);
+        sql.append("  AND EXISTS (SELECT 1 FROM rel_adv_hierarchy h WHERE h.advisor_id = a.id AND h.party_node_path_value = ?)\n");
+        p.add(partyNodePathValue);
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    // --- Q9: Advisor - Market value range ---
+    private SqlQuery buildRelQ9(Map<String, Object> params) {
+        Long pxPartyRoleId = ((Number) params.get("pxPartyRoleId")).longValue();
+        double minMv = ((Number) params.get("minMarketValue")).doubleValue();
+        double maxMv = ((Number) params.get("maxMarketValue")).doubleValue();
+
         List<Object> p = new ArrayList<>();
         StringBuilder sql = new StringBuilder();
         sql.append("SELECT JSON_OBJECT(\n");
@@ -402,23 +384,135 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
         sql.append("    RETURNING CLOB\n");
         sql.append(") AS doc\n");
         sql.append("FROM rel_advisor a\n");
-        sql.append("WHERE a.ent_data_owner_party_role_id = ?\n");
-        p.add(dataOwnerPartyRoleId);
-        sql.append("  AND EXISTS (SELECT 1 FROM rel_adv_hierarchy h WHERE h.advisor_id = a.id AND h.party_node_path_value = ?)\n");
-        p.add(partyNodePathValue);
+        sql.append("WHERE EXISTS (SELECT 1 FROM rel_adv_party_role_ids pr WHERE pr.advisor_id = a.id AND pr.party_role_id = ?)\n");
+        p.add(pxPartyRoleId);
+        sql.append("  AND a.account_viewable_market_value >= ?\n");
+        p.add(minMv);
+        sql.append("  AND a.account_viewable_market_value <= ?\n");
+        p.add(maxMv);
 
         return new SqlQuery(sql.toString(), p);
     }
 
-    // --- Q9: Advisor - Market value range ---
-    private SqlQuery buildRelQ9(Map<String, Object> params) {
+    // --- Batched multi-key queries (Q1, Q7, Q8) ---
+
+    private SqlQuery buildRelQ1Batch(List<String> advisorIds) {
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        openBatchRanking(sql);
+        appendRelInvestorColumns(sql, true);
+        sql.append("  FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(advisorIds));
+        sql.append("\n");
+        sql.append("  JOIN rel_bri_advisors a ON a.advisor_id = k.val\n");
+        sql.append("  JOIN rel_book_role_investor b ON b.id = a.investor_id\n");
+        sql.append("  WHERE b.investor_type = 'Client'\n");
+        sql.append("    AND b.viewable_source = 'Y'\n");
+        sql.append("    AND a.no_of_viewable_accts >= 1\n");
+        closeBatchRanking(sql);
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildRelQ7Batch(Map<String, Object> params, List<String> fundTickers) {
         Long pxPartyRoleId = ((Number) params.get("pxPartyRoleId")).longValue();
-        double minMv = ((Number) params.get("minMarketValue")).doubleValue();
-        double maxMv = ((Number) params.get("maxMarketValue")).doubleValue();
 
         List<Object> p = new ArrayList<>();
         StringBuilder sql = new StringBuilder();
-        sql.append("SELECT JSON_OBJECT(\n");
+        sql.append("SELECT k.val AS \"batchKey\", ");
+        appendAccountDocument(sql);
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(fundTickers));
+        sql.append(",\n     rel_account a\n");
+        sql.append("WHERE EXISTS (SELECT 1 FROM rel_acct_party_role_ids pr WHERE pr.account_id = a.id AND pr.party_role_id = ?)\n");
+        p.add(pxPartyRoleId);
+        sql.append("  AND a.viewable_source = 'Y'\n");
+        sql.append("  AND EXISTS (SELECT 1 FROM rel_acct_holdings h WHERE h.account_id = a.id AND h.fund_ticker = k.val)\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    private SqlQuery buildRelQ8Batch(Map<String, Object> params, List<String> pathValues) {
+        Long dataOwnerPartyRoleId = ((Number) params.get("dataOwnerPartyRoleId")).longValue();
+
+        List<Object> p = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        sql.append("SELECT k.val AS \"batchKey\", ");
+        appendAdvisorDocument(sql);
+        sql.append("FROM ");
+        appendBatchKeys(sql);
+        p.add(batchKeysJson(pathValues));
+        sql.append(",\n     rel_advisor a\n");
+        sql.append("WHERE a.ent_data_owner_party_role_id = ?\n");
+        p.add(dataOwnerPartyRoleId);
+        sql.append("  AND EXISTS (SELECT 1 FROM rel_adv_hierarchy h WHERE h.advisor_id = a.id AND h.party_node_path_value = k.val)\n");
+
+        return new SqlQuery(sql.toString(), p);
+    }
+
+    // Q7 account document rebuilt from rel_account (alias a) and its child tables
+    private void appendAccountDocument(StringBuilder sql) {
+        sql.append("JSON_OBJECT(\n");
+        sql.append("    '_id' VALUE a.id,\n");
+        sql.append("    'accountid' VALUE a.account_id_field,\n");
+        sql.append("    'ssnTin' VALUE a.ssn_tin,\n");
+        sql.append("    'finInstId' VALUE a.fin_inst_id,\n");
+        sql.append("    'clientName' VALUE a.client_name,\n");
+        sql.append("    'clientId' VALUE a.client_id,\n");
+        sql.append("    'finInstName' VALUE a.fin_inst_name,\n");
+        sql.append("    'accountType' VALUE a.account_type,\n");
+        sql.append("    'acctName' VALUE a.acct_name,\n");
+        sql.append("    'viewable' VALUE a.viewable,\n");
+        sql.append("    'viewableSource' VALUE a.viewable_source,\n");
+        sql.append("    'setupTmst' VALUE a.setup_tmst,\n");
+        sql.append("    'updateTmst' VALUE a.update_tmst,\n");
+        sql.append("    'acctTitle' VALUE a.acct_title,\n");
+        sql.append("    'category' VALUE a.category,\n");
+        sql.append("    'ETLUpdateTS' VALUE a.etl_update_ts,\n");
+        sql.append("    'holdings' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
+        sql.append("        'fundId' VALUE h.fund_id, 'fundName' VALUE h.fund_name,\n");
+        sql.append("        'fundTicker' VALUE h.fund_ticker, 'mgtName' VALUE h.mgt_name,\n");
+        sql.append("        'dividendRate' VALUE h.dividend_rate\n");
+        sql.append("    ) RETURNING CLOB) FROM rel_acct_holdings h WHERE h.account_id = a.id),\n");
+        sql.append("    'advisors' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
+        sql.append("        'advisorId' VALUE ad.advisor_id, 'advisorName' VALUE ad.advisor_name,\n");
+        sql.append("        'advisorTaxId' VALUE ad.advisor_tax_id, 'finInstId' VALUE ad.advisor_fin_inst_id,\n");
+        sql.append("        'lastName' VALUE ad.last_name, 'firstName' VALUE ad.first_name,\n");
+        sql.append("        'middleName' VALUE ad.middle_name, 'state' VALUE ad.state,\n");
+        sql.append("        'city' VALUE ad.city, 'zipCode' VALUE ad.zip_code,\n");
+        sql.append("        'country' VALUE ad.country, 'businessPhone' VALUE ad.business_phone,\n");
+        sql.append("        'bookType' VALUE ad.book_type, 'marketValue' VALUE ad.market_value,\n");
+        sql.append("        'noOfAccts' VALUE ad.no_of_accts, 'noOfViewableAccts' VALUE ad.no_of_viewable_accts,\n");
+        sql.append("        'viewableMarketValue' VALUE ad.viewable_mv, 'status' VALUE ad.status,\n");
+        sql.append("        'isPrimary' VALUE ad.is_primary, 'email' VALUE ad.email\n");
+        sql.append("    ) RETURNING CLOB) FROM rel_acct_advisors ad WHERE ad.account_id = a.id),\n");
+        sql.append("    'repCodes' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
+        sql.append("        'advisorRepNumber' VALUE rc.advisor_rep_number, 'intType' VALUE rc.int_type,\n");
+        sql.append("        'repcodeSource' VALUE rc.repcode_source\n");
+        sql.append("    ) RETURNING CLOB) FROM rel_acct_rep_codes rc WHERE rc.account_id = a.id),\n");
+        sql.append("    'advisorHierarchy' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
+        sql.append("        'partyNodePathNm' VALUE ah.party_node_path_nm,\n");
+        sql.append("        'partyNodePathValue' VALUE ah.party_node_path_value\n");
+        sql.append("    ) RETURNING CLOB) FROM rel_acct_hierarchy ah WHERE ah.account_id = a.id),\n");
+        sql.append("    'entitlements' VALUE JSON_OBJECT(\n");
+        sql.append("        'pxPartyRoleIdList' VALUE (SELECT JSON_ARRAYAGG(pr.party_role_id) FROM rel_acct_party_role_ids pr WHERE pr.account_id = a.id),\n");
+        sql.append("        'advisoryContext' VALUE (SELECT JSON_ARRAYAGG(c.advisory_context) FROM rel_acct_advisory_ctx c WHERE c.account_id = a.id),\n");
+        sql.append("        'pxClient' VALUE JSON_OBJECT('pxClientId' VALUE a.px_client_id, 'pxClientName' VALUE a.px_client_name, 'Id' VALUE a.px_client_ref_id, 'dataOwnerPartyRoleId' VALUE a.fin_inst_id),\n");
+        sql.append("        'pxInvestorEntitlements' VALUE (SELECT JSON_ARRAYAGG(JSON_OBJECT(\n");
+        sql.append("            'partyRoleId' VALUE ie.party_role_id, 'accountRole' VALUE ie.account_role,\n");
+        sql.append("            'accountSource' VALUE ie.account_source, 'accountAccessStatus' VALUE ie.account_access_status,\n");
+        sql.append("            'investorId' VALUE ie.investor_id, 'accountRoleCode' VALUE ie.account_role_code\n");
+        sql.append("        ) RETURNING CLOB) FROM rel_acct_ent_inv_entitlements ie WHERE ie.account_id = a.id)\n");
+        sql.append("    )\n");
+        sql.append("    RETURNING CLOB\n");
+        sql.append(") AS doc\n");
+    }
+
+    // Q8 advisor document rebuilt from rel_advisor (alias a) and its child tables
+    private void appendAdvisorDocument(StringBuilder sql) {
+        sql.append("JSON_OBJECT(\n");
         sql.append("    '_id' VALUE a.id,\n");
         sql.append("    'advisorName' VALUE a.advisor_name,\n");
         sql.append("    'pxId' VALUE a.px_id,\n");
@@ -468,14 +562,5 @@ public class OracleRelationalQueryExecutor extends OracleJdbcQueryExecutor {
         sql.append("    )\n");
         sql.append("    RETURNING CLOB\n");
         sql.append(") AS doc\n");
-        sql.append("FROM rel_advisor a\n");
-        sql.append("WHERE EXISTS (SELECT 1 FROM rel_adv_party_role_ids pr WHERE pr.advisor_id = a.id AND pr.party_role_id = ?)\n");
-        p.add(pxPartyRoleId);
-        sql.append("  AND a.account_viewable_market_value >= ?\n");
-        p.add(minMv);
-        sql.append("  AND a.account_viewable_market_value <= ?\n");
-        p.add(maxMv);
-
-        return new SqlQuery(sql.toString(), p);
     }
 }
@@ -47,4 +47,21 @@ public enum QueryDefinition {
     public boolean isAggregation() {
         return isAggregation;
     }
+
+    /**
+     * The parameter a batched call takes a list of (advisors, fund tickers, hierarchy nodes),
+     * or null if the query has no batched form.
+     */
+    public String batchKey() {
+        return switch (this) {
+            case Q1 -> "advisorId";
+            case Q7 -> "fundTicker";
+            case Q8 -> "partyNodePathValue";
+            default -> null;
+        };
+    }
+
+    public boolean isBatchable() {
+        return batchKey() != null;
+    }
 }
@@ -53,6 +53,64 @@ public class QueryParameterGenerator {
         return generateRandom(query);
     }
 
+    /**
+     * Draws up to {@code size} distinct values of the query's batch key for a batched call,
+     * from the sampled parameter sets first and then from the reference registry once the
+     * samples run out of distinct values. Returns {@code min(size, batchKeyPoolSize(query))}
+     * keys: when random draws keep repeating, the rest are taken in pool order.
+     */
+    public List<String> generateBatchKeys(QueryDefinition query, int size) {
+        String key = batchKeyOf(query);
+        Set<String> keys = new LinkedHashSet<>();
+        List<Map<String, Object>> sampled = sampledParams.getOrDefault(query, List.of());
+        for (int attempt = 0; keys.size() < size && attempt < size * 2 && !sampled.isEmpty(); attempt++) {
+            keys.add((String) sampled.get(ThreadLocalRandom.current().nextInt(sampled.size())).get(key));
+        }
+        for (int attempt = 0; keys.size() < size && attempt < size * 4; attempt++) {
+            keys.add((String) generateRandom(query).get(key));
+        }
+        if (keys.size() < size) {
+            fillFrom(sampled.stream().map(params -> (String) params.get(key)).toList(), keys, size);
+            fillFrom(registryBatchKeys(query), keys, size);
+        }
+        return new ArrayList<>(keys);
+    }
+
+    /** Number of distinct batch key values {@link #generateBatchKeys} can draw for {@code query}. */
+    public int batchKeyPoolSize(QueryDefinition query) {
+        String key = batchKeyOf(query);
+        Set<String> pool = new HashSet<>(registryBatchKeys(query));
+        sampledParams.getOrDefault(query, List.of()).forEach(params -> pool.add((String) params.get(key)));
+        return pool.size();
+    }
+
+    private static String batchKeyOf(QueryDefinition query) {
+        String key = query.batchKey();
+        if (key == null) {
+            throw new IllegalArgumentException(query + " has no batched form");
+        }
+        return key;
+    }
+
+    // The registry pool generateRandom draws the query's batch key from
+    private List<String> registryBatchKeys(QueryDefinition query) {
+        return switch (query) {
+            case Q1 -> registry.getAdvisorIds();
+            case Q7 -> registry.getFundTickers();
+            case Q8 -> registry.getHierarchyPathValues();
+            default -> List.of();
+        };
+    }
+
+    // Adds pool values from a random starting point, wrapping around, until keys holds size values
+    private static void fillFrom(List<String> pool, Set<String> keys, int size) {
+        if (pool.isEmpty()) return;
+        int start = ThreadLocalRandom.current().nextInt(pool.size());
+        for (int i = 0; i < pool.size() && keys.size() < size; i++) {
+            keys.add(pool.get((start + i) % pool.size()));
+        }
+    }
+
     private Map<String, Object> generateRandom(QueryDefinition query) {
         return switch (query) {
             case Q1 -> generateQ1Random();
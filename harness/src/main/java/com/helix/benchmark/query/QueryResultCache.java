@@ -0,0 +1,165 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Size-bounded LRU cache of query results with a time-to-live, modelling an application-side
+ * cache in front of the database. Entries are spread over independently locked segments by
+ * key hash, so concurrent clients rarely contend, and each segment evicts its least recently
+ * used entry when full. Hit, miss, eviction and expiry counters are {@link LongAdder}s.
+ * <p>
+ * Two clients missing on the same key at once both query the database, as an application
+ * cache without request coalescing would.
+ */
+public final class QueryResultCache {
+
+    /** Cache key: the query, its bound parameters, and the target and model it ran on. */
+    public record Key(QueryDefinition query, DatabaseTarget target, SchemaModel model, Map<String, Object> params) {}
+
+    public record Stats(long hits, long misses, long evictions, long expirations) {
+        public long requests() {
+            return hits + misses;
+        }
+
+        /** Fraction of requests served from the cache, i.e. the load taken off the database. */
+        public double hitRate() {
+            return requests() > 0 ? (double) hits / requests() : 0;
+        }
+
+        public Stats minus(Stats earlier) {
+            return new Stats(hits - earlier.hits, misses - earlier.misses,
+                    evictions - earlier.evictions, expirations - earlier.expirations);
+        }
+    }
+
+    private record Entry(long value, long expiresAtNanos) {}
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    /**
+     * @param maxEntries entries kept before the least recently used are evicted
+     * @param ttlSeconds seconds an entry stays valid; 0 keeps entries until evicted
+     */
+    public QueryResultCache(int maxEntries, long ttlSeconds) {
+        this(maxEntries, ttlSeconds, System::nanoTime);
+    }
+
+    QueryResultCache(int maxEntries, long ttlSeconds, LongSupplier clock) {
+        if (maxEntries < 1 || ttlSeconds < 0) {
+            throw new IllegalArgumentException("Max entries must be positive and TTL non-negative");
+        }
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the cached result for {@code key}, or runs {@code loader} and caches its result.
+     * A failing loader caches nothing.
+     */
+    public long get(Key key, LongSupplier loader) {
+        Segment segment = segmentFor(key);
+        long now = clock.getAsLong();
+        synchronized (segment) {
+            Entry entry = segment.get(key);
+            if (entry != null) {
+                if (ttlNanos == 0 || now < entry.expiresAtNanos()) {
+                    hits.increment();
+                    return entry.value();
+                }
+                segment.remove(key);
+                expirations.increment();
+            }
+        }
+        misses.increment();
+        long value = loader.getAsLong();
+        // Parameter maps are copied so a caller reusing its map cannot change a stored key
+        Key stored = new Key(key.query(), key.target(), key.model(), new LinkedHashMap<>(key.params()));
+        synchronized (segment) {
+            segment.put(stored, new Entry(value, clock.getAsLong() + ttlNanos));
+        }
+        return value;
+    }
+
+    public Stats stats() {
+        return new Stats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum());
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    // Access-ordered map that evicts its eldest (least recently used) entry beyond capacity
+    private final class Segment {
+        private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+        private final int capacity;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        Entry get(Key key) {
+            return entries.get(key);
+        }
+
+        void put(Key key, Entry entry) {
+            entries.put(key, entry);
+            if (entries.size() > capacity) {
+                Iterator<Key> eldest = entries.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+
+        void remove(Key key) {
+            entries.remove(key);
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        void clear() {
+            entries.clear();
+        }
+    }
+}
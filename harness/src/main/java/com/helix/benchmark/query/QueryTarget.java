@@ -0,0 +1,69 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
+import com.helix.benchmark.config.BenchmarkConfig;
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+import com.helix.benchmark.connection.ConnectionManager;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An open benchmark target: the client or pool shared by every benchmark thread of one
+ * {@link DatabaseTarget}. Each thread opens its own {@link Session}. Targets are opened by a
+ * {@link QueryTargetProvider}, so runners drive every target the same way.
+ */
+public interface QueryTarget extends AutoCloseable {
+
+    DatabaseTarget target();
+
+    /** Opens a session for the calling thread; the target itself may be shared. */
+    Session openSession() throws Exception;
+
+    @Override
+    void close();
+
+    /**
+     * Per-thread state on a target, such as a connection with its prepared statements or the
+     * resolved collections. Not thread-safe.
+     */
+    interface Session extends QueryExecutor, AutoCloseable {
+
+        /** Prepares what {@code query} needs (statements, collections) before any timed call. */
+        void warm(QueryDefinition query, SchemaModel model, Map<String, Object> params) throws Exception;
+
+        /** Runs the batched form of {@code query} for {@code keys}; returns the row count per key. */
+        Map<String, Long> executeBatch(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                       List<String> keys) throws Exception;
+
+        QueryDetail captureQueryDetail(QueryDefinition query, SchemaModel model, Map<String, Object> params,
+                                       String configId);
+
+        /**
+         * Cumulative server-side counters covering {@code query}; two snapshots around a run give
+         * its server work. Returns null when the target does not expose them.
+         */
+        ServerStats serverStats(QueryDefinition query, SchemaModel model, Map<String, Object> params) throws Exception;
+
+        @Override
+        void close();
+    }
+
+    /**
+     * What a provider may need to open a target; {@code jdbcDataSource} is null without Oracle
+     * JDBC targets. Without {@code planHints} queries carry no index hints.
+     */
+    record Context(BenchmarkConfig config, ConnectionManager connectionManager, DataSource jdbcDataSource,
+                   boolean planHints) {
+        public Context(BenchmarkConfig config, ConnectionManager connectionManager, DataSource jdbcDataSource) {
+            this(config, connectionManager, jdbcDataSource, true);
+        }
+
+        public Context withoutPlanHints() {
+            return new Context(config, connectionManager, jdbcDataSource, false);
+        }
+    }
+}
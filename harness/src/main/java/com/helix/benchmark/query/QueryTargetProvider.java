@@ -0,0 +1,32 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.config.DatabaseTarget;
+
+import java.util.ServiceLoader;
+
+/**
+ * Service provider interface for benchmark targets, discovered with {@link ServiceLoader} from
+ * {@code META-INF/services/com.helix.benchmark.query.QueryTargetProvider}. Adding a target needs
+ * only a provider and its registration, not changes to the orchestrator.
+ */
+public interface QueryTargetProvider {
+
+    boolean supports(DatabaseTarget target);
+
+    QueryTarget open(DatabaseTarget target, QueryTarget.Context context) throws Exception;
+
+    /** Returns the first registered provider that supports {@code target}. */
+    static QueryTargetProvider forTarget(DatabaseTarget target) {
+        for (QueryTargetProvider provider : ServiceLoader.load(QueryTargetProvider.class)) {
+            if (provider.supports(target)) {
+                return provider;
+            }
+        }
+        throw new IllegalArgumentException("No query target provider for " + target);
+    }
+
+    /** Opens {@code target} with its registered provider. */
+    static QueryTarget openTarget(DatabaseTarget target, QueryTarget.Context context) throws Exception {
+        return forTarget(target).open(target, context);
+    }
+}
@@ -15,7 +15,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.ResultSet;
 import java.util.*;
 
 public class ResultValidator {
@@ -103,12 +102,9 @@ public class ResultValidator {
             MongoDatabase db = client.getDatabase(dbName);
             String collName = mongoExec.getCollectionName(query, SchemaModel.EMBEDDED, target);
             MongoCollection<Document> col = db.getCollection(collName);
-            var pipeline = mongoExec.buildAggregationPipeline(query, SchemaModel.EMBEDDED, params, target);
-            List<Document> docs = col.aggregate(pipeline).into(new ArrayList<>());
             List<String[]> rows = new ArrayList<>();
-            for (Document doc : docs) {
-                rows.add(extractAggRow(doc));
-            }
+            mongoExec.executeAggregation(col, query, SchemaModel.EMBEDDED, params, target,
+                    RowConsumer.extracting(ResultValidator::extractAggRow, rows));
             return rows;
         }
     }
@@ -127,19 +123,13 @@ public class ResultValidator {
                                                    Map<String, Object> params) throws Exception {
         OracleJdbcQueryExecutor.SqlQuery sqlQuery = exec.buildSql(query, SchemaModel.EMBEDDED, params);
         List<String[]> rows = new ArrayList<>();
-        try (Connection conn = ds.getConnection();
-             var ps = conn.prepareStatement(sqlQuery.sql())) {
-            for (int i = 0; i < sqlQuery.parameters().size(); i++) {
-                ps.setObject(i + 1, sqlQuery.parameters().get(i));
-            }
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String aid = rs.getString("advisorId");
-                    double mv = rs.getDouble("viewableMarketValue");
-                    String id = rs.getString("_id");
-                    rows.add(new String[]{aid, fmt(mv), id != null ? id : "null"});
-                }
-            }
+        try (Connection conn = ds.getConnection()) {
+            exec.execute(conn, sqlQuery, rs -> {
+                String aid = rs.getString("advisorId");
+                double mv = rs.getDouble("viewableMarketValue");
+                String id = rs.getString("_id");
+                rows.add(new String[]{aid, fmt(mv), id != null ? id : "null"});
+            });
         }
         return rows;
     }
@@ -219,7 +209,7 @@ public class ResultValidator {
                                          OracleRelationalQueryExecutor relExec,
                                          OracleDualityViewQueryExecutor dvExec,
                                          int run) throws Exception {
-        Map<String, Set<String>> results = new LinkedHashMap<>();
+        Map<String, FoundIds> results = new LinkedHashMap<>();
 
         // MongoDB Native
         results.put("Mongo", executeMongoFindIds(connMgr, mongoExec, query, params,
@@ -245,70 +235,85 @@ public class ResultValidator {
         return compareFindResults(query, run, params, results);
     }
 
-    private static Set<String> executeMongoFindIds(ConnectionManager connMgr, MongoQueryExecutor mongoExec,
-                                                     QueryDefinition query, Map<String, Object> params,
-                                                     DatabaseTarget target) {
+    // IDs returned by one target, plus a row count and order-independent checksum over them
+    private record FoundIds(Set<String> ids, RowConsumer.Checksum<String> digest) {
+        FoundIds() {
+            this(new TreeSet<>(), RowConsumer.checksum(id -> id));
+        }
+
+        void add(String id) {
+            ids.add(id);
+            digest.accept(id);
+        }
+
+        boolean sameRows(FoundIds other) {
+            return digest.count() == other.digest.count() && digest.checksum() == other.digest.checksum();
+        }
+    }
+
+    private static FoundIds executeMongoFindIds(ConnectionManager connMgr, MongoQueryExecutor mongoExec,
+                                                QueryDefinition query, Map<String, Object> params,
+                                                DatabaseTarget target) {
         String connStr = connMgr.getMongoConnectionString(target);
         String dbName = connMgr.getDatabaseName(target);
         try (MongoClient client = MongoClients.create(connStr)) {
             MongoDatabase db = client.getDatabase(dbName);
             String collName = mongoExec.getCollectionName(query, SchemaModel.EMBEDDED, target);
             MongoCollection<Document> col = db.getCollection(collName);
-            var filter = mongoExec.buildFindFilter(query, SchemaModel.EMBEDDED, params, target);
-            List<Document> docs = col.find(filter).into(new ArrayList<>());
-            Set<String> ids = new TreeSet<>();
-            for (Document doc : docs) {
-                ids.add(doc.getString("_id"));
-            }
-            return ids;
+            FoundIds found = new FoundIds();
+            mongoExec.executeFind(col, query, SchemaModel.EMBEDDED, params, target,
+                    doc -> found.add(doc.getString("_id")));
+            return found;
         }
     }
 
-    private static Set<String> executeJdbcFindIds(HikariDataSource ds,
-                                                    OracleJdbcQueryExecutor exec,
-                                                    QueryDefinition query,
-                                                    Map<String, Object> params) throws Exception {
+    private static FoundIds executeJdbcFindIds(HikariDataSource ds,
+                                               OracleJdbcQueryExecutor exec,
+                                               QueryDefinition query,
+                                               Map<String, Object> params) throws Exception {
         OracleJdbcQueryExecutor.SqlQuery sqlQuery = exec.buildSql(query, SchemaModel.EMBEDDED, params);
-        Set<String> ids = new TreeSet<>();
-        try (Connection conn = ds.getConnection();
-             var ps = conn.prepareStatement(sqlQuery.sql())) {
-            for (int i = 0; i < sqlQuery.parameters().size(); i++) {
-                ps.setObject(i + 1, sqlQuery.parameters().get(i));
-            }
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    String json = rs.getString(1);
-                    if (json != null) {
-                        try {
-                            JsonNode node = mapper.readTree(json);
-                            JsonNode idNode = node.get("_id");
-                            if (idNode != null) {
-                                ids.add(idNode.asText());
-                            }
-                        } catch (Exception e) {
-                            log.debug("Could not parse JSON: {}", e.getMessage());
+        FoundIds found = new FoundIds();
+        try (Connection conn = ds.getConnection()) {
+            exec.execute(conn, sqlQuery, rs -> {
+                String json = rs.getString(1);
+                if (json != null) {
+                    try {
+                        JsonNode node = mapper.readTree(json);
+                        JsonNode idNode = node.get("_id");
+                        if (idNode != null) {
+                            found.add(idNode.asText());
                         }
+                    } catch (Exception e) {
+                        log.debug("Could not parse JSON: {}", e.getMessage());
                     }
                 }
-            }
+            });
         }
-        return ids;
+        return found;
     }
 
     private static boolean compareFindResults(QueryDefinition query, int run,
                                                Map<String, Object> params,
-                                               Map<String, Set<String>> results) {
+                                               Map<String, FoundIds> results) {
         boolean ok = true;
         String label = query.queryName() + " run " + run;
 
         var entries = new ArrayList<>(results.entrySet());
         String baseName = entries.get(0).getKey();
-        Set<String> baseline = entries.get(0).getValue();
+        FoundIds baseline = entries.get(0).getValue();
+
+        // Matching row counts and checksums mean the same rows; only diff ID sets otherwise
+        if (entries.stream().allMatch(e -> e.getValue().sameRows(baseline))) {
+            log.info("  PASS {} — {} rows match (checksum {}) | params={}", label,
+                    baseline.digest().count(), Long.toHexString(baseline.digest().checksum()),
+                    paramSummary(params));
+            return true;
+        }
 
-        // Check sizes
+        // Check row counts; duplicate rows show up here even when the ID sets agree
         boolean sizeMismatch = false;
         for (int i = 1; i < entries.size(); i++) {
-            if (entries.get(i).getValue().size() != baseline.size()) {
+            if (entries.get(i).getValue().digest().count() != baseline.digest().count()) {
                 sizeMismatch = true;
                 break;
             }
@@ -317,7 +322,7 @@ public class ResultValidator {
             StringBuilder msg = new StringBuilder();
             for (var entry : entries) {
                 if (!msg.isEmpty()) msg.append(", ");
-                msg.append(entry.getKey()).append("=").append(entry.getValue().size());
+                msg.append(entry.getKey()).append("=").append(entry.getValue().digest().count());
             }
             log.warn("  MISMATCH {} counts: {} | params={}", label, msg, paramSummary(params));
             ok = false;
@@ -326,10 +331,10 @@ public class ResultValidator {
         // ID set differences vs baseline
         for (int i = 1; i < entries.size(); i++) {
             String targetName = entries.get(i).getKey();
-            Set<String> targetIds = entries.get(i).getValue();
+            Set<String> targetIds = entries.get(i).getValue().ids();
 
-            Set<String> baseNotTarget = diff(baseline, targetIds);
-            Set<String> targetNotBase = diff(targetIds, baseline);
+            Set<String> baseNotTarget = diff(baseline.ids(), targetIds);
+            Set<String> targetNotBase = diff(targetIds, baseline.ids());
 
             if (!baseNotTarget.isEmpty()) {
                 log.warn("  {} in {} NOT {}: {} (first 3: {})", label, baseName, targetName,
@@ -344,9 +349,10 @@ public class ResultValidator {
         }
 
         if (ok) {
-            log.info("  PASS {} — {} IDs match | params={}", label, baseline.size(), paramSummary(params));
+            // Same IDs and counts but a different checksum: should not happen, report it anyway
+            log.warn("  MISMATCH {} checksums differ with matching IDs | params={}", label, paramSummary(params));
         }
-        return ok;
+        return false;
     }
 
     // ---- Helpers ----
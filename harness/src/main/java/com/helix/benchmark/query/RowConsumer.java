@@ -0,0 +1,77 @@
+package com.helix.benchmark.query;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Consumes query results one row at a time as the cursor or result set is read, so an
+ * executor never holds a whole result in memory: at most one driver fetch batch is live.
+ * Rows are driver objects (a document or a positioned {@link java.sql.ResultSet}) and are
+ * only valid during the call.
+ */
+@FunctionalInterface
+public interface RowConsumer<R> {
+
+    void accept(R row) throws Exception;
+
+    /** Counts rows without reading them. */
+    static <R> Counting<R> counting() {
+        return new Counting<>();
+    }
+
+    /** Counts rows and combines a hash of {@code field} per row, independent of row order. */
+    static <R> Checksum<R> checksum(Function<? super R, ?> field) {
+        return new Checksum<>(field);
+    }
+
+    /** Adds {@code field} of every row to {@code into}. */
+    static <R, V> RowConsumer<R> extracting(Function<? super R, ? extends V> field, Collection<? super V> into) {
+        return row -> into.add(field.apply(row));
+    }
+
+    final class Counting<R> implements RowConsumer<R> {
+        private long count;
+
+        @Override
+        public void accept(R row) {
+            count++;
+        }
+
+        public long count() {
+            return count;
+        }
+    }
+
+    final class Checksum<R> implements RowConsumer<R> {
+        private final Function<? super R, ?> field;
+        private long count;
+        private long checksum;
+
+        Checksum(Function<? super R, ?> field) {
+            this.field = field;
+        }
+
+        @Override
+        public void accept(R row) {
+            count++;
+            // Summing mixed hashes keeps the checksum independent of row order
+            checksum += mix(Objects.hashCode(field.apply(row)));
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public long checksum() {
+            return checksum;
+        }
+
+        private static long mix(long z) {
+            z += 0x9e3779b97f4a7c15L;
+            z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+            z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return z ^ (z >>> 33);
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.helix.benchmark.report;
 
 import com.helix.benchmark.benchmark.BenchmarkResult;
+import com.helix.benchmark.benchmark.ExplainStage;
+import com.helix.benchmark.benchmark.IndexBuildResult;
+import com.helix.benchmark.benchmark.IngestResult;
 import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
 import com.helix.benchmark.query.QueryDefinition;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -15,17 +19,32 @@ import java.util.stream.Collectors;
 
 public class HtmlReportGenerator {
 
+    // Stages examining at least this many keys and documents per returned document are highlighted
+    static final double INEFFICIENT_EXAMINED_RATIO = 10.0;
+
     public String generate(List<BenchmarkResult> results) {
         return generate(results, List.of());
     }
 
     public String generate(List<BenchmarkResult> results, List<QueryDetail> details) {
+        return generate(results, details, List.of());
+    }
+
+    public String generate(List<BenchmarkResult> results, List<QueryDetail> details,
+                           List<IndexBuildResult> indexBuilds) {
+        return generate(results, details, indexBuilds, List.of());
+    }
+
+    public String generate(List<BenchmarkResult> results, List<QueryDetail> details,
+                           List<IndexBuildResult> indexBuilds, List<IngestResult> ingests) {
         StringBuilder html = new StringBuilder();
         html.append(header());
         html.append(bodyStart());
-        html.append(tabBar(results));
+        html.append(tabBar(results, !indexBuilds.isEmpty(), !ingests.isEmpty()));
         html.append(overviewTab(results));
         html.append(queryTabs(results, details));
+        html.append(indexBuildTab(indexBuilds));
+        html.append(ingestTab(ingests));
         html.append(dataScript(results, details));
         html.append(chartScripts(results));
         html.append(tabScript());
@@ -38,7 +57,18 @@ public class HtmlReportGenerator {
     }
 
     public void generateToFile(List<BenchmarkResult> results, List<QueryDetail> details, Path outputPath) throws IOException {
-        String html = generate(results, details);
+        generateToFile(results, details, List.of(), outputPath);
+    }
+
+    public void generateToFile(List<BenchmarkResult> results, List<QueryDetail> details,
+                               List<IndexBuildResult> indexBuilds, Path outputPath) throws IOException {
+        generateToFile(results, details, indexBuilds, List.of(), outputPath);
+    }
+
+    public void generateToFile(List<BenchmarkResult> results, List<QueryDetail> details,
+                               List<IndexBuildResult> indexBuilds, List<IngestResult> ingests,
+                               Path outputPath) throws IOException {
+        String html = generate(results, details, indexBuilds, ingests);
         Files.writeString(outputPath, html);
     }
 
@@ -89,6 +119,8 @@ public class HtmlReportGenerator {
                 td { padding: 10px 8px; border: 1px solid #30363d; }
                 tr:nth-child(even) { background: #161b22; }
                 .fastest { background: #0d4429 !important; color: #3fb950; font-weight: bold; }
+                .inefficient { background: #4b1d1d !important; color: #f85149; }
+                .explain-stages td small { color: #8b949e; }
 
                 /* Charts */
                 .chart-container { background: #161b22; border: 1px solid #30363d; border-radius: 8px;
@@ -136,7 +168,7 @@ public class HtmlReportGenerator {
                 System.getProperty("os.name") + " " + System.getProperty("os.version"));
     }
 
-    private String tabBar(List<BenchmarkResult> results) {
+    private String tabBar(List<BenchmarkResult> results, boolean withIndexBuilds, boolean withIngest) {
         Set<String> queries = results.stream().map(BenchmarkResult::queryName)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
         StringBuilder sb = new StringBuilder();
@@ -145,6 +177,12 @@ public class HtmlReportGenerator {
         for (String q : queries) {
             sb.append("  <button class=\"tab-btn\" data-tab=\"tab-").append(q).append("\">").append(q).append("</button>\n");
         }
+        if (withIndexBuilds) {
+            sb.append("  <button class=\"tab-btn\" data-tab=\"tab-index-builds\">Index Builds</button>\n");
+        }
+        if (withIngest) {
+            sb.append("  <button class=\"tab-btn\" data-tab=\"tab-ingest\">Ingest</button>\n");
+        }
         sb.append("</div>\n");
         return sb.toString();
     }
@@ -223,6 +261,11 @@ public class HtmlReportGenerator {
                         sb.append("<h3>Query Text</h3>\n");
                         sb.append("<pre>").append(escapeHtml(detail.queryText())).append("</pre>\n");
 
+                        if (detail.explainStages() != null) {
+                            sb.append("<h3>Execution Stages</h3>\n");
+                            sb.append(explainStageTable(detail.explainStages()));
+                        }
+
                         sb.append("<h3>Explain Plan</h3>\n");
                         sb.append("<pre>").append(escapeHtml(detail.explainPlan())).append("</pre>\n");
 
@@ -245,6 +288,103 @@ public class HtmlReportGenerator {
         return sb.toString();
     }
 
+    // Stage tree as an indented table, root first, with inputs nested below the stage they feed
+    private String explainStageTable(ExplainStage root) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("<table class=\"explain-stages\">\n<tr><th>Stage</th><th>Returned</th><th>Keys examined</th>")
+                .append("<th>Docs examined</th><th>Time (ms)</th><th>Examined / returned</th></tr>\n");
+        appendExplainStage(sb, root, 0);
+        sb.append("</table>\n");
+        return sb.toString();
+    }
+
+    private void appendExplainStage(StringBuilder sb, ExplainStage stage, int depth) {
+        double ratio = stage.examinedToReturned();
+        String cls = ratio >= INEFFICIENT_EXAMINED_RATIO ? " class=\"inefficient\"" : "";
+        sb.append("<tr").append(cls).append("><td style=\"padding-left: ").append(8 + depth * 20).append("px\">")
+                .append(escapeHtml(stage.stage()));
+        if (stage.detail() != null) {
+            sb.append(" <small>").append(escapeHtml(stage.detail())).append("</small>");
+        }
+        sb.append("</td>");
+        for (long counter : new long[] {stage.nReturned(), stage.keysExamined(), stage.docsExamined(),
+                stage.executionTimeMillis()}) {
+            sb.append("<td>").append(counter == ExplainStage.NOT_REPORTED ? "&mdash;" : counter).append("</td>");
+        }
+        sb.append("<td>").append(ratio < 0 ? "&mdash;" : String.format("%.1f", ratio)).append("</td></tr>\n");
+        for (ExplainStage input : stage.inputs()) {
+            appendExplainStage(sb, input, depth + 1);
+        }
+    }
+
+    private String indexBuildTab(List<IndexBuildResult> builds) {
+        if (builds.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        sb.append("<div id=\"tab-index-builds\" class=\"tab-content\">\n");
+        sb.append("<h2>Index Builds</h2>\n<table>\n")
+                .append("<tr><th>Target</th><th>Table</th><th>Index</th><th>Build time (ms)</th><th>Status</th></tr>\n");
+        Map<String, Double> totals = new LinkedHashMap<>();
+        for (IndexBuildResult b : builds) {
+            totals.merge(b.target(), b.elapsedMillis(), Double::sum);
+            sb.append("<tr><td>").append(escapeHtml(b.target()))
+                    .append("</td><td>").append(escapeHtml(b.table()))
+                    .append("</td><td>").append(escapeHtml(b.index()))
+                    .append("</td><td>").append(String.format("%.1f", b.elapsedMillis()))
+                    .append("</td><td>").append(b.failed() ? "FAILED: " + escapeHtml(b.error()) : "OK")
+                    .append("</td></tr>\n");
+        }
+        sb.append("</table>\n<h3>Total build time per target (ms, summed across concurrent builds)</h3>\n<table>\n");
+        totals.forEach((target, millis) -> sb.append("<tr><td>").append(escapeHtml(target))
+                .append("</td><td>").append(String.format("%.1f", millis)).append("</td></tr>\n"));
+        sb.append("</table>\n</div>\n");
+        return sb.toString();
+    }
+
+    private String ingestTab(List<IngestResult> ingests) {
+        if (ingests.isEmpty()) return "";
+        StringBuilder sb = new StringBuilder();
+        sb.append("<div id=\"tab-ingest\" class=\"tab-content\">\n");
+        sb.append("<h2>Ingest Throughput</h2>\n<table>\n")
+                .append("<tr><th>Target</th><th>Collection</th><th>Batch size</th><th>Writers</th>")
+                .append("<th>docs/s</th><th>MB/s</th><th>Batch p50 / p95 / p99 (ms)</th><th>Status</th></tr>\n");
+        for (IngestResult r : ingests) {
+            sb.append("<tr><td>").append(escapeHtml(r.target()))
+                    .append("</td><td>").append(escapeHtml(r.collection()))
+                    .append("</td><td>").append(r.batchSize())
+                    .append("</td><td>").append(r.writers());
+            if (r.failed()) {
+                sb.append("</td><td colspan=\"3\">-</td><td>FAILED: ").append(escapeHtml(r.error()));
+            } else {
+                sb.append("</td><td>").append(String.format("%.0f", r.docsPerSec()))
+                        .append("</td><td>").append(String.format("%.1f", r.mbPerSec()))
+                        .append("</td><td>").append(String.format("%.1f / %.1f / %.1f",
+                                r.p50Millis(), r.p95Millis(), r.p99Millis()))
+                        .append("</td><td>OK");
+            }
+            sb.append("</td></tr>\n");
+        }
+        sb.append("</table>\n");
+
+        // Batch latency histogram, one row per successful run
+        List<Integer> bounds = IngestResult.BUCKET_BOUNDS_MILLIS;
+        sb.append("<h3>Batch latency histogram (batches per bucket)</h3>\n<table>\n<tr><th>Run</th>");
+        for (int bound : bounds) {
+            sb.append("<th>&le; ").append(bound).append(" ms</th>");
+        }
+        sb.append("<th>&gt; ").append(bounds.get(bounds.size() - 1)).append(" ms</th></tr>\n");
+        for (IngestResult r : ingests) {
+            if (r.failed()) continue;
+            sb.append("<tr><td>").append(escapeHtml(r.target())).append(" / ").append(r.batchSize())
+                    .append(" x ").append(r.writers()).append("</td>");
+            for (long count : r.histogram()) {
+                sb.append("<td>").append(count).append("</td>");
+            }
+            sb.append("</tr>\n");
+        }
+        sb.append("</table>\n</div>\n");
+        return sb.toString();
+    }
+
     private String summaryTable(List<BenchmarkResult> results) {
         Set<String> queries = results.stream().map(BenchmarkResult::queryName)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
@@ -293,9 +433,16 @@ public class HtmlReportGenerator {
                 .min(Comparator.comparingLong(e -> e.getValue().p50Nanos()))
                 .map(Map.Entry::getKey).orElse("");
 
+        boolean withServerStats = row.values().stream().anyMatch(r -> r.serverStats() != null);
+
         StringBuilder sb = new StringBuilder();
         sb.append("<table>\n<tr><th>Configuration</th><th>p50 (ms)</th><th>p95 (ms)</th><th>p99 (ms)</th>")
-                .append("<th>Avg (ms)</th><th>Throughput</th><th>Iterations</th></tr>\n");
+                .append("<th>Avg (ms)</th><th>Throughput</th><th>Iterations</th>");
+        if (withServerStats) {
+            sb.append("<th>Server (ms/op)</th><th>Server CPU (ms/op)</th><th>Buffer gets/op</th>")
+                    .append("<th>Disk reads/op</th><th>Rows/op</th><th>Keys examined/op</th><th>Docs examined/op</th>");
+        }
+        sb.append("</tr>\n");
         for (String config : configs) {
             BenchmarkResult r = row.get(config);
             if (r != null) {
@@ -308,6 +455,9 @@ public class HtmlReportGenerator {
                 sb.append("<td>").append(String.format("%.2f", r.averageMillis())).append("</td>");
                 sb.append("<td>").append(String.format("%.1f ops/sec", r.throughputOpsPerSec())).append("</td>");
                 sb.append("<td>").append(r.iterationCount()).append("</td>");
+                if (withServerStats) {
+                    sb.append(serverStatsCells(r.serverStats()));
+                }
                 sb.append("</tr>\n");
             }
         }
@@ -315,6 +465,21 @@ public class HtmlReportGenerator {
         return sb.toString();
     }
 
+    // Per-operation server counters; a dash where the target or its source does not report one
+    private String serverStatsCells(ServerStats s) {
+        double[] values = s == null
+                ? new double[] {Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN}
+                : new double[] {s.elapsedMillis(), s.cpuMillis(), s.bufferGets(), s.diskReads(), s.rows(),
+                        s.keysExamined(), s.docsExamined()};
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            String format = i < 2 ? "%.2f" : "%.1f";
+            sb.append("<td>").append(Double.isNaN(values[i]) ? "&mdash;" : String.format(format, values[i]))
+                    .append("</td>");
+        }
+        return sb.toString();
+    }
+
     private String metricsGrid(BenchmarkResult r) {
         return """
                 <div class="metrics-grid">
@@ -568,6 +733,15 @@ public class HtmlReportGenerator {
     }
 
     static String formatConfigName(String configId) {
+        // Growth passes tag the configuration with its data scale, e.g. MONGO_NATIVE_EMBEDDED@2x
+        int at = configId.indexOf('@');
+        if (at > 0) {
+            return formatConfigName(configId.substring(0, at)) + " " + configId.substring(at);
+        }
+        // Runs behind the client-side result cache are tagged +cache
+        if (configId.endsWith("+cache")) {
+            return formatConfigName(configId.substring(0, configId.length() - "+cache".length())) + " (cached)";
+        }
         return switch (configId) {
             case "MONGO_NATIVE_EMBEDDED" -> "MongoDB Native";
             case "ORACLE_JDBC_EMBEDDED" -> "Oracle JSON (JDBC)";
@@ -0,0 +1,146 @@
+package com.helix.benchmark.schema;
+
+import com.helix.benchmark.benchmark.IndexBuildResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs index builds concurrently and times each one. Builds on the same table of the same
+ * target run one after another (concurrent DDL on one table fails with ORA-00054 on Oracle);
+ * different tables and different targets build in parallel.
+ */
+public class IndexBuildStage {
+    private static final Logger log = LoggerFactory.getLogger(IndexBuildStage.class);
+
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "(?is)^\\s*CREATE\\s+(?:(\\w+)\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)");
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+
+    public record IndexTask(String target, String table, String index, Work work) {}
+
+    /** Name, table and kind ({@code null} for a plain B-tree) of a CREATE INDEX statement. */
+    public record IndexStatement(String kind, String name, String table) {}
+
+    private final int parallelism;
+
+    public IndexBuildStage(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Index build parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /** Runs every task and returns one result per task in submission order; failures are recorded, not thrown. */
+    public List<IndexBuildResult> run(String stage, List<IndexTask> tasks) {
+        Map<String, List<Integer>> byTable = new LinkedHashMap<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            IndexTask task = tasks.get(i);
+            byTable.computeIfAbsent(task.target() + "/" + task.table().toLowerCase(), k -> new ArrayList<>()).add(i);
+        }
+
+        AtomicReferenceArray<IndexBuildResult> results = new AtomicReferenceArray<>(tasks.size());
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, byTable.size())));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<Integer> group : byTable.values()) {
+                futures.add(executor.submit(() -> {
+                    for (int i : group) {
+                        results.set(i, runTask(tasks.get(i)));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    log.warn("{} worker failed: {}", stage, e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<IndexBuildResult> ordered = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            if (results.get(i) != null) ordered.add(results.get(i));
+        }
+        long serialNanos = ordered.stream().mapToLong(IndexBuildResult::elapsedNanos).sum();
+        log.info("{}: {} builds in {} ms wall ({} ms summed), {} failed", stage, ordered.size(),
+                (System.nanoTime() - start) / 1_000_000, serialNanos / 1_000_000,
+                ordered.stream().filter(IndexBuildResult::failed).count());
+        return ordered;
+    }
+
+    private static IndexBuildResult runTask(IndexTask task) {
+        long t0 = System.nanoTime();
+        String error = null;
+        try {
+            task.work().run();
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            log.warn("{} {} on {} failed: {}", task.target(), task.index(), task.table(), error);
+        }
+        long elapsed = System.nanoTime() - t0;
+        if (error == null) {
+            log.info("{} {} on {} built in {} ms", task.target(), task.index(), task.table(), elapsed / 1_000_000);
+        }
+        return new IndexBuildResult(task.target(), task.table(), task.index(), elapsed, error);
+    }
+
+    public static IndexStatement parse(String createIndexSql) {
+        Matcher m = CREATE_INDEX.matcher(createIndexSql);
+        if (!m.find()) {
+            throw new IllegalArgumentException("Not a CREATE INDEX statement: " + createIndexSql);
+        }
+        return new IndexStatement(m.group(1) == null ? null : m.group(1).toUpperCase(), m.group(2), m.group(3));
+    }
+
+    /**
+     * Appends {@code PARALLEL n} and/or {@code NOLOGGING} to a B-tree or multivalue index build.
+     * Other kinds (search indexes) take their options through PARAMETERS and are left unchanged.
+     */
+    public static String withBuildOptions(String createIndexSql, int parallelDegree, boolean nologging) {
+        IndexStatement stmt = parse(createIndexSql);
+        if (stmt.kind() != null && !stmt.kind().equals("MULTIVALUE") && !stmt.kind().equals("UNIQUE")) {
+            return createIndexSql;
+        }
+        StringBuilder sql = new StringBuilder(createIndexSql.stripTrailing());
+        if (parallelDegree > 1) sql.append(" PARALLEL ").append(parallelDegree);
+        if (nologging) sql.append(" NOLOGGING");
+        return sql.toString();
+    }
+
+    /**
+     * Statements that undo the build-only options once the index exists, so queries are not
+     * planned with a parallel index and later DML is logged again.
+     */
+    public static List<String> resetBuildOptions(String createIndexSql, int parallelDegree, boolean nologging) {
+        IndexStatement stmt = parse(createIndexSql);
+        List<String> resets = new ArrayList<>();
+        if (createIndexSql.equals(withBuildOptions(createIndexSql, parallelDegree, nologging))) {
+            return resets;
+        }
+        if (parallelDegree > 1) resets.add("ALTER INDEX " + stmt.name() + " NOPARALLEL");
+        if (nologging) resets.add("ALTER INDEX " + stmt.name() + " LOGGING");
+        return resets;
+    }
+}
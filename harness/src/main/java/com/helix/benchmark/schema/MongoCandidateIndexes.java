@@ -0,0 +1,138 @@
+package com.helix.benchmark.schema;
+
+import com.helix.benchmark.benchmark.IndexExperiment;
+import com.helix.benchmark.config.IndexCandidate;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Candidate index sets on a MongoDB-driver target. While a candidate is applied, the other
+ * indexes of the collections it indexes are hidden from the planner ({@code collMod hidden})
+ * rather than dropped, so restoring them afterwards costs no rebuild. Indexes the candidate
+ * repeats are reused as they are; only those it adds are dropped again.
+ */
+public class MongoCandidateIndexes implements IndexExperiment.Indexes {
+    private static final Logger log = LoggerFactory.getLogger(MongoCandidateIndexes.class);
+
+    private record IndexRef(String collection, String name) {}
+
+    private final MongoDatabase database;
+    private final List<IndexRef> hidden = new ArrayList<>();
+    private final List<IndexRef> created = new ArrayList<>();
+    private final List<IndexRef> candidateIndexes = new ArrayList<>();
+
+    public MongoCandidateIndexes(MongoDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public boolean appliesTo(IndexCandidate candidate) {
+        return !candidate.mongo().isEmpty();
+    }
+
+    @Override
+    public void apply(IndexCandidate candidate) {
+        Set<String> collections = new LinkedHashSet<>();
+        candidate.mongo().forEach(index -> collections.add(index.collection()));
+        for (String name : collections) {
+            MongoCollection<Document> collection = database.getCollection(name);
+            List<IndexCandidate.MongoIndex> wanted = new ArrayList<>(candidate.mongo().stream()
+                    .filter(index -> index.collection().equals(name)).toList());
+            for (Document existing : collection.listIndexes()) {
+                String indexName = existing.getString("name");
+                if ("_id_".equals(indexName) || Boolean.TRUE.equals(existing.get("hidden"))) continue;
+                Document key = existing.get("key", Document.class);
+                if (wanted.removeIf(index -> sameKeys(key, index.keys()))) {
+                    candidateIndexes.add(new IndexRef(name, indexName));
+                } else {
+                    hide(name, indexName);
+                }
+            }
+            for (IndexCandidate.MongoIndex index : wanted) {
+                IndexRef ref = new IndexRef(name, collection.createIndex(new Document(index.keys())));
+                created.add(ref);
+                candidateIndexes.add(ref);
+            }
+        }
+    }
+
+    private void hide(String collection, String index) {
+        try {
+            setHidden(new IndexRef(collection, index), true);
+            hidden.add(new IndexRef(collection, index));
+        } catch (Exception e) {
+            log.warn("Cannot hide index {} on {}, it stays visible to the planner: {}", index, collection, e.getMessage());
+        }
+    }
+
+    private void setHidden(IndexRef index, boolean hide) {
+        database.runCommand(new Document("collMod", index.collection())
+                .append("index", new Document("name", index.name()).append("hidden", hide)));
+    }
+
+    /** Sums {@code $collStats} index sizes of the candidate's indexes. */
+    @Override
+    public long sizeBytes() {
+        long bytes = 0;
+        Set<String> collections = new LinkedHashSet<>();
+        candidateIndexes.forEach(index -> collections.add(index.collection()));
+        for (String name : collections) {
+            Document stats = database.getCollection(name)
+                    .aggregate(List.of(new Document("$collStats", new Document("storageStats", new Document()))))
+                    .first();
+            Document sizes = stats != null && stats.get("storageStats") instanceof Document storage
+                    && storage.get("indexSizes") instanceof Document indexSizes ? indexSizes : new Document();
+            for (IndexRef index : candidateIndexes) {
+                if (index.collection().equals(name) && sizes.get(index.name()) instanceof Number size) {
+                    bytes += size.longValue();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    /** Drops the added indexes and unhides the others; each step is attempted even if one fails. */
+    @Override
+    public void revert() {
+        for (IndexRef index : created) {
+            try {
+                database.getCollection(index.collection()).dropIndex(index.name());
+            } catch (Exception e) {
+                log.warn("Failed to drop candidate index {} on {}: {}", index.name(), index.collection(), e.getMessage());
+            }
+        }
+        for (IndexRef index : hidden) {
+            try {
+                setHidden(index, false);
+            } catch (Exception e) {
+                log.warn("Failed to unhide index {} on {}: {}", index.name(), index.collection(), e.getMessage());
+            }
+        }
+        created.clear();
+        hidden.clear();
+        candidateIndexes.clear();
+    }
+
+    /** Same fields in the same order and direction; numbers compare by value (1 and 1.0 match). */
+    static boolean sameKeys(Document existing, Map<String, Object> keys) {
+        if (existing == null || !List.copyOf(existing.keySet()).equals(List.copyOf(keys.keySet()))) return false;
+        for (Map.Entry<String, Object> key : keys.entrySet()) {
+            Object value = existing.get(key.getKey());
+            boolean same = value instanceof Number a && key.getValue() instanceof Number b
+                    ? a.doubleValue() == b.doubleValue()
+                    : Objects.equals(value, key.getValue());
+            if (!same) return false;
+        }
+        return true;
+    }
+}
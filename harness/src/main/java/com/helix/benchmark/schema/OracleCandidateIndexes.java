@@ -0,0 +1,141 @@
+package com.helix.benchmark.schema;
+
+import com.helix.benchmark.benchmark.IndexExperiment;
+import com.helix.benchmark.config.IndexCandidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Candidate index sets on an Oracle target, given as CREATE INDEX statements. While a candidate
+ * is applied, the other non-unique indexes of the tables it indexes are made INVISIBLE rather
+ * than dropped; primary keys and unique indexes stay in use. An index the candidate names that
+ * already exists is reused and kept; only the ones it creates are dropped again.
+ */
+public class OracleCandidateIndexes implements IndexExperiment.Indexes {
+    private static final Logger log = LoggerFactory.getLogger(OracleCandidateIndexes.class);
+
+    private static final String VISIBLE_INDEXES = """
+            SELECT index_name FROM user_indexes
+            WHERE table_name = ? AND uniqueness = 'NONUNIQUE' AND index_type <> 'LOB' AND visibility = 'VISIBLE'""";
+
+    private final DataSource dataSource;
+    private final Function<IndexCandidate, List<String>> statements;
+    private final List<String> hidden = new ArrayList<>();
+    private final List<String> created = new ArrayList<>();
+    private final List<String> candidateIndexes = new ArrayList<>();
+
+    /** {@code statements} picks the candidate's DDL for this target, e.g. {@link IndexCandidate#oracle}. */
+    public OracleCandidateIndexes(DataSource dataSource, Function<IndexCandidate, List<String>> statements) {
+        this.dataSource = dataSource;
+        this.statements = statements;
+    }
+
+    @Override
+    public boolean appliesTo(IndexCandidate candidate) {
+        return !statements.apply(candidate).isEmpty();
+    }
+
+    @Override
+    public void apply(IndexCandidate candidate) throws SQLException {
+        List<IndexBuildStage.IndexStatement> indexes = statements.apply(candidate).stream()
+                .map(IndexBuildStage::parse).toList();
+        Set<String> tables = new LinkedHashSet<>();
+        for (IndexBuildStage.IndexStatement index : indexes) {
+            tables.add(index.table().toUpperCase());
+            candidateIndexes.add(index.name().toUpperCase());
+        }
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String table : tables) {
+                for (String index : visibleIndexes(conn, table)) {
+                    if (!candidateIndexes.contains(index)) hide(stmt, index);
+                }
+            }
+            for (String sql : statements.apply(candidate)) {
+                String name = IndexBuildStage.parse(sql).name().toUpperCase();
+                try {
+                    stmt.execute(sql);
+                    created.add(name);
+                } catch (SQLException e) {
+                    // ORA-00955: an index of that name exists, so the candidate repeats it
+                    if (e.getErrorCode() != 955) throw e;
+                    log.info("Index {} already exists, reusing it", name);
+                }
+            }
+        }
+    }
+
+    private static List<String> visibleIndexes(Connection conn, String table) throws SQLException {
+        List<String> names = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement(VISIBLE_INDEXES)) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    names.add(rs.getString(1));
+                }
+            }
+        }
+        return names;
+    }
+
+    private void hide(Statement stmt, String index) {
+        try {
+            stmt.execute("ALTER INDEX " + index + " INVISIBLE");
+            hidden.add(index);
+        } catch (SQLException e) {
+            log.warn("Cannot make index {} invisible, it stays in use: {}", index, e.getMessage());
+        }
+    }
+
+    /** Segment bytes of the candidate's indexes. */
+    @Override
+    public long sizeBytes() throws SQLException {
+        if (candidateIndexes.isEmpty()) return 0;
+        String sql = "SELECT NVL(SUM(bytes), 0) FROM user_segments WHERE segment_name IN ("
+                + String.join(", ", candidateIndexes.stream().map(n -> "?").toList()) + ")";
+        try (Connection conn = dataSource.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < candidateIndexes.size(); i++) {
+                ps.setString(i + 1, candidateIndexes.get(i));
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getLong(1) : 0;
+            }
+        }
+    }
+
+    /** Drops the created indexes and makes the others visible again; each step is attempted even if one fails. */
+    @Override
+    public void revert() throws SQLException {
+        try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+            for (String index : created) {
+                execute(stmt, "DROP INDEX " + index);
+            }
+            for (String index : hidden) {
+                execute(stmt, "ALTER INDEX " + index + " VISIBLE");
+            }
+        } finally {
+            created.clear();
+            hidden.clear();
+            candidateIndexes.clear();
+        }
+    }
+
+    private static void execute(Statement stmt, String sql) {
+        try {
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            log.warn("Failed to run {}: {}", sql, e.getMessage());
+        }
+    }
+}
@@ -21,6 +21,17 @@ public class OracleDualityViewSchemaManager implements SchemaManager {
         return views;
     }
 
+    /** The duality view exposing documents of {@code collectionType}. */
+    public static String viewName(String collectionType) {
+        return switch (collectionType) {
+            case "bookRoleInvestor" -> "dv_book_role_investor";
+            case "bookRoleGroup" -> "dv_book_role_group";
+            case "account" -> "dv_account";
+            case "advisor" -> "dv_advisor";
+            default -> throw new IllegalArgumentException("Unknown collection type: " + collectionType);
+        };
+    }
+
     public List<String> getCreateViewStatements() {
         List<String> ddl = new ArrayList<>();
 
@@ -3,6 +3,7 @@ package com.helix.benchmark;
 import com.helix.benchmark.config.BenchmarkConfig;
 import com.helix.benchmark.config.DatabaseTarget;
 import com.helix.benchmark.config.SchemaModel;
+import com.helix.benchmark.query.QueryDefinition;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
@@ -73,4 +74,23 @@ class HelixBenchmarkMainTest {
         var configs = HelixBenchmarkMain.allConfigurations();
         assertThat(configs).anyMatch(c -> c.target() == DatabaseTarget.ORACLE_MONGO_API_DV);
     }
+
+    @Test
+    void scaleSuffixShouldBeCompact() {
+        assertThat(HelixBenchmarkMain.scaleSuffix(1.0)).isEqualTo("@1x");
+        assertThat(HelixBenchmarkMain.scaleSuffix(1.5)).isEqualTo("@1.5x");
+        assertThat(HelixBenchmarkMain.scaleSuffix(2.0)).isEqualTo("@2x");
+    }
+
+    @Test
+    void batchQueryNamesShouldTagSizeAndMode() {
+        assertThat(HelixBenchmarkMain.batchQueryName(QueryDefinition.Q1, 100, true)).isEqualTo("Q1x100-batched");
+        assertThat(HelixBenchmarkMain.batchQueryName(QueryDefinition.Q8, 10, false)).isEqualTo("Q8x10-calls");
+    }
+
+    @Test
+    void pipelinedQueryNamesShouldTagDepthAndMode() {
+        assertThat(HelixBenchmarkMain.pipelinedQueryName(QueryDefinition.Q3, 100, true)).isEqualTo("Q3x100-pipelined");
+        assertThat(HelixBenchmarkMain.pipelinedQueryName(QueryDefinition.Q9, 10, false)).isEqualTo("Q9x10-blocking");
+    }
 }
@@ -37,4 +37,18 @@ class BenchmarkResultTest {
         assertThat(result.p99Millis()).isCloseTo(15.0, within(0.01));
         assertThat(result.averageMillis()).isCloseTo(7.5, within(0.01));
     }
+
+    @Test
+    void shouldAttachServerStatsWithoutChangingClientMetrics() {
+        BenchmarkResult result = new BenchmarkResult(
+                "Q1", "CONFIG1",
+                5_000_000L, 10_000_000L, 15_000_000L,
+                7_500_000.0, 100.0, 200
+        );
+        ServerStats perOp = ServerStats.mongo(200, 1_500, 50, 120, 60);
+
+        assertThat(result.serverStats()).isNull();
+        assertThat(result.withServerStats(perOp).serverStats()).isEqualTo(perOp);
+        assertThat(result.withServerStats(perOp).p50Nanos()).isEqualTo(result.p50Nanos());
+    }
 }
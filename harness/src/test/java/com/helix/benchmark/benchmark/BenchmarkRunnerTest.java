@@ -24,6 +24,20 @@ class BenchmarkRunnerTest {
         assertThat(result.iterationCount()).isEqualTo(10);
     }
 
+    @Test
+    void shouldCallBeforeMeasurementOnceWarmUpIsDone() {
+        AtomicInteger callCount = new AtomicInteger(0);
+        AtomicInteger callsBeforeMeasurement = new AtomicInteger(-1);
+        Supplier<Void> workload = () -> {
+            callCount.incrementAndGet();
+            return null;
+        };
+        new BenchmarkRunner(3, 4).run("Q1", "CONFIG1", workload, () -> callsBeforeMeasurement.set(callCount.get()));
+
+        assertThat(callsBeforeMeasurement.get()).isEqualTo(3);
+        assertThat(callCount.get()).isEqualTo(7);
+    }
+
     @Test
     void shouldProduceValidPercentiles() {
         Supplier<Void> workload = () -> {
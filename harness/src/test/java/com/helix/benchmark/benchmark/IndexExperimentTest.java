@@ -0,0 +1,97 @@
+package com.helix.benchmark.benchmark;
+
+import com.helix.benchmark.config.IndexCandidate;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndexExperimentTest {
+
+    private static final IndexCandidate COMPOUND = candidate("compound", "CREATE INDEX a ON t (x, y)");
+    private static final IndexCandidate SINGLE = candidate("single", "CREATE INDEX b ON t (x)");
+    private static final IndexCandidate MONGO_ONLY = new IndexCandidate("mongo-only",
+            List.of(new IndexCandidate.MongoIndex("account", Map.of("x", 1))), List.of(), List.of());
+
+    @Test
+    void everyRunShouldReplayTheSameParameterTape() throws Exception {
+        List<Map<String, Object>> tape = List.of(Map.of("k", 1), Map.of("k", 2), Map.of("k", 3));
+        IndexExperiment.Indexes indexes = oracleIndexes();
+        List<Object> seen = new ArrayList<>();
+
+        List<IndexExperiment.Outcome> outcomes = new IndexExperiment(new BenchmarkRunner(1, 2), tape)
+                .run("Q1", "CFG", List.of(COMPOUND, SINGLE), indexes,
+                        params -> seen.add(params.get("k")),
+                        params -> new QueryDetail("Q1", "CFG", "sql", "plan", null, null));
+
+        assertThat(outcomes).extracting(IndexExperiment.Outcome::candidate)
+                .containsExactly(IndexExperiment.REFERENCE, "compound", "single");
+        assertThat(seen).containsExactly(1, 2, 3, 1, 2, 3, 1, 2, 3);
+        assertThat(outcomes.get(1).result().queryName()).isEqualTo("Q1-idx-compound");
+        assertThat(outcomes.get(1).detail().queryName()).isEqualTo("Q1-idx-compound");
+        assertThat(outcomes.get(0).indexBytes()).isEqualTo(-1);
+        assertThat(outcomes.get(2).indexBytes()).isEqualTo(4096);
+        InOrder order = inOrder(indexes);
+        order.verify(indexes).apply(COMPOUND);
+        order.verify(indexes).revert();
+        order.verify(indexes).apply(SINGLE);
+        order.verify(indexes).revert();
+    }
+
+    @Test
+    void failingCandidateShouldBeRecordedAndStillReverted() throws Exception {
+        IndexExperiment.Indexes indexes = oracleIndexes();
+        doThrow(new IllegalStateException("ORA-01408")).when(indexes).apply(COMPOUND);
+
+        List<IndexExperiment.Outcome> outcomes = new IndexExperiment(new BenchmarkRunner(1, 1), List.of(Map.of()))
+                .run("Q7", "CFG", List.of(COMPOUND, MONGO_ONLY), indexes, params -> { }, params -> null);
+
+        assertThat(outcomes).hasSize(2);
+        assertThat(outcomes.get(1).failed()).isTrue();
+        assertThat(outcomes.get(1).error()).isEqualTo("ORA-01408");
+        verify(indexes).revert();
+        verify(indexes, never()).apply(MONGO_ONLY);
+    }
+
+    @Test
+    void rankShouldOrderByP99AndBreakNearTiesByIndexSize() {
+        List<IndexExperiment.Outcome> ranked = IndexExperiment.rank(List.of(
+                outcome("slow", 9_000_000, 100),
+                outcome("fast-large", 2_000_000, 90_000),
+                new IndexExperiment.Outcome("broken", null, -1, null, "ORA-00054"),
+                outcome("fast-small", 2_050_000, 8_000),
+                outcome("fast-unknown", 2_010_000, -1),
+                outcome("medium", 3_000_000, 10)));
+
+        assertThat(ranked).extracting(IndexExperiment.Outcome::candidate)
+                .containsExactly("fast-small", "fast-large", "fast-unknown", "medium", "slow", "broken");
+    }
+
+    private static IndexExperiment.Indexes oracleIndexes() throws Exception {
+        IndexExperiment.Indexes indexes = mock(IndexExperiment.Indexes.class);
+        when(indexes.appliesTo(any())).thenAnswer(inv -> !((IndexCandidate) inv.getArgument(0)).oracle().isEmpty());
+        when(indexes.sizeBytes()).thenReturn(4096L);
+        return indexes;
+    }
+
+    private static IndexCandidate candidate(String name, String ddl) {
+        return new IndexCandidate(name, List.of(), List.of(ddl), List.of());
+    }
+
+    private static IndexExperiment.Outcome outcome(String candidate, long p99Nanos, long indexBytes) {
+        BenchmarkResult result = new BenchmarkResult("Q1-idx-" + candidate, "CFG", p99Nanos / 2, p99Nanos, p99Nanos,
+                p99Nanos / 2.0, 100, 10);
+        return new IndexExperiment.Outcome(candidate, result, indexBytes, null, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.helix.benchmark.benchmark;
+
+import com.helix.benchmark.datagen.DocumentBatch;
+import com.helix.benchmark.datagen.LoadPipeline;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestBenchmarkTest {
+
+    private static List<RawBsonDocument> docs(int count) {
+        List<RawBsonDocument> docs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            docs.add(RawBsonDocument.parse(new Document("_id", String.valueOf(i)).append("v", i).toJson()));
+        }
+        return docs;
+    }
+
+    // Keeps the IDs currently inserted, so runs can check they start empty
+    private static class StoreSink implements LoadPipeline.BatchSink {
+        final Set<String> stored = ConcurrentHashMap.newKeySet();
+        volatile int maxStored;
+        String failWith;
+
+        @Override
+        public String name() {
+            return "STORE";
+        }
+
+        @Override
+        public void load(String collectionType, DocumentBatch batch) {
+            if (failWith != null) throw new IllegalStateException(failWith);
+            for (RawBsonDocument doc : batch.bson()) {
+                assertThat(stored.add(doc.getString("_id").getValue())).isTrue();
+            }
+            maxStored = Math.max(maxStored, stored.size());
+        }
+
+        @Override
+        public long discard(String collectionType, DocumentBatch batch) {
+            long removed = 0;
+            for (RawBsonDocument doc : batch.bson()) {
+                if (stored.remove(doc.getString("_id").getValue())) removed++;
+            }
+            return removed;
+        }
+    }
+
+    @Test
+    void shouldRunEveryBatchSizeAndWriterCount() {
+        StoreSink sink = new StoreSink();
+        IngestBenchmark benchmark = new IngestBenchmark(List.of(10, 25), List.of(1, 3));
+
+        List<IngestResult> results = benchmark.run(
+                new IngestBenchmark.Target("STORE", "account", sink, DocumentBatch::json), docs(100));
+
+        assertThat(results).extracting(IngestResult::batchSize).containsExactly(10, 10, 25, 25);
+        assertThat(results).extracting(IngestResult::writers).containsExactly(1, 3, 1, 3);
+        assertThat(results).allSatisfy(r -> {
+            assertThat(r.failed()).isFalse();
+            assertThat(r.documents()).isEqualTo(100);
+            assertThat(r.bytes()).isPositive();
+            assertThat(r.docsPerSec()).isPositive();
+            assertThat(r.p50Nanos()).isLessThanOrEqualTo(r.p95Nanos()).isLessThanOrEqualTo(r.p99Nanos());
+            assertThat(r.histogram().stream().mapToLong(Long::longValue).sum())
+                    .isEqualTo(100 / r.batchSize() + (100 % r.batchSize() > 0 ? 1 : 0));
+        });
+        // Every run reinserted the same documents, so each was removed afterwards
+        assertThat(sink.stored).isEmpty();
+        assertThat(sink.maxStored).isEqualTo(100);
+    }
+
+    @Test
+    void shouldReportFailureAndStopTarget() {
+        StoreSink sink = new StoreSink();
+        sink.failWith = "ORA-40940: cannot insert into duality view";
+        IngestBenchmark benchmark = new IngestBenchmark(List.of(10, 20), List.of(1, 2));
+
+        List<IngestResult> results = benchmark.run(
+                new IngestBenchmark.Target("ORACLE_DUALITY_VIEW", "dv_account", sink, DocumentBatch::oson), docs(30));
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).failed()).isTrue();
+        assertThat(results.get(0).error()).contains("ORA-40940");
+    }
+
+    @Test
+    void shouldTagBatchesWithFirstIndex() {
+        List<DocumentBatch> batches = IngestBenchmark.batches(docs(25), 10);
+
+        assertThat(batches).extracting(DocumentBatch::size).containsExactly(10, 10, 5);
+        assertThat(batches).extracting(DocumentBatch::firstIndex).containsExactly(0, 10, 20);
+    }
+
+    @Test
+    void shouldBucketLatenciesByUpperBound() {
+        List<Long> histogram = IngestResult.histogram(new long[]{500_000, 1_000_000, 1_500_000, 7_000_000_000L});
+
+        assertThat(histogram).hasSize(IngestResult.BUCKET_BOUNDS_MILLIS.size() + 1);
+        assertThat(histogram.get(0)).isEqualTo(2);
+        assertThat(histogram.get(1)).isEqualTo(1);
+        assertThat(histogram.get(histogram.size() - 1)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectEmptyOrNonPositiveSettings() {
+        assertThatThrownBy(() -> new IngestBenchmark(List.of(), List.of(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IngestBenchmark(List.of(100), List.of(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
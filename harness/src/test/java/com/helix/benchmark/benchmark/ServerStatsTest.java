@@ -0,0 +1,46 @@
+package com.helix.benchmark.benchmark;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ServerStatsTest {
+
+    @Test
+    void deltaShouldCoverOnlyTheRun() {
+        ServerStats before = ServerStats.oracle(10, 5_000, 4_000, 1_000, 20, 500);
+        ServerStats after = ServerStats.oracle(110, 25_000, 14_000, 9_000, 20, 5_500);
+
+        ServerStats delta = after.minus(before);
+
+        assertThat(delta.executions()).isEqualTo(100);
+        assertThat(delta.elapsedMicros()).isEqualTo(20_000);
+        assertThat(delta.bufferGets()).isEqualTo(8_000);
+        assertThat(delta.diskReads()).isZero();
+    }
+
+    @Test
+    void perOperationShouldAverageOverExecutions() {
+        ServerStats perOp = ServerStats.oracle(100, 20_000, 10_000, 8_000, 0, 5_000).perOperation();
+
+        assertThat(perOp.executions()).isEqualTo(100);
+        assertThat(perOp.elapsedMillis()).isCloseTo(0.2, within(1e-9));
+        assertThat(perOp.cpuMillis()).isCloseTo(0.1, within(1e-9));
+        assertThat(perOp.bufferGets()).isEqualTo(80);
+        assertThat(perOp.rows()).isEqualTo(50);
+    }
+
+    @Test
+    void metricsASourceDoesNotReportShouldStayNaN() {
+        ServerStats mongo = ServerStats.mongo(20, 4_000, 100, 300, 150)
+                .minus(ServerStats.mongo(0, 0, 0, 0, 0))
+                .perOperation();
+
+        assertThat(mongo.keysExamined()).isEqualTo(15);
+        assertThat(mongo.docsExamined()).isEqualTo(7.5);
+        assertThat(mongo.cpuMicros()).isNaN();
+        assertThat(mongo.bufferGets()).isNaN();
+        assertThat(ServerStats.oracle(1, 1, 1, 1, 1, 1).keysExamined()).isNaN();
+    }
+}
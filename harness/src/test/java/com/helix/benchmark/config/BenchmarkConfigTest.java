@@ -3,6 +3,8 @@ package com.helix.benchmark.config;
 import org.junit.jupiter.api.Test;
 
 import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -61,6 +63,147 @@ class BenchmarkConfigTest {
         assertThat(configId).isEqualTo("MONGO_NATIVE_EMBEDDED");
     }
 
+    @Test
+    void shouldParseLoadingSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.pipelinedLoad()).isTrue();
+        assertThat(config.generatorThreads()).isEqualTo(2);
+        assertThat(config.pipelineQueueDepth()).isEqualTo(3);
+        assertThat(config.pipelineBatchSize()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldParseSizeScalingSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.scaleToTargetSize()).isFalse();
+        assertThat(config.sizeSampleDocuments()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldParseFanOutDistributions() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.advisorPopularity()).isEqualTo(1.1);
+        assertThat(config.distribution("investorsPerGroupAdvisor", 1, 5))
+                .isEqualTo(new DistributionSpec("pareto", 1, 500, 1.2));
+        // Unconfigured distributions fall back to the original uniform ranges
+        assertThat(config.distribution("advisorsPerAccount", 1, 2)).isEqualTo(new DistributionSpec("uniform", 1, 2, 1.0));
+    }
+
+    @Test
+    void shouldParseAppendSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.appendSteps()).containsExactly(0.5, 0.5);
+        assertThat(config.appendRefreshStatistics()).isFalse();
+    }
+
+    @Test
+    void shouldParseLoaderSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.mongoWriterThreads()).isEqualTo(3);
+        assertThat(config.mongoLoadWriteConcern()).isEqualTo("majority");
+        assertThat(config.mongoLoadJournal()).isTrue();
+        assertThat(config.mongoLoadCompressors()).containsExactly("zstd", "zlib");
+        assertThat(config.osonIngest()).isFalse();
+        assertThat(config.resumeLoads()).isFalse();
+        assertThat(config.loadManifestFile()).isEqualTo("target/test-load-manifest.json");
+        assertThat(config.oracleLoadSessions()).isEqualTo(3);
+        assertThat(config.oracleDirectPath()).isTrue();
+        assertThat(config.adaptiveBatching()).isTrue();
+        assertThat(config.adaptiveTargetLatencyMs()).isEqualTo(40);
+        assertThat(config.adaptiveMinBatchSize()).isEqualTo(20);
+        assertThat(config.adaptiveMaxBatchSize()).isEqualTo(4000);
+        assertThat(config.adaptiveIncreaseStep()).isEqualTo(25);
+        assertThat(config.adaptiveDecreaseFactor()).isEqualTo(0.75);
+        assertThat(config.backfillReaders()).isEqualTo(2);
+        assertThat(config.backfillCursorBatchSize()).isEqualTo(500);
+        assertThat(config.backfillChunkSize()).isEqualTo(1000);
+    }
+
+    @Test
+    void shouldParseIndexBuildSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.indexBuildParallelism()).isEqualTo(2);
+        assertThat(config.indexParallelDegree()).isEqualTo(8);
+        assertThat(config.indexNologging()).isTrue();
+        assertThat(config.gatherStatistics()).isFalse();
+        assertThat(config.statisticsDegree()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldParseQueryCacheSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.queryCacheEnabled()).isTrue();
+        assertThat(config.queryCacheMaxEntries()).isEqualTo(500);
+        assertThat(config.queryCacheTtlSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    void shouldParseBatchQuerySettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.batchQueriesEnabled()).isTrue();
+        assertThat(config.batchQuerySizes()).containsExactly(5, 50);
+        assertThat(config.batchQueryWarmUpIterations()).isEqualTo(2);
+        assertThat(config.batchQueryMeasurementIterations()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldParsePipelinedSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.pipelinedEnabled()).isTrue();
+        assertThat(config.pipelinedDepths()).containsExactly(4, 16);
+        assertThat(config.pipelinedWarmUpIterations()).isEqualTo(2);
+        assertThat(config.pipelinedMeasurementIterations()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldParseIndexExperimentCandidates() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.indexExperimentsEnabled()).isTrue();
+        assertThat(config.indexExperimentQuery()).isEqualTo("Q7");
+        assertThat(config.indexExperimentWarmUpIterations()).isEqualTo(3);
+        assertThat(config.indexExperimentMeasurementIterations()).isEqualTo(15);
+        List<IndexCandidate> candidates = config.indexCandidates();
+        assertThat(candidates).extracting(IndexCandidate::name).containsExactly("party-source", "ticker");
+        IndexCandidate.MongoIndex compound = candidates.get(0).mongo().get(0);
+        assertThat(compound.collection()).isEqualTo("account");
+        assertThat(compound.keys()).containsExactly(
+                Map.entry("entitlements.pxPartyRoleIdList", 1), Map.entry("viewableSource", 1));
+        assertThat(candidates.get(0).oracle()).hasSize(1);
+        assertThat(candidates.get(0).relational()).isEmpty();
+        assertThat(candidates.get(1).mongo().get(1).keys()).containsEntry("viewableSource", "hashed");
+        assertThat(candidates.get(1).relational()).hasSize(1);
+    }
+
+    @Test
+    void shouldParseIngestSettings() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.ingestEnabled()).isTrue();
+        assertThat(config.ingestCollection()).isEqualTo("advisor");
+        assertThat(config.ingestDocuments()).isEqualTo(1000);
+        assertThat(config.ingestBatchSizes()).containsExactly(100, 250);
+        assertThat(config.ingestWriters()).containsExactly(2);
+    }
+
+    @Test
+    void shouldParseSnapshotSettingsAndSeed() {
+        BenchmarkConfig config = loadTestConfig();
+
+        assertThat(config.seed()).hasValue(12345L);
+        assertThat(config.snapshotDirectory()).isEqualTo("target/test-snapshot");
+        assertThat(config.snapshotSegmentSizeMb()).isEqualTo(16);
+    }
+
     @Test
     void shouldEnumerateAllSixConfigurations() {
         assertThat(DatabaseTarget.values()).hasSize(6);
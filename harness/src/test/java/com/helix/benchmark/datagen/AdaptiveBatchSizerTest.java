@@ -0,0 +1,91 @@
+package com.helix.benchmark.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveBatchSizerTest {
+
+    private static final long FAST = 10_000_000L;   // 10 ms
+    private static final long SLOW = 500_000_000L;  // 500 ms
+
+    private static AdaptiveBatchSizer sizer() {
+        return new AdaptiveBatchSizer("ORACLE_RELATIONAL", 500, 50, 2000, 100, 100, 0.5);
+    }
+
+    @Test
+    void shouldIncreaseAdditivelyWhileUnderLatencyBound() {
+        AdaptiveBatchSizer sizer = sizer();
+
+        sizer.record("rel_account", 500, FAST);
+        sizer.record("rel_account", 600, FAST);
+
+        assertThat(sizer.size("rel_account")).isEqualTo(700);
+    }
+
+    @Test
+    void shouldDecreaseMultiplicativelyOverLatencyBound() {
+        AdaptiveBatchSizer sizer = sizer();
+
+        sizer.record("rel_account", 500, SLOW);
+
+        assertThat(sizer.size("rel_account")).isEqualTo(250);
+    }
+
+    @Test
+    void shouldTrackTablesSeparately() {
+        AdaptiveBatchSizer sizer = sizer();
+
+        sizer.record("rel_bri_adv_book_roles", 500, SLOW);
+        sizer.record("rel_book_role_investor", 500, FAST);
+
+        assertThat(sizer.sizes()).containsEntry("rel_bri_adv_book_roles", 250)
+                .containsEntry("rel_book_role_investor", 600);
+    }
+
+    @Test
+    void shouldIgnoreStaleAndTailBatches() {
+        AdaptiveBatchSizer sizer = sizer();
+        sizer.record("rel_account", 500, SLOW);
+
+        // A batch cut before the decrease finishing slowly does not halve again,
+        // and a short tail batch finishing fast does not grow the size
+        sizer.record("rel_account", 500, SLOW);
+        sizer.record("rel_account", 30, FAST);
+
+        assertThat(sizer.size("rel_account")).isEqualTo(250);
+    }
+
+    @Test
+    void shouldStayWithinBounds() {
+        AdaptiveBatchSizer sizer = sizer();
+        for (int i = 0; i < 20; i++) {
+            sizer.record("slow", sizer.size("slow"), SLOW);
+            sizer.record("fast", sizer.size("fast"), FAST);
+        }
+
+        assertThat(sizer.size("slow")).isEqualTo(50);
+        assertThat(sizer.size("fast")).isEqualTo(2000);
+    }
+
+    @Test
+    void shouldConvergeAroundLatencyBound() {
+        AdaptiveBatchSizer sizer = sizer();
+        // Simulated table: 0.2 ms per row, so batches over 500 rows exceed the 100 ms bound
+        for (int i = 0; i < 200; i++) {
+            int size = sizer.size("rel_account");
+            sizer.record("rel_account", size, size * 200_000L);
+        }
+
+        assertThat(sizer.size("rel_account")).isBetween(250, 600);
+    }
+
+    @Test
+    void shouldRejectInvalidSettings() {
+        assertThatThrownBy(() -> new AdaptiveBatchSizer("A", 100, 0, 10, 100, 10, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveBatchSizer("A", 100, 10, 1000, 100, 10, 1.0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -50,4 +50,13 @@ class DataLoaderTest {
         assertThat(DataLoader.batchSizeFor(DatabaseTarget.ORACLE_MONGO_API, 1000, 500))
                 .isEqualTo(1000);
     }
+
+    @Test
+    void jsonThroughputShouldCountUtf8BytesNotChars() {
+        String text = "{\"name\": \"M\u00fcller \u20ac \ud83d\ude00\"}";
+
+        assertThat(DataLoader.utf8Length(text))
+                .isEqualTo(text.getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+        assertThat(DataLoader.utf8Length("plain")).isEqualTo(5);
+    }
 }
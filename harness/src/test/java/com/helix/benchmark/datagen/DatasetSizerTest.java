@@ -0,0 +1,53 @@
+package com.helix.benchmark.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class DatasetSizerTest {
+
+    private static final DatasetPlan BASE = new DatasetPlan(100, 1500, 300, 1000, 50, 100, 5);
+
+    @Test
+    void shouldMeasurePositiveAverageSizes() {
+        Map<String, Double> sizes = DatasetSizer.sampleAverageSizes(BASE, FanOut.DEFAULT, 1L, 50);
+
+        assertThat(sizes).containsOnlyKeys(DatasetSizer.COLLECTIONS);
+        assertThat(sizes.values()).allMatch(size -> size > 100);
+    }
+
+    @Test
+    void shouldScaleCountsByOneFactorAndKeepPoolSizes() {
+        DatasetPlan scaled = BASE.scaled(10);
+
+        assertThat(scaled).isEqualTo(new DatasetPlan(1000, 15000, 3000, 10000, 50, 100, 5));
+        assertThat(BASE.scaled(0.001).advisorCount()).isEqualTo(1);
+        assertThat(BASE.scaled(0.001).finInstIdPoolSize()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldHitTargetSize() {
+        double targetGb = 0.005;
+        DatasetSizer.Estimate estimate = DatasetSizer.sizeTo(BASE, FanOut.DEFAULT, targetGb, 7L, 200);
+
+        assertThat(estimate.totalGb()).isCloseTo(targetGb, within(targetGb * 0.01));
+        DatasetPlan plan = estimate.plan();
+        assertThat((double) plan.bookRoleInvestorCount() / plan.advisorCount()).isCloseTo(15.0, within(0.1));
+        assertThat((double) plan.accountCount() / plan.bookRoleGroupCount()).isCloseTo(1000.0 / 300, within(0.05));
+
+        // The measured averages carry over to a freshly generated dataset of the planned size
+        DatasetSizer.Estimate actual = DatasetSizer.estimate(plan, FanOut.DEFAULT, 7L, Integer.MAX_VALUE);
+        assertThat(actual.totalGb()).isCloseTo(targetGb, within(targetGb * 0.05));
+    }
+
+    @Test
+    void shouldRejectOverflowingOrInvalidTargets() {
+        assertThatThrownBy(() -> BASE.scaled(1e9)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DatasetSizer.sizeTo(BASE, FanOut.DEFAULT, 0, 1L, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BASE.count("unknown")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
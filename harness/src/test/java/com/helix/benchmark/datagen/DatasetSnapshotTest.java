@@ -0,0 +1,143 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DatasetSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static DocumentBatch docs(int start, int count) {
+        List<Document> docs = new ArrayList<>();
+        for (int i = start; i < start + count; i++) {
+            docs.add(new Document("_id", "doc" + i).append("n", (long) i).append("pad", "x".repeat(i % 50)));
+        }
+        return DocumentBatch.of(docs);
+    }
+
+    @Test
+    void shouldRoundTripDocumentsAndManifest() throws Exception {
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, 42L, 1024 * 1024);
+        writer.load("advisor", docs(0, 10));
+        writer.load("account", docs(0, 25));
+        writer.load("account", docs(25, 5));
+        DatasetSnapshot.Manifest written = writer.finish();
+
+        assertThat(DatasetSnapshot.exists(dir)).isTrue();
+        DatasetSnapshot.Reader reader = new DatasetSnapshot.Reader(dir);
+        assertThat(reader.manifest()).isEqualTo(written);
+        assertThat(reader.manifest().seed()).isEqualTo(42L);
+        assertThat(reader.count("advisor")).isEqualTo(10);
+        assertThat(reader.count("account")).isEqualTo(30);
+
+        List<Document> read = reader.read("account", 20, 10).documents();
+        assertThat(read).extracting(d -> d.getString("_id"))
+                .containsExactly("doc20", "doc21", "doc22", "doc23", "doc24",
+                        "doc25", "doc26", "doc27", "doc28", "doc29");
+        assertThat(read.get(0).getLong("n")).isEqualTo(20L);
+    }
+
+    @Test
+    void shouldRollSegmentsAndReadAcrossBoundaries() throws Exception {
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, 1L, 400);
+        writer.load("bookRoleInvestor", docs(0, 40));
+        DatasetSnapshot.Manifest manifest = writer.finish();
+
+        DatasetSnapshot.CollectionInfo info = manifest.collections().get("bookRoleInvestor");
+        assertThat(info.segments()).hasSizeGreaterThan(1);
+        assertThat(info.segments()).allMatch(s -> s.bytes() <= 400);
+        assertThat(info.documents()).isEqualTo(40);
+        assertThat(info.bytes()).isEqualTo(info.segments().stream().mapToLong(DatasetSnapshot.Segment::bytes).sum());
+
+        DatasetSnapshot.Reader reader = new DatasetSnapshot.Reader(dir);
+        List<Document> all = reader.read("bookRoleInvestor", 0, 40).documents();
+        for (int i = 0; i < 40; i++) {
+            assertThat(all.get(i).getString("_id")).isEqualTo("doc" + i);
+        }
+    }
+
+    @Test
+    void shouldNotTreatIncompleteSnapshotAsValid() throws Exception {
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, 1L, 1024);
+        writer.load("advisor", docs(0, 3));
+        writer.close();
+
+        assertThat(DatasetSnapshot.exists(dir)).isFalse();
+        assertThat(Files.list(dir)).isNotEmpty();
+    }
+
+    @Test
+    void shouldInvalidatePreviousManifestWhenRewriting() throws Exception {
+        DatasetSnapshot.Writer first = new DatasetSnapshot.Writer(dir, 1L, 1024);
+        first.load("advisor", docs(0, 3));
+        first.finish();
+
+        new DatasetSnapshot.Writer(dir, 2L, 1024);
+
+        assertThat(DatasetSnapshot.exists(dir)).isFalse();
+    }
+
+    @Test
+    void shouldWriteTaggedBatchesInIndexOrderWhateverOrderTheyArriveIn() throws Exception {
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, 1L, 1024 * 1024);
+        writer.load("account", docs(10, 5).startingAt(10));
+        writer.load("account", docs(5, 5).startingAt(5));
+        writer.load("account", docs(0, 5).startingAt(0));
+        writer.finish();
+
+        List<Document> read = new DatasetSnapshot.Reader(dir).read("account", 0, 15).documents();
+        for (int i = 0; i < 15; i++) {
+            assertThat(read.get(i).getString("_id")).isEqualTo("doc" + i);
+        }
+    }
+
+    @Test
+    void missingBatchShouldFailTheSnapshot() throws Exception {
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, 1L, 1024 * 1024);
+        writer.load("account", docs(0, 5).startingAt(0));
+        writer.load("account", docs(10, 5).startingAt(10));
+
+        assertThatThrownBy(writer::finish).isInstanceOf(IOException.class).hasMessageContaining("index 5");
+        assertThat(DatasetSnapshot.exists(dir)).isFalse();
+    }
+
+    @Test
+    void abandonShouldDeleteSegmentsAndEmptyDirectory() throws Exception {
+        Path snapshot = dir.resolve("snap");
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(snapshot, 1L, 400);
+        writer.load("advisor", docs(0, 20));
+
+        writer.abandon();
+
+        assertThat(Files.exists(snapshot)).isFalse();
+    }
+
+    @Test
+    void shouldSnapshotGeneratedBatchesThroughPipeline() throws Exception {
+        ReferenceRegistry registry = new ReferenceRegistry(50, 100, 5);
+        TestDataGenerator generator = new TestDataGenerator(registry, 7L);
+        DatasetSnapshot.Writer writer = new DatasetSnapshot.Writer(dir, generator.seed(), 64 * 1024);
+        LoadPipeline pipeline = new LoadPipeline(List.of(writer), 2, 2, 25);
+
+        pipeline.run("advisor", 120, (start, n) -> generator.encode("advisor", start, n, false));
+        writer.finish();
+
+        DatasetSnapshot.Reader reader = new DatasetSnapshot.Reader(dir);
+        assertThat(reader.count("advisor")).isEqualTo(120);
+        assertThat(reader.read("advisor", 0, 120).documents())
+                .extracting(d -> d.getString("_id"))
+                .doesNotHaveDuplicates()
+                .containsExactlyInAnyOrderElementsOf(registry.getAdvisorIds());
+    }
+}
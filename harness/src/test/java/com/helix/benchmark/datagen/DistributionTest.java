@@ -0,0 +1,75 @@
+package com.helix.benchmark.datagen;
+
+import com.helix.benchmark.config.DistributionSpec;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class DistributionTest {
+
+    private static int[] histogram(Distribution d, int samples) {
+        SplittableRandom rnd = new SplittableRandom(42);
+        int[] counts = new int[d.max() + 1];
+        for (int i = 0; i < samples; i++) {
+            int v = d.sample(rnd);
+            assertThat(v).isBetween(d.min(), d.max());
+            counts[v]++;
+        }
+        return counts;
+    }
+
+    @Test
+    void uniformShouldCoverRangeEvenly() {
+        int[] counts = histogram(Distribution.uniform(1, 4), 40_000);
+
+        assertThat(counts[0]).isZero();
+        for (int v = 1; v <= 4; v++) {
+            assertThat(counts[v] / 40_000.0).isCloseTo(0.25, within(0.02));
+        }
+    }
+
+    @Test
+    void zipfShouldFollowPowerLaw() {
+        int[] counts = histogram(Distribution.zipf(0, 999, 1.0), 200_000);
+
+        // P(rank k) ~ 1/k: rank 1 is twice as likely as rank 2 and ten times rank 10
+        assertThat((double) counts[0] / counts[1]).isCloseTo(2.0, within(0.15));
+        assertThat((double) counts[0] / counts[9]).isCloseTo(10.0, within(1.5));
+        assertThat(counts[0] / 200_000.0).isCloseTo(1 / 7.485, within(0.01));
+    }
+
+    @Test
+    void zipfShouldHandleLargeRanges() {
+        Distribution d = Distribution.zipf(0, 10_000_000, 1.2);
+        SplittableRandom rnd = new SplittableRandom(1);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(d.sample(rnd)).isBetween(0, 10_000_000);
+        }
+    }
+
+    @Test
+    void paretoShouldHaveHeavyTailWithinBounds() {
+        int[] counts = histogram(Distribution.pareto(1, 50_000, 1.0), 100_000);
+
+        assertThat(counts[1]).isGreaterThan(counts[2]);
+        long tail = 0;
+        for (int v = 1000; v < counts.length; v++) {
+            tail += counts[v];
+        }
+        assertThat(tail).isPositive();
+    }
+
+    @Test
+    void shouldBuildFromSpec() {
+        assertThat(Distribution.of(DistributionSpec.uniform(2, 3))).isEqualTo(Distribution.uniform(2, 3));
+        assertThat(Distribution.of(new DistributionSpec("ZIPF", 1, 10, 1.1)).max()).isEqualTo(10);
+        assertThatThrownBy(() -> Distribution.of(new DistributionSpec("normal", 1, 2, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Distribution.uniform(5, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Distribution.pareto(0, 5, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
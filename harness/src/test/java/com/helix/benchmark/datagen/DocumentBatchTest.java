@@ -0,0 +1,57 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentBatchTest {
+
+    private static Document sample() {
+        return new Document("_id", "1")
+                .append("count", 5L)
+                .append("value", 12.5)
+                .append("when", new Date(1_600_000_000_000L))
+                .append("tags", List.of("a", "b"))
+                .append("nested", new Document("flag", true));
+    }
+
+    @Test
+    void shouldEncodeDocumentsToBsonAndJson() {
+        DocumentBatch batch = DocumentBatch.of(List.of(sample()));
+
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.bson().get(0).getString("_id").getValue()).isEqualTo("1");
+        assertThat(batch.json().get(0)).isEqualTo(sample().toJson());
+    }
+
+    @Test
+    void shouldDecodeEncodedBatchToDocuments() {
+        RawBsonDocument raw = new RawBsonDocument(sample(), new org.bson.codecs.DocumentCodec());
+        DocumentBatch batch = DocumentBatch.encoded(List.of(raw), null);
+
+        Document decoded = batch.documents().get(0);
+        assertThat(decoded).isEqualTo(sample());
+        assertThat(batch.json().get(0)).isEqualTo(sample().toJson());
+    }
+
+    @Test
+    void shouldConvertOnlyOnce() {
+        DocumentBatch batch = DocumentBatch.of(List.of(sample()));
+
+        assertThat(batch.bson()).isSameAs(batch.bson());
+        assertThat(batch.json()).isSameAs(batch.json());
+    }
+
+    @Test
+    void shouldRejectMismatchedJson() {
+        RawBsonDocument raw = new RawBsonDocument(sample(), new org.bson.codecs.DocumentCodec());
+        assertThatThrownBy(() -> DocumentBatch.encoded(List.of(raw), List.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
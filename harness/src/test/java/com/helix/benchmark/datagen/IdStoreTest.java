@@ -0,0 +1,120 @@
+package com.helix.benchmark.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IdStoreTest {
+
+    @Test
+    void shouldStoreNumericAndSymbolicIds() {
+        IdStore store = new IdStore();
+        store.add("100000000000");
+        store.add("ADV1");
+        store.add(42L);
+        store.add("007");
+
+        assertThat(store.view()).containsExactly("100000000000", "ADV1", "42", "007");
+        assertThat(store.view()).contains("ADV1").doesNotContain("7", "ADV2");
+    }
+
+    @Test
+    void shouldRecognizeOnlyCanonicalDecimals() {
+        assertThat(IdStore.parseCanonical("0")).isZero();
+        assertThat(IdStore.parseCanonical("1000000000000")).isEqualTo(1_000_000_000_000L);
+        assertThat(IdStore.parseCanonical("012")).isEqualTo(-1);
+        assertThat(IdStore.parseCanonical("-5")).isEqualTo(-1);
+        assertThat(IdStore.parseCanonical("12a")).isEqualTo(-1);
+        assertThat(IdStore.parseCanonical("")).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldAppendConcurrentlyAcrossChunks() throws Exception {
+        IdStore store = new IdStore();
+        int threads = 4;
+        int perThread = 100_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                long base = t * (long) perThread;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        store.add(base + i);
+                    }
+                }));
+            }
+            for (Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        store.sort();
+        assertThat(store.size()).isEqualTo(threads * perThread);
+        for (int i = 0; i < threads * perThread; i += 9_973) {
+            assertThat(store.get(i)).isEqualTo(String.valueOf(i));
+        }
+    }
+
+    @Test
+    void viewShouldBeFixedAtCreation() {
+        IdStore store = new IdStore();
+        store.add(1L);
+        List<String> view = store.view();
+        store.add(2L);
+
+        assertThat(view).containsExactly("1");
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void randomSubsetShouldBeDistinct() {
+        IdStore store = new IdStore();
+        for (long i = 0; i < 500; i++) {
+            store.add(i);
+        }
+        SplittableRandom rnd = new SplittableRandom(11);
+
+        assertThat(store.randomSubset(rnd, 5)).hasSize(5).doesNotHaveDuplicates();
+        assertThat(store.randomSubset(rnd, 200)).hasSize(200).doesNotHaveDuplicates();
+        assertThat(store.randomSubset(rnd, 1000)).hasSize(500).doesNotHaveDuplicates();
+        assertThat(new IdStore().randomSubset(rnd, 3)).isEmpty();
+    }
+
+    @Test
+    void largeRandomSubsetShouldBeDistinctAndSpreadOverTheStore() {
+        IdStore store = new IdStore();
+        for (long i = 0; i < 1_000_000; i++) {
+            store.add(i);
+        }
+
+        List<String> subset = store.randomSubset(new SplittableRandom(3), 5_000);
+
+        assertThat(subset).hasSize(5_000).doesNotHaveDuplicates();
+        assertThat(subset).anyMatch(id -> Long.parseLong(id) < 500_000).anyMatch(id -> Long.parseLong(id) >= 500_000);
+    }
+
+    @Test
+    void sortShouldOrderSymbolsBeforeNumbers() {
+        IdStore store = new IdStore();
+        store.add(20L);
+        store.add("B");
+        store.add(3L);
+        store.add("A");
+
+        store.sort();
+
+        assertThat(store.view()).containsExactly("A", "B", "3", "20");
+        store.add("A");
+        assertThat(store.get(4)).isEqualTo("A");
+    }
+}
@@ -0,0 +1,200 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadManifestTest {
+
+    private static final DatasetPlan PLAN = new DatasetPlan(20, 30, 0, 0, 5, 5, 5);
+
+    @TempDir
+    Path tempDir;
+
+    private static DocumentBatch docs(int start, int count) {
+        List<Document> docs = new ArrayList<>();
+        for (int i = start; i < start + count; i++) {
+            docs.add(new Document("_id", String.valueOf(i)));
+        }
+        return DocumentBatch.of(docs).startingAt(start);
+    }
+
+    private static class RecordingSink implements LoadPipeline.BatchSink {
+        final String name;
+        final List<Integer> loaded = Collections.synchronizedList(new ArrayList<>());
+        final List<Integer> discarded = Collections.synchronizedList(new ArrayList<>());
+        int failAt = -1;
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void load(String collectionType, DocumentBatch batch) {
+            if (batch.firstIndex() == failAt) {
+                throw new IllegalStateException("connection reset");
+            }
+            loaded.add(batch.firstIndex());
+        }
+
+        @Override
+        public long discard(String collectionType, DocumentBatch batch) {
+            discarded.add(batch.firstIndex());
+            return 3;
+        }
+    }
+
+    @Test
+    void shouldRecordLoadedBatchesAndSkipThemOnReload() throws Exception {
+        LoadManifest manifest = LoadManifest.open(tempDir.resolve("m.json"), null, 7L, PLAN, 10);
+        RecordingSink target = new RecordingSink("MONGO_NATIVE");
+        LoadPipeline.BatchSink sink = manifest.checkpointed(target);
+
+        sink.load("advisor", docs(0, 10));
+        sink.load("advisor", docs(10, 10));
+        sink.load("advisor", docs(0, 10));
+
+        assertThat(target.loaded).containsExactly(0, 10);
+        assertThat(manifest.documents("MONGO_NATIVE", "advisor")).isEqualTo(20);
+        assertThat(manifest.isLoadedEverywhere(List.of("MONGO_NATIVE"), "advisor", 10)).isTrue();
+        assertThat(manifest.state().complete("MONGO_NATIVE")).isFalse();
+    }
+
+    @Test
+    void shouldResumeFromFileAndDiscardInterruptedBatch() throws Exception {
+        Path file = tempDir.resolve("m.json");
+        LoadManifest first = LoadManifest.open(file, null, 7L, PLAN, 10);
+        RecordingSink mongo = new RecordingSink("MONGO_NATIVE");
+        RecordingSink oracle = new RecordingSink("ORACLE_JDBC");
+        oracle.failAt = 10;
+        LoadPipeline.BatchSink mongoSink = first.checkpointed(mongo);
+        LoadPipeline.BatchSink oracleSink = first.checkpointed(oracle);
+        mongoSink.load("advisor", docs(0, 10));
+        mongoSink.load("advisor", docs(10, 10));
+        oracleSink.load("advisor", docs(0, 10));
+        assertThatThrownBy(() -> oracleSink.load("advisor", docs(10, 10))).hasMessageContaining("connection reset");
+
+        LoadManifest.State saved = LoadManifest.read(file).orElseThrow();
+        LoadManifest resumed = LoadManifest.open(file, saved, 7L, PLAN, 10);
+        RecordingSink oracleAgain = new RecordingSink("ORACLE_JDBC");
+        LoadPipeline.BatchSink sink = resumed.checkpointed(oracleAgain);
+        sink.load("advisor", docs(0, 10));
+        sink.load("advisor", docs(10, 10));
+
+        assertThat(resumed.loadedTargets()).containsExactly("MONGO_NATIVE", "ORACLE_JDBC");
+        assertThat(resumed.loadedEverywhere(List.of("MONGO_NATIVE", "ORACLE_JDBC"), "advisor"))
+                .extracting(LoadManifest.Chunk::start).containsExactly(0, 10);
+        assertThat(oracleAgain.loaded).containsExactly(10);
+        assertThat(oracleAgain.discarded).containsExactly(10);
+    }
+
+    @Test
+    void batchRegeneratedByAnotherGeneratorShouldMatchTheLoadedCopy() throws Exception {
+        // A resumed run builds a new generator from the same seed and regenerates batches other targets have
+        LoadManifest manifest = LoadManifest.open(tempDir.resolve("m.json"), null, 7L, PLAN, 10);
+        TestDataGenerator before = new TestDataGenerator(new ReferenceRegistry(5, 5, 5), 7L);
+        TestDataGenerator after = new TestDataGenerator(new ReferenceRegistry(5, 5, 5), 7L);
+        RecordingSink oracle = new RecordingSink("ORACLE_JDBC");
+
+        manifest.checkpointed(new RecordingSink("MONGO_NATIVE"))
+                .load("advisor", before.encode("advisor", 0, 10, false).startingAt(0));
+        manifest.checkpointed(oracle).load("advisor", after.encode("advisor", 0, 10, false).startingAt(0));
+
+        assertThat(oracle.loaded).containsExactly(0);
+        assertThat(manifest.isLoadedEverywhere(List.of("MONGO_NATIVE", "ORACLE_JDBC"), "advisor", 0)).isTrue();
+    }
+
+    @Test
+    void shouldStartOverForDifferentDataset() throws Exception {
+        Path file = tempDir.resolve("m.json");
+        LoadManifest first = LoadManifest.open(file, null, 7L, PLAN, 10);
+        first.checkpointed(new RecordingSink("MONGO_NATIVE")).load("advisor", docs(0, 10));
+        LoadManifest.State saved = first.state();
+
+        assertThat(LoadManifest.open(file, saved, 7L, PLAN, 10).loadedTargets()).containsExactly("MONGO_NATIVE");
+        assertThat(LoadManifest.open(file, saved, 8L, PLAN, 10).loadedTargets()).isEmpty();
+        assertThat(LoadManifest.open(file, saved, 7L, PLAN, 20).loadedTargets()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectBatchThatDiffersFromAnotherTarget() throws Exception {
+        LoadManifest manifest = LoadManifest.open(tempDir.resolve("m.json"), null, 7L, PLAN, 10);
+        manifest.checkpointed(new RecordingSink("MONGO_NATIVE")).load("advisor", docs(0, 10));
+
+        DocumentBatch different = docs(100, 10).startingAt(0);
+        assertThatThrownBy(() -> manifest.checkpointed(new RecordingSink("ORACLE_JDBC")).load("advisor", different))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("differs");
+    }
+
+    @Test
+    void shouldReportCompleteWhenEveryCollectionIsLoaded() throws Exception {
+        LoadManifest manifest = LoadManifest.open(null, null, 7L, PLAN, 10);
+        LoadPipeline.BatchSink sink = manifest.checkpointed(new RecordingSink("MONGO_NATIVE"));
+        for (int start = 0; start < 20; start += 10) sink.load("advisor", docs(start, 10));
+        for (int start = 0; start < 30; start += 10) sink.load("bookRoleInvestor", docs(start, 10));
+
+        LoadManifest.State state = LoadManifest.parse(manifest.toJson());
+
+        assertThat(state.complete("MONGO_NATIVE")).isTrue();
+        assertThat(state.complete("ORACLE_JDBC")).isFalse();
+        assertThat(state.seed()).isEqualTo(7L);
+    }
+
+    @Test
+    void appendedBatchesShouldGrowTheDatasetWhenResumedFromPublishedState() throws Exception {
+        LoadManifest manifest = LoadManifest.open(null, null, 7L, PLAN, 10);
+        LoadPipeline.BatchSink sink = manifest.checkpointed(new RecordingSink("MONGO_NATIVE"));
+        for (int start = 0; start < 20; start += 10) sink.load("advisor", docs(start, 10));
+        for (int start = 0; start < 30; start += 10) sink.load("bookRoleInvestor", docs(start, 10));
+
+        LoadManifest kept = LoadManifest.resume(tempDir.resolve("m.json"), LoadManifest.parse(manifest.toJson()));
+        assertThat(kept.planned("advisor")).isEqualTo(20);
+        kept.checkpointed(new RecordingSink("MONGO_NATIVE")).load("advisor", docs(20, 5));
+        kept.grow("advisor", 5);
+
+        LoadManifest.State saved = LoadManifest.read(tempDir.resolve("m.json")).orElseThrow();
+        assertThat(saved.plan()).containsEntry("advisor", 25);
+        assertThat(saved.complete("MONGO_NATIVE")).isTrue();
+        assertThat(LoadManifest.resume(null, saved).planned("advisor")).isEqualTo(25);
+    }
+
+    @Test
+    void concurrentCheckpointsShouldAllReachTheFile() throws Exception {
+        Path file = tempDir.resolve("m.json");
+        LoadManifest manifest = LoadManifest.open(file, null, 7L, PLAN, 10);
+        LoadPipeline pipeline = new LoadPipeline(List.of(
+                manifest.checkpointed(new RecordingSink("MONGO_NATIVE")),
+                manifest.checkpointed(new RecordingSink("ORACLE_JDBC"))), 4, 4, 10);
+
+        pipeline.run("advisor", 500, LoadManifestTest::docs);
+
+        LoadManifest.State saved = LoadManifest.read(file).orElseThrow();
+        for (String target : List.of("MONGO_NATIVE", "ORACLE_JDBC")) {
+            assertThat(saved.targets().get(target).loaded().get("advisor")).hasSize(50);
+            assertThat(saved.targets().get(target).inFlight()).isEmpty();
+        }
+    }
+
+    @Test
+    void shouldRequireBatchesTaggedWithFirstIndex() {
+        LoadManifest manifest = LoadManifest.open(null, null, 7L, PLAN, 10);
+        DocumentBatch untagged = DocumentBatch.of(List.of(new Document("_id", "1")));
+
+        assertThatThrownBy(() -> manifest.checkpointed(new RecordingSink("A")).load("advisor", untagged))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
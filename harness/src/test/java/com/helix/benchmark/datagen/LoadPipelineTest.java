@@ -0,0 +1,205 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoadPipelineTest {
+
+    private static DocumentBatch docs(int start, int count) {
+        List<Document> docs = new ArrayList<>();
+        for (int i = start; i < start + count; i++) {
+            docs.add(new Document("_id", String.valueOf(i)));
+        }
+        return DocumentBatch.of(docs);
+    }
+
+    private static class RecordingSink implements LoadPipeline.BatchSink {
+        final String name;
+        final Set<String> ids = ConcurrentHashMap.newKeySet();
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingSink(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void load(String collectionType, DocumentBatch batch) {
+            batchSizes.add(batch.size());
+            batch.documents().forEach(d -> ids.add(d.getString("_id")));
+        }
+
+        @Override
+        public long discard(String collectionType, DocumentBatch batch) {
+            return batch.documents().stream().filter(d -> ids.remove(d.getString("_id"))).count();
+        }
+    }
+
+    @Test
+    void shouldDeliverEveryDocumentToEverySink() {
+        RecordingSink a = new RecordingSink("A");
+        RecordingSink b = new RecordingSink("B");
+        LoadPipeline pipeline = new LoadPipeline(List.of(a, b), 3, 2, 100);
+
+        pipeline.run("advisor", 1050, LoadPipelineTest::docs);
+
+        assertThat(a.ids).hasSize(1050);
+        assertThat(b.ids).hasSize(1050);
+        assertThat(a.batchSizes).hasSize(11);
+        assertThat(a.batchSizes).allMatch(size -> size <= 100);
+    }
+
+    @Test
+    void shouldAppendFromFirstIndexWithAbsoluteBatchIndexes() {
+        RecordingSink sink = new RecordingSink("A");
+        LoadPipeline pipeline = new LoadPipeline(List.of(sink), 2, 2, 100);
+
+        pipeline.run("account", 1050, 250, LoadPipelineTest::docs, start -> start == 1150);
+
+        // Batches start at 1050, 1150 (skipped) and 1250
+        assertThat(sink.ids).hasSize(150).contains("1050", "1149", "1250", "1299")
+                .doesNotContain("1049", "1150", "1300");
+        assertThat(sink.batchSizes).containsExactlyInAnyOrder(100, 50);
+    }
+
+    @Test
+    void shouldReportStatsForGeneratorAndEachSink() {
+        LoadPipeline pipeline = new LoadPipeline(
+                List.of(new RecordingSink("A"), new RecordingSink("B")), 1, 1, 50);
+
+        List<LoadPipeline.StageStats> stats = pipeline.run("account", 200, LoadPipelineTest::docs);
+
+        assertThat(stats).extracting(LoadPipeline.StageStats::stage)
+                .containsExactly("generate", "A", "B");
+        assertThat(stats).allMatch(s -> s.documents() == 200);
+        assertThat(stats).noneMatch(LoadPipeline.StageStats::failed);
+    }
+
+    @Test
+    void shouldIsolateFailingSink() {
+        RecordingSink healthy = new RecordingSink("healthy");
+        LoadPipeline.BatchSink broken = new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                throw new IllegalStateException("connection refused");
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) {
+                return 0;
+            }
+        };
+        // Queue depth of 1 would deadlock the generator if the failed sink stopped draining
+        LoadPipeline pipeline = new LoadPipeline(List.of(broken, healthy), 2, 1, 10);
+
+        List<LoadPipeline.StageStats> stats = pipeline.run("account", 500, LoadPipelineTest::docs);
+
+        assertThat(healthy.ids).hasSize(500);
+        assertThat(stats.get(1).failed()).isTrue();
+        assertThat(stats.get(1).documents()).isZero();
+        assertThat(stats.get(2).failed()).isFalse();
+    }
+
+    @Test
+    void shouldBoundInFlightBatchesByQueueDepth() {
+        AtomicInteger generated = new AtomicInteger();
+        AtomicInteger maxAhead = new AtomicInteger();
+        AtomicInteger consumed = new AtomicInteger();
+        LoadPipeline.BatchSink slow = new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return "slow";
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                Thread.sleep(2);
+                consumed.incrementAndGet();
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) {
+                return 0;
+            }
+        };
+        LoadPipeline pipeline = new LoadPipeline(List.of(slow), 1, 2, 10);
+
+        pipeline.run("account", 300, (start, count) -> {
+            int ahead = generated.incrementAndGet() - consumed.get();
+            maxAhead.accumulateAndGet(ahead, Math::max);
+            return docs(start, count);
+        });
+
+        // queue depth + one batch being loaded + one being generated
+        assertThat(maxAhead.get()).isLessThanOrEqualTo(4);
+        assertThat(consumed.get()).isEqualTo(30);
+    }
+
+    @Test
+    void shouldSkipBatchesAndTagFirstIndex() {
+        List<Integer> starts = Collections.synchronizedList(new ArrayList<>());
+        LoadPipeline.BatchSink sink = new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return "A";
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) {
+                starts.add(batch.firstIndex());
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) {
+                return 0;
+            }
+        };
+        AtomicInteger generated = new AtomicInteger();
+        LoadPipeline pipeline = new LoadPipeline(List.of(sink), 2, 2, 10);
+
+        pipeline.run("account", 50, (start, count) -> {
+            generated.incrementAndGet();
+            return docs(start, count);
+        }, start -> start == 10 || start == 30);
+
+        assertThat(starts).containsExactlyInAnyOrder(0, 20, 40);
+        assertThat(generated.get()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldPropagateGeneratorFailure() {
+        LoadPipeline pipeline = new LoadPipeline(List.of(new RecordingSink("A")), 1, 2, 10);
+
+        assertThatThrownBy(() -> pipeline.run("account", 100, (start, count) -> {
+            if (start >= 50) throw new IllegalStateException("boom");
+            return docs(start, count);
+        })).isInstanceOf(RuntimeException.class).hasMessageContaining("boom");
+    }
+
+    @Test
+    void shouldRejectNonPositiveSettings() {
+        assertThatThrownBy(() -> new LoadPipeline(List.of(), 0, 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LoadPipeline(List.of(), 1, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
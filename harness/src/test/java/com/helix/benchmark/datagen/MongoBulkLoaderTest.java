@@ -0,0 +1,106 @@
+package com.helix.benchmark.datagen;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.WriteModel;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoBulkLoaderTest {
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<RawBsonDocument> collection(Set<String> ids, List<Boolean> ordered) {
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        when(collection.withWriteConcern(any())).thenReturn(collection);
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("helix", "bookRoleInvestor"));
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class))).thenAnswer(inv -> {
+            List<WriteModel<RawBsonDocument>> models = inv.getArgument(0);
+            for (WriteModel<RawBsonDocument> model : models) {
+                ids.add(((InsertOneModel<RawBsonDocument>) model).getDocument().getString("_id").getValue());
+            }
+            ordered.add(((BulkWriteOptions) inv.getArgument(1)).isOrdered());
+            return null;
+        });
+        return collection;
+    }
+
+    private static List<RawBsonDocument> docs(int count) {
+        List<RawBsonDocument> docs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            docs.add(RawBsonDocument.parse(new Document("_id", String.valueOf(i)).toJson()));
+        }
+        return docs;
+    }
+
+    @Test
+    void shouldWriteEveryDocumentWithUnorderedBulkWrites() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Boolean> ordered = Collections.synchronizedList(new ArrayList<>());
+        MongoCollection<RawBsonDocument> collection = collection(ids, ordered);
+        List<RawBsonDocument> docs = docs(1050);
+        WriteConcern concern = MongoBulkLoader.writeConcern("1", false);
+
+        MongoBulkLoader.LoadStats stats = new MongoBulkLoader(4, 100, concern).load(collection, docs);
+
+        assertThat(ids).hasSize(1050);
+        assertThat(ordered).hasSize(11).containsOnly(false);
+        assertThat(stats.documents()).isEqualTo(1050);
+        assertThat(stats.bytes()).isEqualTo(docs.stream().mapToLong(d -> d.getByteBuffer().remaining()).sum());
+        verify(collection).withWriteConcern(concern);
+    }
+
+    @Test
+    void shouldAdaptBatchSizeToObservedLatency() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<Boolean> ordered = Collections.synchronizedList(new ArrayList<>());
+        MongoCollection<RawBsonDocument> collection = collection(ids, ordered);
+        AdaptiveBatchSizer sizer = new AdaptiveBatchSizer("MONGO_NATIVE", 100, 10, 1000, 60_000, 50, 0.5);
+
+        new MongoBulkLoader(2, 100, null, sizer).load(collection, docs(1050));
+
+        // Every batch finished within the bound, so batches grew from 100 by 50 at a time
+        assertThat(ids).hasSize(1050);
+        assertThat(ordered.size()).isLessThan(11);
+        assertThat(sizer.size("bookRoleInvestor")).isGreaterThan(100);
+    }
+
+    @Test
+    void shouldRethrowWriterFailure() {
+        @SuppressWarnings("unchecked")
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        when(collection.bulkWrite(anyList(), any(BulkWriteOptions.class)))
+                .thenThrow(new IllegalStateException("duplicate key"));
+
+        assertThatThrownBy(() -> new MongoBulkLoader(3, 10, null).load(collection, docs(100)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("duplicate key");
+    }
+
+    @Test
+    void shouldParseWriteConcernAndCompressors() {
+        assertThat(MongoBulkLoader.writeConcern("1", false)).isEqualTo(WriteConcern.W1.withJournal(false));
+        assertThat(MongoBulkLoader.writeConcern("majority", true))
+                .isEqualTo(WriteConcern.MAJORITY.withJournal(true));
+        assertThat(MongoBulkLoader.compressors(List.of("zstd", " zlib"))).hasSize(2);
+        assertThatThrownBy(() -> MongoBulkLoader.compressors(List.of("lz4")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
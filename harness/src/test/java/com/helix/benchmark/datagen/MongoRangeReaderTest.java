@@ -0,0 +1,115 @@
+package com.helix.benchmark.datagen;
+
+import com.mongodb.MongoNamespace;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MongoRangeReaderTest {
+
+    private static List<BsonValue> ids(int count) {
+        List<BsonValue> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(new BsonString(String.format("%04d", i)));
+        }
+        return ids;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MongoCollection<RawBsonDocument> collection(int count) {
+        Iterator<RawBsonDocument> docs = new Iterator<>() {
+            int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public RawBsonDocument next() {
+                return RawBsonDocument.parse(new Document("_id", String.valueOf(next++)).toJson());
+            }
+        };
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        when(cursor.hasNext()).thenAnswer(inv -> docs.hasNext());
+        when(cursor.next()).thenAnswer(inv -> docs.next());
+        FindIterable<RawBsonDocument> find = mock(FindIterable.class);
+        when(find.batchSize(anyInt())).thenReturn(find);
+        when(find.iterator()).thenReturn(cursor);
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        when(collection.getNamespace()).thenReturn(new MongoNamespace("helix", "account"));
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        return collection;
+    }
+
+    @Test
+    void shouldCutSampleIntoContiguousRangesAtQuantiles() {
+        List<MongoRangeReader.Range> ranges = MongoRangeReader.ranges(ids(100), 4);
+
+        assertThat(ranges).containsExactly(
+                new MongoRangeReader.Range(null, new BsonString("0025")),
+                new MongoRangeReader.Range(new BsonString("0025"), new BsonString("0050")),
+                new MongoRangeReader.Range(new BsonString("0050"), new BsonString("0075")),
+                new MongoRangeReader.Range(new BsonString("0075"), null));
+    }
+
+    @Test
+    void shouldCollapseDuplicateSplitPoints() {
+        List<BsonValue> sample = List.of(new BsonString("a"), new BsonString("a"), new BsonString("a"),
+                new BsonString("a"), new BsonString("a"), new BsonString("b"));
+
+        assertThat(MongoRangeReader.ranges(sample, 3)).hasSize(2);
+    }
+
+    @Test
+    void shouldUseSingleRangeForMixedIdTypes() {
+        List<BsonValue> sample = List.of(new BsonInt32(1), new BsonString("a"), new BsonString("b"));
+
+        assertThat(MongoRangeReader.ranges(sample, 2)).containsExactly(new MongoRangeReader.Range(null, null));
+        assertThat(MongoRangeReader.ranges(List.of(), 2)).containsExactly(new MongoRangeReader.Range(null, null));
+    }
+
+    @Test
+    void shouldBuildRangeFilters() {
+        BsonDocument bounded = new MongoRangeReader.Range(new BsonString("a"), new BsonString("m"))
+                .filter().toBsonDocument();
+
+        assertThat(bounded.toJson()).contains("$gte").contains("$lt");
+        assertThat(new MongoRangeReader.Range(null, null).filter().toBsonDocument()).isEmpty();
+    }
+
+    @Test
+    void shouldHandRangeToConsumerInChunks() throws Exception {
+        List<Integer> chunkSizes = new ArrayList<>();
+        MongoRangeReader reader = new MongoRangeReader(1, 100, 40);
+
+        long read = reader.read(collection(100), chunk -> chunkSizes.add(chunk.size()));
+
+        assertThat(read).isEqualTo(100);
+        assertThat(chunkSizes).containsExactly(40, 40, 20);
+    }
+
+    @Test
+    void shouldRejectNonPositiveSettings() {
+        assertThatThrownBy(() -> new MongoRangeReader(0, 1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.helix.benchmark.datagen;
+
+import oracle.sql.json.OracleJsonFactory;
+import oracle.sql.json.OracleJsonObject;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OsonEncoderTest {
+
+    private static OracleJsonObject decode(byte[] oson) {
+        return new OracleJsonFactory().createJsonBinaryValue(ByteBuffer.wrap(oson)).asJsonObject();
+    }
+
+    @Test
+    void shouldTranscodeNestedDocument() {
+        Document doc = new Document("_id", "1000000000001")
+                .append("partyRoleId", 42L)
+                .append("count", 7)
+                .append("ratio", 0.25)
+                .append("active", true)
+                .append("missing", null)
+                .append("entitlements", new Document("advisoryContext", List.of("CTX1", "CTX2")))
+                .append("advisors", List.of(new Document("advisorId", "A1").append("noOfViewableAccts", 3)));
+
+        OracleJsonObject oson = decode(OsonEncoder.encode(new RawBsonDocument(doc, new DocumentCodec())));
+
+        assertThat(oson.getString("_id")).isEqualTo("1000000000001");
+        assertThat(oson.getLong("partyRoleId")).isEqualTo(42L);
+        assertThat(oson.getInt("count")).isEqualTo(7);
+        assertThat(oson.getDouble("ratio")).isEqualTo(0.25);
+        assertThat(oson.getBoolean("active")).isTrue();
+        assertThat(oson.isNull("missing")).isTrue();
+        assertThat(oson.getObject("entitlements").getArray("advisoryContext").getString(1)).isEqualTo("CTX2");
+        assertThat(oson.getArray("advisors").getObject(0).getInt("noOfViewableAccts")).isEqualTo(3);
+    }
+
+    @Test
+    void shouldStoreDatesAsUtcTimestamps() {
+        Document doc = new Document("setupTmst", new Date(0L));
+
+        OracleJsonObject oson = decode(OsonEncoder.encode(RawBsonDocument.parse(doc.toJson())));
+
+        assertThat(oson.getLocalDateTime("setupTmst")).isEqualTo(LocalDateTime.of(1970, 1, 1, 0, 0));
+    }
+
+    @Test
+    void batchShouldTranscodeGeneratedDocuments() {
+        TestDataGenerator generator = new TestDataGenerator(new DatasetPlan(5, 10, 5, 5, 10, 10, 10).newRegistry(), 7L);
+        generator.generateAdvisors(5);
+        DocumentBatch batch = generator.encode("bookRoleInvestor", 0, 10, false);
+
+        List<byte[]> oson = batch.oson();
+
+        assertThat(oson).hasSize(10);
+        for (int i = 0; i < oson.size(); i++) {
+            assertThat(decode(oson.get(i)).getString("_id"))
+                    .isEqualTo(batch.bson().get(i).getString("_id").getValue());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.helix.benchmark.datagen;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParallelTargetLoaderTest {
+
+    private static DocumentBatch docs(int count) {
+        List<Document> docs = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            docs.add(new Document("_id", String.valueOf(i)));
+        }
+        return DocumentBatch.of(docs);
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        void load(String collectionType, DocumentBatch batch) throws Exception;
+    }
+
+    private static LoadPipeline.BatchSink sink(String name, Load delegate) {
+        return new LoadPipeline.BatchSink() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void load(String collectionType, DocumentBatch batch) throws Exception {
+                delegate.load(collectionType, batch);
+            }
+
+            @Override
+            public long discard(String collectionType, DocumentBatch batch) {
+                return 0;
+            }
+        };
+    }
+
+    @Test
+    void shouldLoadChunkIntoTargetsConcurrently() {
+        // Each sink waits for the other to start; a sequential loader would time out here
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Load rendezvous = (type, batch) -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("targets were loaded sequentially");
+            }
+        };
+
+        try (ParallelTargetLoader loader = new ParallelTargetLoader(
+                List.of(sink("A", rendezvous), sink("B", rendezvous)))) {
+            loader.load("advisor", docs(10));
+
+            assertThat(loader.progress()).extracting(ParallelTargetLoader.TargetProgress::documents)
+                    .containsExactly(10L, 10L);
+            assertThat(loader.progress()).allMatch(p -> p.failedChunks() == 0);
+        }
+    }
+
+    @Test
+    void shouldIsolateFailingTarget() {
+        Load healthy = (type, batch) -> {};
+        Load broken = (type, batch) -> {
+            throw new IllegalStateException("connection refused");
+        };
+
+        try (ParallelTargetLoader loader = new ParallelTargetLoader(
+                List.of(sink("broken", broken), sink("healthy", healthy)))) {
+            loader.load("account", docs(5));
+            loader.load("account", docs(7));
+
+            List<ParallelTargetLoader.TargetProgress> progress = loader.progress();
+            assertThat(progress.get(0).documents()).isZero();
+            assertThat(progress.get(0).failedChunks()).isEqualTo(2);
+            assertThat(progress.get(1).documents()).isEqualTo(12);
+            assertThat(progress.get(1).failedChunks()).isZero();
+        }
+    }
+}
@@ -130,4 +130,27 @@ class ReferenceRegistryTest {
         String value = registry.randomHierarchyPathValue();
         assertThat(value).isNotBlank();
     }
+
+    @Test
+    void shouldSortRegisteredIds() {
+        registry.registerInvestorId("INV3");
+        registry.registerInvestorId("INV1");
+        registry.registerAdvisorId("ADV2");
+        registry.registerAdvisorId("ADV1");
+
+        registry.sortRegisteredIds();
+
+        assertThat(registry.getInvestorIds()).containsExactly("INV1", "INV3");
+        assertThat(registry.getAdvisorIds()).containsExactly("ADV1", "ADV2");
+    }
+
+    @Test
+    void seededSamplingShouldBeReproducible() {
+        for (int i = 0; i < 20; i++) {
+            registry.registerAdvisorId("ADV" + i);
+        }
+        var first = registry.randomAdvisorIds(new java.util.SplittableRandom(3), 5);
+        var second = registry.randomAdvisorIds(new java.util.SplittableRandom(3), 5);
+        assertThat(first).containsExactlyElementsOf(second);
+    }
 }
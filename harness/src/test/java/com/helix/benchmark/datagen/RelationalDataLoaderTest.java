@@ -3,10 +3,25 @@ package com.helix.benchmark.datagen;
 import org.bson.Document;
 import org.junit.jupiter.api.Test;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class RelationalDataLoaderTest {
 
@@ -51,4 +66,41 @@ class RelationalDataLoaderTest {
         RelationalDataLoader loader = new RelationalDataLoader();
         assertThat(loader).isNotNull();
     }
+
+    @Test
+    void shouldCommitParentRowsBeforeWritingChildTables() throws Exception {
+        Pattern tableName = Pattern.compile("INTO (\\w+)");
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        Map<String, AtomicInteger> rowsByTable = new ConcurrentHashMap<>();
+        DataSource ds = mock(DataSource.class);
+        when(ds.getConnection()).thenAnswer(inv -> {
+            AtomicReference<String> table = new AtomicReference<>();
+            Connection conn = mock(Connection.class);
+            when(conn.prepareStatement(anyString())).thenAnswer(prep -> {
+                Matcher m = tableName.matcher(prep.getArgument(0, String.class));
+                m.find();
+                table.set(m.group(1));
+                events.add("prepare:" + table.get());
+                PreparedStatement ps = mock(PreparedStatement.class);
+                doAnswer(add -> rowsByTable.computeIfAbsent(table.get(), k -> new AtomicInteger()).incrementAndGet())
+                        .when(ps).addBatch();
+                return ps;
+            });
+            doAnswer(commit -> events.add("commit:" + table.get())).when(conn).commit();
+            return conn;
+        });
+        TestDataGenerator generator = new TestDataGenerator(new DatasetPlan(5, 20, 5, 5, 10, 10, 10).newRegistry(), 3L);
+        generator.generateAdvisors(5);
+        List<Document> investors = generator.generateBookRoleInvestors(20);
+
+        new RelationalDataLoader(3, false).loadToRelational(ds, "bookRoleInvestor", investors, 7);
+
+        assertThat(rowsByTable.get("rel_book_role_investor")).hasValue(20);
+        assertThat(rowsByTable).containsKeys("rel_bri_advisors", "rel_bri_advisory_ctx", "rel_bri_adv_book_roles");
+        int lastParentCommit = events.lastIndexOf("commit:rel_book_role_investor");
+        int firstChildPrepare = events.stream().filter(e -> e.startsWith("prepare:rel_bri_"))
+                .findFirst().map(events::indexOf).orElseThrow();
+        assertThat(lastParentCommit).isLessThan(firstChildPrepare);
+        assertThat(events).filteredOn(e -> e.equals("commit:rel_book_role_investor")).hasSize(3);
+    }
 }
@@ -0,0 +1,87 @@
+package com.helix.benchmark.datagen;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SessionPartitionerTest {
+
+    @Test
+    void shouldCapPartitionsBySessionsAndBatches() {
+        assertThat(SessionPartitioner.partitions(10_000, 4, 500)).isEqualTo(4);
+        assertThat(SessionPartitioner.partitions(1_200, 4, 500)).isEqualTo(3);
+        assertThat(SessionPartitioner.partitions(0, 4, 500)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLoadContiguousRangesOnSeparateSessions() throws Exception {
+        List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(inv -> {
+            Connection conn = mock(Connection.class);
+            connections.add(conn);
+            return conn;
+        });
+        List<Integer> items = IntStream.range(0, 1000).boxed().toList();
+        Set<Connection> used = ConcurrentHashMap.newKeySet();
+        List<List<Integer>> partitions = Collections.synchronizedList(new ArrayList<>());
+
+        SessionPartitioner.run(dataSource, items, 4, 100, (conn, partition) -> {
+            used.add(conn);
+            partitions.add(partition);
+        });
+
+        assertThat(partitions).hasSize(4).allMatch(p -> p.size() == 250);
+        assertThat(partitions).allMatch(p -> p.get(p.size() - 1) - p.get(0) == 249);
+        assertThat(used).hasSize(4);
+        for (Connection conn : connections) {
+            verify(conn).commit();
+            verify(conn).close();
+        }
+    }
+
+    @Test
+    void shouldRollBackFailedPartitionAndRethrow() throws Exception {
+        List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenAnswer(inv -> {
+            Connection conn = mock(Connection.class);
+            connections.add(conn);
+            return conn;
+        });
+        List<Integer> items = IntStream.range(0, 400).boxed().toList();
+
+        assertThatThrownBy(() -> SessionPartitioner.run(dataSource, items, 2, 100, (conn, partition) -> {
+            if (partition.get(0) >= 200) throw new IllegalStateException("ORA-00001");
+        })).hasMessageContaining("ORA-00001");
+
+        assertThat(connections).hasSize(2);
+        long rolledBack = connections.stream()
+                .filter(c -> mockingDetails(c).getInvocations().stream()
+                        .anyMatch(i -> i.getMethod().getName().equals("rollback")))
+                .count();
+        assertThat(rolledBack).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAddDirectPathHint() {
+        assertThat(SessionPartitioner.directPath("INSERT INTO jdbc_account (data) VALUES (?)"))
+                .isEqualTo("INSERT /*+ APPEND_VALUES */ INTO jdbc_account (data) VALUES (?)");
+        assertThatThrownBy(() -> SessionPartitioner.directPath("UPDATE t SET x = 1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,6 +1,7 @@
 package com.helix.benchmark.datagen;
 
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -100,6 +101,21 @@ class TestDataGeneratorTest {
         assertThat(registry.getInvestorIds()).hasSize(10);
     }
 
+    @Test
+    void shouldRegisterSameIdsWithoutGenerating() {
+        generator.generateAdvisors(3, 4);
+        generator.generateBookRoleInvestors(2, 5);
+        ReferenceRegistry skipped = new ReferenceRegistry(50, 100, 5);
+        TestDataGenerator resumed = new TestDataGenerator(skipped);
+
+        resumed.registerIds("advisor", 3, 4);
+        resumed.registerIds("bookRoleInvestor", 2, 5);
+        resumed.registerIds("account", 0, 10);
+
+        assertThat(skipped.getAdvisorIds()).containsExactlyElementsOf(registry.getAdvisorIds());
+        assertThat(skipped.getInvestorIds()).containsExactlyElementsOf(registry.getInvestorIds());
+    }
+
     // --- BookRoleGroup generation ---
 
     @Test
@@ -159,4 +175,125 @@ class TestDataGeneratorTest {
         assertThat(doc.get("entitlements")).isNotNull();
         assertThat(doc.get("advisorHierarchy")).isNotNull();
     }
+
+    // --- Encoded generation ---
+
+    @Test
+    void shouldEncodeBookRoleInvestorsAsRawBson() {
+        generator.generateAdvisors(5);
+        DocumentBatch batch = generator.encode("bookRoleInvestor", 0, 10, false);
+
+        assertThat(batch.size()).isEqualTo(10);
+        RawBsonDocument first = batch.bson().get(0);
+        assertThat(first.getString("investorId").getValue()).isEqualTo("100000000000");
+        assertThat(first.getArray("advisors")).isNotEmpty();
+        assertThat(first.getDocument("riskProfile")).isEmpty();
+        assertThat(registry.getInvestorIds()).hasSize(10);
+    }
+
+    @Test
+    void encodingWithoutRegisteringShouldLeaveRegistryUntouched() {
+        generator.generateAdvisors(5);
+        DocumentBatch batch = generator.encodeWithoutRegistering("advisor", 1_000, 3, false);
+
+        assertThat(batch.size()).isEqualTo(3);
+        assertThat(batch.bson().get(0).getString("_id").getValue()).isEqualTo("1000000001000");
+        assertThat(registry.getAdvisorIds()).hasSize(5).doesNotContain("1000000001000");
+    }
+
+    @Test
+    void encodedJsonShouldMatchDocumentJson() {
+        generator.generateAdvisors(5);
+        generator.generateBookRoleInvestors(10);
+        for (String type : List.of("advisor", "bookRoleInvestor", "bookRoleGroup", "account")) {
+            DocumentBatch batch = generator.encode(type, 100, 3, true);
+            for (int i = 0; i < batch.size(); i++) {
+                Document decoded = batch.documents().get(i);
+                assertThat(batch.json().get(i)).isEqualTo(decoded.toJson());
+            }
+        }
+    }
+
+    @Test
+    void encodedDocumentsShouldKeepFieldTypes() {
+        generator.generateAdvisors(5);
+        Document encoded = generator.encode("account", 0, 1, false).documents().get(0);
+        Document tree = generator.generateAccounts(1).get(0);
+
+        assertThat(encoded.keySet()).containsExactlyElementsOf(tree.keySet());
+        for (String key : tree.keySet()) {
+            Class<?> expected = tree.get(key) instanceof List ? List.class : tree.get(key).getClass();
+            assertThat(encoded.get(key)).as(key).isInstanceOf(expected);
+        }
+    }
+
+    // --- Seeded generation ---
+
+    @Test
+    void sameSeedShouldReproduceDocuments() {
+        ReferenceRegistry otherRegistry = new ReferenceRegistry(50, 100, 5);
+        TestDataGenerator a = new TestDataGenerator(registry, 99L);
+        TestDataGenerator b = new TestDataGenerator(otherRegistry, 99L);
+        a.generateAdvisors(5);
+        b.generateAdvisors(5);
+
+        Document first = a.generateBookRoleInvestors(10, 1).get(0);
+        Document second = b.encode("bookRoleInvestor", 10, 1, false).documents().get(0);
+        assertThat(second).isEqualTo(first);
+        assertThat(first.getString("ETLUpdateTS")).isEqualTo(TestDataGenerator.etlUpdateTs(99L))
+                .isNotEqualTo(TestDataGenerator.etlUpdateTs(98L));
+    }
+
+    @Test
+    void documentShouldNotDependOnBatchBoundaries() {
+        TestDataGenerator seeded = new TestDataGenerator(registry, 5L);
+        List<Document> whole = seeded.generateAccounts(0, 6);
+        List<Document> tail = seeded.generateAccounts(3, 3);
+        assertThat(tail).containsExactlyElementsOf(whole.subList(3, 6));
+    }
+
+    @Test
+    void differentSeedsShouldDiffer() {
+        Document a = new TestDataGenerator(registry, 1L).generateAccounts(1).get(0);
+        Document b = new TestDataGenerator(registry, 2L).generateAccounts(1).get(0);
+        assertThat(a.getString("ssnTin") + a.get("holdings"))
+                .isNotEqualTo(b.getString("ssnTin") + b.get("holdings"));
+    }
+
+    // --- Fan-out distributions ---
+
+    @Test
+    void skewedPopularityShouldCreateWhaleAdvisor() {
+        FanOut whales = new FanOut(1.5,
+                Distribution.uniform(1, 3), Distribution.uniform(1, 3),
+                Distribution.uniform(1, 5), Distribution.uniform(1, 2));
+        TestDataGenerator skewed = new TestDataGenerator(registry, 3L, whales);
+        skewed.generateAdvisors(200);
+        registry.sortRegisteredIds();
+
+        String whale = registry.advisorIdAt(0);
+        List<Document> investors = skewed.generateBookRoleInvestors(2000);
+        long withWhale = investors.stream()
+                .filter(d -> d.getList("advisors", Document.class).stream()
+                        .anyMatch(a -> whale.equals(a.getString("advisorId"))))
+                .count();
+
+        assertThat(withWhale).isGreaterThan(600);
+        assertThat(investors).allSatisfy(d -> assertThat(d.getList("advisors", Document.class))
+                .extracting(a -> a.getString("advisorId")).doesNotHaveDuplicates());
+    }
+
+    @Test
+    void arrayLengthsShouldFollowConfiguredDistribution() {
+        FanOut wide = new FanOut(0,
+                Distribution.uniform(6, 6), Distribution.uniform(1, 3),
+                Distribution.uniform(1, 5), Distribution.uniform(2, 2));
+        TestDataGenerator generator = new TestDataGenerator(registry, 3L, wide);
+        generator.generateAdvisors(20);
+
+        assertThat(generator.generateBookRoleInvestors(5))
+                .allSatisfy(d -> assertThat(d.getList("advisors", Document.class)).hasSize(6));
+        assertThat(generator.generateAccounts(5))
+                .allSatisfy(d -> assertThat(d.getList("advisors", Document.class)).hasSize(2));
+    }
 }
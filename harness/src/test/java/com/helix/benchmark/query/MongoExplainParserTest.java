@@ -0,0 +1,74 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.benchmark.ExplainStage;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoExplainParserTest {
+
+    @Test
+    void findShouldParseExecutionStageTree() {
+        Document explain = Document.parse("""
+                {"queryPlanner": {}, "executionStats": {"nReturned": 50, "executionTimeMillis": 12,
+                  "totalKeysExamined": 4000, "totalDocsExamined": 4000,
+                  "executionStages": {"stage": "FETCH", "nReturned": 50, "executionTimeMillisEstimate": 11,
+                    "docsExamined": 4000,
+                    "inputStage": {"stage": "IXSCAN", "indexName": "investorType_1_viewableSource_1",
+                      "nReturned": 4000, "executionTimeMillisEstimate": 3, "keysExamined": 4000}}}}
+                """);
+
+        ExplainStage root = MongoExplainParser.parse(explain);
+
+        assertThat(root.stage()).isEqualTo("FETCH");
+        assertThat(root.docsExamined()).isEqualTo(4000);
+        assertThat(root.keysExamined()).isEqualTo(ExplainStage.NOT_REPORTED);
+        assertThat(root.examinedToReturned()).isEqualTo(80.0);
+        ExplainStage scan = root.inputs().get(0);
+        assertThat(scan.stage()).isEqualTo("IXSCAN");
+        assertThat(scan.detail()).isEqualTo("investorType_1_viewableSource_1");
+        assertThat(scan.examinedToReturned()).isEqualTo(1.0);
+    }
+
+    @Test
+    void aggregationShouldChainStagesWithCursorPlanAtTheBottom() {
+        Document explain = Document.parse("""
+                {"stages": [
+                  {"$cursor": {"executionStats": {"executionStages": {"stage": "IXSCAN",
+                     "indexName": "advisors.advisorId_1", "nReturned": 60, "keysExamined": 60}}},
+                   "nReturned": 60, "executionTimeMillisEstimate": 2},
+                  {"$unwind": {"path": "$advisors"}, "nReturned": 600, "executionTimeMillisEstimate": 3},
+                  {"$sort": {"sortKey": {"mv": -1}, "limit": 50}, "nReturned": 50, "executionTimeMillisEstimate": 4}
+                ]}
+                """);
+
+        ExplainStage root = MongoExplainParser.parse(explain);
+
+        assertThat(root.stage()).isEqualTo("$sort");
+        assertThat(root.nReturned()).isEqualTo(50);
+        ExplainStage unwind = root.inputs().get(0);
+        assertThat(unwind.stage()).isEqualTo("$unwind");
+        ExplainStage cursor = unwind.inputs().get(0);
+        assertThat(cursor.stage()).isEqualTo("$cursor");
+        assertThat(cursor.executionTimeMillis()).isEqualTo(2);
+        assertThat(cursor.inputs()).extracting(ExplainStage::detail).containsExactly("advisors.advisorId_1");
+    }
+
+    @Test
+    void sbePlansShouldFollowOuterAndInnerStages() {
+        Document explain = Document.parse("""
+                {"executionStats": {"executionStages": {"stage": "nlj", "nReturned": 5,
+                  "outerStage": {"stage": "ixseek", "nReturned": 5},
+                  "innerStage": {"stage": "seek", "nReturned": 5}}}}
+                """);
+
+        assertThat(MongoExplainParser.parse(explain).inputs())
+                .extracting(ExplainStage::stage).containsExactly("ixseek", "seek");
+    }
+
+    @Test
+    void explainWithoutExecutionStatsShouldParseToNull() {
+        assertThat(MongoExplainParser.parse(Document.parse("{\"queryPlanner\": {\"winningPlan\": {}}}"))).isNull();
+    }
+}
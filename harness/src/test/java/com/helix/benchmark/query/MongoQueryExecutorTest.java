@@ -2,7 +2,12 @@ package com.helix.benchmark.query;
 
 import com.helix.benchmark.config.DatabaseTarget;
 import com.helix.benchmark.config.SchemaModel;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
 import org.bson.codecs.configuration.CodecRegistries;
 import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
@@ -10,10 +15,17 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class MongoQueryExecutorTest {
 
@@ -112,6 +124,123 @@ class MongoQueryExecutorTest {
         assertThat(json).contains("fundTicker");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void executeFindShouldStreamDecodedDocumentsWithoutCollectingThem() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        FindIterable<Document> find = mock(FindIterable.class);
+        MongoCursor<Document> cursor = mock(MongoCursor.class);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, true, false);
+        when(cursor.next()).thenReturn(new Document("_id", "a"), new Document("_id", "b"), new Document("_id", "c"));
+
+        long count = executor.executeFind(collection, QueryDefinition.Q7, SchemaModel.EMBEDDED,
+                stubParams(QueryDefinition.Q7), DatabaseTarget.MONGO_NATIVE);
+
+        assertThat(count).isEqualTo(3);
+        verify(find, never()).into(any());
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executeFindShouldPassEachDocumentToConsumer() {
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        FindIterable<RawBsonDocument> find = mock(FindIterable.class);
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.iterator()).thenReturn(cursor);
+        when(cursor.hasNext()).thenReturn(true, true, false);
+        when(cursor.next()).thenReturn(RawBsonDocument.parse("{\"_id\": \"a\"}"),
+                RawBsonDocument.parse("{\"_id\": \"b\"}"));
+        List<String> ids = new ArrayList<>();
+
+        executor.executeFind(collection, QueryDefinition.Q9, SchemaModel.EMBEDDED, stubParams(QueryDefinition.Q9),
+                DatabaseTarget.MONGO_NATIVE, RowConsumer.extracting(doc -> doc.getString("_id").getValue(), ids));
+
+        assertThat(ids).containsExactly("a", "b");
+    }
+
+    @Test
+    void q1BatchPipelineShouldMatchAllAdvisorsAndRankPerAdvisorOnNativeOnly() {
+        List<String> ids = List.of("ADV001", "ADV002");
+        CodecRegistry registry = CodecRegistries.fromRegistries(com.mongodb.MongoClientSettings.getDefaultCodecRegistry());
+        String nativePipeline = executor.serializePipeline(executor.buildBatchAggregationPipeline(
+                QueryDefinition.Q1, Map.of(), ids, DatabaseTarget.MONGO_NATIVE), registry);
+        String oraclePipeline = executor.serializePipeline(executor.buildBatchAggregationPipeline(
+                QueryDefinition.Q1, Map.of(), ids, DatabaseTarget.ORACLE_MONGO_API), registry);
+
+        assertThat(nativePipeline).contains("\"$in\"", "ADV002", "\"partitionBy\": \"$advisorId\"", "batchRank");
+        assertThat(nativePipeline).doesNotContain("$limit");
+        assertThat(oraclePipeline).contains("\"$in\"").doesNotContain("$setWindowFields");
+    }
+
+    @Test
+    void batchFindFiltersShouldUseInOverAllKeys() {
+        CodecRegistry registry = com.mongodb.MongoClientSettings.getDefaultCodecRegistry();
+        String q7 = executor.serializeFilter(executor.buildBatchFindFilter(QueryDefinition.Q7,
+                stubParams(QueryDefinition.Q7), List.of("VTI", "VOO"), DatabaseTarget.MONGO_NATIVE), registry);
+        String q8Dv = executor.serializeFilter(executor.buildBatchFindFilter(QueryDefinition.Q8,
+                stubParams(QueryDefinition.Q8), List.of("1-Region", "2-Region"), DatabaseTarget.ORACLE_MONGO_API_DV),
+                registry);
+
+        assertThat(q7).contains("holdings.fundTicker", "\"$in\"", "VOO");
+        assertThat(q8Dv).contains("$elemMatch", "\"$in\"", "2-Region", "entDataOwnerPartyRoleId");
+    }
+
+    @Test
+    void batchKeysShouldSplitDocumentsByEveryRequestedValueTheyHold() {
+        RawBsonDocument account = RawBsonDocument.parse(
+                "{\"holdings\": [{\"fundTicker\": \"VTI\"}, {\"fundTicker\": \"BND\"}, {\"fundTicker\": \"VOO\"}]}");
+        RawBsonDocument investor = RawBsonDocument.parse("{\"advisorId\": \"ADV002\"}");
+
+        assertThat(MongoQueryExecutor.batchKeysOf(QueryDefinition.Q7, account, Set.of("VTI", "VOO", "QQQ")))
+                .containsExactly("VTI", "VOO");
+        assertThat(MongoQueryExecutor.batchKeysOf(QueryDefinition.Q1, investor, Set.of("ADV001", "ADV002")))
+                .containsExactly("ADV002");
+        assertThat(MongoQueryExecutor.batchKeysOf(QueryDefinition.Q8, account, Set.of("1-Region"))).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executeBatchShouldCountRowsPerKeyAndCapQ1RowsPerAdvisor() {
+        MongoCollection<Document> collection = mock(MongoCollection.class);
+        MongoCollection<RawBsonDocument> raw = mock(MongoCollection.class);
+        AggregateIterable<RawBsonDocument> agg = mock(AggregateIterable.class);
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        when(collection.withDocumentClass(RawBsonDocument.class)).thenReturn(raw);
+        when(raw.aggregate(any(List.class))).thenReturn(agg);
+        when(agg.hint(any(Bson.class))).thenReturn(agg);
+        when(agg.iterator()).thenReturn(cursor);
+        // 60 rows for ADV001 (sorted by market value) and one for ADV002
+        int[] remaining = {61};
+        when(cursor.hasNext()).thenAnswer(inv -> remaining[0] > 0);
+        when(cursor.next()).thenAnswer(inv -> RawBsonDocument.parse(
+                "{\"advisorId\": \"" + (--remaining[0] == 0 ? "ADV002" : "ADV001") + "\"}"));
+
+        Map<String, Long> counts = executor.executeBatch(collection, QueryDefinition.Q1, SchemaModel.EMBEDDED,
+                Map.of(), List.of("ADV001", "ADV002", "ADV003"), DatabaseTarget.ORACLE_MONGO_API);
+
+        assertThat(counts).containsExactly(Map.entry("ADV001", 50L), Map.entry("ADV002", 1L), Map.entry("ADV003", 0L));
+        verify(cursor).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void executorWithoutPlanHintsShouldLeaveIndexChoiceToThePlanner() {
+        MongoCollection<RawBsonDocument> collection = mock(MongoCollection.class);
+        AggregateIterable<RawBsonDocument> agg = mock(AggregateIterable.class);
+        MongoCursor<RawBsonDocument> cursor = mock(MongoCursor.class);
+        when(collection.aggregate(any(List.class))).thenReturn(agg);
+        when(agg.iterator()).thenReturn(cursor);
+
+        new MongoQueryExecutor(false).executeAggregation(collection, QueryDefinition.Q1, SchemaModel.EMBEDDED,
+                Map.of("advisorId", "ADV001"), DatabaseTarget.ORACLE_MONGO_API, row -> { });
+
+        verify(agg, never()).hint(any(Bson.class));
+    }
+
     private Map<String, Object> stubParams(QueryDefinition query) {
         return switch (query) {
             case Q1 -> Map.of("advisorId", "ADV001");
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -145,6 +146,17 @@ class OracleDualityViewQueryExecutorTest {
         assertThat(result).isEqualTo("SELECT * FROM t WHERE a = 'hello' AND b = 42");
     }
 
+    @Test
+    void batchSqlShouldQueryDualityViews() {
+        OracleJdbcQueryExecutor.SqlQuery q1 = executor.buildBatchSql(QueryDefinition.Q1, SchemaModel.EMBEDDED,
+                Map.of(), List.of("ADV001"));
+        OracleJdbcQueryExecutor.SqlQuery q7 = executor.buildBatchSql(QueryDefinition.Q7, SchemaModel.EMBEDDED,
+                stubParams(QueryDefinition.Q7), List.of("VTI"));
+
+        assertThat(q1.sql()).contains("dv_book_role_investor b", "\"batchRank\"");
+        assertThat(q7.sql()).contains("dv_account a", "$.partyRoleIds[*]");
+    }
+
     private Map<String, Object> stubParams(QueryDefinition query) {
         return switch (query) {
             case Q1 -> Map.of("advisorId", "ADV001");
@@ -1,14 +1,30 @@
 package com.helix.benchmark.query;
 
 import com.helix.benchmark.config.SchemaModel;
+import oracle.jdbc.OraclePreparedStatement;
+import oracle.jdbc.OracleResultSet;
+import oracle.jdbc.OracleRow;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 class OracleJdbcQueryExecutorTest {
 
@@ -176,6 +192,159 @@ class OracleJdbcQueryExecutorTest {
         assertThat(result).startsWith("SELECT /*+ GATHER_PLAN_STATISTICS */ * FROM");
     }
 
+    @Test
+    void batchSqlShouldBindKeysAsOneJsonArrayAndReturnKeyFirst() {
+        OracleJdbcQueryExecutor.SqlQuery q7 = executor.buildBatchSql(QueryDefinition.Q7, SchemaModel.EMBEDDED,
+                stubParams(QueryDefinition.Q7), List.of("VTI", "VOO"));
+
+        assertThat(q7.sql()).startsWith("SELECT k.val AS \"batchKey\"");
+        assertThat(q7.sql()).contains("JSON_TABLE(?, '$[*]'", "PASSING k.val AS \"ticker\"");
+        assertThat(q7.parameters()).containsExactly("[\"VTI\",\"VOO\"]", 123L);
+    }
+
+    @Test
+    void q1BatchSqlShouldKeepTopRowsPerAdvisor() {
+        OracleJdbcQueryExecutor.SqlQuery q1 = executor.buildBatchSql(QueryDefinition.Q1, SchemaModel.EMBEDDED,
+                Map.of(), List.of("ADV001", "ADV002"));
+
+        assertThat(q1.sql()).contains("PARTITION BY jt.advisor_id ORDER BY jt.viewable_mv DESC",
+                "r.\"batchRank\" <= 50", "jt.advisor_id = k.val");
+        assertThat(q1.parameters()).containsExactly("[\"ADV001\",\"ADV002\"]");
+    }
+
+    @Test
+    void batchSqlShouldRejectQueriesWithoutBatchKey() {
+        assertThatThrownBy(() -> executor.buildBatchSql(
+                        QueryDefinition.Q2, SchemaModel.EMBEDDED, stubParams(QueryDefinition.Q2), List.of("ADV001")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void pipelinedShouldReturnRowCountsInSubmissionOrderAndCloseStatements() throws Exception {
+        Connection conn = mock(Connection.class);
+        OraclePreparedStatement first = asyncStatement(resultSetOf(3));
+        OraclePreparedStatement second = asyncStatement(resultSetOf(1));
+        when(conn.prepareStatement("SELECT 1")).thenReturn(first);
+        when(conn.prepareStatement("SELECT 2")).thenReturn(second);
+        List<OracleRow> seen = Collections.synchronizedList(new ArrayList<>());
+
+        List<OracleJdbcQueryExecutor.PipelinedResult> results = executor.executePipelined(conn, List.of(
+                new OracleJdbcQueryExecutor.SqlQuery("SELECT 1", List.of("ADV001")),
+                new OracleJdbcQueryExecutor.SqlQuery("SELECT 2", List.of())), seen::add);
+
+        assertThat(results).extracting(OracleJdbcQueryExecutor.PipelinedResult::rows).containsExactly(3L, 1L);
+        assertThat(results).allMatch(r -> r.latencyNanos() >= 0);
+        assertThat(seen).hasSize(4);
+        verify(first).setObject(1, "ADV001");
+        verify(first).close();
+        verify(second).close();
+    }
+
+    @Test
+    void pipelinedShouldSurfaceDriverErrorsAsSqlException() throws Exception {
+        Connection conn = mock(Connection.class);
+        OraclePreparedStatement failing = mock(OraclePreparedStatement.class);
+        when(failing.unwrap(OraclePreparedStatement.class)).thenReturn(failing);
+        when(failing.executeQueryAsyncOracle()).thenReturn(subscriber ->
+                subscriber.onError(new SQLException("ORA-00942: table or view does not exist")));
+        when(conn.prepareStatement("SELECT 1")).thenReturn(failing);
+
+        assertThatThrownBy(() -> executor.executePipelined(conn,
+                List.of(new OracleJdbcQueryExecutor.SqlQuery("SELECT 1", List.of())), row -> {}))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("ORA-00942");
+        verify(failing).close();
+    }
+
+    @Test
+    void pipelinedFailureShouldNotCloseStatementsStillExecuting() throws Exception {
+        Connection conn = mock(Connection.class);
+        OraclePreparedStatement failing = mock(OraclePreparedStatement.class);
+        when(failing.unwrap(OraclePreparedStatement.class)).thenReturn(failing);
+        when(failing.executeQueryAsyncOracle()).thenReturn(subscriber ->
+                subscriber.onError(new SQLException("ORA-01013: user requested cancel")));
+        AtomicBoolean finished = new AtomicBoolean();
+        AtomicBoolean closedBeforeFinished = new AtomicBoolean();
+        OracleResultSet rs = resultSetOf(1);
+        OraclePreparedStatement slow = mock(OraclePreparedStatement.class);
+        when(slow.unwrap(OraclePreparedStatement.class)).thenReturn(slow);
+        // Publishes its result set from another thread, after the first statement has failed
+        when(slow.executeQueryAsyncOracle()).thenReturn(subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(long n) {
+                new Thread(() -> {
+                    try {
+                        Thread.sleep(100);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    finished.set(true);
+                    subscriber.onNext(rs);
+                    subscriber.onComplete();
+                }).start();
+            }
+
+            @Override
+            public void cancel() {
+            }
+        }));
+        doAnswer(invocation -> {
+            closedBeforeFinished.set(!finished.get());
+            return null;
+        }).when(slow).close();
+        when(conn.prepareStatement("SELECT 1")).thenReturn(failing);
+        when(conn.prepareStatement("SELECT 2")).thenReturn(slow);
+
+        assertThatThrownBy(() -> executor.executePipelined(conn, List.of(
+                new OracleJdbcQueryExecutor.SqlQuery("SELECT 1", List.of()),
+                new OracleJdbcQueryExecutor.SqlQuery("SELECT 2", List.of())), row -> {}))
+                .isInstanceOf(SQLException.class)
+                .hasMessageContaining("ORA-01013");
+        verify(slow).close();
+        assertThat(closedBeforeFinished).isFalse();
+    }
+
+    private static OraclePreparedStatement asyncStatement(OracleResultSet rs) throws SQLException {
+        OraclePreparedStatement ps = mock(OraclePreparedStatement.class);
+        when(ps.unwrap(OraclePreparedStatement.class)).thenReturn(ps);
+        when(ps.executeQueryAsyncOracle()).thenReturn(publisherOf(List.of(rs)));
+        return ps;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static OracleResultSet resultSetOf(int rows) throws SQLException {
+        OracleResultSet rs = mock(OracleResultSet.class);
+        when(rs.publisherOracle(any())).thenAnswer(invocation -> {
+            Function<OracleRow, Object> mapper = invocation.getArgument(0);
+            List<Object> mapped = new ArrayList<>();
+            for (int i = 0; i < rows; i++) {
+                mapped.add(mapper.apply(mock(OracleRow.class)));
+            }
+            return publisherOf(mapped);
+        });
+        return rs;
+    }
+
+    // Emits every item on the first request, then completes
+    private static <T> Flow.Publisher<T> publisherOf(List<T> items) {
+        return subscriber -> subscriber.onSubscribe(new Flow.Subscription() {
+            private boolean done;
+
+            @Override
+            public void request(long n) {
+                if (done) return;
+                done = true;
+                items.forEach(subscriber::onNext);
+                subscriber.onComplete();
+            }
+
+            @Override
+            public void cancel() {
+                done = true;
+            }
+        });
+    }
+
     private Map<String, Object> stubParams(QueryDefinition query) {
         return switch (query) {
             case Q1 -> Map.of("advisorId", "ADV001");
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -158,6 +159,19 @@ class OracleRelationalQueryExecutorTest {
         assertThat(result).isEqualTo("SELECT * FROM t WHERE a = 'hello' AND b = 42");
     }
 
+    @Test
+    void batchSqlShouldJoinKeysToRelationalTables() {
+        OracleJdbcQueryExecutor.SqlQuery q1 = executor.buildBatchSql(QueryDefinition.Q1, SchemaModel.EMBEDDED,
+                Map.of(), List.of("ADV001", "ADV002"));
+        OracleJdbcQueryExecutor.SqlQuery q8 = executor.buildBatchSql(QueryDefinition.Q8, SchemaModel.EMBEDDED,
+                stubParams(QueryDefinition.Q8), List.of("1-Region"));
+
+        assertThat(q1.sql()).contains("JOIN rel_bri_advisors a ON a.advisor_id = k.val", "PARTITION BY a.advisor_id");
+        assertThat(q8.sql()).startsWith("SELECT k.val AS \"batchKey\", JSON_OBJECT(")
+                .contains("h.party_node_path_value = k.val");
+        assertThat(q8.parameters()).containsExactly("[\"1-Region\"]", 100L);
+    }
+
     private Map<String, Object> stubParams(QueryDefinition query) {
         return switch (query) {
             case Q1 -> Map.of("advisorId", "ADV001");
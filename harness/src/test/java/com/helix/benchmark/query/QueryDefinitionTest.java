@@ -49,4 +49,13 @@ class QueryDefinitionTest {
         assertThat(QueryDefinition.Q8.isAggregation()).isFalse();
         assertThat(QueryDefinition.Q9.isAggregation()).isFalse();
     }
+
+    @Test
+    void onlyQ1Q7AndQ8ShouldHaveBatchKeys() {
+        assertThat(QueryDefinition.Q1.batchKey()).isEqualTo("advisorId");
+        assertThat(QueryDefinition.Q7.batchKey()).isEqualTo("fundTicker");
+        assertThat(QueryDefinition.Q8.batchKey()).isEqualTo("partyNodePathValue");
+        assertThat(QueryDefinition.Q2.isBatchable()).isFalse();
+        assertThat(QueryDefinition.Q9.batchKey()).isNull();
+    }
 }
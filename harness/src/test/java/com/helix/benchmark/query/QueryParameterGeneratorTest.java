@@ -4,9 +4,11 @@ import com.helix.benchmark.datagen.ReferenceRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class QueryParameterGeneratorTest {
 
@@ -23,6 +25,28 @@ class QueryParameterGeneratorTest {
         generator = new QueryParameterGenerator(registry);
     }
 
+    @Test
+    void shouldGenerateDistinctBatchKeys() {
+        List<String> advisorIds = generator.generateBatchKeys(QueryDefinition.Q1, 5);
+
+        assertThat(advisorIds).hasSize(5).doesNotHaveDuplicates().allMatch(id -> id.startsWith("ADV"));
+        // Only ten advisors are registered
+        assertThat(generator.generateBatchKeys(QueryDefinition.Q1, 50)).hasSize(10);
+        assertThatThrownBy(() -> generator.generateBatchKeys(QueryDefinition.Q9, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void batchKeysShouldExhaustTheKeyPool() {
+        int tickers = (int) registry.getFundTickers().stream().distinct().count();
+
+        assertThat(generator.batchKeyPoolSize(QueryDefinition.Q7)).isEqualTo(tickers);
+        assertThat(generator.batchKeyPoolSize(QueryDefinition.Q1)).isEqualTo(10);
+        // Drawing every ticker at random would usually repeat some; the pool tops it up
+        assertThat(generator.generateBatchKeys(QueryDefinition.Q7, tickers)).hasSize(tickers).doesNotHaveDuplicates();
+        assertThat(generator.generateBatchKeys(QueryDefinition.Q7, 500)).hasSize(tickers);
+    }
+
     @Test
     void shouldGenerateParametersForQ1() {
         Map<String, Object> params = generator.generate(QueryDefinition.Q1);
@@ -0,0 +1,135 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class QueryResultCacheTest {
+
+    private static QueryResultCache.Key key(DatabaseTarget target, String advisorId) {
+        return new QueryResultCache.Key(QueryDefinition.Q1, target, SchemaModel.EMBEDDED,
+                Map.of("advisorId", advisorId));
+    }
+
+    @Test
+    void shouldServeRepeatedKeyFromCache() {
+        QueryResultCache cache = new QueryResultCache(100, 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), () -> loads.incrementAndGet() * 10L)).isEqualTo(10);
+        assertThat(cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), () -> loads.incrementAndGet() * 10L)).isEqualTo(10);
+        assertThat(cache.get(key(DatabaseTarget.ORACLE_JDBC, "1"), () -> loads.incrementAndGet() * 10L)).isEqualTo(20);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats()).isEqualTo(new QueryResultCache.Stats(1, 2, 0, 0));
+        assertThat(cache.stats().hitRate()).isCloseTo(1.0 / 3, within(1e-9));
+    }
+
+    @Test
+    void shouldExpireEntriesAfterTtl() {
+        AtomicLong now = new AtomicLong();
+        QueryResultCache cache = new QueryResultCache(100, 30, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), loads::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(29));
+        cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), loads::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), loads::incrementAndGet);
+
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.stats()).isEqualTo(new QueryResultCache.Stats(1, 2, 0, 1));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondCapacity() {
+        QueryResultCache cache = new QueryResultCache(16, 0);
+        for (int i = 0; i < 200; i++) {
+            cache.get(key(DatabaseTarget.MONGO_NATIVE, String.valueOf(i)), () -> 1L);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(16);
+        assertThat(cache.stats().evictions()).isEqualTo(200 - cache.size());
+
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldKeepStoredKeyWhenCallerReusesParameterMap() {
+        QueryResultCache cache = new QueryResultCache(100, 0);
+        Map<String, Object> params = new HashMap<>(Map.of("advisorId", "1"));
+        QueryResultCache.Key key = new QueryResultCache.Key(QueryDefinition.Q1, DatabaseTarget.MONGO_NATIVE,
+                SchemaModel.EMBEDDED, params);
+        cache.get(key, () -> 5L);
+        params.put("advisorId", "2");
+
+        assertThat(cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), () -> 9L)).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotCacheFailedLoads() {
+        QueryResultCache cache = new QueryResultCache(100, 0);
+        assertThatThrownBy(() -> cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), () -> {
+            throw new IllegalStateException("timeout");
+        })).hasMessage("timeout");
+
+        assertThat(cache.get(key(DatabaseTarget.MONGO_NATIVE, "1"), () -> 3L)).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountEveryRequestUnderConcurrentAccess() throws Exception {
+        QueryResultCache cache = new QueryResultCache(64, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        String id = String.valueOf(i % 32);
+                        assertThat(cache.get(key(DatabaseTarget.MONGO_NATIVE, id), () -> Long.parseLong(id)))
+                                .isEqualTo(Long.parseLong(id));
+                    }
+                }));
+            }
+            for (Future<?> f : futures) f.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(cache.stats().requests()).isEqualTo(8000);
+        assertThat(cache.stats().hits()).isGreaterThan(7000);
+    }
+
+    @Test
+    void shouldDecorateExecutorPerTarget() {
+        QueryResultCache cache = new QueryResultCache(100, 0);
+        AtomicInteger calls = new AtomicInteger();
+        QueryExecutor delegate = (query, model, params) -> calls.incrementAndGet();
+        CachingQueryExecutor mongo = new CachingQueryExecutor(delegate, DatabaseTarget.MONGO_NATIVE, cache);
+        CachingQueryExecutor oracle = new CachingQueryExecutor(delegate, DatabaseTarget.ORACLE_JDBC, cache);
+
+        mongo.execute(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "1"));
+        mongo.execute(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "1"));
+        oracle.execute(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "1"));
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(mongo.cache()).isSameAs(cache);
+    }
+}
@@ -0,0 +1,76 @@
+package com.helix.benchmark.query;
+
+import com.helix.benchmark.config.BenchmarkConfig;
+import com.helix.benchmark.config.DatabaseTarget;
+import com.helix.benchmark.config.SchemaModel;
+import com.helix.benchmark.connection.ConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueryTargetProviderTest {
+
+    private final BenchmarkConfig config = BenchmarkConfig.load(
+            getClass().getResourceAsStream("/test-config.yaml"));
+
+    @ParameterizedTest
+    @EnumSource(DatabaseTarget.class)
+    void everyTargetShouldHaveARegisteredProvider(DatabaseTarget target) {
+        QueryTargetProvider provider = QueryTargetProvider.forTarget(target);
+
+        assertThat(provider).isInstanceOf(target.usesJdbc()
+                ? OracleJdbcQueryTargetProvider.class
+                : MongoQueryTargetProvider.class);
+    }
+
+    @Test
+    void jdbcTargetShouldRequireADataSource() {
+        QueryTarget.Context context = new QueryTarget.Context(config, new ConnectionManager(config), null);
+
+        assertThatThrownBy(() -> QueryTargetProvider.openTarget(DatabaseTarget.ORACLE_JDBC, context))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("ORACLE_JDBC");
+    }
+
+    @Test
+    void jdbcSessionShouldPrepareEachStatementOnceAndCloseOnExit() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection conn = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(dataSource.getConnection()).thenReturn(conn);
+        when(conn.prepareStatement(anyString())).thenReturn(ps);
+        when(ps.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false, true, true, false);
+        QueryTarget.Context context = new QueryTarget.Context(config, new ConnectionManager(config), dataSource);
+
+        try (QueryTarget target = QueryTargetProvider.openTarget(DatabaseTarget.ORACLE_RELATIONAL, context);
+             QueryTarget.Session session = target.openSession()) {
+            session.warm(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "ADV001"));
+
+            assertThat(session.execute(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "ADV001")))
+                    .isEqualTo(1);
+            assertThat(session.execute(QueryDefinition.Q1, SchemaModel.EMBEDDED, Map.of("advisorId", "ADV002")))
+                    .isEqualTo(2);
+        }
+
+        verify(conn, times(1)).prepareStatement(anyString());
+        verify(ps).setObject(1, "ADV002");
+        verify(ps).close();
+        verify(conn).close();
+    }
+}
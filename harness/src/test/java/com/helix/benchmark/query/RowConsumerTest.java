@@ -0,0 +1,50 @@
+package com.helix.benchmark.query;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowConsumerTest {
+
+    @Test
+    void shouldCountRows() {
+        RowConsumer.Counting<String> counter = RowConsumer.counting();
+        for (String row : List.of("a", "b", "c")) {
+            counter.accept(row);
+        }
+
+        assertThat(counter.count()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldChecksumIndependentOfRowOrder() {
+        RowConsumer.Checksum<String> forward = RowConsumer.checksum(String::length);
+        RowConsumer.Checksum<String> backward = RowConsumer.checksum(String::length);
+        RowConsumer.Checksum<String> different = RowConsumer.checksum(String::length);
+        List<String> rows = List.of("a", "bb", "ccc");
+        for (int i = 0; i < rows.size(); i++) {
+            forward.accept(rows.get(i));
+            backward.accept(rows.get(rows.size() - 1 - i));
+        }
+        for (String row : List.of("a", "bb", "dddd")) {
+            different.accept(row);
+        }
+
+        assertThat(forward.count()).isEqualTo(3);
+        assertThat(forward.checksum()).isEqualTo(backward.checksum());
+        assertThat(forward.checksum()).isNotEqualTo(different.checksum());
+    }
+
+    @Test
+    void shouldExtractFieldIntoCollection() throws Exception {
+        List<Integer> lengths = new ArrayList<>();
+        RowConsumer<String> consumer = RowConsumer.extracting(String::length, lengths);
+        consumer.accept("abc");
+        consumer.accept("de");
+
+        assertThat(lengths).containsExactly(3, 2);
+    }
+}
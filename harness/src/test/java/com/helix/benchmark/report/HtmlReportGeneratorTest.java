@@ -1,7 +1,11 @@
 package com.helix.benchmark.report;
 
 import com.helix.benchmark.benchmark.BenchmarkResult;
+import com.helix.benchmark.benchmark.ExplainStage;
+import com.helix.benchmark.benchmark.IndexBuildResult;
+import com.helix.benchmark.benchmark.IngestResult;
 import com.helix.benchmark.benchmark.QueryDetail;
+import com.helix.benchmark.benchmark.ServerStats;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
@@ -90,6 +94,38 @@ class HtmlReportGeneratorTest {
         assertThat(content).contains("SELECT");
     }
 
+    @Test
+    void shouldIncludeIndexBuildTab() {
+        List<IndexBuildResult> builds = List.of(
+                new IndexBuildResult("ORACLE_JDBC", "jdbc_account", "idx_acct_src", 1_500_000_000L, null),
+                new IndexBuildResult("ORACLE_JDBC", "jdbc_account", IndexBuildResult.STATISTICS, 250_000_000L, null),
+                new IndexBuildResult("MONGO_NATIVE", "account", "viewableSource", 0L, "timeout"));
+        HtmlReportGenerator generator = new HtmlReportGenerator();
+        String html = generator.generate(sampleResults(), sampleDetails(), builds);
+
+        assertThat(html).contains("Index Builds");
+        assertThat(html).contains("idx_acct_src");
+        assertThat(html).contains("timeout");
+        assertThat(generator.generate(sampleResults())).doesNotContain("Index Builds");
+    }
+
+    @Test
+    void shouldIncludeIngestTab() {
+        List<IngestResult> ingests = List.of(
+                new IngestResult("MONGO_NATIVE", "account", 500, 4, 20_000, 40L << 20, 2_000_000_000L,
+                        3_000_000, 8_000_000, 12_000_000, IngestResult.histogram(new long[]{3_000_000, 12_000_000}), null),
+                IngestResult.failed("ORACLE_DUALITY_VIEW", "dv_account", 500, 1, "ORA-40940: cannot insert"));
+        HtmlReportGenerator generator = new HtmlReportGenerator();
+        String html = generator.generate(sampleResults(), sampleDetails(), List.of(), ingests);
+
+        assertThat(html).contains("tab-ingest");
+        assertThat(html).contains("10000");
+        assertThat(html).contains("20.0");
+        assertThat(html).contains("3.0 / 8.0 / 12.0");
+        assertThat(html).contains("FAILED: ORA-40940");
+        assertThat(generator.generate(sampleResults())).doesNotContain("tab-ingest");
+    }
+
     @Test
     void shouldIncludeSummaryTable() {
         List<BenchmarkResult> results = sampleResults();
@@ -237,6 +273,21 @@ class HtmlReportGeneratorTest {
                 .isEqualTo("Oracle Mongo API (DV)");
     }
 
+    @Test
+    void shouldFormatScaledConfigNames() {
+        assertThat(HtmlReportGenerator.formatConfigName("MONGO_NATIVE_EMBEDDED@1.5x"))
+                .isEqualTo("MongoDB Native @1.5x");
+        assertThat(HtmlReportGenerator.formatConfigName("CUSTOM@2x")).isEqualTo("CUSTOM @2x");
+    }
+
+    @Test
+    void shouldFormatCachedConfigNames() {
+        assertThat(HtmlReportGenerator.formatConfigName("ORACLE_JDBC_EMBEDDED+cache"))
+                .isEqualTo("Oracle JSON (JDBC) (cached)");
+        assertThat(HtmlReportGenerator.formatConfigName("MONGO_NATIVE_EMBEDDED+cache@2x"))
+                .isEqualTo("MongoDB Native (cached) @2x");
+    }
+
     @Test
     void shouldIncludePerQueryDetailCharts() {
         List<BenchmarkResult> results = sampleResults();
@@ -247,6 +298,34 @@ class HtmlReportGeneratorTest {
         assertThat(html).contains("detail-chart-Q2");
     }
 
+    @Test
+    void shouldShowServerStatsNextToClientLatency() {
+        List<BenchmarkResult> results = List.of(
+                new BenchmarkResult("Q1", "ORACLE_JDBC_EMBEDDED",
+                        8_000_000L, 15_000_000L, 20_000_000L, 10_000_000.0, 100.0, 200)
+                        .withServerStats(ServerStats.oracle(200, 6_250, 4_000, 812, 3, 50)),
+                new BenchmarkResult("Q1", "MONGO_NATIVE_EMBEDDED",
+                        5_000_000L, 10_000_000L, 15_000_000L, 7_000_000.0, 140.0, 200));
+        String html = new HtmlReportGenerator().generate(results);
+
+        assertThat(html).contains("<th>Server (ms/op)</th>", "<th>Keys examined/op</th>");
+        assertThat(html).contains("<td>6.25</td><td>4.00</td><td>812.0</td><td>3.0</td><td>50.0</td>"
+                + "<td>&mdash;</td><td>&mdash;</td>");
+    }
+
+    @Test
+    void shouldRenderExplainStageTreeAndFlagWastefulScans() {
+        ExplainStage scan = new ExplainStage("IXSCAN", "investorType_1", 4000, 4000, -1, 3, List.of());
+        ExplainStage fetch = new ExplainStage("FETCH", null, 50, -1, 4000, 11, List.of(scan));
+        QueryDetail detail = new QueryDetail("Q1", "MONGO_NATIVE_EMBEDDED", "{}", "{}", null, null, fetch);
+        String html = new HtmlReportGenerator().generate(sampleResults(), List.of(detail));
+
+        assertThat(html).contains("<h3>Execution Stages</h3>");
+        assertThat(html).contains("<tr class=\"inefficient\"><td style=\"padding-left: 8px\">FETCH</td>"
+                + "<td>50</td><td>&mdash;</td><td>4000</td><td>11</td><td>80.0</td></tr>");
+        assertThat(html).contains("<tr><td style=\"padding-left: 28px\">IXSCAN <small>investorType_1</small></td>");
+    }
+
     private List<BenchmarkResult> sampleResults() {
         return List.of(
                 new BenchmarkResult("Q1", "MONGO_NATIVE_EMBEDDED",
@@ -0,0 +1,83 @@
+package com.helix.benchmark.schema;
+
+import com.helix.benchmark.benchmark.IndexBuildResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexBuildStageTest {
+
+    @Test
+    void shouldBuildDifferentTablesConcurrently() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        IndexBuildStage.Work rendezvous = () -> {
+            bothStarted.countDown();
+            if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("builds ran serially");
+            }
+        };
+
+        List<IndexBuildResult> results = new IndexBuildStage(4).run("test", List.of(
+                new IndexBuildStage.IndexTask("ORACLE_JDBC", "jdbc_account", "idx_a", rendezvous),
+                new IndexBuildStage.IndexTask("MONGO_NATIVE", "account", "idx_b", rendezvous)));
+
+        assertThat(results).extracting(IndexBuildResult::index).containsExactly("idx_a", "idx_b");
+        assertThat(results).noneMatch(IndexBuildResult::failed);
+    }
+
+    @Test
+    void shouldSerializeBuildsOnSameTableAndRecordFailures() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        IndexBuildStage.Work tracked = () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            running.decrementAndGet();
+        };
+
+        List<IndexBuildResult> results = new IndexBuildStage(4).run("test", List.of(
+                new IndexBuildStage.IndexTask("ORACLE_RELATIONAL", "rel_account", "idx_1", tracked),
+                new IndexBuildStage.IndexTask("ORACLE_RELATIONAL", "REL_ACCOUNT", "idx_2", tracked),
+                new IndexBuildStage.IndexTask("ORACLE_RELATIONAL", "rel_account", "idx_3", () -> {
+                    throw new IllegalStateException("ORA-01652");
+                })));
+
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(results).hasSize(3);
+        assertThat(results.get(0).elapsedMillis()).isGreaterThanOrEqualTo(20);
+        assertThat(results.get(2).failed()).isTrue();
+        assertThat(results.get(2).error()).contains("ORA-01652");
+    }
+
+    @Test
+    void shouldParseCreateIndexStatements() {
+        assertThat(IndexBuildStage.parse("CREATE INDEX idx_rel_acct_src ON rel_account (viewable_source)"))
+                .isEqualTo(new IndexBuildStage.IndexStatement(null, "idx_rel_acct_src", "rel_account"));
+        assertThat(IndexBuildStage.parse(
+                "CREATE MULTIVALUE INDEX idx_bri_adv_id ON jdbc_book_role_investor b (b.data.advisors[*].advisorId.string())"))
+                .isEqualTo(new IndexBuildStage.IndexStatement("MULTIVALUE", "idx_bri_adv_id", "jdbc_book_role_investor"));
+        assertThatThrownBy(() -> IndexBuildStage.parse("DROP INDEX x"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldApplyAndResetBuildOptions() {
+        String sql = "CREATE INDEX idx_rel_acct_src ON rel_account (viewable_source)";
+
+        assertThat(IndexBuildStage.withBuildOptions(sql, 8, true)).isEqualTo(sql + " PARALLEL 8 NOLOGGING");
+        assertThat(IndexBuildStage.withBuildOptions(sql, 0, false)).isEqualTo(sql);
+        assertThat(IndexBuildStage.resetBuildOptions(sql, 8, true)).containsExactly(
+                "ALTER INDEX idx_rel_acct_src NOPARALLEL", "ALTER INDEX idx_rel_acct_src LOGGING");
+        assertThat(IndexBuildStage.resetBuildOptions(sql, 0, false)).isEmpty();
+
+        String search = "CREATE SEARCH INDEX idx_s ON jdbc_account (data) FOR JSON";
+        assertThat(IndexBuildStage.withBuildOptions(search, 8, true)).isEqualTo(search);
+        assertThat(IndexBuildStage.resetBuildOptions(search, 8, true)).isEmpty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.helix.benchmark.schema;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MongoCandidateIndexesTest {
+
+    @Test
+    void existingIndexShouldMatchOnlyTheSameKeysInTheSameOrder() {
+        Document existing = Document.parse("{\"advisors.advisorId\": 1.0, \"advisors.noOfViewableAccts\": -1}");
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("advisors.advisorId", 1);
+        keys.put("advisors.noOfViewableAccts", -1);
+        Map<String, Object> reversed = new LinkedHashMap<>();
+        reversed.put("advisors.noOfViewableAccts", -1);
+        reversed.put("advisors.advisorId", 1);
+
+        assertThat(MongoCandidateIndexes.sameKeys(existing, keys)).isTrue();
+        assertThat(MongoCandidateIndexes.sameKeys(existing, reversed)).isFalse();
+        assertThat(MongoCandidateIndexes.sameKeys(existing, Map.of("advisors.advisorId", 1))).isFalse();
+        assertThat(MongoCandidateIndexes.sameKeys(Document.parse("{\"partyRoleId\": \"hashed\"}"),
+                Map.of("partyRoleId", "hashed"))).isTrue();
+    }
+}